@@ -0,0 +1,220 @@
+package dev.mars.jtable.benchmarks;
+
+import dev.mars.jtable.core.model.ITable;
+import dev.mars.jtable.core.table.ColumnarTableCore;
+import dev.mars.jtable.io.files.snapshot.SnapshotWriter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Generates the synthetic datasets shared by the benchmarks.
+ * Every dataset has the same four columns (Id, Name, Price, Active) so that the
+ * readers and writers can be compared against each other. Generated files are
+ * cached in the benchmark data directory and reused across runs.
+ */
+final class BenchmarkData {
+
+    /**
+     * System property that overrides the directory used for generated files and databases.
+     */
+    static final String DATA_DIR_PROPERTY = "jtable.benchmark.dir";
+
+    static final String ROOT_ELEMENT = "data";
+    static final String ROW_ELEMENT = "row";
+
+    private static final String[] NAMES = {"Alice", "Bob", "Charlie", "Diana", "Edward", "Fiona", "George", "Hannah"};
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Returns the column definitions of the benchmark dataset.
+     */
+    static LinkedHashMap<String, String> columns() {
+        LinkedHashMap<String, String> columns = new LinkedHashMap<>();
+        columns.put("Id", "int");
+        columns.put("Name", "string");
+        columns.put("Price", "double");
+        columns.put("Active", "boolean");
+        return columns;
+    }
+
+    static String id(int row) {
+        return String.valueOf(row);
+    }
+
+    static String name(int row) {
+        return NAMES[row % NAMES.length] + (row % 1000);
+    }
+
+    static String price(int row) {
+        return (row % 10_000) + "." + (row % 10) + "5";
+    }
+
+    static String active(int row) {
+        return String.valueOf(row % 3 == 0);
+    }
+
+    /**
+     * Loads the benchmark dataset into the given table.
+     *
+     * @param table the table to fill
+     * @param rows the number of rows to add
+     * @return the table
+     */
+    static ITable load(ITable table, int rows) {
+        table.setColumns(columns());
+        Map<String, String> row = new HashMap<>();
+        for (int i = 0; i < rows; i++) {
+            row.put("Id", id(i));
+            row.put("Name", name(i));
+            row.put("Price", price(i));
+            row.put("Active", active(i));
+            table.addRow(row);
+        }
+        return table;
+    }
+
+    /**
+     * Returns the directory used for generated files, creating it if needed.
+     */
+    static Path dataDirectory() {
+        Path dir = Paths.get(System.getProperty(DATA_DIR_PROPERTY, "target/benchmark-data")).toAbsolutePath();
+        try {
+            Files.createDirectories(dir);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create benchmark data directory: " + dir, e);
+        }
+        return dir;
+    }
+
+    /**
+     * Returns a CSV file with a header row and the given number of data rows.
+     */
+    static Path csvFile(int rows) {
+        return dataFile("rows-" + rows + ".csv", rows, (writer, row) -> {
+            if (row < 0) {
+                writer.write("Id,Name,Price,Active\n");
+                return;
+            }
+            writer.write(id(row));
+            writer.write(',');
+            writer.write(name(row));
+            writer.write(',');
+            writer.write(price(row));
+            writer.write(',');
+            writer.write(active(row));
+            writer.write('\n');
+        }, null);
+    }
+
+    /**
+     * Returns a JSON file holding an array of row objects.
+     */
+    static Path jsonFile(int rows) {
+        return dataFile("rows-" + rows + ".json", rows, (writer, row) -> {
+            if (row < 0) {
+                writer.write("[\n");
+                return;
+            }
+            if (row > 0) {
+                writer.write(",\n");
+            }
+            writer.write("{\"Id\":");
+            writer.write(id(row));
+            writer.write(",\"Name\":\"");
+            writer.write(name(row));
+            writer.write("\",\"Price\":");
+            writer.write(price(row));
+            writer.write(",\"Active\":");
+            writer.write(active(row));
+            writer.write('}');
+        }, "\n]\n");
+    }
+
+    /**
+     * Returns an XML file with one row element per data row.
+     */
+    static Path xmlFile(int rows) {
+        return dataFile("rows-" + rows + ".xml", rows, (writer, row) -> {
+            if (row < 0) {
+                writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<" + ROOT_ELEMENT + ">\n");
+                return;
+            }
+            writer.write("  <" + ROW_ELEMENT + "><Id>");
+            writer.write(id(row));
+            writer.write("</Id><Name>");
+            writer.write(name(row));
+            writer.write("</Name><Price>");
+            writer.write(price(row));
+            writer.write("</Price><Active>");
+            writer.write(active(row));
+            writer.write("</Active></" + ROW_ELEMENT + ">\n");
+        }, "</" + ROOT_ELEMENT + ">\n");
+    }
+
+    /**
+     * Writes one line of a generated file. A row index of -1 requests the file header.
+     */
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(BufferedWriter writer, int row) throws IOException;
+    }
+
+    /**
+     * Returns a compressed snapshot file with the given number of rows.
+     */
+    static Path snapshotFile(int rows) {
+        Path file = dataDirectory().resolve("rows-" + rows + ".snap");
+        if (Files.exists(file)) {
+            return file;
+        }
+
+        Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            new SnapshotWriter().writeSnapshot(load(new ColumnarTableCore(), rows), tempFile.toString(), true);
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not generate benchmark file: " + file, e);
+        }
+        return file;
+    }
+
+    private static Path dataFile(String fileName, int rows, RowWriter rowWriter, String footer) {
+        Path file = dataDirectory().resolve(fileName);
+        if (Files.exists(file)) {
+            return file;
+        }
+
+        // Write to a temporary file first so that an interrupted run never leaves a truncated dataset behind
+        Path tempFile = file.resolveSibling(fileName + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+            rowWriter.write(writer, -1);
+            for (int i = 0; i < rows; i++) {
+                rowWriter.write(writer, i);
+            }
+            if (footer != null) {
+                writer.write(footer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not generate benchmark file: " + file, e);
+        }
+
+        try {
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not generate benchmark file: " + file, e);
+        }
+        return file;
+    }
+}
@@ -0,0 +1,132 @@
+package dev.mars.jtable.benchmarks;
+
+import dev.mars.jtable.core.model.IRow;
+import dev.mars.jtable.core.table.OptimizedTableCore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the concurrent mode of OptimizedTableCore with the CopyOnWriteArrayList row list it used to have.
+ * Each invocation splits a batch of rows across the writer threads, which append them to an empty table
+ * and update a value of every row they appended.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class ConcurrentTableBenchmark {
+
+    // Rows added per invocation, shared out between the writers
+    private static final int BATCH_SIZE = 32_768;
+
+    @Param({"copyOnWrite", "chunked"})
+    public String mode;
+
+    @Param({"1", "2", "4", "8", "16", "32"})
+    public int threads;
+
+    private ExecutorService executor;
+    private String[][] batch;
+
+    /**
+     * Holds the empty tables filled by the benchmark, recreated before every invocation.
+     */
+    @State(Scope.Thread)
+    public static class IngestState {
+        OptimizedTableCore table;
+        // Row list of the copy-on-write baseline; its rows are built by the table above
+        List<IRow> copyOnWriteRows;
+
+        @Setup(Level.Invocation)
+        public void setUp() {
+            table = new OptimizedTableCore(true);
+            table.setColumns(BenchmarkData.columns());
+            copyOnWriteRows = new CopyOnWriteArrayList<>();
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(threads);
+        batch = new String[BATCH_SIZE][];
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batch[i] = new String[]{BenchmarkData.id(i), BenchmarkData.name(i), BenchmarkData.price(i),
+                    BenchmarkData.active(i)};
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int appendAndUpdate(IngestState state) throws Exception {
+        int rowsPerWriter = BATCH_SIZE / threads;
+        List<Future<?>> futures = new ArrayList<>(threads);
+        for (int t = 0; t < threads; t++) {
+            int first = t * rowsPerWriter;
+            int last = t == threads - 1 ? BATCH_SIZE : first + rowsPerWriter;
+            futures.add(executor.submit("chunked".equals(mode)
+                    ? () -> appendChunked(state.table, first, last)
+                    : () -> appendCopyOnWrite(state.table, state.copyOnWriteRows, first, last)));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        return "chunked".equals(mode) ? state.table.getRowCount() : state.copyOnWriteRows.size();
+    }
+
+    private void appendChunked(OptimizedTableCore table, int first, int last) {
+        for (int i = first; i < last; i++) {
+            // Rows are stored as added, so the writer updates its own row rather than the last visible one
+            IRow row = newRow(table, batch[i]);
+            table.addRow(row);
+            row.setValue("Active", Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Replays the former concurrent mode: rows are built by the table, then appended to a
+     * CopyOnWriteArrayList, which copies the whole list on every append.
+     */
+    private void appendCopyOnWrite(OptimizedTableCore table, List<IRow> rows, int first, int last) {
+        for (int i = first; i < last; i++) {
+            IRow row = newRow(table, batch[i]);
+            rows.add(row);
+            row.setValue("Active", Boolean.TRUE);
+        }
+    }
+
+    private static IRow newRow(OptimizedTableCore table, String[] values) {
+        IRow row = table.createRow();
+        row.setValue("Id", Integer.valueOf(values[0]));
+        row.setValue("Name", values[1]);
+        row.setValue("Price", Double.valueOf(values[2]));
+        row.setValue("Active", Boolean.valueOf(values[3]));
+        return row;
+    }
+}
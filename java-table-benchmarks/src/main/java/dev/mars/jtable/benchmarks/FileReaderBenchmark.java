@@ -0,0 +1,119 @@
+package dev.mars.jtable.benchmarks;
+
+import dev.mars.jtable.core.model.ITable;
+import dev.mars.jtable.core.table.TableCore;
+import dev.mars.jtable.io.common.adapter.CSVTableAdapter;
+import dev.mars.jtable.io.common.adapter.JSONTableAdapter;
+import dev.mars.jtable.io.common.adapter.XMLTableAdapter;
+import dev.mars.jtable.io.common.datasource.FileConnection;
+import dev.mars.jtable.io.common.mapping.ColumnMapping;
+import dev.mars.jtable.io.common.mapping.MappingConfiguration;
+import dev.mars.jtable.io.files.csv.CSVMappingReader;
+import dev.mars.jtable.io.files.csv.CSVReader;
+import dev.mars.jtable.io.files.json.JSONReader;
+import dev.mars.jtable.io.files.snapshot.SnapshotReader;
+import dev.mars.jtable.io.files.xml.XMLReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end benchmarks for the file readers.
+ * Each invocation reads a complete generated file into a new table, so the results
+ * include file IO, parsing, type inference and table ingestion.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+@State(Scope.Benchmark)
+public class FileReaderBenchmark {
+
+    @Param({"10000", "1000000", "10000000"})
+    public int rows;
+
+    private Path csvFile;
+    private Path jsonFile;
+    private Path xmlFile;
+    private Path snapshotFile;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        csvFile = BenchmarkData.csvFile(rows);
+        jsonFile = BenchmarkData.jsonFile(rows);
+        xmlFile = BenchmarkData.xmlFile(rows);
+        snapshotFile = BenchmarkData.snapshotFile(rows);
+    }
+
+    @Benchmark
+    public ITable csvReader() throws IOException {
+        ITable table = new TableCore();
+        Map<String, Object> options = new HashMap<>();
+        options.put("hasHeaderRow", true);
+        new CSVReader().readData(new CSVTableAdapter(table), new FileConnection(csvFile.toString(), "csv"), options);
+        return table;
+    }
+
+    @Benchmark
+    public ITable csvReaderParallel() throws IOException {
+        ITable table = new TableCore();
+        Map<String, Object> options = new HashMap<>();
+        options.put("hasHeaderRow", true);
+        options.put("parallelism", Runtime.getRuntime().availableProcessors());
+        new CSVReader().readData(new CSVTableAdapter(table), new FileConnection(csvFile.toString(), "csv"), options);
+        return table;
+    }
+
+    @Benchmark
+    public ITable csvMappingReader() throws IOException {
+        MappingConfiguration config = new MappingConfiguration()
+                .setSourceLocation(csvFile.toString())
+                .addColumnMapping(new ColumnMapping("Id", "Id", "int"))
+                .addColumnMapping(new ColumnMapping("Name", "Name", "string"))
+                .addColumnMapping(new ColumnMapping("Price", "Price", "double"))
+                .addColumnMapping(new ColumnMapping("Active", "Active", "boolean"))
+                .setOption("hasHeaderRow", true);
+
+        ITable table = new TableCore();
+        new CSVMappingReader().readFromCSV(table, config);
+        return table;
+    }
+
+    @Benchmark
+    public ITable jsonReader() {
+        ITable table = new TableCore();
+        new JSONReader().readData(new JSONTableAdapter(table), new FileConnection(jsonFile.toString(), "json"), null);
+        return table;
+    }
+
+    @Benchmark
+    public ITable xmlReader() {
+        ITable table = new TableCore();
+        Map<String, Object> options = new HashMap<>();
+        options.put("rootElement", BenchmarkData.ROOT_ELEMENT);
+        options.put("rowElement", BenchmarkData.ROW_ELEMENT);
+        new XMLReader().readData(new XMLTableAdapter(table), new FileConnection(xmlFile.toString(), "xml"), options);
+        return table;
+    }
+
+    @Benchmark
+    public ITable snapshotReader() throws IOException {
+        return new SnapshotReader().readSnapshot(snapshotFile.toString(), null);
+    }
+}
@@ -0,0 +1,86 @@
+package dev.mars.jtable.benchmarks;
+
+import dev.mars.jtable.core.model.ITable;
+import dev.mars.jtable.core.table.TableCore;
+import dev.mars.jtable.io.common.adapter.CSVTableAdapter;
+import dev.mars.jtable.io.common.adapter.JSONTableAdapter;
+import dev.mars.jtable.io.common.adapter.XMLTableAdapter;
+import dev.mars.jtable.io.files.csv.CSVWriter;
+import dev.mars.jtable.io.files.json.JSONWriter;
+import dev.mars.jtable.io.files.xml.XMLWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end benchmarks for the file writers.
+ * Each invocation writes the complete benchmark table to a file, so the results
+ * include value formatting, escaping and file IO.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+@State(Scope.Benchmark)
+public class FileWriterBenchmark {
+
+    @Param({"10000", "1000000", "10000000"})
+    public int rows;
+
+    private ITable table;
+    private Path outputDirectory;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        table = BenchmarkData.load(new TableCore(), rows);
+        outputDirectory = BenchmarkData.dataDirectory();
+    }
+
+    @Benchmark
+    public void csvWriter() throws IOException {
+        new CSVWriter().writeToCSV(new CSVTableAdapter(table), outputDirectory.resolve("out.csv").toString(), true);
+    }
+
+    @Benchmark
+    public void csvWriterGzip() throws IOException {
+        new CSVWriter().writeToCSV(new CSVTableAdapter(table), outputDirectory.resolve("out.csv.gz").toString(), true,
+                ',', true, false);
+    }
+
+    @Benchmark
+    public void csvWriterGzipBackground() throws IOException {
+        new CSVWriter().writeToCSV(new CSVTableAdapter(table), outputDirectory.resolve("out.csv.gz").toString(), true,
+                ',', true, true);
+    }
+
+    @Benchmark
+    public void jsonWriter() {
+        new JSONWriter().writeToJSON(new JSONTableAdapter(table), outputDirectory.resolve("out.json").toString(), false);
+    }
+
+    @Benchmark
+    public void xmlWriter() {
+        new XMLWriter().writeToXML(new XMLTableAdapter(table), outputDirectory.resolve("out.xml").toString(),
+                BenchmarkData.ROOT_ELEMENT, BenchmarkData.ROW_ELEMENT, false);
+    }
+
+    @Benchmark
+    public void xmlWriterGzip() {
+        new XMLWriter().writeToXML(new XMLTableAdapter(table), outputDirectory.resolve("out.xml.gz").toString(),
+                BenchmarkData.ROOT_ELEMENT, BenchmarkData.ROW_ELEMENT, false, true);
+    }
+}
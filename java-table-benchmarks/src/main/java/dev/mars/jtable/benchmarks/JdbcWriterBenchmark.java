@@ -0,0 +1,109 @@
+package dev.mars.jtable.benchmarks;
+
+import dev.mars.jtable.core.model.ITable;
+import dev.mars.jtable.core.table.TableCore;
+import dev.mars.jtable.io.common.adapter.JDBCDataSourceTableAdapter;
+import dev.mars.jtable.io.common.datasource.DbConnection;
+import dev.mars.jtable.io.common.mapping.ColumnMapping;
+import dev.mars.jtable.io.common.mapping.MappingConfiguration;
+import dev.mars.jtable.io.files.jdbc.JDBCMappingWriter;
+import dev.mars.jtable.io.files.jdbc.JDBCWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end benchmarks for the JDBC writers against local H2 and SQLite database files.
+ * The target table is dropped before every invocation so that each measurement
+ * covers table creation and the insertion of every row.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+@State(Scope.Benchmark)
+public class JdbcWriterBenchmark {
+
+    private static final String TABLE_NAME = "BENCHMARK_ROWS";
+
+    @Param({"h2", "sqlite"})
+    public String database;
+
+    @Param({"10000", "1000000", "10000000"})
+    public int rows;
+
+    private ITable table;
+    private String connectionString;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        table = BenchmarkData.load(new TableCore(), rows);
+
+        Path dbFile = BenchmarkData.dataDirectory().resolve("benchmark-" + database);
+        switch (database) {
+            case "h2":
+                connectionString = "jdbc:h2:file:" + dbFile;
+                break;
+            case "sqlite":
+                connectionString = "jdbc:sqlite:" + dbFile + ".db";
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown database: " + database);
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void dropTable() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(connectionString, "", "");
+             Statement statement = connection.createStatement()) {
+            statement.executeUpdate("DROP TABLE IF EXISTS " + TABLE_NAME);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        dropTable();
+    }
+
+    @Benchmark
+    public void jdbcWriter() {
+        Map<String, Object> options = new HashMap<>();
+        options.put("tableName", TABLE_NAME);
+        options.put("createTable", true);
+        new JDBCWriter().writeData(new JDBCDataSourceTableAdapter(table), new DbConnection(connectionString, "", ""), options);
+    }
+
+    @Benchmark
+    public void jdbcMappingWriter() throws SQLException {
+        MappingConfiguration config = new MappingConfiguration()
+                .setSourceLocation(connectionString)
+                .addColumnMapping(new ColumnMapping("Id", "ID", "int"))
+                .addColumnMapping(new ColumnMapping("Name", "NAME", "string"))
+                .addColumnMapping(new ColumnMapping("Price", "PRICE", "double"))
+                .addColumnMapping(new ColumnMapping("Active", "ACTIVE", "boolean"))
+                .setOption("tableName", TABLE_NAME)
+                .setOption("createTable", true);
+
+        new JDBCMappingWriter().writeToDatabase(table, config);
+    }
+}
@@ -0,0 +1,83 @@
+package dev.mars.jtable.benchmarks;
+
+import dev.mars.jtable.core.model.ITable;
+import dev.mars.jtable.core.query.Join;
+import dev.mars.jtable.core.table.ColumnarTableCore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.LinkedHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the join operators on two tables of the same size keyed by an int column.
+ * The right table holds every key of the left table once, in shuffled order for the hash join
+ * and in key order for the sort-merge join.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class JoinBenchmark {
+
+    @Param({"1000000"})
+    public int rows;
+
+    @Param({"HASH", "SORT_MERGE"})
+    public String strategy;
+
+    @Param({"INNER", "LEFT_OUTER", "SEMI", "ANTI"})
+    public String type;
+
+    private ITable left;
+    private ITable right;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        left = BenchmarkData.load(new ColumnarTableCore(), rows);
+
+        ColumnarTableCore rates = new ColumnarTableCore();
+        LinkedHashMap<String, String> columns = new LinkedHashMap<>();
+        columns.put("Id", "int");
+        columns.put("Rate", "double");
+        rates.setColumns(columns);
+        boolean sorted = Join.Strategy.valueOf(strategy) == Join.Strategy.SORT_MERGE;
+        for (int i = 0; i < rows; i++) {
+            // A multiplier coprime with the row count visits every key once, out of order
+            int key = sorted ? i : (int) ((i * 7919L) % rows);
+            rates.addRowValues(new Object[]{key, (key % 100) / 10.0});
+        }
+        right = rates;
+    }
+
+    @Benchmark
+    public ITable join() {
+        Join join;
+        switch (Join.Type.valueOf(type)) {
+            case INNER:
+                join = Join.inner(left, right);
+                break;
+            case LEFT_OUTER:
+                join = Join.leftOuter(left, right);
+                break;
+            case SEMI:
+                join = Join.semi(left, right);
+                break;
+            default:
+                join = Join.anti(left, right);
+        }
+        return join.on("Id").strategy(Join.Strategy.valueOf(strategy)).execute();
+    }
+}
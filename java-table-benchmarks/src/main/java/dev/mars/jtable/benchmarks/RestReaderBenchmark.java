@@ -0,0 +1,168 @@
+package dev.mars.jtable.benchmarks;
+
+import com.sun.net.httpserver.HttpServer;
+import dev.mars.jtable.core.model.ITable;
+import dev.mars.jtable.core.table.TableCore;
+import dev.mars.jtable.io.common.adapter.JSONTableAdapter;
+import dev.mars.jtable.io.common.datasource.RESTConnection;
+import dev.mars.jtable.io.files.rest.RESTReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * End-to-end benchmarks for the REST reader.
+ * A local HTTP server serves the generated JSON file from memory, plain and gzip-compressed, so
+ * the results include the HTTP exchange, decompression, JSON parsing and table ingestion, but
+ * not the latency of a real network. The paginated benchmarks read the same rows from an
+ * offset-paginated endpoint that adds {@value #PAGE_LATENCY_MILLIS} ms of latency to every page,
+ * one page at a time and with concurrent requests.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+@State(Scope.Benchmark)
+public class RestReaderBenchmark {
+
+    static final int PAGE_SIZE = 1000;
+    static final long PAGE_LATENCY_MILLIS = 20;
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    private HttpServer server;
+    private String baseUrl;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        byte[] json = Files.readAllBytes(BenchmarkData.jsonFile(rows));
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(json);
+        }
+        byte[] gzipJson = compressed.toByteArray();
+
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/data.json", exchange -> {
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            if ("HEAD".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(200, -1);
+                exchange.close();
+                return;
+            }
+            exchange.sendResponseHeaders(200, json.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(json);
+            }
+        });
+        server.createContext("/data.json.gz", exchange -> {
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+            if ("HEAD".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(200, -1);
+                exchange.close();
+                return;
+            }
+            exchange.sendResponseHeaders(200, gzipJson.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(gzipJson);
+            }
+        });
+        server.createContext("/pages", exchange -> {
+            if ("HEAD".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(200, -1);
+                exchange.close();
+                return;
+            }
+            String query = exchange.getRequestURI().getQuery();
+            int offset = Integer.parseInt(query.replaceAll(".*offset=(\\d+).*", "$1"));
+            StringBuilder page = new StringBuilder("[");
+            for (int row = offset; row < Math.min(offset + PAGE_SIZE, rows); row++) {
+                page.append(row > offset ? "," : "").append("{\"Id\":").append(BenchmarkData.id(row))
+                        .append(",\"Name\":\"").append(BenchmarkData.name(row))
+                        .append("\",\"Price\":").append(BenchmarkData.price(row))
+                        .append(",\"Active\":").append(BenchmarkData.active(row)).append('}');
+            }
+            byte[] body = page.append(']').toString().getBytes(StandardCharsets.UTF_8);
+            try {
+                Thread.sleep(PAGE_LATENCY_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Benchmark
+    public ITable restReaderJson() {
+        return read("/data.json");
+    }
+
+    @Benchmark
+    public ITable restReaderJsonGzip() {
+        return read("/data.json.gz");
+    }
+
+    @Benchmark
+    public ITable restReaderOffsetPages() {
+        return readPages(1);
+    }
+
+    @Benchmark
+    public ITable restReaderOffsetPagesConcurrent() {
+        return readPages(8);
+    }
+
+    private ITable read(String path) {
+        ITable table = new TableCore();
+        new RESTReader().readData(new JSONTableAdapter(table), new RESTConnection(baseUrl + path), null);
+        return table;
+    }
+
+    private ITable readPages(int maxConcurrentRequests) {
+        ITable table = new TableCore();
+        Map<String, Object> options = new HashMap<>();
+        options.put("pagination", "offset");
+        options.put("pageSize", PAGE_SIZE);
+        options.put("maxConcurrentRequests", maxConcurrentRequests);
+        new RESTReader().readData(new JSONTableAdapter(table), new RESTConnection(baseUrl + "/pages"), options);
+        return table;
+    }
+}
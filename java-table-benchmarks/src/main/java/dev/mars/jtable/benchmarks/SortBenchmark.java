@@ -0,0 +1,63 @@
+package dev.mars.jtable.benchmarks;
+
+import dev.mars.jtable.core.model.ITable;
+import dev.mars.jtable.core.query.TableSorter;
+import dev.mars.jtable.core.table.ColumnarTableCore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks TableSorter on the benchmark data set, computing the sorted row indexes
+ * sequentially and in parallel. The "id" keys take the single int key path; the "namePrice"
+ * keys sort by name, then by descending price.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class SortBenchmark {
+
+    @Param({"1000000"})
+    public int rows;
+
+    @Param({"id", "namePrice"})
+    public String keys;
+
+    @Param({"false", "true"})
+    public boolean parallel;
+
+    private ITable table;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        table = BenchmarkData.load(new ColumnarTableCore(), rows);
+    }
+
+    @Benchmark
+    public int[] sort() {
+        TableSorter sorter = TableSorter.of(table);
+        if (keys.equals("id")) {
+            sorter.by("Id", false);
+        } else {
+            sorter.by("Name").by("Price", false);
+        }
+        if (parallel) {
+            sorter.parallel();
+        }
+        return sorter.sortedRowIndexes();
+    }
+}
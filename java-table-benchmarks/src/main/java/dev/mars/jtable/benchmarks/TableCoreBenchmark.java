@@ -0,0 +1,137 @@
+package dev.mars.jtable.benchmarks;
+
+import dev.mars.jtable.core.model.IColumn;
+import dev.mars.jtable.core.model.ITable;
+import dev.mars.jtable.core.table.ColumnarTableCore;
+import dev.mars.jtable.core.table.OptimizedTableCore;
+import dev.mars.jtable.core.table.TableCore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micro benchmarks for the ITable implementations.
+ * Measures row ingestion through addRow(Map) and the per-cell accessors used by the readers and writers.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class TableCoreBenchmark {
+
+    // Rows added per invocation of the addRow benchmark
+    private static final int BATCH_SIZE = 10_000;
+
+    @Param({"TableCore", "OptimizedTableCore", "ColumnarTableCore"})
+    public String implementation;
+
+    @Param({"10000", "1000000"})
+    public int rows;
+
+    private ITable table;
+    private Map<String, String>[] batch;
+    private int cursor;
+
+    /**
+     * Holds the empty table filled by the addRow benchmark, recreated before every invocation.
+     */
+    @State(Scope.Thread)
+    public static class IngestState {
+        ITable emptyTable;
+
+        @Setup(Level.Invocation)
+        public void setUp(TableCoreBenchmark benchmark) {
+            emptyTable = newTable(benchmark.implementation);
+            emptyTable.setColumns(BenchmarkData.columns());
+        }
+    }
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        table = BenchmarkData.load(newTable(implementation), rows);
+
+        batch = new Map[BATCH_SIZE];
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            Map<String, String> row = new HashMap<>();
+            row.put("Id", BenchmarkData.id(i));
+            row.put("Name", BenchmarkData.name(i));
+            row.put("Price", BenchmarkData.price(i));
+            row.put("Active", BenchmarkData.active(i));
+            batch[i] = row;
+        }
+    }
+
+    static ITable newTable(String implementation) {
+        switch (implementation) {
+            case "TableCore":
+                return new TableCore();
+            case "OptimizedTableCore":
+                return new OptimizedTableCore();
+            case "ColumnarTableCore":
+                return new ColumnarTableCore();
+            default:
+                throw new IllegalArgumentException("Unknown table implementation: " + implementation);
+        }
+    }
+
+    private int nextRow() {
+        int row = cursor++;
+        if (cursor == rows) {
+            cursor = 0;
+        }
+        return row;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public ITable addRow(IngestState state) {
+        for (Map<String, String> row : batch) {
+            state.emptyTable.addRow(row);
+        }
+        return state.emptyTable;
+    }
+
+    @Benchmark
+    public String getValueAt() {
+        return table.getValueAt(nextRow(), "Price");
+    }
+
+    @Benchmark
+    public void setValueAt() {
+        table.setValueAt(nextRow(), "Price", "19.95");
+    }
+
+    @Benchmark
+    public IColumn<?> getColumn() {
+        return table.getColumn(2);
+    }
+
+    /**
+     * Reads every cell of one column through getValueObject, the access pattern used by the writers.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void scanColumn(Blackhole blackhole) {
+        for (int i = 0; i < rows; i++) {
+            blackhole.consume(table.getValueObject(i, "Price"));
+        }
+    }
+}
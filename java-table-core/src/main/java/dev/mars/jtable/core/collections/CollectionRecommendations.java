@@ -180,7 +180,7 @@ public class CollectionRecommendations {
          *    - Use when: Multi-threaded access with balanced read-write operations
          * 
          * Current usage in TableCore.java:
-         * - Map<String, Map<Integer, String>> originalDoubleStrings = new HashMap<>();
+         * - Map<String, Integer> columnIndexes = new HashMap<>();
          *   This is appropriate for single-threaded access. If concurrent access becomes a requirement,
          *   consider ConcurrentHashMap.
          */
@@ -248,9 +248,6 @@ public class CollectionRecommendations {
          * Potential usage in TableCore.java:
          * - Map<String, IColumn<?>> columns = new ConcurrentHashMap<>();
          *   This would be appropriate if concurrent access to columns becomes a requirement.
-         * 
-         * - Map<String, Map<Integer, String>> originalDoubleStrings = new ConcurrentHashMap<>();
-         *   This would be appropriate if concurrent access to double string representations becomes a requirement.
          */
         public static void mapRecommendations() {
             // This method serves as documentation only
@@ -325,9 +322,9 @@ public class CollectionRecommendations {
          *    - Multi-threaded recommendation: CopyOnWriteArrayList for read-heavy scenarios,
          *      ConcurrentLinkedDeque for balanced read-write scenarios
          * 
-         * 3. Map<String, Map<Integer, String>> originalDoubleStrings = new HashMap<>();
+         * 3. Map<String, Integer> columnIndexes = new HashMap<>();
          *    - Current: HashMap
-         *    - Read-write ratio: Balanced
+         *    - Read-write ratio: Read-heavy (written only when the columns change)
          *    - Single-threaded recommendation: Keep HashMap (appropriate)
          *    - Multi-threaded recommendation: ConcurrentHashMap
          */
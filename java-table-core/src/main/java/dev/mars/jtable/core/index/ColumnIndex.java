@@ -0,0 +1,97 @@
+package dev.mars.jtable.core.index;
+
+/**
+ * Base class of the secondary indexes on a table column.
+ *
+ * An index maps the values of one column to the indexes of the rows holding them. Indexes are
+ * created and kept up to date by {@link IndexedTable}; values are compared with
+ * {@link Object#equals(Object)}, as the table compares cell values. Row indexes are always
+ * returned in ascending order.
+ */
+public abstract class ColumnIndex {
+    private final String columnName;
+    private final RowIds nullRows = new RowIds();
+    private int size;
+
+    ColumnIndex(String columnName) {
+        this.columnName = columnName;
+    }
+
+    /**
+     * Gets the name of the indexed column.
+     *
+     * @return the column name
+     */
+    public String getColumnName() {
+        return columnName;
+    }
+
+    /**
+     * Gets the number of rows in the index.
+     *
+     * @return the number of indexed rows, including rows with a null value
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Finds the rows holding a value.
+     *
+     * @param value the value to look up; null finds the rows with a null value
+     * @return the indexes of the matching rows in ascending order, empty if there are none
+     */
+    public int[] lookup(Object value) {
+        RowIds rows = rowsFor(value, false);
+        return rows == null ? RowIds.EMPTY : rows.toArray();
+    }
+
+    /**
+     * Checks whether any row holds a value.
+     *
+     * @param value the value to look up
+     * @return true if at least one row holds the value
+     */
+    public boolean contains(Object value) {
+        RowIds rows = rowsFor(value, false);
+        return rows != null && !rows.isEmpty();
+    }
+
+    void add(int rowIndex, Object value) {
+        if (rowsFor(value, true).add(rowIndex)) {
+            size++;
+        }
+    }
+
+    void remove(int rowIndex, Object value) {
+        RowIds rows = rowsFor(value, false);
+        if (rows != null && rows.remove(rowIndex)) {
+            size--;
+            if (rows.isEmpty() && value != null) {
+                discard(value);
+            }
+        }
+    }
+
+    private RowIds rowsFor(Object value, boolean create) {
+        return value == null ? nullRows : rowsForValue(value, create);
+    }
+
+    /**
+     * Gets the rows of a non-null value.
+     *
+     * @param value the value
+     * @param create whether to create the row set if the value is not indexed yet
+     * @return the rows of the value, or null if it is not indexed and create is false
+     */
+    abstract RowIds rowsForValue(Object value, boolean create);
+
+    /**
+     * Called when the last row of a non-null value has been removed, so that the index can drop
+     * the value. Does nothing by default.
+     *
+     * @param value the value that no row holds any more
+     */
+    void discard(Object value) {
+    }
+}
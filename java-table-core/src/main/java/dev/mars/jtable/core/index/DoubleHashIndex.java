@@ -0,0 +1,35 @@
+package dev.mars.jtable.core.index;
+
+/**
+ * A hash index on a double column, keyed by the bits of the primitive value. Values are matched
+ * as {@link Double#equals(Object)} matches them, so NaN finds NaN and 0.0 does not find -0.0.
+ */
+public final class DoubleHashIndex extends HashIndex {
+    private final LongRowIdMap rows = new LongRowIdMap();
+
+    DoubleHashIndex(String columnName) {
+        super(columnName);
+    }
+
+    /**
+     * Finds the rows holding a value without boxing it.
+     *
+     * @param value the value to look up
+     * @return the indexes of the matching rows in ascending order, empty if there are none
+     */
+    public int[] lookup(double value) {
+        RowIds matches = rows.get(Double.doubleToLongBits(value), false);
+        return matches == null ? RowIds.EMPTY : matches.toArray();
+    }
+
+    @Override
+    RowIds rowsForValue(Object value, boolean create) {
+        if (!(value instanceof Double)) {
+            if (create) {
+                throw new IllegalArgumentException("Value '" + value + "' is not of type Double");
+            }
+            return null;
+        }
+        return rows.get(Double.doubleToLongBits((Double) value), create);
+    }
+}
@@ -0,0 +1,32 @@
+package dev.mars.jtable.core.index;
+
+import dev.mars.jtable.core.model.IColumn;
+
+/**
+ * A hash index for point lookups on a column.
+ *
+ * Int and double columns get an {@link IntHashIndex} or a {@link DoubleHashIndex}, which keep
+ * their keys unboxed; columns of any other type are indexed with a HashMap.
+ */
+public abstract class HashIndex extends ColumnIndex {
+
+    HashIndex(String columnName) {
+        super(columnName);
+    }
+
+    /**
+     * Creates an empty hash index suited to the type of a column.
+     *
+     * @param column the column to index
+     * @return the empty index
+     */
+    static HashIndex forColumn(IColumn<?> column) {
+        Class<?> type = column.getType();
+        if (type == Integer.class) {
+            return new IntHashIndex(column.getName());
+        } else if (type == Double.class) {
+            return new DoubleHashIndex(column.getName());
+        }
+        return new ObjectHashIndex(column.getName());
+    }
+}
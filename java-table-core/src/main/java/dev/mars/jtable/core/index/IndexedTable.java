@@ -0,0 +1,388 @@
+package dev.mars.jtable.core.index;
+
+import dev.mars.jtable.core.model.IColumn;
+import dev.mars.jtable.core.model.IRow;
+import dev.mars.jtable.core.model.ITable;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * An ITable that keeps secondary indexes on the columns of another table.
+ *
+ * Every call is delegated to the wrapped table. Hash and sorted indexes can be created on any
+ * column; they are built from the rows already in the table and then kept up to date by the
+ * addRow, setValue and setValueAt methods of this class. Changes made to the wrapped table
+ * directly, or through the IRow objects it returns, bypass the indexes.
+ *
+ * Like the tables it wraps, this class is not thread-safe.
+ */
+public class IndexedTable implements ITable {
+    private final ITable table;
+    private final Map<String, HashIndex> hashIndexes = new LinkedHashMap<>();
+    private final Map<String, SortedIndex> sortedIndexes = new LinkedHashMap<>();
+
+    /**
+     * Creates an indexed view of a table, without any index yet.
+     *
+     * @param table the table to index
+     */
+    public IndexedTable(ITable table) {
+        if (table == null) {
+            throw new IllegalArgumentException("Table cannot be null");
+        }
+        this.table = table;
+    }
+
+    /**
+     * Gets the wrapped table.
+     *
+     * @return the table whose calls this table delegates to
+     */
+    public ITable getTable() {
+        return table;
+    }
+
+    /**
+     * Creates a hash index on a column, or returns the existing one.
+     *
+     * @param columnName the name of the column
+     * @return the hash index, holding every row of the table
+     * @throws IllegalArgumentException if the column does not exist
+     */
+    public HashIndex createHashIndex(String columnName) {
+        HashIndex index = hashIndexes.get(columnName);
+        if (index == null) {
+            index = HashIndex.forColumn(requireColumn(columnName));
+            build(index);
+            hashIndexes.put(columnName, index);
+        }
+        return index;
+    }
+
+    /**
+     * Creates a sorted index on a column, or returns the existing one.
+     *
+     * @param columnName the name of the column
+     * @return the sorted index, holding every row of the table
+     * @throws IllegalArgumentException if the column does not exist or its values are not comparable
+     */
+    public SortedIndex createSortedIndex(String columnName) {
+        SortedIndex index = sortedIndexes.get(columnName);
+        if (index == null) {
+            index = new SortedIndex(requireColumn(columnName));
+            build(index);
+            sortedIndexes.put(columnName, index);
+        }
+        return index;
+    }
+
+    /**
+     * Gets the hash index on a column.
+     *
+     * @param columnName the name of the column
+     * @return the hash index, or null if the column has none
+     */
+    public HashIndex getHashIndex(String columnName) {
+        return hashIndexes.get(columnName);
+    }
+
+    /**
+     * Gets the sorted index on a column.
+     *
+     * @param columnName the name of the column
+     * @return the sorted index, or null if the column has none
+     */
+    public SortedIndex getSortedIndex(String columnName) {
+        return sortedIndexes.get(columnName);
+    }
+
+    /**
+     * Drops the hash and sorted indexes on a column.
+     *
+     * @param columnName the name of the column
+     */
+    public void dropIndexes(String columnName) {
+        hashIndexes.remove(columnName);
+        sortedIndexes.remove(columnName);
+    }
+
+    private IColumn<?> requireColumn(String columnName) {
+        IColumn<?> column = table.getColumn(columnName);
+        if (column == null) {
+            throw new IllegalArgumentException("Column '" + columnName + "' does not exist");
+        }
+        return column;
+    }
+
+    private void build(ColumnIndex index) {
+        String columnName = index.getColumnName();
+        int rowCount = table.getRowCount();
+        for (int i = 0; i < rowCount; i++) {
+            index.add(i, table.getValueObject(i, columnName));
+        }
+    }
+
+    private boolean hasIndexes() {
+        return !hashIndexes.isEmpty() || !sortedIndexes.isEmpty();
+    }
+
+    private void indexAddedRows(int firstRow) {
+        if (!hasIndexes()) {
+            return;
+        }
+        int rowCount = table.getRowCount();
+        for (int i = firstRow; i < rowCount; i++) {
+            for (HashIndex index : hashIndexes.values()) {
+                index.add(i, table.getValueObject(i, index.getColumnName()));
+            }
+            for (SortedIndex index : sortedIndexes.values()) {
+                index.add(i, table.getValueObject(i, index.getColumnName()));
+            }
+        }
+    }
+
+    private void reindexValue(int rowIndex, String columnName, Object oldValue) {
+        Object newValue = table.getValueObject(rowIndex, columnName);
+        if (Objects.equals(oldValue, newValue)) {
+            return;
+        }
+        ColumnIndex hashIndex = hashIndexes.get(columnName);
+        if (hashIndex != null) {
+            hashIndex.remove(rowIndex, oldValue);
+            hashIndex.add(rowIndex, newValue);
+        }
+        ColumnIndex sortedIndex = sortedIndexes.get(columnName);
+        if (sortedIndex != null) {
+            sortedIndex.remove(rowIndex, oldValue);
+            sortedIndex.add(rowIndex, newValue);
+        }
+    }
+
+    private boolean isIndexed(String columnName) {
+        return hashIndexes.containsKey(columnName) || sortedIndexes.containsKey(columnName);
+    }
+
+    @Override
+    public void addRow(IRow row) {
+        int firstRow = table.getRowCount();
+        table.addRow(row);
+        indexAddedRows(firstRow);
+    }
+
+    @Override
+    public void addRow(Map<String, String> row) {
+        int firstRow = table.getRowCount();
+        table.addRow(row);
+        indexAddedRows(firstRow);
+    }
+
+    @Override
+    public void addRow(String[] values) {
+        int firstRow = table.getRowCount();
+        table.addRow(values);
+        indexAddedRows(firstRow);
+    }
+
+    @Override
+    public void setValue(int rowIndex, String columnName, Object value) {
+        if (!isIndexed(columnName)) {
+            table.setValue(rowIndex, columnName, value);
+            return;
+        }
+        Object oldValue = table.getValueObject(rowIndex, columnName);
+        table.setValue(rowIndex, columnName, value);
+        reindexValue(rowIndex, columnName, oldValue);
+    }
+
+    @Override
+    public void setValueAt(int rowIndex, String columnName, String value) {
+        if (!isIndexed(columnName)) {
+            table.setValueAt(rowIndex, columnName, value);
+            return;
+        }
+        Object oldValue = table.getValueObject(rowIndex, columnName);
+        table.setValueAt(rowIndex, columnName, value);
+        reindexValue(rowIndex, columnName, oldValue);
+    }
+
+    /**
+     * Reorders the rows of the wrapped table and rebuilds the indexes, whose row indexes all change.
+     */
+    @Override
+    public void reorderRows(int[] order) {
+        table.reorderRows(order);
+        List<String> hashColumns = new ArrayList<>(hashIndexes.keySet());
+        List<String> sortedColumns = new ArrayList<>(sortedIndexes.keySet());
+        hashIndexes.clear();
+        sortedIndexes.clear();
+        for (String columnName : hashColumns) {
+            createHashIndex(columnName);
+        }
+        for (String columnName : sortedColumns) {
+            createSortedIndex(columnName);
+        }
+    }
+
+    /**
+     * Redefines the columns of the wrapped table and rebuilds the indexes of the columns that
+     * still exist. Indexes on removed columns are dropped.
+     */
+    @Override
+    public void setColumns(LinkedHashMap<String, String> columns) {
+        table.setColumns(columns);
+        List<String> hashColumns = new ArrayList<>(hashIndexes.keySet());
+        List<String> sortedColumns = new ArrayList<>(sortedIndexes.keySet());
+        hashIndexes.clear();
+        sortedIndexes.clear();
+        for (String columnName : hashColumns) {
+            if (table.getColumn(columnName) != null) {
+                createHashIndex(columnName);
+            }
+        }
+        for (String columnName : sortedColumns) {
+            IColumn<?> column = table.getColumn(columnName);
+            if (column != null && Comparable.class.isAssignableFrom(column.getType())) {
+                createSortedIndex(columnName);
+            }
+        }
+    }
+
+    @Override
+    public String getName() {
+        return table.getName();
+    }
+
+    @Override
+    public void setName(String name) {
+        table.setName(name);
+    }
+
+    @Override
+    public void setCreateDefaultValue(boolean createDefaultValue) {
+        table.setCreateDefaultValue(createDefaultValue);
+    }
+
+    @Override
+    public boolean isCreateDefaultValue() {
+        return table.isCreateDefaultValue();
+    }
+
+    @Override
+    public String getDefaultValue(String type) {
+        return table.getDefaultValue(type);
+    }
+
+    @Override
+    public IColumn<?> getColumn(String name) {
+        return table.getColumn(name);
+    }
+
+    @Override
+    public IColumn<?> getColumn(int index) {
+        return table.getColumn(index);
+    }
+
+    @Override
+    public List<IColumn<?>> getColumns() {
+        return table.getColumns();
+    }
+
+    @Override
+    public void addColumn(IColumn<?> column) {
+        table.addColumn(column);
+    }
+
+    @Override
+    public String getColumnName(int index) {
+        return table.getColumnName(index);
+    }
+
+    @Override
+    public IRow getRow(int index) {
+        return table.getRow(index);
+    }
+
+    @Override
+    public List<IRow> getRows() {
+        return table.getRows();
+    }
+
+    @Override
+    public IRow createRow() {
+        return table.createRow();
+    }
+
+    @Override
+    public int getRowCount() {
+        return table.getRowCount();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return table.getColumnCount();
+    }
+
+    @Override
+    public Object getValueObject(int rowIndex, String columnName) {
+        return table.getValueObject(rowIndex, columnName);
+    }
+
+    @Override
+    public String getValueAt(int rowIndex, String columnName) {
+        return table.getValueAt(rowIndex, columnName);
+    }
+
+    @Override
+    public int getColumnIndex(String columnName) {
+        return table.getColumnIndex(columnName);
+    }
+
+    @Override
+    public boolean isNull(int rowIndex, int columnIndex) {
+        return table.isNull(rowIndex, columnIndex);
+    }
+
+    @Override
+    public int getInt(int rowIndex, int columnIndex) {
+        return table.getInt(rowIndex, columnIndex);
+    }
+
+    @Override
+    public double getDouble(int rowIndex, int columnIndex) {
+        return table.getDouble(rowIndex, columnIndex);
+    }
+
+    @Override
+    public boolean getBoolean(int rowIndex, int columnIndex) {
+        return table.getBoolean(rowIndex, columnIndex);
+    }
+
+    @Override
+    public String getString(int rowIndex, int columnIndex) {
+        return table.getString(rowIndex, columnIndex);
+    }
+
+    @Override
+    public int getScale(int rowIndex, int columnIndex) {
+        return table.getScale(rowIndex, columnIndex);
+    }
+
+    @Override
+    public Object convertValue(String value, IColumn<?> column) {
+        return table.convertValue(value, column);
+    }
+
+    @Override
+    public String inferType(String value) {
+        return table.inferType(value);
+    }
+
+    @Override
+    public void printTable() {
+        table.printTable();
+    }
+}
@@ -0,0 +1,34 @@
+package dev.mars.jtable.core.index;
+
+/**
+ * A hash index on an int column, keyed by the primitive value.
+ */
+public final class IntHashIndex extends HashIndex {
+    private final LongRowIdMap rows = new LongRowIdMap();
+
+    IntHashIndex(String columnName) {
+        super(columnName);
+    }
+
+    /**
+     * Finds the rows holding a value without boxing it.
+     *
+     * @param value the value to look up
+     * @return the indexes of the matching rows in ascending order, empty if there are none
+     */
+    public int[] lookup(int value) {
+        RowIds matches = rows.get(value, false);
+        return matches == null ? RowIds.EMPTY : matches.toArray();
+    }
+
+    @Override
+    RowIds rowsForValue(Object value, boolean create) {
+        if (!(value instanceof Integer)) {
+            if (create) {
+                throw new IllegalArgumentException("Value '" + value + "' is not of type Integer");
+            }
+            return null;
+        }
+        return rows.get((Integer) value, create);
+    }
+}
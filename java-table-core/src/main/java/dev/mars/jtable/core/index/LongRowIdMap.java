@@ -0,0 +1,91 @@
+package dev.mars.jtable.core.index;
+
+/**
+ * An open-addressing hash map from primitive long keys to row sets, used by the hash indexes
+ * on int and double columns so that neither keys nor lookups are boxed.
+ *
+ * Keys are never removed: a value whose rows have all been removed keeps an empty row set
+ * until the map is resized, which drops it.
+ */
+final class LongRowIdMap {
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] keys;
+    private RowIds[] values;
+    private int shift;
+    private int size;
+
+    LongRowIdMap() {
+        allocate(MIN_CAPACITY);
+    }
+
+    /**
+     * Gets the rows of a key.
+     *
+     * @param key the key
+     * @param create whether to add the key if it is not in the map yet
+     * @return the rows of the key, or null if it is not in the map and create is false
+     */
+    RowIds get(long key, boolean create) {
+        int mask = keys.length - 1;
+        int slot = slot(key);
+        while (values[slot] != null) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (!create) {
+            return null;
+        }
+        if ((size + 1) * 2 > keys.length) {
+            resize();
+            return get(key, true);
+        }
+        RowIds rows = new RowIds();
+        keys[slot] = key;
+        values[slot] = rows;
+        size++;
+        return rows;
+    }
+
+    private int slot(long key) {
+        // Fibonacci hashing spreads sequential keys and the high bits of doubles alike
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> shift);
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new RowIds[capacity];
+        shift = Long.numberOfLeadingZeros(capacity - 1);
+        size = 0;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        RowIds[] oldValues = values;
+        int live = 0;
+        for (RowIds rows : oldValues) {
+            if (rows != null && !rows.isEmpty()) {
+                live++;
+            }
+        }
+        int capacity = MIN_CAPACITY;
+        while (capacity < (live + 1) * 4) {
+            capacity <<= 1;
+        }
+        allocate(capacity);
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != null && !oldValues[i].isEmpty()) {
+                int slot = slot(oldKeys[i]);
+                while (values[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+                size++;
+            }
+        }
+    }
+}
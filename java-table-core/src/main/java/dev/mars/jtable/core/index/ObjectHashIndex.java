@@ -0,0 +1,25 @@
+package dev.mars.jtable.core.index;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A hash index on a column of any type, backed by a HashMap.
+ */
+final class ObjectHashIndex extends HashIndex {
+    private final Map<Object, RowIds> rows = new HashMap<>();
+
+    ObjectHashIndex(String columnName) {
+        super(columnName);
+    }
+
+    @Override
+    RowIds rowsForValue(Object value, boolean create) {
+        return create ? rows.computeIfAbsent(value, k -> new RowIds()) : rows.get(value);
+    }
+
+    @Override
+    void discard(Object value) {
+        rows.remove(value);
+    }
+}
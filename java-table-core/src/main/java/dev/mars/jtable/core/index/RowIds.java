@@ -0,0 +1,75 @@
+package dev.mars.jtable.core.index;
+
+import java.util.Arrays;
+
+/**
+ * A growable, ascending set of row indexes, holding the rows of one indexed value.
+ *
+ * Rows are usually added in ascending order, which is a plain append; updates of older
+ * rows fall back to a binary search and a shift.
+ */
+final class RowIds {
+    static final int[] EMPTY = new int[0];
+
+    // Most indexed values are unique, so start with room for a single row
+    private int[] ids = new int[1];
+    private int size;
+
+    boolean add(int rowIndex) {
+        if (size == 0 || ids[size - 1] < rowIndex) {
+            ensureCapacity();
+            ids[size++] = rowIndex;
+            return true;
+        }
+        int position = Arrays.binarySearch(ids, 0, size, rowIndex);
+        if (position >= 0) {
+            return false;
+        }
+        position = -position - 1;
+        ensureCapacity();
+        System.arraycopy(ids, position, ids, position + 1, size - position);
+        ids[position] = rowIndex;
+        size++;
+        return true;
+    }
+
+    boolean remove(int rowIndex) {
+        int position = Arrays.binarySearch(ids, 0, size, rowIndex);
+        if (position < 0) {
+            return false;
+        }
+        System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+        size--;
+        return true;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int[] toArray() {
+        return size == 0 ? EMPTY : Arrays.copyOf(ids, size);
+    }
+
+    /**
+     * Copies the rows into an array.
+     *
+     * @param target the array to copy into
+     * @param offset the position of the first row in the array
+     * @return the position after the last row copied
+     */
+    int copyTo(int[] target, int offset) {
+        System.arraycopy(ids, 0, target, offset, size);
+        return offset + size;
+    }
+
+    private void ensureCapacity() {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package dev.mars.jtable.core.index;
+
+import dev.mars.jtable.core.model.IColumn;
+
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * A sorted index for range queries on a column whose values are {@link Comparable}, such as
+ * numbers, strings, booleans, dates and times.
+ *
+ * Rows with a null value can be looked up, but are never part of a range.
+ */
+public final class SortedIndex extends ColumnIndex {
+    private final Class<?> type;
+    private final TreeMap<Object, RowIds> rows = new TreeMap<>();
+
+    SortedIndex(IColumn<?> column) {
+        super(column.getName());
+        if (!Comparable.class.isAssignableFrom(column.getType())) {
+            throw new IllegalArgumentException("Column '" + column.getName() + "' of type "
+                    + column.getType().getSimpleName() + " cannot be sorted");
+        }
+        this.type = column.getType();
+    }
+
+    /**
+     * Finds the rows whose value lies in a range. A null bound leaves that end of the range open.
+     *
+     * @param from the lower bound, or null for no lower bound
+     * @param fromInclusive whether rows equal to the lower bound are included
+     * @param to the upper bound, or null for no upper bound
+     * @param toInclusive whether rows equal to the upper bound are included
+     * @return the indexes of the matching rows, in ascending order of value and then of row index
+     * @throws IllegalArgumentException if a bound is not of the column type
+     */
+    public int[] range(Object from, boolean fromInclusive, Object to, boolean toInclusive) {
+        checkBound(from);
+        checkBound(to);
+        NavigableMap<Object, RowIds> matches = rows;
+        if (from != null && to != null) {
+            if (compare(from, to) > 0) {
+                return RowIds.EMPTY;
+            }
+            matches = rows.subMap(from, fromInclusive, to, toInclusive);
+        } else if (from != null) {
+            matches = rows.tailMap(from, fromInclusive);
+        } else if (to != null) {
+            matches = rows.headMap(to, toInclusive);
+        }
+
+        int count = 0;
+        for (RowIds ids : matches.values()) {
+            count += ids.size();
+        }
+        int[] result = new int[count];
+        int offset = 0;
+        for (RowIds ids : matches.values()) {
+            offset = ids.copyTo(result, offset);
+        }
+        return result;
+    }
+
+    /**
+     * Finds the rows whose value is at least {@code from} and less than {@code to}.
+     *
+     * @param from the inclusive lower bound, or null for no lower bound
+     * @param to the exclusive upper bound, or null for no upper bound
+     * @return the indexes of the matching rows, in ascending order of value and then of row index
+     */
+    public int[] range(Object from, Object to) {
+        return range(from, true, to, false);
+    }
+
+    /**
+     * Gets the smallest indexed value.
+     *
+     * @return the smallest non-null value, or null if the index holds no non-null value
+     */
+    public Object firstValue() {
+        return rows.isEmpty() ? null : rows.firstKey();
+    }
+
+    /**
+     * Gets the largest indexed value.
+     *
+     * @return the largest non-null value, or null if the index holds no non-null value
+     */
+    public Object lastValue() {
+        return rows.isEmpty() ? null : rows.lastKey();
+    }
+
+    @Override
+    RowIds rowsForValue(Object value, boolean create) {
+        if (!type.isInstance(value)) {
+            if (create) {
+                throw new IllegalArgumentException("Value '" + value + "' is not of type " + type.getSimpleName());
+            }
+            return null;
+        }
+        return create ? rows.computeIfAbsent(value, k -> new RowIds()) : rows.get(value);
+    }
+
+    @Override
+    void discard(Object value) {
+        rows.remove(value);
+    }
+
+    private void checkBound(Object bound) {
+        if (bound != null && !type.isInstance(bound)) {
+            throw new IllegalArgumentException("Bound '" + bound + "' is not of type " + type.getSimpleName());
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compare(Object left, Object right) {
+        return ((Comparable) left).compareTo(right);
+    }
+}
@@ -0,0 +1,32 @@
+package dev.mars.jtable.core.model;
+
+import java.util.List;
+
+/**
+ * Implemented by tables that store String columns as int codes into a dictionary of their
+ * distinct values. Column-at-a-time consumers, such as the query engine, use it to compare and
+ * group rows by code instead of by string.
+ *
+ * Codes are stable while the table is not modified; adding values may extend a dictionary, or
+ * turn a column with too many distinct values back into plain strings.
+ */
+public interface IDictionaryEncoded {
+    /**
+     * Gets the dictionary of a column.
+     *
+     * @param columnIndex the index of the column
+     * @return the distinct values of the column indexed by code, as a read-only view, or null if
+     *         the column is not dictionary encoded
+     */
+    List<String> getDictionary(int columnIndex);
+
+    /**
+     * Gets the dictionary code of the value of a row.
+     *
+     * @param rowIndex the index of the row
+     * @param columnIndex the index of the column, which must be dictionary encoded
+     * @return the code of the value, or -1 if the row holds no value
+     * @throws IllegalArgumentException if the column is not dictionary encoded
+     */
+    int getCode(int rowIndex, int columnIndex);
+}
@@ -49,6 +49,15 @@ public interface ITable {
 
     void addRow(Map<String, String> row);
 
+    /**
+     * Adds a row whose values are given in column order.
+     * Values are converted from their string form as in {@link #addRow(Map)}. Columns beyond the
+     * end of the array are treated as missing. The array is not retained, so callers may reuse it.
+     *
+     * @param values the values of the row, indexed by column
+     */
+    void addRow(String[] values);
+
     IRow createRow();
 
     int getRowCount();
@@ -63,6 +72,93 @@ public interface ITable {
 
     void setValueAt(int rowIndex, String columnName, String value);
 
+    /**
+     * Gets the index of a column. Tables keep this mapping cached, so callers can resolve
+     * column names once and use the index-based accessors below inside their row loops.
+     *
+     * @param columnName the name of the column
+     * @return the index of the column, or -1 if the table has no such column
+     */
+    int getColumnIndex(String columnName);
+
+    /**
+     * Determines whether a cell holds no value.
+     *
+     * @param rowIndex the index of the row
+     * @param columnIndex the index of the column
+     * @return true if the cell holds no value
+     * @throws IndexOutOfBoundsException if either index is out of range
+     */
+    boolean isNull(int rowIndex, int columnIndex);
+
+    /**
+     * Gets the value of a cell in an int column without boxing or formatting it.
+     *
+     * @param rowIndex the index of the row
+     * @param columnIndex the index of the column
+     * @return the value of the cell
+     * @throws IndexOutOfBoundsException if either index is out of range
+     * @throws IllegalArgumentException if the column is not an int column
+     * @throws IllegalStateException if the cell holds no value
+     */
+    int getInt(int rowIndex, int columnIndex);
+
+    /**
+     * Gets the value of a cell in a double column without boxing or formatting it.
+     * Values of int columns are widened.
+     *
+     * @param rowIndex the index of the row
+     * @param columnIndex the index of the column
+     * @return the value of the cell
+     * @throws IndexOutOfBoundsException if either index is out of range
+     * @throws IllegalArgumentException if the column is neither a double nor an int column
+     * @throws IllegalStateException if the cell holds no value
+     */
+    double getDouble(int rowIndex, int columnIndex);
+
+    /**
+     * Gets the value of a cell in a boolean column without boxing it.
+     *
+     * @param rowIndex the index of the row
+     * @param columnIndex the index of the column
+     * @return the value of the cell
+     * @throws IndexOutOfBoundsException if either index is out of range
+     * @throws IllegalArgumentException if the column is not a boolean column
+     * @throws IllegalStateException if the cell holds no value
+     */
+    boolean getBoolean(int rowIndex, int columnIndex);
+
+    /**
+     * Gets the value of a cell in the same string form as {@link #getValueAt(int, String)}.
+     *
+     * @param rowIndex the index of the row
+     * @param columnIndex the index of the column
+     * @return the string form of the value, or null if the cell holds no value
+     * @throws IndexOutOfBoundsException if either index is out of range
+     */
+    String getString(int rowIndex, int columnIndex);
+
+    /**
+     * Gets the number of fraction digits recorded for a cell of a double column, which is what
+     * keeps a value such as 2.50 printing as it was read.
+     *
+     * @param rowIndex the index of the row
+     * @param columnIndex the index of the column
+     * @return the recorded scale, or -1 if the cell holds no value that was parsed from decimal
+     *         text, or the column is not a double column
+     * @throws IndexOutOfBoundsException if either index is out of range
+     */
+    int getScale(int rowIndex, int columnIndex);
+
+    /**
+     * Reorders the rows in place, so that the row at index {@code order[i]} moves to index i.
+     * Values and their string forms move with their rows.
+     *
+     * @param order a permutation of the row indexes, such as the one computed by a sort
+     * @throws IllegalArgumentException if the order does not hold every row index exactly once
+     */
+    void reorderRows(int[] order);
+
     @SuppressWarnings("unchecked")
     Object convertValue(String value, IColumn<?> column);
 
@@ -0,0 +1,329 @@
+package dev.mars.jtable.core.query;
+
+import dev.mars.jtable.core.model.IColumn;
+import dev.mars.jtable.core.model.ITable;
+import dev.mars.jtable.core.table.Column;
+import dev.mars.jtable.core.table.ColumnFactory;
+
+import java.util.Arrays;
+
+/**
+ * The running state of one {@link Aggregate} for every group of a query, kept in arrays
+ * indexed by group id and updated a column at a time.
+ */
+abstract class Accumulator {
+    private static final int INITIAL_GROUPS = 16;
+
+    final int columnIndex;
+
+    Accumulator(int columnIndex) {
+        this.columnIndex = columnIndex;
+    }
+
+    /**
+     * Creates an empty accumulator for an aggregate.
+     *
+     * @throws IllegalArgumentException if the column does not exist or does not support the function
+     */
+    static Accumulator create(Aggregate aggregate, ITable table) {
+        if (aggregate.getColumnName() == null) {
+            return new Count(-1);
+        }
+        int columnIndex = Filter.requireColumn(table, aggregate.getColumnName());
+        IColumn<?> column = table.getColumn(columnIndex);
+        Class<?> type = column.getType();
+        switch (aggregate.getFunction()) {
+            case COUNT:
+                return new Count(columnIndex);
+            case SUM:
+            case AVG:
+                if (type != Integer.class && type != Double.class) {
+                    throw new IllegalArgumentException("Column '" + column.getName() + "' of type "
+                            + type.getSimpleName() + " cannot be summed");
+                }
+                return new Sum(columnIndex, aggregate.getFunction() == Aggregate.Function.AVG);
+            default:
+                if (!Comparable.class.isAssignableFrom(type)) {
+                    throw new IllegalArgumentException("Column '" + column.getName() + "' of type "
+                            + type.getSimpleName() + " cannot be ordered");
+                }
+                return new Extreme(columnIndex, column, aggregate.getFunction() == Aggregate.Function.MAX);
+        }
+    }
+
+    static int grow(int capacity, int groupCount) {
+        int newCapacity = Math.max(capacity, INITIAL_GROUPS);
+        while (newCapacity < groupCount) {
+            newCapacity *= 2;
+        }
+        return newCapacity;
+    }
+
+    /**
+     * Makes room for the given number of groups.
+     */
+    abstract void ensureGroups(int groupCount);
+
+    /**
+     * Adds selected rows to their groups.
+     *
+     * @param chunk the rows the selection refers to
+     * @param selection the selected row indexes
+     * @param groups the group id of each selected row
+     * @param count the number of selected rows
+     */
+    abstract void accumulate(Chunk chunk, int[] selection, int[] groups, int count);
+
+    /**
+     * Adds the groups of another accumulator of the same aggregate.
+     *
+     * @param other the accumulator to merge
+     * @param mapping the group id in this accumulator of each group id of the other
+     */
+    abstract void merge(Accumulator other, int[] mapping);
+
+    /**
+     * Gets the aggregate of a group.
+     */
+    abstract Object result(int group);
+
+    /**
+     * Creates the column holding the results.
+     */
+    abstract IColumn<?> resultColumn(String name);
+
+    static final class Count extends Accumulator {
+        private long[] counts = new long[0];
+
+        Count(int columnIndex) {
+            super(columnIndex);
+        }
+
+        @Override
+        void ensureGroups(int groupCount) {
+            if (counts.length < groupCount) {
+                counts = Arrays.copyOf(counts, grow(counts.length, groupCount));
+            }
+        }
+
+        @Override
+        void accumulate(Chunk chunk, int[] selection, int[] groups, int count) {
+            if (columnIndex < 0) {
+                for (int i = 0; i < count; i++) {
+                    counts[groups[i]]++;
+                }
+                return;
+            }
+            ColumnData data = chunk.column(columnIndex);
+            for (int i = 0; i < count; i++) {
+                if (!data.isNull(selection[i])) {
+                    counts[groups[i]]++;
+                }
+            }
+        }
+
+        @Override
+        void merge(Accumulator other, int[] mapping) {
+            long[] otherCounts = ((Count) other).counts;
+            for (int g = 0; g < mapping.length; g++) {
+                counts[mapping[g]] += otherCounts[g];
+            }
+        }
+
+        @Override
+        Object result(int group) {
+            return (int) counts[group];
+        }
+
+        @Override
+        IColumn<?> resultColumn(String name) {
+            return ColumnFactory.createIntegerColumn(name);
+        }
+    }
+
+    static final class Sum extends Accumulator {
+        private final boolean average;
+        private double[] sums = new double[0];
+        private long[] counts = new long[0];
+
+        Sum(int columnIndex, boolean average) {
+            super(columnIndex);
+            this.average = average;
+        }
+
+        @Override
+        void ensureGroups(int groupCount) {
+            if (sums.length < groupCount) {
+                int capacity = grow(sums.length, groupCount);
+                sums = Arrays.copyOf(sums, capacity);
+                counts = Arrays.copyOf(counts, capacity);
+            }
+        }
+
+        @Override
+        void accumulate(Chunk chunk, int[] selection, int[] groups, int count) {
+            ColumnData data = chunk.column(columnIndex);
+            int from = data.from;
+            if (data instanceof ColumnData.IntData) {
+                int[] values = ((ColumnData.IntData) data).values;
+                for (int i = 0; i < count; i++) {
+                    int row = selection[i];
+                    if (!data.isNull(row)) {
+                        sums[groups[i]] += values[row - from];
+                        counts[groups[i]]++;
+                    }
+                }
+            } else {
+                double[] values = ((ColumnData.DoubleData) data).values;
+                for (int i = 0; i < count; i++) {
+                    int row = selection[i];
+                    if (!data.isNull(row)) {
+                        sums[groups[i]] += values[row - from];
+                        counts[groups[i]]++;
+                    }
+                }
+            }
+        }
+
+        @Override
+        void merge(Accumulator other, int[] mapping) {
+            Sum sum = (Sum) other;
+            for (int g = 0; g < mapping.length; g++) {
+                sums[mapping[g]] += sum.sums[g];
+                counts[mapping[g]] += sum.counts[g];
+            }
+        }
+
+        @Override
+        Object result(int group) {
+            if (counts[group] == 0) {
+                return null;
+            }
+            return average ? sums[group] / counts[group] : sums[group];
+        }
+
+        @Override
+        IColumn<?> resultColumn(String name) {
+            return ColumnFactory.createDoubleColumn(name);
+        }
+    }
+
+    /**
+     * Minimum or maximum. Int and double values are kept as doubles, which hold every int exactly.
+     */
+    static final class Extreme extends Accumulator {
+        private final IColumn<?> column;
+        private final boolean max;
+        private final boolean numeric;
+        private double[] numbers = new double[0];
+        private Object[] objects = new Object[0];
+        private boolean[] present = new boolean[0];
+
+        Extreme(int columnIndex, IColumn<?> column, boolean max) {
+            super(columnIndex);
+            this.column = column;
+            this.max = max;
+            this.numeric = column.getType() == Integer.class || column.getType() == Double.class;
+        }
+
+        @Override
+        void ensureGroups(int groupCount) {
+            if (present.length < groupCount) {
+                int capacity = grow(present.length, groupCount);
+                present = Arrays.copyOf(present, capacity);
+                if (numeric) {
+                    numbers = Arrays.copyOf(numbers, capacity);
+                } else {
+                    objects = Arrays.copyOf(objects, capacity);
+                }
+            }
+        }
+
+        @Override
+        void accumulate(Chunk chunk, int[] selection, int[] groups, int count) {
+            ColumnData data = chunk.column(columnIndex);
+            int from = data.from;
+            if (data instanceof ColumnData.IntData) {
+                int[] values = ((ColumnData.IntData) data).values;
+                for (int i = 0; i < count; i++) {
+                    int row = selection[i];
+                    if (!data.isNull(row)) {
+                        offer(groups[i], values[row - from]);
+                    }
+                }
+            } else if (data instanceof ColumnData.DoubleData) {
+                double[] values = ((ColumnData.DoubleData) data).values;
+                for (int i = 0; i < count; i++) {
+                    int row = selection[i];
+                    if (!data.isNull(row)) {
+                        offer(groups[i], values[row - from]);
+                    }
+                }
+            } else {
+                for (int i = 0; i < count; i++) {
+                    int row = selection[i];
+                    if (!data.isNull(row)) {
+                        offer(groups[i], data.getNonNull(row));
+                    }
+                }
+            }
+        }
+
+        private void offer(int group, double value) {
+            if (!present[group] || (max ? value > numbers[group] : value < numbers[group])) {
+                numbers[group] = value;
+                present[group] = true;
+            }
+        }
+
+        private void offer(int group, Object value) {
+            if (!present[group]) {
+                objects[group] = value;
+                present[group] = true;
+                return;
+            }
+            int comparison = Values.compare(value, objects[group]);
+            if (max ? comparison > 0 : comparison < 0) {
+                objects[group] = value;
+            }
+        }
+
+        @Override
+        void merge(Accumulator other, int[] mapping) {
+            Extreme extreme = (Extreme) other;
+            for (int g = 0; g < mapping.length; g++) {
+                if (!extreme.present[g]) {
+                    continue;
+                }
+                if (numeric) {
+                    offer(mapping[g], extreme.numbers[g]);
+                } else {
+                    offer(mapping[g], extreme.objects[g]);
+                }
+            }
+        }
+
+        @Override
+        Object result(int group) {
+            if (!present[group]) {
+                return null;
+            }
+            if (!numeric) {
+                return objects[group];
+            }
+            return column.getType() == Integer.class ? (Object) (int) numbers[group] : (Object) numbers[group];
+        }
+
+        @Override
+        IColumn<?> resultColumn(String name) {
+            return copyColumn(column, name);
+        }
+    }
+
+    /**
+     * Creates a column with the type and default value of another, under a new name.
+     */
+    static <T> IColumn<T> copyColumn(IColumn<T> column, String name) {
+        return new Column<>(name, column.getType(), column.createDefaultValue());
+    }
+}
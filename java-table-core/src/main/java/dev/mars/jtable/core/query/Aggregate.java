@@ -0,0 +1,121 @@
+package dev.mars.jtable.core.query;
+
+import java.util.Locale;
+
+/**
+ * An aggregate computed by a {@link Query} for each group of rows, or for all matching rows
+ * when the query has no group-by columns.
+ *
+ * Counts are int columns. Sums and averages are double columns and apply to int and double
+ * columns only. Minimums and maximums keep the type of their column, which must hold
+ * comparable values. Null values are ignored; a sum, average, minimum or maximum over no
+ * values is null.
+ */
+public final class Aggregate {
+
+    /**
+     * The aggregate functions.
+     */
+    public enum Function {
+        COUNT, SUM, AVG, MIN, MAX
+    }
+
+    private final Function function;
+    private final String columnName;
+    private final String alias;
+
+    private Aggregate(Function function, String columnName, String alias) {
+        if (function != Function.COUNT && columnName == null) {
+            throw new IllegalArgumentException("Column name cannot be null for " + function);
+        }
+        this.function = function;
+        this.columnName = columnName;
+        this.alias = alias;
+    }
+
+    /**
+     * Counts the rows.
+     */
+    public static Aggregate count() {
+        return new Aggregate(Function.COUNT, null, null);
+    }
+
+    /**
+     * Counts the rows whose value is not null.
+     */
+    public static Aggregate count(String columnName) {
+        if (columnName == null) {
+            throw new IllegalArgumentException("Column name cannot be null");
+        }
+        return new Aggregate(Function.COUNT, columnName, null);
+    }
+
+    /**
+     * Sums the values of an int or double column.
+     */
+    public static Aggregate sum(String columnName) {
+        return new Aggregate(Function.SUM, columnName, null);
+    }
+
+    /**
+     * Averages the values of an int or double column.
+     */
+    public static Aggregate avg(String columnName) {
+        return new Aggregate(Function.AVG, columnName, null);
+    }
+
+    /**
+     * Finds the smallest value of a column.
+     */
+    public static Aggregate min(String columnName) {
+        return new Aggregate(Function.MIN, columnName, null);
+    }
+
+    /**
+     * Finds the largest value of a column.
+     */
+    public static Aggregate max(String columnName) {
+        return new Aggregate(Function.MAX, columnName, null);
+    }
+
+    /**
+     * Names the result column of the aggregate.
+     *
+     * @param alias the column name
+     * @return the aggregate with the given name
+     */
+    public Aggregate as(String alias) {
+        if (alias == null || alias.trim().isEmpty()) {
+            throw new IllegalArgumentException("Alias cannot be null or blank");
+        }
+        return new Aggregate(function, columnName, alias);
+    }
+
+    public Function getFunction() {
+        return function;
+    }
+
+    /**
+     * Gets the aggregated column.
+     *
+     * @return the column name, or null for a count of rows
+     */
+    public String getColumnName() {
+        return columnName;
+    }
+
+    /**
+     * Gets the name of the result column: the alias if one was given, otherwise the lower-case
+     * function name followed by an underscore and the column name, as in "sum_Price", or just
+     * "count" for a count of rows.
+     *
+     * @return the result column name
+     */
+    public String getAlias() {
+        if (alias != null) {
+            return alias;
+        }
+        String name = function.name().toLowerCase(Locale.ROOT);
+        return columnName == null ? name : name + "_" + columnName;
+    }
+}
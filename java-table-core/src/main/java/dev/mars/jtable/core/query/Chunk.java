@@ -0,0 +1,41 @@
+package dev.mars.jtable.core.query;
+
+import dev.mars.jtable.core.model.ITable;
+
+/**
+ * A range of rows of a table processed by one task of a query. Columns are copied out of the
+ * table the first time they are needed.
+ */
+final class Chunk {
+    final int from;
+    final int to;
+    private final ITable table;
+    private final ColumnData[] columns;
+
+    Chunk(ITable table, int from, int to) {
+        this.table = table;
+        this.from = from;
+        this.to = to;
+        this.columns = new ColumnData[table.getColumnCount()];
+    }
+
+    ColumnData column(int columnIndex) {
+        ColumnData data = columns[columnIndex];
+        if (data == null) {
+            data = ColumnData.load(table, columnIndex, from, to);
+            columns[columnIndex] = data;
+        }
+        return data;
+    }
+
+    /**
+     * Creates the selection of every row of the chunk.
+     */
+    int[] selectAll() {
+        int[] selection = new int[to - from];
+        for (int i = 0; i < selection.length; i++) {
+            selection[i] = from + i;
+        }
+        return selection;
+    }
+}
@@ -0,0 +1,292 @@
+package dev.mars.jtable.core.query;
+
+import dev.mars.jtable.core.model.IColumn;
+import dev.mars.jtable.core.model.IDictionaryEncoded;
+import dev.mars.jtable.core.model.ITable;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The values of one column over a range of rows, copied out of a table into a primitive array
+ * so that filters and aggregates can run tight loops over them.
+ *
+ * Values are addressed by their row index in the table, not by their position in the range.
+ * String columns of a table that is {@link IDictionaryEncoded} are copied as their int codes.
+ */
+abstract class ColumnData {
+    final int from;
+    // Null when no row of the range is null
+    private boolean[] nulls;
+
+    ColumnData(int from) {
+        this.from = from;
+    }
+
+    /**
+     * Copies the values of a column over a range of rows.
+     *
+     * @param table the table to read
+     * @param columnIndex the index of the column
+     * @param from the first row of the range
+     * @param to the row after the last row of the range
+     * @return the values of the column, typed after the column
+     */
+    static ColumnData load(ITable table, int columnIndex, int from, int to) {
+        IColumn<?> column = table.getColumn(columnIndex);
+        Class<?> type = column.getType();
+        ColumnData data;
+        if (type == Integer.class) {
+            data = new IntData(from, to - from);
+        } else if (type == Double.class) {
+            data = new DoubleData(from, to - from);
+        } else if (type == Boolean.class) {
+            data = new BooleanData(from, to - from);
+        } else if (type == String.class && table instanceof IDictionaryEncoded
+                && ((IDictionaryEncoded) table).getDictionary(columnIndex) != null) {
+            data = new CodeData(from, to - from, ((IDictionaryEncoded) table).getDictionary(columnIndex));
+        } else {
+            data = new ObjectData(from, to - from);
+        }
+        for (int row = from; row < to; row++) {
+            if (table.isNull(row, columnIndex)) {
+                data.setNull(row);
+            } else {
+                data.read(table, row, columnIndex, column.getName());
+            }
+        }
+        return data;
+    }
+
+    final boolean isNull(int row) {
+        return nulls != null && nulls[row - from];
+    }
+
+    /**
+     * Checks whether any row of the range is null.
+     */
+    final boolean hasNulls() {
+        return nulls != null;
+    }
+
+    private void setNull(int row) {
+        if (nulls == null) {
+            nulls = new boolean[length()];
+        }
+        nulls[row - from] = true;
+    }
+
+    /**
+     * Gets the value of a row, boxed.
+     *
+     * @param row the row index in the table
+     * @return the value, or null if the row holds no value
+     */
+    final Object get(int row) {
+        return isNull(row) ? null : getNonNull(row);
+    }
+
+    /**
+     * Compares the values of two rows, ordering nulls first.
+     */
+    final int compare(int left, int right) {
+        boolean leftNull = isNull(left);
+        boolean rightNull = isNull(right);
+        if (leftNull || rightNull) {
+            return leftNull == rightNull ? 0 : (leftNull ? -1 : 1);
+        }
+        return compareNonNull(left, right);
+    }
+
+    abstract int length();
+
+    abstract void read(ITable table, int row, int columnIndex, String columnName);
+
+    abstract Object getNonNull(int row);
+
+    abstract int compareNonNull(int left, int right);
+
+    static final class IntData extends ColumnData {
+        final int[] values;
+
+        IntData(int from, int length) {
+            super(from);
+            this.values = new int[length];
+        }
+
+        int getInt(int row) {
+            return values[row - from];
+        }
+
+        @Override
+        int length() {
+            return values.length;
+        }
+
+        @Override
+        void read(ITable table, int row, int columnIndex, String columnName) {
+            values[row - from] = table.getInt(row, columnIndex);
+        }
+
+        @Override
+        Object getNonNull(int row) {
+            return values[row - from];
+        }
+
+        @Override
+        int compareNonNull(int left, int right) {
+            return Integer.compare(values[left - from], values[right - from]);
+        }
+    }
+
+    static final class DoubleData extends ColumnData {
+        final double[] values;
+
+        DoubleData(int from, int length) {
+            super(from);
+            this.values = new double[length];
+        }
+
+        double getDouble(int row) {
+            return values[row - from];
+        }
+
+        @Override
+        int length() {
+            return values.length;
+        }
+
+        @Override
+        void read(ITable table, int row, int columnIndex, String columnName) {
+            values[row - from] = table.getDouble(row, columnIndex);
+        }
+
+        @Override
+        Object getNonNull(int row) {
+            return values[row - from];
+        }
+
+        @Override
+        int compareNonNull(int left, int right) {
+            return Double.compare(values[left - from], values[right - from]);
+        }
+    }
+
+    static final class BooleanData extends ColumnData {
+        final boolean[] values;
+
+        BooleanData(int from, int length) {
+            super(from);
+            this.values = new boolean[length];
+        }
+
+        boolean getBoolean(int row) {
+            return values[row - from];
+        }
+
+        @Override
+        int length() {
+            return values.length;
+        }
+
+        @Override
+        void read(ITable table, int row, int columnIndex, String columnName) {
+            values[row - from] = table.getBoolean(row, columnIndex);
+        }
+
+        @Override
+        Object getNonNull(int row) {
+            return values[row - from];
+        }
+
+        @Override
+        int compareNonNull(int left, int right) {
+            return Boolean.compare(values[left - from], values[right - from]);
+        }
+    }
+
+    static final class CodeData extends ColumnData {
+        final int[] codes;
+        final List<String> dictionary;
+
+        CodeData(int from, int length, List<String> dictionary) {
+            super(from);
+            this.codes = new int[length];
+            this.dictionary = dictionary;
+        }
+
+        int getCode(int row) {
+            return codes[row - from];
+        }
+
+        /**
+         * Ranks the dictionary values in ascending order, so that comparing the ranks of two
+         * codes compares their values.
+         *
+         * @return the rank of each code
+         */
+        int[] ranks() {
+            Integer[] sorted = new Integer[dictionary.size()];
+            for (int code = 0; code < sorted.length; code++) {
+                sorted[code] = code;
+            }
+            Arrays.sort(sorted, (left, right) -> dictionary.get(left).compareTo(dictionary.get(right)));
+            int[] ranks = new int[sorted.length];
+            for (int rank = 0; rank < sorted.length; rank++) {
+                ranks[sorted[rank]] = rank;
+            }
+            return ranks;
+        }
+
+        @Override
+        int length() {
+            return codes.length;
+        }
+
+        @Override
+        void read(ITable table, int row, int columnIndex, String columnName) {
+            codes[row - from] = ((IDictionaryEncoded) table).getCode(row, columnIndex);
+        }
+
+        @Override
+        Object getNonNull(int row) {
+            return dictionary.get(codes[row - from]);
+        }
+
+        @Override
+        int compareNonNull(int left, int right) {
+            int leftCode = codes[left - from];
+            int rightCode = codes[right - from];
+            return leftCode == rightCode ? 0 : dictionary.get(leftCode).compareTo(dictionary.get(rightCode));
+        }
+    }
+
+    static final class ObjectData extends ColumnData {
+        final Object[] values;
+
+        ObjectData(int from, int length) {
+            super(from);
+            this.values = new Object[length];
+        }
+
+        @Override
+        int length() {
+            return values.length;
+        }
+
+        @Override
+        void read(ITable table, int row, int columnIndex, String columnName) {
+            values[row - from] = table.getValueObject(row, columnName);
+        }
+
+        @Override
+        Object getNonNull(int row) {
+            return values[row - from];
+        }
+
+        @Override
+        int compareNonNull(int left, int right) {
+            return Values.compare(values[left - from], values[right - from]);
+        }
+    }
+}
@@ -0,0 +1,456 @@
+package dev.mars.jtable.core.query;
+
+import dev.mars.jtable.core.model.IColumn;
+import dev.mars.jtable.core.model.IDictionaryEncoded;
+import dev.mars.jtable.core.model.ITable;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A row filter of a {@link Query}.
+ *
+ * Comparisons take a column and a constant. Numeric constants are compared numerically with int
+ * and double columns; a string constant is converted with the column's
+ * {@link IColumn#convertFromString(String)}; any other constant must be of the column type.
+ * As in SQL, a row whose value is null never matches a comparison; use {@link #isNull(String)}
+ * to find such rows.
+ *
+ * Filters are evaluated a column at a time over blocks of rows, with primitive loops for int,
+ * double and boolean columns. Equality filters on the dictionary-encoded String columns of an
+ * {@link IDictionaryEncoded} table look the constant up once and then compare int codes.
+ */
+public abstract class Filter {
+
+    Filter() {
+    }
+
+    /**
+     * Matches the rows whose value equals the given value.
+     */
+    public static Filter eq(String columnName, Object value) {
+        return new Comparison(columnName, Op.EQ, value);
+    }
+
+    /**
+     * Matches the rows whose value is not null and differs from the given value.
+     */
+    public static Filter ne(String columnName, Object value) {
+        return new Comparison(columnName, Op.NE, value);
+    }
+
+    /**
+     * Matches the rows whose value is less than the given value.
+     */
+    public static Filter lt(String columnName, Object value) {
+        return new Comparison(columnName, Op.LT, value);
+    }
+
+    /**
+     * Matches the rows whose value is less than or equal to the given value.
+     */
+    public static Filter le(String columnName, Object value) {
+        return new Comparison(columnName, Op.LE, value);
+    }
+
+    /**
+     * Matches the rows whose value is greater than the given value.
+     */
+    public static Filter gt(String columnName, Object value) {
+        return new Comparison(columnName, Op.GT, value);
+    }
+
+    /**
+     * Matches the rows whose value is greater than or equal to the given value.
+     */
+    public static Filter ge(String columnName, Object value) {
+        return new Comparison(columnName, Op.GE, value);
+    }
+
+    /**
+     * Matches the rows whose value lies between two values, both included.
+     */
+    public static Filter between(String columnName, Object low, Object high) {
+        return ge(columnName, low).and(le(columnName, high));
+    }
+
+    /**
+     * Matches the rows whose value is null.
+     */
+    public static Filter isNull(String columnName) {
+        return new NullCheck(columnName, true);
+    }
+
+    /**
+     * Matches the rows whose value is not null.
+     */
+    public static Filter isNotNull(String columnName) {
+        return new NullCheck(columnName, false);
+    }
+
+    /**
+     * Matches the rows matched by both this filter and another.
+     */
+    public Filter and(Filter other) {
+        return new And(this, Objects.requireNonNull(other, "Filter cannot be null"));
+    }
+
+    /**
+     * Matches the rows matched by this filter, another, or both.
+     */
+    public Filter or(Filter other) {
+        return new Or(this, Objects.requireNonNull(other, "Filter cannot be null"));
+    }
+
+    /**
+     * Matches every row this filter does not match, including rows it skips because of a null value.
+     */
+    public Filter negate() {
+        return new Not(this);
+    }
+
+    /**
+     * Resolves the columns and constants of the filter against a table.
+     *
+     * @throws IllegalArgumentException if a column does not exist or a constant does not fit its column
+     */
+    abstract Bound bind(ITable table);
+
+    /**
+     * A filter resolved against a table.
+     */
+    interface Bound {
+        /**
+         * Keeps the matching rows of a selection, in their order.
+         *
+         * @param chunk the rows the selection refers to
+         * @param selection the selected row indexes, overwritten with the matching ones
+         * @param count the number of selected rows
+         * @return the number of matching rows, now at the start of the selection
+         */
+        int apply(Chunk chunk, int[] selection, int count);
+    }
+
+    enum Op {
+        EQ, NE, LT, LE, GT, GE;
+
+        boolean test(int comparison) {
+            switch (this) {
+                case EQ:
+                    return comparison == 0;
+                case NE:
+                    return comparison != 0;
+                case LT:
+                    return comparison < 0;
+                case LE:
+                    return comparison <= 0;
+                case GT:
+                    return comparison > 0;
+                default:
+                    return comparison >= 0;
+            }
+        }
+
+        boolean test(double left, double right) {
+            // Plain operators, so that NaN only matches NE
+            switch (this) {
+                case EQ:
+                    return left == right;
+                case NE:
+                    return left != right;
+                case LT:
+                    return left < right;
+                case LE:
+                    return left <= right;
+                case GT:
+                    return left > right;
+                default:
+                    return left >= right;
+            }
+        }
+    }
+
+    static int requireColumn(ITable table, String columnName) {
+        int columnIndex = table.getColumnIndex(columnName);
+        if (columnIndex < 0) {
+            throw new IllegalArgumentException("Column '" + columnName + "' does not exist");
+        }
+        return columnIndex;
+    }
+
+    private static final class Comparison extends Filter {
+        private final String columnName;
+        private final Op op;
+        private final Object value;
+
+        Comparison(String columnName, Op op, Object value) {
+            if (value == null) {
+                throw new IllegalArgumentException("Cannot compare column '" + columnName
+                        + "' with null; use isNull or isNotNull");
+            }
+            this.columnName = columnName;
+            this.op = op;
+            this.value = value;
+        }
+
+        @Override
+        Bound bind(ITable table) {
+            int columnIndex = requireColumn(table, columnName);
+            IColumn<?> column = table.getColumn(columnIndex);
+            Class<?> type = column.getType();
+            Object constant = value;
+            if (constant instanceof String && type != String.class) {
+                try {
+                    constant = column.convertFromString((String) constant);
+                } catch (RuntimeException e) {
+                    throw new IllegalArgumentException("Value '" + value + "' cannot be compared with column '"
+                            + columnName + "' of type " + type.getSimpleName(), e);
+                }
+            }
+
+            if ((type == Integer.class || type == Double.class) && constant instanceof Number) {
+                if (type == Integer.class && constant instanceof Integer) {
+                    return intComparison(columnIndex, op, (Integer) constant);
+                }
+                return doubleComparison(columnIndex, op, ((Number) constant).doubleValue());
+            }
+            if (!type.isInstance(constant)) {
+                throw new IllegalArgumentException("Value '" + value + "' cannot be compared with column '"
+                        + columnName + "' of type " + type.getSimpleName());
+            }
+            if (type == Boolean.class) {
+                return booleanComparison(columnIndex, op, (Boolean) constant);
+            }
+            if (op != Op.EQ && op != Op.NE && !(constant instanceof Comparable)) {
+                throw new IllegalArgumentException("Column '" + columnName + "' of type "
+                        + type.getSimpleName() + " cannot be ordered");
+            }
+            if (type == String.class && (op == Op.EQ || op == Op.NE) && table instanceof IDictionaryEncoded) {
+                List<String> dictionary = ((IDictionaryEncoded) table).getDictionary(columnIndex);
+                if (dictionary != null) {
+                    return codeComparison(columnIndex, op, constant, dictionary.indexOf(constant));
+                }
+            }
+            return objectComparison(columnIndex, op, constant);
+        }
+
+        /**
+         * Compares dictionary codes with the code of the constant, or -1 if the constant is not
+         * in the dictionary. Blocks that were not loaded as codes are compared as objects.
+         */
+        private static Bound codeComparison(int columnIndex, Op op, Object constant, int code) {
+            Bound objects = objectComparison(columnIndex, op, constant);
+            boolean equal = op == Op.EQ;
+            return (chunk, selection, count) -> {
+                ColumnData data = chunk.column(columnIndex);
+                if (!(data instanceof ColumnData.CodeData)) {
+                    return objects.apply(chunk, selection, count);
+                }
+                int[] codes = ((ColumnData.CodeData) data).codes;
+                int from = data.from;
+                int matches = 0;
+                for (int i = 0; i < count; i++) {
+                    int row = selection[i];
+                    if (!data.isNull(row) && (codes[row - from] == code) == equal) {
+                        selection[matches++] = row;
+                    }
+                }
+                return matches;
+            };
+        }
+
+        private static Bound intComparison(int columnIndex, Op op, int constant) {
+            return (chunk, selection, count) -> {
+                ColumnData.IntData data = (ColumnData.IntData) chunk.column(columnIndex);
+                int[] values = data.values;
+                int from = data.from;
+                int matches = 0;
+                for (int i = 0; i < count; i++) {
+                    int row = selection[i];
+                    if (!data.isNull(row) && op.test(Integer.compare(values[row - from], constant))) {
+                        selection[matches++] = row;
+                    }
+                }
+                return matches;
+            };
+        }
+
+        private static Bound doubleComparison(int columnIndex, Op op, double constant) {
+            return (chunk, selection, count) -> {
+                ColumnData data = chunk.column(columnIndex);
+                int matches = 0;
+                if (data instanceof ColumnData.IntData) {
+                    int[] values = ((ColumnData.IntData) data).values;
+                    int from = data.from;
+                    for (int i = 0; i < count; i++) {
+                        int row = selection[i];
+                        if (!data.isNull(row) && op.test(values[row - from], constant)) {
+                            selection[matches++] = row;
+                        }
+                    }
+                } else {
+                    double[] values = ((ColumnData.DoubleData) data).values;
+                    int from = data.from;
+                    for (int i = 0; i < count; i++) {
+                        int row = selection[i];
+                        if (!data.isNull(row) && op.test(values[row - from], constant)) {
+                            selection[matches++] = row;
+                        }
+                    }
+                }
+                return matches;
+            };
+        }
+
+        private static Bound booleanComparison(int columnIndex, Op op, boolean constant) {
+            return (chunk, selection, count) -> {
+                ColumnData.BooleanData data = (ColumnData.BooleanData) chunk.column(columnIndex);
+                boolean[] values = data.values;
+                int from = data.from;
+                int matches = 0;
+                for (int i = 0; i < count; i++) {
+                    int row = selection[i];
+                    if (!data.isNull(row) && op.test(Boolean.compare(values[row - from], constant))) {
+                        selection[matches++] = row;
+                    }
+                }
+                return matches;
+            };
+        }
+
+        private static Bound objectComparison(int columnIndex, Op op, Object constant) {
+            boolean equality = op == Op.EQ || op == Op.NE;
+            return (chunk, selection, count) -> {
+                ColumnData data = chunk.column(columnIndex);
+                int matches = 0;
+                for (int i = 0; i < count; i++) {
+                    int row = selection[i];
+                    if (data.isNull(row)) {
+                        continue;
+                    }
+                    Object current = data.getNonNull(row);
+                    boolean match = equality
+                            ? current.equals(constant) == (op == Op.EQ)
+                            : op.test(Values.compare(current, constant));
+                    if (match) {
+                        selection[matches++] = row;
+                    }
+                }
+                return matches;
+            };
+        }
+    }
+
+    private static final class NullCheck extends Filter {
+        private final String columnName;
+        private final boolean matchNull;
+
+        NullCheck(String columnName, boolean matchNull) {
+            this.columnName = columnName;
+            this.matchNull = matchNull;
+        }
+
+        @Override
+        Bound bind(ITable table) {
+            int columnIndex = requireColumn(table, columnName);
+            return (chunk, selection, count) -> {
+                ColumnData data = chunk.column(columnIndex);
+                int matches = 0;
+                for (int i = 0; i < count; i++) {
+                    int row = selection[i];
+                    if (data.isNull(row) == matchNull) {
+                        selection[matches++] = row;
+                    }
+                }
+                return matches;
+            };
+        }
+    }
+
+    private static final class And extends Filter {
+        private final Filter left;
+        private final Filter right;
+
+        And(Filter left, Filter right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        Bound bind(ITable table) {
+            Bound boundLeft = left.bind(table);
+            Bound boundRight = right.bind(table);
+            return (chunk, selection, count) -> boundRight.apply(chunk, selection,
+                    boundLeft.apply(chunk, selection, count));
+        }
+    }
+
+    private static final class Or extends Filter {
+        private final Filter left;
+        private final Filter right;
+
+        Or(Filter left, Filter right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        Bound bind(ITable table) {
+            Bound boundLeft = left.bind(table);
+            Bound boundRight = right.bind(table);
+            return (chunk, selection, count) -> {
+                int[] leftRows = Arrays.copyOf(selection, count);
+                int leftCount = boundLeft.apply(chunk, leftRows, count);
+                int[] rightRows = Arrays.copyOf(selection, count);
+                int rightCount = boundRight.apply(chunk, rightRows, count);
+
+                // Both sides keep the ascending order of the selection, so a merge unites them
+                int l = 0;
+                int r = 0;
+                int matches = 0;
+                while (l < leftCount || r < rightCount) {
+                    int row;
+                    if (r == rightCount || (l < leftCount && leftRows[l] < rightRows[r])) {
+                        row = leftRows[l++];
+                    } else if (l == leftCount || rightRows[r] < leftRows[l]) {
+                        row = rightRows[r++];
+                    } else {
+                        row = leftRows[l++];
+                        r++;
+                    }
+                    selection[matches++] = row;
+                }
+                return matches;
+            };
+        }
+    }
+
+    private static final class Not extends Filter {
+        private final Filter filter;
+
+        Not(Filter filter) {
+            this.filter = filter;
+        }
+
+        @Override
+        Bound bind(ITable table) {
+            Bound bound = filter.bind(table);
+            return (chunk, selection, count) -> {
+                int[] excluded = Arrays.copyOf(selection, count);
+                int excludedCount = bound.apply(chunk, excluded, count);
+                int e = 0;
+                int matches = 0;
+                for (int i = 0; i < count; i++) {
+                    int row = selection[i];
+                    if (e < excludedCount && excluded[e] == row) {
+                        e++;
+                    } else {
+                        selection[matches++] = row;
+                    }
+                }
+                return matches;
+            };
+        }
+    }
+}
@@ -0,0 +1,411 @@
+package dev.mars.jtable.core.query;
+
+import dev.mars.jtable.core.model.IColumn;
+import dev.mars.jtable.core.model.ITable;
+import dev.mars.jtable.core.table.ColumnarTableCore;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * An equi-join of two tables on one or more pairs of columns, returning a new table.
+ *
+ * <pre>
+ * ITable enriched = Join.leftOuter(trades, instruments)
+ *         .on("InstrumentId", "Id")
+ *         .execute();
+ * </pre>
+ *
+ * Inner and left outer joins return the columns of the left table followed by those of the
+ * right table; a right column whose name is already taken gets the right suffix ("_right" by
+ * default) appended, followed by a number if that is taken too. Semi and anti joins return the
+ * columns of the left table only. Result rows follow the order of the left table, and the
+ * matches of one left row follow the order of the right table. As in SQL, keys holding a null
+ * never match.
+ *
+ * By default a join uses a sort-merge join when both tables are already sorted on their join
+ * columns, and a hash join otherwise. The hash join builds its table on the smaller side, and a
+ * single int or double key is hashed as a primitive. The result is a {@link ColumnarTableCore}.
+ */
+public final class Join {
+
+    /**
+     * The kinds of join.
+     */
+    public enum Type {
+        /** The pairs of matching rows. */
+        INNER,
+        /** The pairs of matching rows, and the left rows without a match paired with nulls. */
+        LEFT_OUTER,
+        /** The left rows with at least one match. */
+        SEMI,
+        /** The left rows without any match. */
+        ANTI
+    }
+
+    /**
+     * The join algorithms.
+     */
+    public enum Strategy {
+        /** Sort-merge if both tables are sorted on their join columns, hash otherwise. */
+        AUTO,
+        /** Hash join. */
+        HASH,
+        /** Sort-merge join; both tables must be sorted on their join columns. */
+        SORT_MERGE
+    }
+
+    private static final int NO_ROW = -1;
+
+    private final Type type;
+    private final ITable left;
+    private final ITable right;
+    private final List<String> leftColumns = new ArrayList<>();
+    private final List<String> rightColumns = new ArrayList<>();
+    private Strategy strategy = Strategy.AUTO;
+    private String rightSuffix = "_right";
+
+    private Join(Type type, ITable left, ITable right) {
+        if (left == null || right == null) {
+            throw new IllegalArgumentException("Tables cannot be null");
+        }
+        this.type = type;
+        this.left = left;
+        this.right = right;
+    }
+
+    public static Join inner(ITable left, ITable right) {
+        return new Join(Type.INNER, left, right);
+    }
+
+    public static Join leftOuter(ITable left, ITable right) {
+        return new Join(Type.LEFT_OUTER, left, right);
+    }
+
+    public static Join semi(ITable left, ITable right) {
+        return new Join(Type.SEMI, left, right);
+    }
+
+    public static Join anti(ITable left, ITable right) {
+        return new Join(Type.ANTI, left, right);
+    }
+
+    /**
+     * Adds a pair of join columns. Later calls build a composite key.
+     *
+     * @param leftColumn the name of the column of the left table
+     * @param rightColumn the name of the column of the right table
+     * @return this join
+     */
+    public Join on(String leftColumn, String rightColumn) {
+        leftColumns.add(leftColumn);
+        rightColumns.add(rightColumn);
+        return this;
+    }
+
+    /**
+     * Adds a join column with the same name in both tables.
+     *
+     * @param column the name of the column
+     * @return this join
+     */
+    public Join on(String column) {
+        return on(column, column);
+    }
+
+    /**
+     * Chooses the join algorithm.
+     *
+     * @param strategy the algorithm
+     * @return this join
+     */
+    public Join strategy(Strategy strategy) {
+        if (strategy == null) {
+            throw new IllegalArgumentException("Strategy cannot be null");
+        }
+        this.strategy = strategy;
+        return this;
+    }
+
+    /**
+     * Sets the suffix appended to right column names that are already taken.
+     *
+     * @param rightSuffix the suffix
+     * @return this join
+     */
+    public Join rightSuffix(String rightSuffix) {
+        if (rightSuffix == null || rightSuffix.isEmpty()) {
+            throw new IllegalArgumentException("Suffix cannot be null or empty");
+        }
+        this.rightSuffix = rightSuffix;
+        return this;
+    }
+
+    /**
+     * Runs the join.
+     *
+     * @return a new table holding the result
+     * @throws IllegalArgumentException if no join columns are given, a column does not exist,
+     *         two join columns cannot be compared, or a sort-merge join is requested on a table
+     *         that is not sorted on its join columns
+     */
+    public ITable execute() {
+        if (leftColumns.isEmpty()) {
+            throw new IllegalArgumentException("No join columns given");
+        }
+        int[] leftKeyColumns = new int[leftColumns.size()];
+        int[] rightKeyColumns = new int[rightColumns.size()];
+        for (int k = 0; k < leftKeyColumns.length; k++) {
+            leftKeyColumns[k] = Filter.requireColumn(left, leftColumns.get(k));
+            rightKeyColumns[k] = Filter.requireColumn(right, rightColumns.get(k));
+        }
+        JoinKeys[] keys = JoinKeys.read(left, leftKeyColumns, right, rightKeyColumns);
+        JoinKeys leftKeys = keys[0];
+        JoinKeys rightKeys = keys[1];
+
+        Pairs pairs;
+        if (strategy == Strategy.SORT_MERGE) {
+            if (!leftKeys.isSorted() || !rightKeys.isSorted()) {
+                throw new IllegalArgumentException("Sort-merge join needs both tables sorted on the join columns");
+            }
+            pairs = mergeJoin(leftKeys, rightKeys);
+        } else if (strategy == Strategy.AUTO && isSorted(leftKeys) && isSorted(rightKeys)) {
+            pairs = mergeJoin(leftKeys, rightKeys);
+        } else if (type == Type.INNER ? left.getRowCount() <= right.getRowCount()
+                : left.getRowCount() < right.getRowCount()) {
+            pairs = hashJoinBuildingLeft(leftKeys, rightKeys);
+        } else {
+            pairs = hashJoinBuildingRight(leftKeys, rightKeys);
+        }
+        return materialize(pairs);
+    }
+
+    private static boolean isSorted(JoinKeys keys) {
+        try {
+            return keys.isSorted();
+        } catch (IllegalArgumentException e) {
+            // Keys that cannot be ordered can still be hashed
+            return false;
+        }
+    }
+
+    /**
+     * Builds the hash table on the right side and probes it with the left rows in order.
+     */
+    private Pairs hashJoinBuildingRight(JoinKeys leftKeys, JoinKeys rightKeys) {
+        JoinHashTable hashTable = new JoinHashTable(rightKeys);
+        Pairs pairs = new Pairs(leftKeys.rowCount);
+        for (int row = 0; row < leftKeys.rowCount; row++) {
+            int match = hashTable.first(leftKeys, row);
+            switch (type) {
+                case SEMI:
+                    if (match != NO_ROW) {
+                        pairs.add(row, NO_ROW);
+                    }
+                    break;
+                case ANTI:
+                    if (match == NO_ROW) {
+                        pairs.add(row, NO_ROW);
+                    }
+                    break;
+                default:
+                    if (match == NO_ROW && type == Type.LEFT_OUTER) {
+                        pairs.add(row, NO_ROW);
+                    }
+                    for (; match != NO_ROW; match = hashTable.next(match)) {
+                        pairs.add(row, match);
+                    }
+            }
+        }
+        return pairs;
+    }
+
+    /**
+     * Builds the hash table on the smaller left side, probes it with the right rows, and puts
+     * the pairs back in left order with a counting sort.
+     */
+    private Pairs hashJoinBuildingLeft(JoinKeys leftKeys, JoinKeys rightKeys) {
+        JoinHashTable hashTable = new JoinHashTable(leftKeys);
+        int leftCount = leftKeys.rowCount;
+        int[] matchCounts = new int[leftCount];
+        Pairs probed = new Pairs(rightKeys.rowCount);
+        for (int row = 0; row < rightKeys.rowCount; row++) {
+            for (int match = hashTable.first(rightKeys, row); match != NO_ROW; match = hashTable.next(match)) {
+                matchCounts[match]++;
+                if (type == Type.INNER || type == Type.LEFT_OUTER) {
+                    probed.add(match, row);
+                }
+            }
+        }
+
+        if (type == Type.SEMI || type == Type.ANTI) {
+            Pairs pairs = new Pairs(leftCount);
+            for (int row = 0; row < leftCount; row++) {
+                if ((matchCounts[row] > 0) == (type == Type.SEMI)) {
+                    pairs.add(row, NO_ROW);
+                }
+            }
+            return pairs;
+        }
+
+        // Each left row takes its number of matches, or one slot for its null pairing
+        int[] offsets = new int[leftCount + 1];
+        for (int row = 0; row < leftCount; row++) {
+            int slots = matchCounts[row] == 0 && type == Type.LEFT_OUTER ? 1 : matchCounts[row];
+            offsets[row + 1] = offsets[row] + slots;
+        }
+        int total = offsets[leftCount];
+        Pairs pairs = new Pairs(total);
+        pairs.size = total;
+        for (int row = 0; row < leftCount; row++) {
+            if (matchCounts[row] == 0 && type == Type.LEFT_OUTER) {
+                pairs.leftRows[offsets[row]] = row;
+                pairs.rightRows[offsets[row]] = NO_ROW;
+            }
+        }
+        // Right rows were probed in order, so each left row receives its matches in right order
+        int[] cursor = Arrays.copyOf(offsets, leftCount);
+        for (int i = 0; i < probed.size; i++) {
+            int position = cursor[probed.leftRows[i]]++;
+            pairs.leftRows[position] = probed.leftRows[i];
+            pairs.rightRows[position] = probed.rightRows[i];
+        }
+        return pairs;
+    }
+
+    /**
+     * Merges two tables sorted on their join columns. Left rows are visited in order, so the
+     * pairs come out in left order.
+     */
+    private Pairs mergeJoin(JoinKeys leftKeys, JoinKeys rightKeys) {
+        Pairs pairs = new Pairs(leftKeys.rowCount);
+        int r = nextKeyed(rightKeys, 0);
+        int l = 0;
+        while (l < leftKeys.rowCount) {
+            if (!leftKeys.hasKey(l)) {
+                addUnmatched(pairs, l);
+                l++;
+                continue;
+            }
+            while (r < rightKeys.rowCount && leftKeys.compare(l, rightKeys, r) > 0) {
+                r = nextKeyed(rightKeys, r + 1);
+            }
+            if (r == rightKeys.rowCount || leftKeys.compare(l, rightKeys, r) < 0) {
+                addUnmatched(pairs, l);
+                l++;
+                continue;
+            }
+            // Pair every left row of the key with every right row of the key
+            int runEnd = r;
+            while (runEnd < rightKeys.rowCount
+                    && (!rightKeys.hasKey(runEnd) || leftKeys.compare(l, rightKeys, runEnd) == 0)) {
+                runEnd++;
+            }
+            int key = l;
+            while (l < leftKeys.rowCount && (!leftKeys.hasKey(l) || leftKeys.compare(l, leftKeys, key) == 0)) {
+                if (!leftKeys.hasKey(l)) {
+                    addUnmatched(pairs, l);
+                } else if (type == Type.SEMI) {
+                    pairs.add(l, NO_ROW);
+                } else if (type != Type.ANTI) {
+                    for (int match = r; match < runEnd; match++) {
+                        if (rightKeys.hasKey(match)) {
+                            pairs.add(l, match);
+                        }
+                    }
+                }
+                l++;
+            }
+            r = nextKeyed(rightKeys, runEnd);
+        }
+        return pairs;
+    }
+
+    private static int nextKeyed(JoinKeys keys, int row) {
+        while (row < keys.rowCount && !keys.hasKey(row)) {
+            row++;
+        }
+        return row;
+    }
+
+    private void addUnmatched(Pairs pairs, int leftRow) {
+        if (type == Type.LEFT_OUTER || type == Type.ANTI) {
+            pairs.add(leftRow, NO_ROW);
+        }
+    }
+
+    private ITable materialize(Pairs pairs) {
+        ColumnarTableCore result = new ColumnarTableCore(left.getName());
+        Set<String> names = new HashSet<>();
+        int leftColumnCount = left.getColumnCount();
+        int rightColumnCount = type == Type.INNER || type == Type.LEFT_OUTER ? right.getColumnCount() : 0;
+        ColumnData[] data = new ColumnData[leftColumnCount + rightColumnCount];
+
+        for (int c = 0; c < leftColumnCount; c++) {
+            IColumn<?> column = left.getColumn(c);
+            names.add(column.getName());
+            result.addColumn(column);
+            data[c] = ColumnData.load(left, c, 0, left.getRowCount());
+        }
+        for (int c = 0; c < rightColumnCount; c++) {
+            IColumn<?> column = right.getColumn(c);
+            String name = column.getName();
+            if (names.contains(name)) {
+                String base = name + rightSuffix;
+                name = base;
+                for (int n = 2; names.contains(name); n++) {
+                    name = base + n;
+                }
+            }
+            names.add(name);
+            result.addColumn(name.equals(column.getName()) ? column : Accumulator.copyColumn(column, name));
+            data[leftColumnCount + c] = ColumnData.load(right, c, 0, right.getRowCount());
+        }
+
+        Object[] values = new Object[data.length];
+        // Carry each double's scale over, so that 2.50 still prints as 2.50 in the result
+        int[] scales = new int[data.length];
+        for (int i = 0; i < pairs.size; i++) {
+            int leftRow = pairs.leftRows[i];
+            int rightRow = pairs.rightRows[i];
+            for (int c = 0; c < leftColumnCount; c++) {
+                values[c] = data[c].get(leftRow);
+                scales[c] = data[c] instanceof ColumnData.DoubleData ? left.getScale(leftRow, c) : -1;
+            }
+            for (int c = leftColumnCount; c < data.length; c++) {
+                values[c] = rightRow == NO_ROW ? null : data[c].get(rightRow);
+                scales[c] = rightRow != NO_ROW && data[c] instanceof ColumnData.DoubleData
+                        ? right.getScale(rightRow, c - leftColumnCount) : -1;
+            }
+            result.addRowValues(values, scales);
+        }
+        return result;
+    }
+
+    /**
+     * A growable list of (left row, right row) pairs.
+     */
+    private static final class Pairs {
+        int[] leftRows;
+        int[] rightRows;
+        int size;
+
+        Pairs(int capacity) {
+            leftRows = new int[Math.max(capacity, 16)];
+            rightRows = new int[leftRows.length];
+        }
+
+        void add(int leftRow, int rightRow) {
+            if (size == leftRows.length) {
+                leftRows = Arrays.copyOf(leftRows, size * 2);
+                rightRows = Arrays.copyOf(rightRows, size * 2);
+            }
+            leftRows[size] = leftRow;
+            rightRows[size] = rightRow;
+            size++;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package dev.mars.jtable.core.query;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The hash table built on one side of a {@link Join}.
+ *
+ * Rows with the same key form a chain through a per-row array of next rows, so the table
+ * allocates nothing per row. Primitive keys live in an open-addressing table of longs; object
+ * keys in a HashMap. Chains list rows in ascending order.
+ */
+final class JoinHashTable {
+    private static final int END = -1;
+
+    private final JoinKeys keys;
+    private final int[] next;
+    private long[] slotKeys;
+    private int[] slotHeads;
+    private int shift;
+    private Map<Object, Integer> objectHeads;
+
+    JoinHashTable(JoinKeys keys) {
+        this.keys = keys;
+        this.next = new int[keys.rowCount];
+        if (keys.mode == JoinKeys.Mode.OBJECT) {
+            objectHeads = new HashMap<>();
+        } else {
+            int capacity = 16;
+            while (capacity < keys.rowCount * 2) {
+                capacity <<= 1;
+            }
+            slotKeys = new long[capacity];
+            slotHeads = new int[capacity];
+            Arrays.fill(slotHeads, END);
+            shift = Long.numberOfLeadingZeros(capacity - 1);
+        }
+
+        // Insert from the last row, so that every chain starts with its lowest row
+        for (int row = keys.rowCount - 1; row >= 0; row--) {
+            if (!keys.hasKey(row)) {
+                continue;
+            }
+            if (objectHeads != null) {
+                Integer head = objectHeads.put(keys.objects[row], row);
+                next[row] = head == null ? END : head;
+            } else {
+                int slot = slot(keys.longs[row]);
+                next[row] = slotHeads[slot];
+                slotKeys[slot] = keys.longs[row];
+                slotHeads[slot] = row;
+            }
+        }
+    }
+
+    /**
+     * Finds the first row whose key equals the key of a row of the other side.
+     *
+     * @param probe the keys of the other side
+     * @param row the row of the other side
+     * @return the first matching row, or -1 if there is none
+     */
+    int first(JoinKeys probe, int row) {
+        if (!probe.hasKey(row)) {
+            return END;
+        }
+        if (objectHeads != null) {
+            Integer head = objectHeads.get(probe.objects[row]);
+            return head == null ? END : head;
+        }
+        return slotHeads[slot(probe.longs[row])];
+    }
+
+    /**
+     * Gets the next row with the same key.
+     *
+     * @return the next matching row, or -1 if there is none
+     */
+    int next(int row) {
+        return next[row];
+    }
+
+    /**
+     * Finds the slot holding a key, or the empty slot where it belongs.
+     */
+    private int slot(long key) {
+        int mask = slotKeys.length - 1;
+        int slot = (int) ((key * 0x9E3779B97F4A7C15L) >>> shift);
+        while (slotHeads[slot] != END && slotKeys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+}
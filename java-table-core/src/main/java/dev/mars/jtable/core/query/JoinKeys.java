@@ -0,0 +1,185 @@
+package dev.mars.jtable.core.query;
+
+import dev.mars.jtable.core.model.ITable;
+
+/**
+ * The join keys of every row of one side of a {@link Join}.
+ *
+ * A single int key, or a single numeric key joined with a double column, is kept as a
+ * primitive long: the int value itself, or the bits of the double value. Any other key is kept
+ * as an object, with a {@link Query.GroupKey} for composite keys. Numbers of mixed types are
+ * compared as doubles, and -0.0 is stored as 0.0 so that the two match. Rows whose key has a
+ * null or NaN component have no key and never match.
+ */
+final class JoinKeys {
+    enum Mode { INT, DOUBLE, OBJECT }
+
+    final Mode mode;
+    final int rowCount;
+    final long[] longs;
+    final boolean[] present;
+    final Object[] objects;
+
+    private JoinKeys(Mode mode, int rowCount) {
+        this.mode = mode;
+        this.rowCount = rowCount;
+        if (mode == Mode.OBJECT) {
+            this.longs = null;
+            this.present = null;
+            this.objects = new Object[rowCount];
+        } else {
+            this.longs = new long[rowCount];
+            this.present = new boolean[rowCount];
+            this.objects = null;
+        }
+    }
+
+    /**
+     * Reads the keys of both sides of a join.
+     *
+     * @return the keys of the left side, then the keys of the right side
+     * @throws IllegalArgumentException if a pair of key columns cannot be compared
+     */
+    static JoinKeys[] read(ITable left, int[] leftColumns, ITable right, int[] rightColumns) {
+        boolean[] asDouble = new boolean[leftColumns.length];
+        for (int k = 0; k < leftColumns.length; k++) {
+            Class<?> leftType = left.getColumn(leftColumns[k]).getType();
+            Class<?> rightType = right.getColumn(rightColumns[k]).getType();
+            boolean leftNumeric = leftType == Integer.class || leftType == Double.class;
+            boolean rightNumeric = rightType == Integer.class || rightType == Double.class;
+            if (leftNumeric && rightNumeric) {
+                asDouble[k] = leftType == Double.class || rightType == Double.class;
+            } else if (leftType != rightType) {
+                throw new IllegalArgumentException("Join column '" + left.getColumnName(leftColumns[k])
+                        + "' of type " + leftType.getSimpleName() + " cannot be compared with column '"
+                        + right.getColumnName(rightColumns[k]) + "' of type " + rightType.getSimpleName());
+            }
+        }
+
+        Mode mode = Mode.OBJECT;
+        if (leftColumns.length == 1) {
+            Class<?> type = left.getColumn(leftColumns[0]).getType();
+            if (asDouble[0]) {
+                mode = Mode.DOUBLE;
+            } else if (type == Integer.class) {
+                mode = Mode.INT;
+            }
+        }
+        return new JoinKeys[]{read(left, leftColumns, asDouble, mode), read(right, rightColumns, asDouble, mode)};
+    }
+
+    private static JoinKeys read(ITable table, int[] columns, boolean[] asDouble, Mode mode) {
+        int rowCount = table.getRowCount();
+        JoinKeys keys = new JoinKeys(mode, rowCount);
+        ColumnData[] data = new ColumnData[columns.length];
+        for (int k = 0; k < columns.length; k++) {
+            data[k] = ColumnData.load(table, columns[k], 0, rowCount);
+        }
+
+        if (mode == Mode.INT) {
+            ColumnData.IntData ints = (ColumnData.IntData) data[0];
+            for (int row = 0; row < rowCount; row++) {
+                if (!ints.isNull(row)) {
+                    keys.longs[row] = ints.values[row];
+                    keys.present[row] = true;
+                }
+            }
+        } else if (mode == Mode.DOUBLE) {
+            for (int row = 0; row < rowCount; row++) {
+                if (!data[0].isNull(row)) {
+                    double value = number(data[0], row);
+                    if (!Double.isNaN(value)) {
+                        keys.longs[row] = Double.doubleToLongBits(value);
+                        keys.present[row] = true;
+                    }
+                }
+            }
+        } else {
+            for (int row = 0; row < rowCount; row++) {
+                keys.objects[row] = columns.length == 1
+                        ? component(data[0], row, asDouble[0])
+                        : compositeKey(data, row, asDouble);
+            }
+        }
+        return keys;
+    }
+
+    private static Object compositeKey(ColumnData[] data, int row, boolean[] asDouble) {
+        Object[] values = new Object[data.length];
+        for (int k = 0; k < data.length; k++) {
+            values[k] = component(data[k], row, asDouble[k]);
+            if (values[k] == null) {
+                return null;
+            }
+        }
+        return new Query.GroupKey(values);
+    }
+
+    private static Object component(ColumnData data, int row, boolean asDouble) {
+        if (data.isNull(row)) {
+            return null;
+        }
+        if (asDouble) {
+            double value = number(data, row);
+            return Double.isNaN(value) ? null : (Object) value;
+        }
+        return data.getNonNull(row);
+    }
+
+    private static double number(ColumnData data, int row) {
+        double value = data instanceof ColumnData.IntData
+                ? ((ColumnData.IntData) data).getInt(row)
+                : ((ColumnData.DoubleData) data).getDouble(row);
+        // Fold -0.0 into 0.0
+        return value + 0.0;
+    }
+
+    boolean hasKey(int row) {
+        return mode == Mode.OBJECT ? objects[row] != null : present[row];
+    }
+
+    /**
+     * Compares the key of a row with the key of a row of the other side. Both keys must be present.
+     */
+    int compare(int row, JoinKeys other, int otherRow) {
+        switch (mode) {
+            case INT:
+                return Long.compare(longs[row], other.longs[otherRow]);
+            case DOUBLE:
+                return Double.compare(Double.longBitsToDouble(longs[row]),
+                        Double.longBitsToDouble(other.longs[otherRow]));
+            default:
+                Object key = objects[row];
+                Object otherKey = other.objects[otherRow];
+                if (key instanceof Query.GroupKey) {
+                    Object[] values = ((Query.GroupKey) key).values;
+                    Object[] otherValues = ((Query.GroupKey) otherKey).values;
+                    for (int k = 0; k < values.length; k++) {
+                        int comparison = Values.compare(values[k], otherValues[k]);
+                        if (comparison != 0) {
+                            return comparison;
+                        }
+                    }
+                    return 0;
+                }
+                return Values.compare(key, otherKey);
+        }
+    }
+
+    /**
+     * Checks whether the keys are in ascending order, rows without a key being allowed anywhere.
+     */
+    boolean isSorted() {
+        int previous = -1;
+        for (int row = 0; row < rowCount; row++) {
+            if (!hasKey(row)) {
+                continue;
+            }
+            if (previous >= 0 && compare(previous, this, row) > 0) {
+                return false;
+            }
+            previous = row;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,547 @@
+package dev.mars.jtable.core.query;
+
+import dev.mars.jtable.core.model.IColumn;
+import dev.mars.jtable.core.model.ITable;
+import dev.mars.jtable.core.table.ColumnarTableCore;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * An in-process query over an ITable: filter, projection, group-by with aggregates, order-by
+ * and limit, returning a new table.
+ *
+ * <pre>
+ * ITable totals = Query.from(orders)
+ *         .where(Filter.gt("Price", 10.0).and(Filter.eq("Active", true)))
+ *         .groupBy("Customer")
+ *         .aggregate(Aggregate.sum("Price").as("Total"), Aggregate.count())
+ *         .orderBy("Total", false)
+ *         .limit(10)
+ *         .execute();
+ * </pre>
+ *
+ * The table is processed in blocks of rows. For each block, the columns a query needs are
+ * copied once into primitive arrays, the filters narrow down an array of selected row indexes,
+ * and the aggregates are accumulated per group a column at a time. With {@link #parallel()},
+ * the blocks are processed as tasks of a ForkJoinPool and their partial results merged in
+ * block order, so that the result is the same as a sequential run.
+ *
+ * A query without group-by columns or aggregates returns the selected columns (all of them by
+ * default) of the matching rows, in table order unless sorted. A query with group-by columns or
+ * aggregates returns one row per group, holding the group-by columns followed by the
+ * aggregates; with aggregates but no group-by columns, all matching rows form a single group.
+ * Order-by columns name source columns in the first case and result columns in the second.
+ * The result is a {@link ColumnarTableCore}.
+ *
+ * The table must not be modified while a query runs. A Query object is not thread-safe, but
+ * may be executed more than once.
+ */
+public final class Query {
+    // Rows per block, a multiple of the columnar chunk size
+    static final int BLOCK_SIZE = 16 * 1024;
+
+    private final ITable table;
+    private Filter filter;
+    private final List<String> selectedColumns = new ArrayList<>();
+    private final List<String> groupByColumns = new ArrayList<>();
+    private final List<Aggregate> aggregates = new ArrayList<>();
+    private final List<String> orderByColumns = new ArrayList<>();
+    private final List<Boolean> orderByAscending = new ArrayList<>();
+    private int limit = -1;
+    private ForkJoinPool pool;
+
+    private Query(ITable table) {
+        this.table = table;
+    }
+
+    /**
+     * Starts a query over a table.
+     *
+     * @param table the table to query
+     * @return the query
+     */
+    public static Query from(ITable table) {
+        if (table == null) {
+            throw new IllegalArgumentException("Table cannot be null");
+        }
+        return new Query(table);
+    }
+
+    /**
+     * Keeps only the rows matching a filter. Calling this again combines the filters with AND.
+     *
+     * @param filter the filter
+     * @return this query
+     */
+    public Query where(Filter filter) {
+        if (filter == null) {
+            throw new IllegalArgumentException("Filter cannot be null");
+        }
+        this.filter = this.filter == null ? filter : this.filter.and(filter);
+        return this;
+    }
+
+    /**
+     * Selects the columns of the result of a query without group-by columns or aggregates.
+     *
+     * @param columnNames the names of the columns, in result order
+     * @return this query
+     */
+    public Query select(String... columnNames) {
+        selectedColumns.addAll(Arrays.asList(columnNames));
+        return this;
+    }
+
+    /**
+     * Groups the matching rows by the values of one or more columns.
+     *
+     * @param columnNames the names of the columns
+     * @return this query
+     */
+    public Query groupBy(String... columnNames) {
+        groupByColumns.addAll(Arrays.asList(columnNames));
+        return this;
+    }
+
+    /**
+     * Adds aggregates to compute for each group.
+     *
+     * @param aggregates the aggregates, in result order
+     * @return this query
+     */
+    public Query aggregate(Aggregate... aggregates) {
+        for (Aggregate aggregate : aggregates) {
+            if (aggregate == null) {
+                throw new IllegalArgumentException("Aggregate cannot be null");
+            }
+            this.aggregates.add(aggregate);
+        }
+        return this;
+    }
+
+    /**
+     * Sorts the result by a column. Later calls add lower-priority sort keys. Nulls sort first.
+     *
+     * @param columnName the name of the column
+     * @param ascending true for ascending order, false for descending order
+     * @return this query
+     */
+    public Query orderBy(String columnName, boolean ascending) {
+        orderByColumns.add(columnName);
+        orderByAscending.add(ascending);
+        return this;
+    }
+
+    /**
+     * Sorts the result by a column in ascending order.
+     *
+     * @param columnName the name of the column
+     * @return this query
+     */
+    public Query orderBy(String columnName) {
+        return orderBy(columnName, true);
+    }
+
+    /**
+     * Limits the number of result rows.
+     *
+     * @param limit the maximum number of rows
+     * @return this query
+     */
+    public Query limit(int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit cannot be negative: " + limit);
+        }
+        this.limit = limit;
+        return this;
+    }
+
+    /**
+     * Processes the blocks of rows in parallel on the common ForkJoinPool.
+     *
+     * @return this query
+     */
+    public Query parallel() {
+        return parallel(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Processes the blocks of rows in parallel on the given pool.
+     *
+     * @param pool the pool to run on
+     * @return this query
+     */
+    public Query parallel(ForkJoinPool pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("Pool cannot be null");
+        }
+        this.pool = pool;
+        return this;
+    }
+
+    /**
+     * Runs the query.
+     *
+     * @return a new table holding the result
+     * @throws IllegalArgumentException if the query names a column that does not exist, or a
+     *         filter or aggregate does not fit the type of its column
+     */
+    public ITable execute() {
+        Filter.Bound boundFilter = filter == null ? null : filter.bind(table);
+        if (groupByColumns.isEmpty() && aggregates.isEmpty()) {
+            return executeSelect(boundFilter);
+        }
+        if (!selectedColumns.isEmpty()) {
+            throw new IllegalArgumentException("select cannot be combined with groupBy or aggregate; "
+                    + "the group-by columns are selected automatically");
+        }
+        return executeAggregate(boundFilter);
+    }
+
+    private ITable executeSelect(Filter.Bound boundFilter) {
+        List<String> outputNames = selectedColumns.isEmpty() ? columnNames() : selectedColumns;
+        int[] outputColumns = new int[outputNames.size()];
+        for (int i = 0; i < outputColumns.length; i++) {
+            outputColumns[i] = Filter.requireColumn(table, outputNames.get(i));
+        }
+        int[] orderColumns = new int[orderByColumns.size()];
+        for (int i = 0; i < orderColumns.length; i++) {
+            orderColumns[i] = Filter.requireColumn(table, orderByColumns.get(i));
+        }
+
+        // Without sorting, a sequential run can stop as soon as the limit is reached
+        int earlyLimit = orderColumns.length == 0 && pool == null && limit >= 0 ? limit : Integer.MAX_VALUE;
+        List<int[]> blockSelections = runBlocks(chunk -> {
+            int[] selection = chunk.selectAll();
+            int count = boundFilter == null ? selection.length : boundFilter.apply(chunk, selection, selection.length);
+            return Arrays.copyOf(selection, count);
+        }, selections -> selections.stream().mapToLong(s -> s.length).sum() >= earlyLimit);
+
+        int total = 0;
+        for (int[] selection : blockSelections) {
+            total += selection.length;
+        }
+        int[] rows = new int[total];
+        int offset = 0;
+        for (int[] selection : blockSelections) {
+            System.arraycopy(selection, 0, rows, offset, selection.length);
+            offset += selection.length;
+        }
+
+        if (orderColumns.length > 0 && rows.length > 1) {
+            sortRows(rows, orderColumns);
+        }
+        int rowCount = limit >= 0 ? Math.min(limit, rows.length) : rows.length;
+
+        ColumnarTableCore result = new ColumnarTableCore(table.getName());
+        boolean[] decimal = new boolean[outputColumns.length];
+        for (int c = 0; c < outputColumns.length; c++) {
+            IColumn<?> column = table.getColumn(outputColumns[c]);
+            result.addColumn(column);
+            decimal[c] = column.getType() == Double.class;
+        }
+        Object[] values = new Object[outputColumns.length];
+        // Carry each double's scale over, so that 2.50 still prints as 2.50 in the result
+        int[] scales = new int[outputColumns.length];
+        for (int i = 0; i < rowCount; i++) {
+            for (int c = 0; c < outputColumns.length; c++) {
+                values[c] = table.getValueObject(rows[i], outputNames.get(c));
+                scales[c] = decimal[c] ? table.getScale(rows[i], outputColumns[c]) : -1;
+            }
+            result.addRowValues(values, scales);
+        }
+        return result;
+    }
+
+    /**
+     * Sorts selected rows by the order-by columns, copying those columns once over the span
+     * of rows that is selected.
+     */
+    private void sortRows(int[] rows, int[] orderColumns) {
+        int from = rows[0];
+        int to = rows[rows.length - 1] + 1;
+        ColumnData[] keys = new ColumnData[orderColumns.length];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = ColumnData.load(table, orderColumns[i], from, to);
+        }
+        boolean[] ascending = new boolean[keys.length];
+        for (int i = 0; i < ascending.length; i++) {
+            ascending[i] = orderByAscending.get(i);
+        }
+        RowSort.RowComparator comparator = (left, right) -> {
+            for (int i = 0; i < keys.length; i++) {
+                int comparison = keys[i].compare(left, right);
+                if (comparison != 0) {
+                    return ascending[i] ? comparison : -comparison;
+                }
+            }
+            return 0;
+        };
+        if (pool == null) {
+            RowSort.sort(rows, comparator);
+        } else {
+            RowSort.parallelSort(rows, comparator, pool);
+        }
+    }
+
+    private ITable executeAggregate(Filter.Bound boundFilter) {
+        int[] groupColumns = new int[groupByColumns.size()];
+        for (int i = 0; i < groupColumns.length; i++) {
+            groupColumns[i] = Filter.requireColumn(table, groupByColumns.get(i));
+        }
+        // Validates the aggregates before any block runs
+        for (Aggregate aggregate : aggregates) {
+            Accumulator.create(aggregate, table);
+        }
+
+        List<Groups> blockGroups = runBlocks(chunk -> {
+            int[] selection = chunk.selectAll();
+            int count = boundFilter == null ? selection.length : boundFilter.apply(chunk, selection, selection.length);
+            Groups groups = new Groups(createAccumulators());
+            groups.accumulate(chunk, groupColumns, selection, count);
+            return groups;
+        }, null);
+
+        Groups merged = new Groups(createAccumulators());
+        if (groupColumns.length == 0) {
+            // A query over no rows still has one, empty group
+            merged.idOf(GroupKey.EMPTY);
+        }
+        for (Groups groups : blockGroups) {
+            merged.merge(groups);
+        }
+
+        // Result columns: group-by columns, then aggregates
+        List<IColumn<?>> resultColumns = new ArrayList<>();
+        for (int columnIndex : groupColumns) {
+            resultColumns.add(table.getColumn(columnIndex));
+        }
+        for (int i = 0; i < aggregates.size(); i++) {
+            resultColumns.add(merged.accumulators[i].resultColumn(aggregates.get(i).getAlias()));
+        }
+        Map<String, Integer> resultIndexes = new HashMap<>();
+        for (int i = 0; i < resultColumns.size(); i++) {
+            if (resultIndexes.put(resultColumns.get(i).getName(), i) != null) {
+                throw new IllegalArgumentException("Duplicate result column '" + resultColumns.get(i).getName() + "'");
+            }
+        }
+
+        List<Object[]> resultRows = new ArrayList<>(merged.size());
+        for (int g = 0; g < merged.size(); g++) {
+            Object[] row = new Object[resultColumns.size()];
+            Object key = merged.keys.get(g);
+            if (groupColumns.length == 1) {
+                row[0] = key;
+            } else if (groupColumns.length > 1) {
+                System.arraycopy(((GroupKey) key).values, 0, row, 0, groupColumns.length);
+            }
+            for (int i = 0; i < aggregates.size(); i++) {
+                row[groupColumns.length + i] = merged.accumulators[i].result(g);
+            }
+            resultRows.add(row);
+        }
+
+        if (!orderByColumns.isEmpty()) {
+            int[] orderIndexes = new int[orderByColumns.size()];
+            for (int i = 0; i < orderIndexes.length; i++) {
+                Integer index = resultIndexes.get(orderByColumns.get(i));
+                if (index == null) {
+                    throw new IllegalArgumentException("Order-by column '" + orderByColumns.get(i)
+                            + "' is not a result column");
+                }
+                orderIndexes[i] = index;
+            }
+            resultRows.sort((left, right) -> {
+                for (int i = 0; i < orderIndexes.length; i++) {
+                    int comparison = Values.compareNullsFirst(left[orderIndexes[i]], right[orderIndexes[i]]);
+                    if (comparison != 0) {
+                        return orderByAscending.get(i) ? comparison : -comparison;
+                    }
+                }
+                return 0;
+            });
+        }
+        int rowCount = limit >= 0 ? Math.min(limit, resultRows.size()) : resultRows.size();
+
+        ColumnarTableCore result = new ColumnarTableCore(table.getName());
+        for (IColumn<?> column : resultColumns) {
+            result.addColumn(column);
+        }
+        for (int i = 0; i < rowCount; i++) {
+            result.addRowValues(resultRows.get(i));
+        }
+        return result;
+    }
+
+    private Accumulator[] createAccumulators() {
+        Accumulator[] accumulators = new Accumulator[aggregates.size()];
+        for (int i = 0; i < accumulators.length; i++) {
+            accumulators[i] = Accumulator.create(aggregates.get(i), table);
+        }
+        return accumulators;
+    }
+
+    private List<String> columnNames() {
+        List<String> names = new ArrayList<>(table.getColumnCount());
+        for (int i = 0; i < table.getColumnCount(); i++) {
+            names.add(table.getColumnName(i));
+        }
+        return names;
+    }
+
+    /**
+     * Processes the table block by block.
+     *
+     * @param task the work done for each block
+     * @param done checked after each block of a sequential run to stop early, or null
+     * @return the results of the blocks, in block order
+     */
+    private <T> List<T> runBlocks(Function<Chunk, T> task, Predicate<List<T>> done) {
+        int rowCount = table.getRowCount();
+        int blockCount = (rowCount + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        List<T> results = new ArrayList<>(blockCount);
+        if (pool == null || blockCount <= 1) {
+            for (int b = 0; b < blockCount; b++) {
+                results.add(task.apply(block(b, rowCount)));
+                if (done != null && done.test(results)) {
+                    break;
+                }
+            }
+            return results;
+        }
+
+        List<ForkJoinTask<T>> tasks = new ArrayList<>(blockCount);
+        for (int b = 0; b < blockCount; b++) {
+            int blockIndex = b;
+            tasks.add(pool.submit(() -> task.apply(block(blockIndex, rowCount))));
+        }
+        for (ForkJoinTask<T> forkJoinTask : tasks) {
+            results.add(forkJoinTask.join());
+        }
+        return results;
+    }
+
+    private Chunk block(int blockIndex, int rowCount) {
+        int from = blockIndex * BLOCK_SIZE;
+        return new Chunk(table, from, Math.min(rowCount, from + BLOCK_SIZE));
+    }
+
+    /**
+     * The key of a group with more or fewer than one group-by column.
+     */
+    static final class GroupKey {
+        static final GroupKey EMPTY = new GroupKey(new Object[0]);
+
+        final Object[] values;
+        private final int hash;
+
+        GroupKey(Object[] values) {
+            this.values = values;
+            this.hash = Arrays.hashCode(values);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof GroupKey && Arrays.equals(values, ((GroupKey) other).values);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * The groups found in some rows, numbered in order of first appearance, with their aggregates.
+     */
+    static final class Groups {
+        final List<Object> keys = new ArrayList<>();
+        final Accumulator[] accumulators;
+        private final Map<Object, Integer> ids = new HashMap<>();
+
+        Groups(Accumulator[] accumulators) {
+            this.accumulators = accumulators;
+        }
+
+        int size() {
+            return keys.size();
+        }
+
+        int idOf(Object key) {
+            Integer id = ids.get(key);
+            if (id == null) {
+                id = keys.size();
+                ids.put(key, id);
+                keys.add(key);
+                for (Accumulator accumulator : accumulators) {
+                    accumulator.ensureGroups(keys.size());
+                }
+            }
+            return id;
+        }
+
+        void accumulate(Chunk chunk, int[] groupColumns, int[] selection, int count) {
+            int[] groupIds = new int[count];
+            if (groupColumns.length == 0) {
+                if (count > 0) {
+                    Arrays.fill(groupIds, idOf(GroupKey.EMPTY));
+                }
+            } else if (groupColumns.length == 1 && chunk.column(groupColumns[0]) instanceof ColumnData.CodeData) {
+                // Look each dictionary value up once per block, then map codes to groups
+                ColumnData.CodeData data = (ColumnData.CodeData) chunk.column(groupColumns[0]);
+                int[] codeGroups = new int[data.dictionary.size()];
+                Arrays.fill(codeGroups, -1);
+                for (int i = 0; i < count; i++) {
+                    int row = selection[i];
+                    if (data.isNull(row)) {
+                        groupIds[i] = idOf(null);
+                        continue;
+                    }
+                    int code = data.getCode(row);
+                    if (codeGroups[code] < 0) {
+                        codeGroups[code] = idOf(data.dictionary.get(code));
+                    }
+                    groupIds[i] = codeGroups[code];
+                }
+            } else if (groupColumns.length == 1) {
+                ColumnData data = chunk.column(groupColumns[0]);
+                for (int i = 0; i < count; i++) {
+                    groupIds[i] = idOf(data.get(selection[i]));
+                }
+            } else {
+                ColumnData[] data = new ColumnData[groupColumns.length];
+                for (int c = 0; c < data.length; c++) {
+                    data[c] = chunk.column(groupColumns[c]);
+                }
+                for (int i = 0; i < count; i++) {
+                    Object[] values = new Object[data.length];
+                    for (int c = 0; c < data.length; c++) {
+                        values[c] = data[c].get(selection[i]);
+                    }
+                    groupIds[i] = idOf(new GroupKey(values));
+                }
+            }
+            for (Accumulator accumulator : accumulators) {
+                accumulator.accumulate(chunk, selection, groupIds, count);
+            }
+        }
+
+        void merge(Groups other) {
+            int[] mapping = new int[other.size()];
+            for (int g = 0; g < mapping.length; g++) {
+                mapping[g] = idOf(other.keys.get(g));
+            }
+            for (int i = 0; i < accumulators.length; i++) {
+                accumulators[i].merge(other.accumulators[i], mapping);
+            }
+        }
+    }
+}
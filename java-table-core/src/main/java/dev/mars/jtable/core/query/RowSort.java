@@ -0,0 +1,129 @@
+package dev.mars.jtable.core.query;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * A stable merge sort of row indexes, comparing rows without boxing them.
+ */
+final class RowSort {
+    // Runs this short are sorted by insertion
+    private static final int INSERTION_THRESHOLD = 32;
+    // Ranges this short are sorted by a single task in a parallel sort
+    private static final int PARALLEL_THRESHOLD = 8192;
+
+    /**
+     * Compares two rows by their indexes.
+     */
+    interface RowComparator {
+        int compare(int left, int right);
+    }
+
+    private RowSort() {
+    }
+
+    /**
+     * Sorts row indexes, keeping rows that compare equal in their original order.
+     *
+     * @param rows the row indexes to sort
+     * @param comparator the comparison of two rows
+     */
+    static void sort(int[] rows, RowComparator comparator) {
+        if (rows.length < 2) {
+            return;
+        }
+        int[] buffer = rows.clone();
+        mergeSort(buffer, rows, 0, rows.length, comparator);
+    }
+
+    /**
+     * Sorts row indexes on a pool, keeping rows that compare equal in their original order.
+     * The comparator is called from several threads at once.
+     *
+     * @param rows the row indexes to sort
+     * @param comparator the comparison of two rows
+     * @param pool the pool to run on
+     */
+    static void parallelSort(int[] rows, RowComparator comparator, ForkJoinPool pool) {
+        if (rows.length <= PARALLEL_THRESHOLD) {
+            sort(rows, comparator);
+            return;
+        }
+        int[] buffer = rows.clone();
+        pool.invoke(new SortTask(buffer, rows, 0, rows.length, comparator));
+    }
+
+    /**
+     * Sorts source[from, to) into target[from, to) like mergeSort, sorting the two halves in
+     * parallel until the ranges are short enough for one task.
+     */
+    private static final class SortTask extends RecursiveAction {
+        private final int[] source;
+        private final int[] target;
+        private final int from;
+        private final int to;
+        private final RowComparator comparator;
+
+        SortTask(int[] source, int[] target, int from, int to, RowComparator comparator) {
+            this.source = source;
+            this.target = target;
+            this.from = from;
+            this.to = to;
+            this.comparator = comparator;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                mergeSort(source, target, from, to, comparator);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new SortTask(target, source, from, middle, comparator),
+                    new SortTask(target, source, middle, to, comparator));
+            merge(source, target, from, middle, to, comparator);
+        }
+    }
+
+    /**
+     * Sorts source[from, to) into target[from, to); both ranges start with the same content.
+     */
+    private static void mergeSort(int[] source, int[] target, int from, int to, RowComparator comparator) {
+        if (to - from <= INSERTION_THRESHOLD) {
+            for (int i = from + 1; i < to; i++) {
+                int row = target[i];
+                int j = i - 1;
+                while (j >= from && comparator.compare(target[j], row) > 0) {
+                    target[j + 1] = target[j];
+                    j--;
+                }
+                target[j + 1] = row;
+            }
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        // Sort both halves into the source, then merge them into the target
+        mergeSort(target, source, from, middle, comparator);
+        mergeSort(target, source, middle, to, comparator);
+        merge(source, target, from, middle, to, comparator);
+    }
+
+    /**
+     * Merges the sorted runs source[from, middle) and source[middle, to) into target[from, to).
+     */
+    private static void merge(int[] source, int[] target, int from, int middle, int to, RowComparator comparator) {
+        if (comparator.compare(source[middle - 1], source[middle]) <= 0) {
+            System.arraycopy(source, from, target, from, to - from);
+            return;
+        }
+        int left = from;
+        int right = middle;
+        for (int i = from; i < to; i++) {
+            if (right >= to || (left < middle && comparator.compare(source[left], source[right]) <= 0)) {
+                target[i] = source[left++];
+            } else {
+                target[i] = source[right++];
+            }
+        }
+    }
+}
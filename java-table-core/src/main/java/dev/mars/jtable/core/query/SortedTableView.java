@@ -0,0 +1,227 @@
+package dev.mars.jtable.core.query;
+
+import dev.mars.jtable.core.model.IColumn;
+import dev.mars.jtable.core.model.IRow;
+import dev.mars.jtable.core.model.ITable;
+
+import java.util.AbstractList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A read-through view of a table with its rows in another order, as returned by
+ * {@link TableSorter#sortedView()}.
+ *
+ * Row i of the view is row order[i] of the table. Values can be read and written through the
+ * view, but rows cannot be added or reordered, and columns cannot be redefined, since the
+ * order would no longer match the table.
+ */
+final class SortedTableView implements ITable {
+    private final ITable table;
+    private final int[] order;
+
+    SortedTableView(ITable table, int[] order) {
+        this.table = table;
+        this.order = order;
+    }
+
+    private int tableRow(int rowIndex) {
+        if (rowIndex < 0 || rowIndex >= order.length) {
+            throw new IndexOutOfBoundsException("Invalid row index: " + rowIndex);
+        }
+        return order[rowIndex];
+    }
+
+    @Override
+    public String getName() {
+        return table.getName();
+    }
+
+    @Override
+    public void setName(String name) {
+        table.setName(name);
+    }
+
+    @Override
+    public void setCreateDefaultValue(boolean createDefaultValue) {
+        table.setCreateDefaultValue(createDefaultValue);
+    }
+
+    @Override
+    public boolean isCreateDefaultValue() {
+        return table.isCreateDefaultValue();
+    }
+
+    @Override
+    public String getDefaultValue(String type) {
+        return table.getDefaultValue(type);
+    }
+
+    @Override
+    public IColumn<?> getColumn(String name) {
+        return table.getColumn(name);
+    }
+
+    @Override
+    public IColumn<?> getColumn(int index) {
+        return table.getColumn(index);
+    }
+
+    @Override
+    public List<IColumn<?>> getColumns() {
+        return table.getColumns();
+    }
+
+    @Override
+    public void addColumn(IColumn<?> column) {
+        throw new UnsupportedOperationException("Columns cannot be added through a sorted view");
+    }
+
+    @Override
+    public String getColumnName(int index) {
+        return table.getColumnName(index);
+    }
+
+    @Override
+    public IRow getRow(int index) {
+        return table.getRow(tableRow(index));
+    }
+
+    @Override
+    public List<IRow> getRows() {
+        return new AbstractList<IRow>() {
+            @Override
+            public IRow get(int index) {
+                return getRow(index);
+            }
+
+            @Override
+            public int size() {
+                return order.length;
+            }
+        };
+    }
+
+    @Override
+    public void addRow(IRow row) {
+        throw new UnsupportedOperationException("Rows cannot be added through a sorted view");
+    }
+
+    @Override
+    public void addRow(Map<String, String> row) {
+        throw new UnsupportedOperationException("Rows cannot be added through a sorted view");
+    }
+
+    @Override
+    public void addRow(String[] values) {
+        throw new UnsupportedOperationException("Rows cannot be added through a sorted view");
+    }
+
+    @Override
+    public IRow createRow() {
+        return table.createRow();
+    }
+
+    @Override
+    public int getRowCount() {
+        return order.length;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return table.getColumnCount();
+    }
+
+    @Override
+    public Object getValueObject(int rowIndex, String columnName) {
+        return table.getValueObject(tableRow(rowIndex), columnName);
+    }
+
+    @Override
+    public void setValue(int rowIndex, String columnName, Object value) {
+        table.setValue(tableRow(rowIndex), columnName, value);
+    }
+
+    @Override
+    public String getValueAt(int rowIndex, String columnName) {
+        return table.getValueAt(tableRow(rowIndex), columnName);
+    }
+
+    @Override
+    public void setValueAt(int rowIndex, String columnName, String value) {
+        table.setValueAt(tableRow(rowIndex), columnName, value);
+    }
+
+    @Override
+    public int getColumnIndex(String columnName) {
+        return table.getColumnIndex(columnName);
+    }
+
+    @Override
+    public boolean isNull(int rowIndex, int columnIndex) {
+        return table.isNull(tableRow(rowIndex), columnIndex);
+    }
+
+    @Override
+    public int getInt(int rowIndex, int columnIndex) {
+        return table.getInt(tableRow(rowIndex), columnIndex);
+    }
+
+    @Override
+    public double getDouble(int rowIndex, int columnIndex) {
+        return table.getDouble(tableRow(rowIndex), columnIndex);
+    }
+
+    @Override
+    public boolean getBoolean(int rowIndex, int columnIndex) {
+        return table.getBoolean(tableRow(rowIndex), columnIndex);
+    }
+
+    @Override
+    public String getString(int rowIndex, int columnIndex) {
+        return table.getString(tableRow(rowIndex), columnIndex);
+    }
+
+    @Override
+    public int getScale(int rowIndex, int columnIndex) {
+        return table.getScale(tableRow(rowIndex), columnIndex);
+    }
+
+    @Override
+    public void reorderRows(int[] order) {
+        throw new UnsupportedOperationException("Rows cannot be reordered through a sorted view");
+    }
+
+    @Override
+    public Object convertValue(String value, IColumn<?> column) {
+        return table.convertValue(value, column);
+    }
+
+    @Override
+    public void setColumns(LinkedHashMap<String, String> columns) {
+        throw new UnsupportedOperationException("Columns cannot be redefined through a sorted view");
+    }
+
+    @Override
+    public String inferType(String value) {
+        return table.inferType(value);
+    }
+
+    @Override
+    public void printTable() {
+        int columnCount = table.getColumnCount();
+        for (int c = 0; c < columnCount; c++) {
+            System.out.print(table.getColumnName(c) + "\t");
+        }
+        System.out.println();
+
+        for (int row = 0; row < order.length; row++) {
+            for (int c = 0; c < columnCount; c++) {
+                Object value = table.getValueObject(order[row], table.getColumnName(c));
+                System.out.print((value == null ? "" : value.toString()) + "\t");
+            }
+            System.out.println();
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package dev.mars.jtable.core.query;
+
+import dev.mars.jtable.core.model.ITable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Sorts the rows of a table by one or more columns.
+ *
+ * The sort never moves rows while it compares them: the key columns are copied once into
+ * primitive arrays, and an array of row indexes is sorted against them. The sorted indexes can
+ * then be used directly, wrapped in a read-through view of the table, or applied to the table
+ * in place with {@link ITable#reorderRows(int[])}. The sort is stable, so rows with equal keys
+ * keep their order in the table.
+ *
+ * Example:
+ * <pre>
+ * TableSorter.of(table)
+ *     .by("Region")
+ *     .by("Revenue", false)
+ *     .parallel()
+ *     .sortInPlace();
+ * </pre>
+ *
+ * The table must not change while it is being sorted.
+ */
+public final class TableSorter {
+    private final ITable table;
+    private final List<String> keyColumns = new ArrayList<>();
+    private final List<Boolean> keyAscending = new ArrayList<>();
+    private final List<Boolean> keyNullsFirst = new ArrayList<>();
+    private ForkJoinPool pool;
+
+    private TableSorter(ITable table) {
+        this.table = table;
+    }
+
+    /**
+     * Starts a sort of a table.
+     *
+     * @param table the table to sort
+     * @return a new sorter, without any sort key yet
+     */
+    public static TableSorter of(ITable table) {
+        if (table == null) {
+            throw new IllegalArgumentException("Table cannot be null");
+        }
+        return new TableSorter(table);
+    }
+
+    /**
+     * Adds an ascending sort key, with nulls first.
+     *
+     * @param columnName the name of the column
+     * @return this sorter
+     */
+    public TableSorter by(String columnName) {
+        return by(columnName, true);
+    }
+
+    /**
+     * Adds a sort key. Nulls sort as the smallest value: first in ascending order and last in
+     * descending order.
+     *
+     * @param columnName the name of the column
+     * @param ascending true for ascending order, false for descending order
+     * @return this sorter
+     */
+    public TableSorter by(String columnName, boolean ascending) {
+        return by(columnName, ascending, ascending);
+    }
+
+    /**
+     * Adds a sort key.
+     *
+     * @param columnName the name of the column
+     * @param ascending true for ascending order, false for descending order
+     * @param nullsFirst true to put rows with a null value before all others, false to put them after
+     * @return this sorter
+     */
+    public TableSorter by(String columnName, boolean ascending, boolean nullsFirst) {
+        keyColumns.add(columnName);
+        keyAscending.add(ascending);
+        keyNullsFirst.add(nullsFirst);
+        return this;
+    }
+
+    /**
+     * Sorts in parallel on the common ForkJoinPool.
+     *
+     * @return this sorter
+     */
+    public TableSorter parallel() {
+        return parallel(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Sorts in parallel on the given pool.
+     *
+     * @param pool the pool to run on
+     * @return this sorter
+     */
+    public TableSorter parallel(ForkJoinPool pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("Pool cannot be null");
+        }
+        this.pool = pool;
+        return this;
+    }
+
+    /**
+     * Sorts the rows.
+     *
+     * @return the row indexes of the table in sorted order
+     * @throws IllegalArgumentException if no sort key was given or a key column does not exist
+     */
+    public int[] sortedRowIndexes() {
+        if (keyColumns.isEmpty()) {
+            throw new IllegalArgumentException("At least one sort key is required");
+        }
+        int[] columns = new int[keyColumns.size()];
+        for (int k = 0; k < columns.length; k++) {
+            columns[k] = Filter.requireColumn(table, keyColumns.get(k));
+        }
+
+        int rowCount = table.getRowCount();
+        ColumnData[] keys = new ColumnData[columns.length];
+        for (int k = 0; k < keys.length; k++) {
+            keys[k] = ColumnData.load(table, columns[k], 0, rowCount);
+        }
+
+        if (keys.length == 1 && keys[0] instanceof ColumnData.IntData && !keys[0].hasNulls()) {
+            return sortInts(((ColumnData.IntData) keys[0]).values, keyAscending.get(0));
+        }
+
+        RowSort.RowComparator[] comparators = new RowSort.RowComparator[keys.length];
+        for (int k = 0; k < keys.length; k++) {
+            comparators[k] = comparator(keys[k], keyAscending.get(k), keyNullsFirst.get(k));
+        }
+        RowSort.RowComparator comparator = comparators.length == 1 ? comparators[0] : (left, right) -> {
+            for (RowSort.RowComparator key : comparators) {
+                int comparison = key.compare(left, right);
+                if (comparison != 0) {
+                    return comparison;
+                }
+            }
+            return 0;
+        };
+
+        int[] rows = new int[rowCount];
+        for (int i = 0; i < rowCount; i++) {
+            rows[i] = i;
+        }
+        if (pool == null) {
+            RowSort.sort(rows, comparator);
+        } else {
+            RowSort.parallelSort(rows, comparator, pool);
+        }
+        return rows;
+    }
+
+    /**
+     * Sorts the rows and returns a view of the table in sorted order. The view reads and
+     * writes through to the table, whose rows do not move.
+     *
+     * @return a view of the table in sorted order
+     * @throws IllegalArgumentException if no sort key was given or a key column does not exist
+     */
+    public ITable sortedView() {
+        return new SortedTableView(table, sortedRowIndexes());
+    }
+
+    /**
+     * Sorts the rows of the table in place.
+     *
+     * @throws IllegalArgumentException if no sort key was given or a key column does not exist
+     * @throws UnsupportedOperationException if the table cannot reorder its rows
+     */
+    public void sortInPlace() {
+        table.reorderRows(sortedRowIndexes());
+    }
+
+    /**
+     * Sorts by a single int key without nulls, packing each value with its row index into a
+     * long so that a primitive sort orders both at once. Equal values are ordered by row index,
+     * which keeps the sort stable.
+     */
+    private int[] sortInts(int[] values, boolean ascending) {
+        // The key fills the signed upper half, so longs compare as the keys do; inverting the
+        // bits reverses the order. Row indexes are never negative, so the lower half stays unsigned.
+        long[] packed = new long[values.length];
+        for (int row = 0; row < values.length; row++) {
+            int key = ascending ? values[row] : ~values[row];
+            packed[row] = ((long) key << 32) | row;
+        }
+        if (pool == null) {
+            Arrays.sort(packed);
+        } else {
+            // Arrays.parallelSort forks into the pool of the thread that calls it
+            pool.submit(() -> Arrays.parallelSort(packed)).join();
+        }
+        int[] rows = new int[packed.length];
+        for (int i = 0; i < packed.length; i++) {
+            rows[i] = (int) packed[i];
+        }
+        return rows;
+    }
+
+    private static RowSort.RowComparator comparator(ColumnData data, boolean ascending, boolean nullsFirst) {
+        RowSort.RowComparator values = valueComparator(data, ascending);
+        if (!data.hasNulls()) {
+            return values;
+        }
+        int nullOrder = nullsFirst ? -1 : 1;
+        return (left, right) -> {
+            boolean leftNull = data.isNull(left);
+            boolean rightNull = data.isNull(right);
+            if (leftNull || rightNull) {
+                return leftNull == rightNull ? 0 : (leftNull ? nullOrder : -nullOrder);
+            }
+            return values.compare(left, right);
+        };
+    }
+
+    /**
+     * Compares the non-null values of two rows, reading the primitive arrays directly. The
+     * data spans the whole table, so row indexes are also array indexes.
+     */
+    private static RowSort.RowComparator valueComparator(ColumnData data, boolean ascending) {
+        if (data instanceof ColumnData.IntData) {
+            int[] values = ((ColumnData.IntData) data).values;
+            return ascending
+                    ? (left, right) -> Integer.compare(values[left], values[right])
+                    : (left, right) -> Integer.compare(values[right], values[left]);
+        }
+        if (data instanceof ColumnData.DoubleData) {
+            double[] values = ((ColumnData.DoubleData) data).values;
+            return ascending
+                    ? (left, right) -> Double.compare(values[left], values[right])
+                    : (left, right) -> Double.compare(values[right], values[left]);
+        }
+        if (data instanceof ColumnData.CodeData) {
+            int[] codes = ((ColumnData.CodeData) data).codes;
+            int[] ranks = ((ColumnData.CodeData) data).ranks();
+            return ascending
+                    ? (left, right) -> Integer.compare(ranks[codes[left]], ranks[codes[right]])
+                    : (left, right) -> Integer.compare(ranks[codes[right]], ranks[codes[left]]);
+        }
+        if (data instanceof ColumnData.BooleanData) {
+            boolean[] values = ((ColumnData.BooleanData) data).values;
+            return ascending
+                    ? (left, right) -> Boolean.compare(values[left], values[right])
+                    : (left, right) -> Boolean.compare(values[right], values[left]);
+        }
+        return ascending
+                ? data::compareNonNull
+                : (left, right) -> data.compareNonNull(right, left);
+    }
+}
@@ -0,0 +1,34 @@
+package dev.mars.jtable.core.query;
+
+/**
+ * Comparison of the boxed values of a column.
+ */
+final class Values {
+
+    private Values() {
+    }
+
+    /**
+     * Compares two non-null values of the same column.
+     *
+     * @throws IllegalArgumentException if the values are not comparable
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static int compare(Object left, Object right) {
+        if (!(left instanceof Comparable)) {
+            throw new IllegalArgumentException("Values of type " + left.getClass().getSimpleName()
+                    + " cannot be compared");
+        }
+        return ((Comparable) left).compareTo(right);
+    }
+
+    /**
+     * Compares two values, ordering nulls first.
+     */
+    static int compareNullsFirst(Object left, Object right) {
+        if (left == null || right == null) {
+            return left == right ? 0 : (left == null ? -1 : 1);
+        }
+        return compare(left, right);
+    }
+}
@@ -16,12 +16,24 @@ public class ColumnFactory {
         return new Column<>(name, String.class, "");
     }
 
+    /**
+     * Creates a new dictionary-encoded string column with the given name, for values with few
+     * distinct values.
+     *
+     * @param name the name of the column
+     * @return a new dictionary column
+     * @see DictionaryColumn
+     */
+    public static IColumn<String> createDictionaryColumn(String name) {
+        return new DictionaryColumn(name);
+    }
+
     public static IColumn<Integer> createIntegerColumn(String name) {
         return new Column<>(name, Integer.class, 0);
     }
 
     public static IColumn<Double> createDoubleColumn(String name) {
-        return new Column<>(name, Double.class, 0.0);
+        return new DecimalColumn(name);
     }
 
     public static IColumn<Boolean> createBooleanColumn(String name) {
@@ -65,6 +77,8 @@ public class ColumnFactory {
         switch (type.toLowerCase()) {
             case "string":
                 return createStringColumn(name);
+            case "category":
+                return createDictionaryColumn(name);
             case "int":
                 return createIntegerColumn(name);
             case "double":
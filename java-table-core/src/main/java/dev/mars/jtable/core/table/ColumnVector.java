@@ -0,0 +1,639 @@
+package dev.mars.jtable.core.table;
+
+import dev.mars.jtable.core.model.IColumn;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Chunked, primitive-backed storage for a single column of a {@link ColumnarTableCore}.
+ *
+ * Values are kept in fixed-size chunks so that growing a column never copies the data
+ * that is already stored; only the small array of chunk pointers is resized. A bitmap per
+ * chunk records which rows hold a non-null value, so a freshly allocated chunk reads as
+ * all nulls.
+ */
+abstract class ColumnVector {
+    // 4096 rows per chunk keeps each int/double chunk within a few pages
+    static final int CHUNK_SHIFT = 12;
+    static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final int WORDS_PER_CHUNK = CHUNK_SIZE >>> 6;
+    private static final int INITIAL_CHUNK_SLOTS = 8;
+
+    private long[][] presentBits = new long[INITIAL_CHUNK_SLOTS][];
+    private int chunkCount;
+
+    /**
+     * Creates the vector matching the value type of the given column.
+     *
+     * @param column the column to create storage for
+     * @return a vector able to hold the column's values
+     */
+    static ColumnVector forColumn(IColumn<?> column) {
+        Class<?> type = column.getType();
+        if (type == Integer.class) {
+            return new IntVector();
+        } else if (type == Double.class) {
+            return new DoubleVector();
+        } else if (type == Boolean.class) {
+            return new BooleanVector();
+        } else if (type == String.class) {
+            return new StringVector();
+        }
+        return new ObjectVector();
+    }
+
+    /**
+     * Makes sure the vector can hold at least the given number of rows.
+     *
+     * @param rowCount the number of rows the vector must be able to hold
+     */
+    final void ensureCapacity(int rowCount) {
+        int requiredChunks = (rowCount + CHUNK_MASK) >>> CHUNK_SHIFT;
+        while (chunkCount < requiredChunks) {
+            if (chunkCount == presentBits.length) {
+                int newLength = presentBits.length * 2;
+                presentBits = Arrays.copyOf(presentBits, newLength);
+                growChunkSlots(newLength);
+            }
+            presentBits[chunkCount] = new long[WORDS_PER_CHUNK];
+            allocateChunk(chunkCount);
+            chunkCount++;
+        }
+    }
+
+    final boolean isNull(int row) {
+        int offset = row & CHUNK_MASK;
+        return (presentBits[row >>> CHUNK_SHIFT][offset >>> 6] & (1L << offset)) == 0;
+    }
+
+    final void setPresent(int row, boolean present) {
+        int offset = row & CHUNK_MASK;
+        long[] bits = presentBits[row >>> CHUNK_SHIFT];
+        if (present) {
+            bits[offset >>> 6] |= 1L << offset;
+        } else {
+            bits[offset >>> 6] &= ~(1L << offset);
+        }
+    }
+
+    /**
+     * Gets the value at the given row, boxing primitives as needed.
+     *
+     * @param row the row index
+     * @return the value, or null if the row holds no value
+     */
+    final Object get(int row) {
+        return isNull(row) ? null : getNonNull(row);
+    }
+
+    /**
+     * Stores a value at the given row.
+     *
+     * @param row the row index
+     * @param value the value to store, or null to clear the row
+     */
+    final void set(int row, Object value) {
+        if (value == null) {
+            setPresent(row, false);
+            clear(row);
+        } else {
+            setNonNull(row, value);
+            setPresent(row, true);
+        }
+    }
+
+    /**
+     * Copies the value of a row into a row of another vector created for the same column.
+     *
+     * @param row the row to copy
+     * @param target the vector to copy into
+     * @param targetRow the row of the target to overwrite
+     */
+    void copyRow(int row, ColumnVector target, int targetRow) {
+        target.set(targetRow, get(row));
+    }
+
+    /**
+     * Stores the values of a run of rows from an array of the form accepted by
+     * {@link #isValidRange(Object, int)}, without boxing them. The vector must already have
+     * the capacity for the rows.
+     *
+     * @param start the first row to store
+     * @param count the number of rows to store
+     * @param values the values, indexed from 0
+     * @param nulls a bitmap of the rows to leave null, indexed from 0, or null if none are
+     */
+    final void setRange(int start, int count, Object values, long[] nulls) {
+        copyRange(start, count, values, nulls);
+        for (int i = 0; i < count; i++) {
+            int row = start + i;
+            if (isNullBit(nulls, i) || isMissing(values, i)) {
+                setPresent(row, false);
+                clear(row);
+            } else {
+                setPresent(row, true);
+            }
+        }
+    }
+
+    static boolean isNullBit(long[] nulls, int index) {
+        return nulls != null && (nulls[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Determines whether an array holds the values of the given number of rows in the form
+     * {@link #setRange(int, int, Object, long[])} expects: int[] for Integer columns, double[]
+     * for Double columns, a long[] bitmap for Boolean columns, String[] for String columns and
+     * Object[] for any other type.
+     */
+    abstract boolean isValidRange(Object values, int count);
+
+    protected abstract void copyRange(int start, int count, Object values, long[] nulls);
+
+    /**
+     * Determines whether the value at an index of a range array is a null reference.
+     */
+    protected boolean isMissing(Object values, int index) {
+        return false;
+    }
+
+    /**
+     * Parses and stores a textual value. Columns created by {@link ColumnFactory} are parsed
+     * straight into the primitive chunk; any other column goes through
+     * {@link IColumn#convertFromString(String)}.
+     *
+     * @param row the row index
+     * @param value the textual value
+     * @param column the column that defines how the text is converted
+     */
+    void setString(int row, String value, IColumn<?> column) {
+        set(row, column.convertFromString(value));
+    }
+
+    /**
+     * Determines whether the built-in parsing rules of {@link Column} apply to a column.
+     */
+    static boolean usesDefaultConversion(IColumn<?> column) {
+        return column.getClass() == Column.class || column.getClass() == DecimalColumn.class;
+    }
+
+    protected abstract void growChunkSlots(int newLength);
+
+    protected abstract void allocateChunk(int chunkIndex);
+
+    protected abstract Object getNonNull(int row);
+
+    protected abstract void setNonNull(int row, Object value);
+
+    /**
+     * Releases anything the vector holds for a row that has been set to null.
+     */
+    protected void clear(int row) {
+        // primitive vectors have nothing to release
+    }
+
+    /**
+     * Storage for Integer columns backed by int chunks.
+     */
+    static final class IntVector extends ColumnVector {
+        private int[][] chunks = new int[INITIAL_CHUNK_SLOTS][];
+
+        int getInt(int row) {
+            return chunks[row >>> CHUNK_SHIFT][row & CHUNK_MASK];
+        }
+
+        @Override
+        protected void growChunkSlots(int newLength) {
+            chunks = Arrays.copyOf(chunks, newLength);
+        }
+
+        @Override
+        protected void allocateChunk(int chunkIndex) {
+            chunks[chunkIndex] = new int[CHUNK_SIZE];
+        }
+
+        @Override
+        protected Object getNonNull(int row) {
+            return getInt(row);
+        }
+
+        @Override
+        protected void setNonNull(int row, Object value) {
+            chunks[row >>> CHUNK_SHIFT][row & CHUNK_MASK] = (Integer) value;
+        }
+
+        @Override
+        boolean isValidRange(Object values, int count) {
+            return values instanceof int[] && ((int[]) values).length >= count;
+        }
+
+        @Override
+        protected void copyRange(int start, int count, Object values, long[] nulls) {
+            int[] source = (int[]) values;
+            for (int i = 0; i < count; ) {
+                int row = start + i;
+                int length = Math.min(count - i, CHUNK_SIZE - (row & CHUNK_MASK));
+                System.arraycopy(source, i, chunks[row >>> CHUNK_SHIFT], row & CHUNK_MASK, length);
+                i += length;
+            }
+        }
+
+        @Override
+        void setString(int row, String value, IColumn<?> column) {
+            if (!usesDefaultConversion(column)) {
+                super.setString(row, value, column);
+            } else if (value == null || value.isEmpty()) {
+                set(row, null);
+            } else {
+                chunks[row >>> CHUNK_SHIFT][row & CHUNK_MASK] = Integer.parseInt(value);
+                setPresent(row, true);
+            }
+        }
+    }
+
+    /**
+     * Storage for Double columns backed by double chunks.
+     *
+     * When a value is parsed from plain decimal text, the number of fraction digits is kept
+     * in a byte alongside the value so that "50000.50" is formatted back with its trailing
+     * zero. The scale chunks are only allocated once a chunk receives such a value.
+     */
+    static final class DoubleVector extends ColumnVector {
+        private double[][] chunks = new double[INITIAL_CHUNK_SLOTS][];
+        private byte[][] scales = new byte[INITIAL_CHUNK_SLOTS][];
+
+        double getDouble(int row) {
+            return chunks[row >>> CHUNK_SHIFT][row & CHUNK_MASK];
+        }
+
+        /**
+         * Gets the number of fraction digits recorded for a row.
+         *
+         * @param row the row index
+         * @return the recorded scale, or -1 if the value was not parsed from decimal text
+         */
+        int getScale(int row) {
+            byte[] chunk = scales[row >>> CHUNK_SHIFT];
+            return chunk == null ? -1 : chunk[row & CHUNK_MASK] - 1;
+        }
+
+        /**
+         * Records the number of fraction digits of a row's value, such as the scale of the value
+         * it was copied from.
+         *
+         * @param row the row index
+         * @param scale the scale to record, or -1 for none
+         */
+        void setScale(int row, int scale) {
+            int chunkIndex = row >>> CHUNK_SHIFT;
+            byte[] chunk = scales[chunkIndex];
+            if (chunk == null) {
+                if (scale < 0) {
+                    return;
+                }
+                chunk = new byte[CHUNK_SIZE];
+                scales[chunkIndex] = chunk;
+            }
+            chunk[row & CHUNK_MASK] = (byte) (scale + 1);
+        }
+
+        @Override
+        protected void growChunkSlots(int newLength) {
+            chunks = Arrays.copyOf(chunks, newLength);
+            scales = Arrays.copyOf(scales, newLength);
+        }
+
+        @Override
+        protected void allocateChunk(int chunkIndex) {
+            chunks[chunkIndex] = new double[CHUNK_SIZE];
+        }
+
+        @Override
+        protected Object getNonNull(int row) {
+            return getDouble(row);
+        }
+
+        @Override
+        protected void setNonNull(int row, Object value) {
+            chunks[row >>> CHUNK_SHIFT][row & CHUNK_MASK] = (Double) value;
+            setScale(row, -1);
+        }
+
+        @Override
+        boolean isValidRange(Object values, int count) {
+            return values instanceof double[] && ((double[]) values).length >= count;
+        }
+
+        @Override
+        protected void copyRange(int start, int count, Object values, long[] nulls) {
+            double[] source = (double[]) values;
+            for (int i = 0; i < count; ) {
+                int row = start + i;
+                int chunkIndex = row >>> CHUNK_SHIFT;
+                int offset = row & CHUNK_MASK;
+                int length = Math.min(count - i, CHUNK_SIZE - offset);
+                System.arraycopy(source, i, chunks[chunkIndex], offset, length);
+                // Values that were not parsed from text have no recorded scale
+                if (scales[chunkIndex] != null) {
+                    Arrays.fill(scales[chunkIndex], offset, offset + length, (byte) 0);
+                }
+                i += length;
+            }
+        }
+
+        @Override
+        protected void clear(int row) {
+            setScale(row, -1);
+        }
+
+        @Override
+        void copyRow(int row, ColumnVector target, int targetRow) {
+            super.copyRow(row, target, targetRow);
+            if (!isNull(row)) {
+                ((DoubleVector) target).setScale(targetRow, getScale(row));
+            }
+        }
+
+        @Override
+        void setString(int row, String value, IColumn<?> column) {
+            if (!usesDefaultConversion(column)) {
+                super.setString(row, value, column);
+            } else if (value == null || value.isEmpty()) {
+                set(row, null);
+            } else {
+                chunks[row >>> CHUNK_SHIFT][row & CHUNK_MASK] = Double.parseDouble(value);
+                setScale(row, DecimalText.scaleOf(value));
+                setPresent(row, true);
+            }
+        }
+    }
+
+    /**
+     * Storage for Boolean columns backed by one bit per row.
+     */
+    static final class BooleanVector extends ColumnVector {
+        private long[][] chunks = new long[INITIAL_CHUNK_SLOTS][];
+
+        boolean getBoolean(int row) {
+            int offset = row & CHUNK_MASK;
+            return (chunks[row >>> CHUNK_SHIFT][offset >>> 6] & (1L << offset)) != 0;
+        }
+
+        private void setBoolean(int row, boolean value) {
+            int offset = row & CHUNK_MASK;
+            long[] bits = chunks[row >>> CHUNK_SHIFT];
+            if (value) {
+                bits[offset >>> 6] |= 1L << offset;
+            } else {
+                bits[offset >>> 6] &= ~(1L << offset);
+            }
+        }
+
+        @Override
+        protected void growChunkSlots(int newLength) {
+            chunks = Arrays.copyOf(chunks, newLength);
+        }
+
+        @Override
+        protected void allocateChunk(int chunkIndex) {
+            chunks[chunkIndex] = new long[WORDS_PER_CHUNK];
+        }
+
+        @Override
+        protected Object getNonNull(int row) {
+            return getBoolean(row);
+        }
+
+        @Override
+        protected void setNonNull(int row, Object value) {
+            setBoolean(row, (Boolean) value);
+        }
+
+        @Override
+        boolean isValidRange(Object values, int count) {
+            return values instanceof long[] && ((long[]) values).length >= (count + 63) >>> 6;
+        }
+
+        @Override
+        protected void copyRange(int start, int count, Object values, long[] nulls) {
+            long[] bits = (long[]) values;
+            for (int i = 0; i < count; i++) {
+                setBoolean(start + i, (bits[i >>> 6] & (1L << i)) != 0);
+            }
+        }
+
+        @Override
+        void setString(int row, String value, IColumn<?> column) {
+            if (!usesDefaultConversion(column)) {
+                super.setString(row, value, column);
+            } else if (value == null || value.isEmpty()) {
+                set(row, null);
+            } else {
+                setBoolean(row, Boolean.parseBoolean(value));
+                setPresent(row, true);
+            }
+        }
+    }
+
+    /**
+     * Storage for String columns.
+     *
+     * Values are dictionary-encoded as int codes while the number of distinct values stays
+     * below {@link #MAX_DICTIONARY_SIZE}; past that point the dictionary no longer pays for
+     * itself and the vector switches to plain references.
+     */
+    static final class StringVector extends ColumnVector {
+        static final int MAX_DICTIONARY_SIZE = 1 << 16;
+
+        private int[][] codes = new int[INITIAL_CHUNK_SLOTS][];
+        private Map<String, Integer> dictionaryIndex = new HashMap<>();
+        private List<String> dictionary = new ArrayList<>();
+        private String[][] plain;
+
+        boolean isDictionaryEncoded() {
+            return plain == null;
+        }
+
+        /**
+         * Gets a read-only view of the dictionary, indexed by code.
+         *
+         * @return the dictionary, or null if the vector holds plain references
+         */
+        List<String> getDictionary() {
+            return plain == null ? Collections.unmodifiableList(dictionary) : null;
+        }
+
+        /**
+         * Gets the dictionary code of a row; the vector must be dictionary encoded.
+         *
+         * @param row the row index
+         * @return the code, or -1 if the row holds no value
+         */
+        int getCode(int row) {
+            return isNull(row) ? -1 : codes[row >>> CHUNK_SHIFT][row & CHUNK_MASK];
+        }
+
+        String getString(int row) {
+            if (plain != null) {
+                return plain[row >>> CHUNK_SHIFT][row & CHUNK_MASK];
+            }
+            return dictionary.get(codes[row >>> CHUNK_SHIFT][row & CHUNK_MASK]);
+        }
+
+        @Override
+        protected void growChunkSlots(int newLength) {
+            if (plain != null) {
+                plain = Arrays.copyOf(plain, newLength);
+            } else {
+                codes = Arrays.copyOf(codes, newLength);
+            }
+        }
+
+        @Override
+        protected void allocateChunk(int chunkIndex) {
+            if (plain != null) {
+                plain[chunkIndex] = new String[CHUNK_SIZE];
+            } else {
+                codes[chunkIndex] = new int[CHUNK_SIZE];
+            }
+        }
+
+        @Override
+        protected Object getNonNull(int row) {
+            return getString(row);
+        }
+
+        @Override
+        protected void setNonNull(int row, Object value) {
+            String text = (String) value;
+            if (plain == null) {
+                Integer code = dictionaryIndex.get(text);
+                if (code == null && dictionary.size() < MAX_DICTIONARY_SIZE) {
+                    code = dictionary.size();
+                    dictionary.add(text);
+                    dictionaryIndex.put(text, code);
+                }
+                if (code != null) {
+                    codes[row >>> CHUNK_SHIFT][row & CHUNK_MASK] = code;
+                    return;
+                }
+                switchToPlain();
+            }
+            plain[row >>> CHUNK_SHIFT][row & CHUNK_MASK] = text;
+        }
+
+        @Override
+        protected void clear(int row) {
+            if (plain != null) {
+                plain[row >>> CHUNK_SHIFT][row & CHUNK_MASK] = null;
+            }
+        }
+
+        @Override
+        boolean isValidRange(Object values, int count) {
+            return values instanceof String[] && ((String[]) values).length >= count;
+        }
+
+        @Override
+        protected void copyRange(int start, int count, Object values, long[] nulls) {
+            String[] source = (String[]) values;
+            for (int i = 0; i < count; i++) {
+                // Null rows are skipped so that they never enter the dictionary
+                if (source[i] != null && !isNullBit(nulls, i)) {
+                    setNonNull(start + i, source[i]);
+                }
+            }
+        }
+
+        @Override
+        protected boolean isMissing(Object values, int index) {
+            return ((String[]) values)[index] == null;
+        }
+
+        @Override
+        void setString(int row, String value, IColumn<?> column) {
+            if (!usesDefaultConversion(column)) {
+                super.setString(row, value, column);
+            } else {
+                set(row, value);
+            }
+        }
+
+        private void switchToPlain() {
+            String[][] values = new String[codes.length][];
+            for (int chunk = 0; chunk < codes.length && codes[chunk] != null; chunk++) {
+                int[] chunkCodes = codes[chunk];
+                String[] chunkValues = new String[CHUNK_SIZE];
+                for (int i = 0; i < CHUNK_SIZE; i++) {
+                    if (!isNull((chunk << CHUNK_SHIFT) | i)) {
+                        chunkValues[i] = dictionary.get(chunkCodes[i]);
+                    }
+                }
+                values[chunk] = chunkValues;
+            }
+            plain = values;
+            codes = null;
+            dictionary = null;
+            dictionaryIndex = null;
+        }
+    }
+
+    /**
+     * Storage for any other column type, such as the java.time columns, holding references.
+     */
+    static final class ObjectVector extends ColumnVector {
+        private Object[][] chunks = new Object[INITIAL_CHUNK_SLOTS][];
+
+        @Override
+        protected void growChunkSlots(int newLength) {
+            chunks = Arrays.copyOf(chunks, newLength);
+        }
+
+        @Override
+        protected void allocateChunk(int chunkIndex) {
+            chunks[chunkIndex] = new Object[CHUNK_SIZE];
+        }
+
+        @Override
+        protected Object getNonNull(int row) {
+            return chunks[row >>> CHUNK_SHIFT][row & CHUNK_MASK];
+        }
+
+        @Override
+        protected void setNonNull(int row, Object value) {
+            chunks[row >>> CHUNK_SHIFT][row & CHUNK_MASK] = value;
+        }
+
+        @Override
+        protected void clear(int row) {
+            chunks[row >>> CHUNK_SHIFT][row & CHUNK_MASK] = null;
+        }
+
+        @Override
+        boolean isValidRange(Object values, int count) {
+            return values instanceof Object[] && ((Object[]) values).length >= count;
+        }
+
+        @Override
+        protected void copyRange(int start, int count, Object values, long[] nulls) {
+            Object[] source = (Object[]) values;
+            for (int i = 0; i < count; ) {
+                int row = start + i;
+                int length = Math.min(count - i, CHUNK_SIZE - (row & CHUNK_MASK));
+                System.arraycopy(source, i, chunks[row >>> CHUNK_SHIFT], row & CHUNK_MASK, length);
+                i += length;
+            }
+        }
+
+        @Override
+        protected boolean isMissing(Object values, int index) {
+            return ((Object[]) values)[index] == null;
+        }
+    }
+}
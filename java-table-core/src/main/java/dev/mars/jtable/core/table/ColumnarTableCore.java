@@ -0,0 +1,762 @@
+package dev.mars.jtable.core.table;
+
+import dev.mars.jtable.core.model.ICell;
+import dev.mars.jtable.core.model.IColumn;
+import dev.mars.jtable.core.model.IDictionaryEncoded;
+import dev.mars.jtable.core.model.IRow;
+import dev.mars.jtable.core.model.ITable;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A column-oriented implementation of ITable that stores each column in a typed,
+ * primitive-backed vector instead of one HashMap of boxed cells per row.
+ *
+ * Storage per column type:
+ * 1. int chunks for Integer columns
+ * 2. double chunks (plus a scale byte for values parsed from decimal text) for Double columns
+ * 3. one bit per row for Boolean columns
+ * 4. dictionary codes for String columns, exposed through {@link IDictionaryEncoded}
+ * 5. references for any other type (e.g. the java.time columns)
+ *
+ * Every column also keeps a null bitmap, and grows in fixed-size chunks so that appending
+ * rows never copies existing data. Rows and cells returned by {@link #getRow(int)} and
+ * {@link #getRows()} are lightweight views created on demand; reads and writes through them
+ * go straight to the column vectors.
+ *
+ * This class is not thread-safe.
+ */
+public class ColumnarTableCore implements ITable, IDictionaryEncoded {
+    private final List<IColumn<?>> columns = new ArrayList<>();
+    private final List<ColumnVector> vectors = new ArrayList<>();
+    private final Map<String, Integer> columnIndexes = new HashMap<>();
+    private int rowCount;
+    private boolean createDefaultValue = true;
+    private String name;
+
+    /**
+     * Creates a new ColumnarTableCore.
+     */
+    public ColumnarTableCore() {
+        this.name = "ColumnarTableCore";
+    }
+
+    /**
+     * Creates a new ColumnarTableCore with the specified name.
+     *
+     * @param name the name of the table
+     */
+    public ColumnarTableCore(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public IColumn<?> getColumn(String name) {
+        Integer index = columnIndexes.get(name);
+        return index == null ? null : columns.get(index);
+    }
+
+    @Override
+    public IColumn<?> getColumn(int index) {
+        checkColumnIndex(index);
+        return columns.get(index);
+    }
+
+    @Override
+    public List<IColumn<?>> getColumns() {
+        return new ArrayList<>(columns);
+    }
+
+    @Override
+    public void addColumn(IColumn<?> column) {
+        if (column == null) {
+            throw new IllegalArgumentException("Column cannot be null");
+        }
+        if (columnIndexes.containsKey(column.getName())) {
+            throw new IllegalArgumentException("Column already exists: " + column.getName());
+        }
+        appendColumn(column);
+    }
+
+    private void appendColumn(IColumn<?> column) {
+        ColumnVector vector = ColumnVector.forColumn(column);
+        // Existing rows read as null in a column added after them
+        vector.ensureCapacity(rowCount);
+        columnIndexes.put(column.getName(), columns.size());
+        columns.add(column);
+        vectors.add(vector);
+    }
+
+    @Override
+    public String getColumnName(int index) {
+        checkColumnIndex(index);
+        return columns.get(index).getName();
+    }
+
+    /**
+     * Gets a view of the row at the given index. The view reads and writes through to the
+     * column vectors, so it stays valid for as long as the row exists.
+     *
+     * @param index the index of the row
+     * @return a view of the row
+     */
+    @Override
+    public IRow getRow(int index) {
+        checkRowIndex(index);
+        return new ColumnarRow(index);
+    }
+
+    /**
+     * Gets views of all rows currently in the table. The views are created lazily as the
+     * returned list is accessed.
+     *
+     * @return a list of row views
+     */
+    @Override
+    public List<IRow> getRows() {
+        final int size = rowCount;
+        return new AbstractList<IRow>() {
+            @Override
+            public IRow get(int index) {
+                if (index < 0 || index >= size) {
+                    throw new IndexOutOfBoundsException("Invalid row index: " + index);
+                }
+                return new ColumnarRow(index);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    @Override
+    public void addRow(IRow row) {
+        if (row == null) {
+            throw new IllegalArgumentException("Row cannot be null");
+        }
+
+        // Check if all required columns are present
+        for (IColumn<?> column : columns) {
+            if (row.getCell(column.getName()) == null && !createDefaultValue) {
+                throw new IllegalArgumentException("Row is missing column: " + column.getName());
+            }
+        }
+
+        // Validate all cells
+        for (ICell<?> cell : row.getCells()) {
+            IColumn<?> column = getColumn(cell.getColumn().getName());
+            if (column == null) {
+                throw new IllegalArgumentException("Column does not exist: " + cell.getColumn().getName());
+            }
+            if (!column.isValidValue(cell.getValue())) {
+                throw new IllegalArgumentException("Invalid value for column: " + column.getName());
+            }
+        }
+
+        int rowIndex = reserveRow();
+        for (int i = 0; i < columns.size(); i++) {
+            IColumn<?> column = columns.get(i);
+            ICell<?> cell = row.getCell(column.getName());
+            vectors.get(i).set(rowIndex, cell == null ? column.createDefaultValue() : cell.getValue());
+        }
+        rowCount++;
+    }
+
+    @Override
+    public void addRow(Map<String, String> row) {
+        if (row == null) {
+            throw new IllegalArgumentException("Row map cannot be null");
+        }
+
+        // Reject unknown columns before anything is written
+        for (String columnName : row.keySet()) {
+            if (!columnIndexes.containsKey(columnName)) {
+                throw new IllegalArgumentException("Column '" + columnName + "' does not exist");
+            }
+        }
+
+        if (!createDefaultValue) {
+            for (IColumn<?> column : columns) {
+                if (!row.containsKey(column.getName())) {
+                    throw new IllegalArgumentException("Row is missing column: " + column.getName());
+                }
+            }
+        }
+
+        // Every column is written for the reserved slot, so a conversion failure part way
+        // through leaves nothing visible: the row count is only advanced once all succeed
+        int rowIndex = reserveRow();
+        for (int i = 0; i < columns.size(); i++) {
+            IColumn<?> column = columns.get(i);
+            String columnName = column.getName();
+            if (row.containsKey(columnName)) {
+                vectors.get(i).setString(rowIndex, row.get(columnName), column);
+            } else {
+                vectors.get(i).set(rowIndex, column.createDefaultValue());
+            }
+        }
+        rowCount++;
+    }
+
+    @Override
+    public void addRow(String[] values) {
+        if (values == null) {
+            throw new IllegalArgumentException("Row values cannot be null");
+        }
+        if (values.length > columns.size()) {
+            throw new IllegalArgumentException("Row has " + values.length + " values but the table has "
+                    + columns.size() + " columns");
+        }
+        if (!createDefaultValue && values.length < columns.size()) {
+            throw new IllegalArgumentException("Row is missing column: " + columns.get(values.length).getName());
+        }
+
+        int rowIndex = reserveRow();
+        for (int i = 0; i < columns.size(); i++) {
+            IColumn<?> column = columns.get(i);
+            if (i < values.length) {
+                vectors.get(i).setString(rowIndex, values[i], column);
+            } else {
+                vectors.get(i).set(rowIndex, column.createDefaultValue());
+            }
+        }
+        rowCount++;
+    }
+
+    /**
+     * Appends a row of typed values given in column order, without going through cells or text.
+     * A null value leaves the cell empty.
+     *
+     * @param values the values of the row, one per column
+     * @throws IllegalArgumentException if the number of values does not match the number of
+     *         columns, or a value is not valid for its column
+     */
+    public void addRowValues(Object[] values) {
+        addRowValues(values, null);
+    }
+
+    /**
+     * Appends a row of typed values given in column order, recording the scale of each double
+     * value so that it prints as the text it was first read from, as when copying the row from
+     * another table with {@link ITable#getScale(int, int)}.
+     *
+     * @param values the values of the row, one per column
+     * @param scales the scale of each value, or -1 for none; ignored for columns other than
+     *        double columns, and may be null if no value has a scale
+     * @throws IllegalArgumentException if the number of values or scales does not match the
+     *         number of columns, or a value is not valid for its column
+     */
+    public void addRowValues(Object[] values, int[] scales) {
+        if (values == null) {
+            throw new IllegalArgumentException("Row values cannot be null");
+        }
+        if (values.length != columns.size()) {
+            throw new IllegalArgumentException("Row has " + values.length + " values but the table has "
+                    + columns.size() + " columns");
+        }
+        if (scales != null && scales.length != values.length) {
+            throw new IllegalArgumentException("Row has " + values.length + " values but "
+                    + scales.length + " scales");
+        }
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null && !columns.get(i).isValidValue(values[i])) {
+                throw new IllegalArgumentException("Invalid value for column: " + columns.get(i).getName());
+            }
+        }
+
+        int rowIndex = reserveRow();
+        for (int i = 0; i < values.length; i++) {
+            ColumnVector vector = vectors.get(i);
+            vector.set(rowIndex, values[i]);
+            if (scales != null && values[i] != null && vector instanceof ColumnVector.DoubleVector) {
+                ((ColumnVector.DoubleVector) vector).setScale(rowIndex, scales[i]);
+            }
+        }
+        rowCount++;
+    }
+
+    /**
+     * Appends a run of rows given column by column, copying each column straight into its
+     * vector without boxing primitive values. Each column's values must be an array of the
+     * type matching the column:
+     * 1. int[] for Integer columns
+     * 2. double[] for Double columns
+     * 3. a long[] bitmap for Boolean columns, where bit {@code i % 64} of word {@code i / 64}
+     *    holds the value of row {@code i}
+     * 4. String[] for String columns
+     * 5. Object[] for any other type
+     *
+     * A null reference in a String[] or Object[] array leaves the cell empty, as does a set
+     * bit in the column's null bitmap, laid out like the Boolean bitmap.
+     *
+     * @param count the number of rows to append
+     * @param columnValues the values of each column, in column order
+     * @param nulls the null bitmap of each column, or null if no column has nulls; an entry
+     *        may also be null for a column without nulls
+     * @throws IllegalArgumentException if the number of columns does not match, or an array is
+     *         too short or not valid for its column
+     */
+    public void appendColumns(int count, Object[] columnValues, long[][] nulls) {
+        if (columnValues == null) {
+            throw new IllegalArgumentException("Column values cannot be null");
+        }
+        if (count < 0) {
+            throw new IllegalArgumentException("Row count cannot be negative: " + count);
+        }
+        if (columnValues.length != columns.size() || (nulls != null && nulls.length != columns.size())) {
+            throw new IllegalArgumentException("Got values for " + columnValues.length + " columns but the table has "
+                    + columns.size() + " columns");
+        }
+        int bitmapWords = (count + 63) >>> 6;
+        for (int i = 0; i < columnValues.length; i++) {
+            IColumn<?> column = columns.get(i);
+            if (!vectors.get(i).isValidRange(columnValues[i], count)) {
+                throw new IllegalArgumentException("Invalid values for column: " + column.getName());
+            }
+            if (nulls != null && nulls[i] != null && nulls[i].length < bitmapWords) {
+                throw new IllegalArgumentException("Null bitmap too short for column: " + column.getName());
+            }
+            if (columnValues[i] instanceof Object[]) {
+                Object[] values = (Object[]) columnValues[i];
+                for (int row = 0; row < count; row++) {
+                    if (values[row] != null && !column.isValidValue(values[row])) {
+                        throw new IllegalArgumentException("Invalid value for column: " + column.getName());
+                    }
+                }
+            }
+        }
+
+        for (ColumnVector vector : vectors) {
+            vector.ensureCapacity(rowCount + count);
+        }
+        for (int i = 0; i < columnValues.length; i++) {
+            vectors.get(i).setRange(rowCount, count, columnValues[i], nulls == null ? null : nulls[i]);
+        }
+        rowCount += count;
+    }
+
+    private int reserveRow() {
+        for (ColumnVector vector : vectors) {
+            vector.ensureCapacity(rowCount + 1);
+        }
+        return rowCount;
+    }
+
+    /**
+     * Creates a detached row for this table. The row holds its own cells until it is passed
+     * to {@link #addRow(IRow)}, at which point its values are copied into the column vectors.
+     *
+     * @return a new detached row
+     */
+    @Override
+    public IRow createRow() {
+        return new Row(this);
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columns.size();
+    }
+
+    @Override
+    public Object getValueObject(int rowIndex, String columnName) {
+        checkRowIndex(rowIndex);
+        Integer columnIndex = columnIndexes.get(columnName);
+        if (columnIndex == null) {
+            return null;
+        }
+        return vectors.get(columnIndex).get(rowIndex);
+    }
+
+    @Override
+    public void setValue(int rowIndex, String columnName, Object value) {
+        checkRowIndex(rowIndex);
+        Integer columnIndex = columnIndexes.get(columnName);
+        if (columnIndex == null) {
+            throw new IllegalArgumentException("Column does not exist: " + columnName);
+        }
+        if (!columns.get(columnIndex).isValidValue(value)) {
+            throw new IllegalArgumentException("Invalid value for column: " + columnName);
+        }
+        vectors.get(columnIndex).set(rowIndex, value);
+    }
+
+    @Override
+    public String getValueAt(int rowIndex, String columnName) {
+        checkRowIndex(rowIndex);
+        Integer columnIndex = columnIndexes.get(columnName);
+        if (columnIndex == null) {
+            return null;
+        }
+        return formatValue(vectors.get(columnIndex), rowIndex);
+    }
+
+    private static String formatValue(ColumnVector vector, int rowIndex) {
+        if (vector.isNull(rowIndex)) {
+            return null;
+        }
+        if (vector instanceof ColumnVector.DoubleVector) {
+            ColumnVector.DoubleVector doubles = (ColumnVector.DoubleVector) vector;
+            return DecimalText.format(doubles.getDouble(rowIndex), doubles.getScale(rowIndex));
+        }
+
+        Object value = vector.get(rowIndex);
+        // Handling for LocalDate values
+        if (value instanceof java.time.LocalDate) {
+            return ((java.time.LocalDate) value).format(java.time.format.DateTimeFormatter.ISO_LOCAL_DATE);
+        }
+        // Handling for LocalTime values
+        else if (value instanceof java.time.LocalTime) {
+            return ((java.time.LocalTime) value).format(java.time.format.DateTimeFormatter.ISO_LOCAL_TIME);
+        }
+        // Handling for LocalDateTime values
+        else if (value instanceof java.time.LocalDateTime) {
+            return ((java.time.LocalDateTime) value).format(java.time.format.DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+        }
+
+        return value.toString();
+    }
+
+    @Override
+    public int getColumnIndex(String columnName) {
+        Integer index = columnIndexes.get(columnName);
+        return index == null ? -1 : index;
+    }
+
+    @Override
+    public boolean isNull(int rowIndex, int columnIndex) {
+        checkRowIndex(rowIndex);
+        checkColumnIndex(columnIndex);
+        return vectors.get(columnIndex).isNull(rowIndex);
+    }
+
+    @Override
+    public int getInt(int rowIndex, int columnIndex) {
+        ColumnVector vector = getPresentVector(rowIndex, columnIndex);
+        if (vector instanceof ColumnVector.IntVector) {
+            return ((ColumnVector.IntVector) vector).getInt(rowIndex);
+        }
+        throw notOfType(columnIndex, Integer.class);
+    }
+
+    @Override
+    public double getDouble(int rowIndex, int columnIndex) {
+        ColumnVector vector = getPresentVector(rowIndex, columnIndex);
+        if (vector instanceof ColumnVector.DoubleVector) {
+            return ((ColumnVector.DoubleVector) vector).getDouble(rowIndex);
+        } else if (vector instanceof ColumnVector.IntVector) {
+            return ((ColumnVector.IntVector) vector).getInt(rowIndex);
+        }
+        throw notOfType(columnIndex, Double.class);
+    }
+
+    @Override
+    public boolean getBoolean(int rowIndex, int columnIndex) {
+        ColumnVector vector = getPresentVector(rowIndex, columnIndex);
+        if (vector instanceof ColumnVector.BooleanVector) {
+            return ((ColumnVector.BooleanVector) vector).getBoolean(rowIndex);
+        }
+        throw notOfType(columnIndex, Boolean.class);
+    }
+
+    @Override
+    public String getString(int rowIndex, int columnIndex) {
+        checkRowIndex(rowIndex);
+        checkColumnIndex(columnIndex);
+        return formatValue(vectors.get(columnIndex), rowIndex);
+    }
+
+    @Override
+    public int getScale(int rowIndex, int columnIndex) {
+        checkRowIndex(rowIndex);
+        checkColumnIndex(columnIndex);
+        ColumnVector vector = vectors.get(columnIndex);
+        if (vector instanceof ColumnVector.DoubleVector && !vector.isNull(rowIndex)) {
+            return ((ColumnVector.DoubleVector) vector).getScale(rowIndex);
+        }
+        return -1;
+    }
+
+    @Override
+    public List<String> getDictionary(int columnIndex) {
+        checkColumnIndex(columnIndex);
+        ColumnVector vector = vectors.get(columnIndex);
+        return vector instanceof ColumnVector.StringVector ? ((ColumnVector.StringVector) vector).getDictionary() : null;
+    }
+
+    @Override
+    public int getCode(int rowIndex, int columnIndex) {
+        checkRowIndex(rowIndex);
+        checkColumnIndex(columnIndex);
+        ColumnVector vector = vectors.get(columnIndex);
+        if (!(vector instanceof ColumnVector.StringVector) || !((ColumnVector.StringVector) vector).isDictionaryEncoded()) {
+            throw new IllegalArgumentException("Column '" + columns.get(columnIndex).getName()
+                    + "' is not dictionary encoded");
+        }
+        return ((ColumnVector.StringVector) vector).getCode(rowIndex);
+    }
+
+    /**
+     * Gets the vector of a column after checking that the cell holds a value.
+     */
+    private ColumnVector getPresentVector(int rowIndex, int columnIndex) {
+        checkRowIndex(rowIndex);
+        checkColumnIndex(columnIndex);
+        ColumnVector vector = vectors.get(columnIndex);
+        if (vector.isNull(rowIndex)) {
+            throw new IllegalStateException("Value at row " + rowIndex + " of column '"
+                    + columns.get(columnIndex).getName() + "' is null");
+        }
+        return vector;
+    }
+
+    private IllegalArgumentException notOfType(int columnIndex, Class<?> type) {
+        return new IllegalArgumentException("Column '" + columns.get(columnIndex).getName()
+                + "' is not of type " + type.getSimpleName());
+    }
+
+    @Override
+    public void setValueAt(int rowIndex, String columnName, String value) {
+        Integer columnIndex = columnIndexes.get(columnName);
+        if (columnIndex == null) {
+            throw new IllegalArgumentException("Column '" + columnName + "' does not exist");
+        }
+        checkRowIndex(rowIndex);
+        vectors.get(columnIndex).setString(rowIndex, value, columns.get(columnIndex));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Each column is copied into a new vector in the new order.
+     */
+    @Override
+    public void reorderRows(int[] order) {
+        RowPermutation.check(order, rowCount);
+        for (int c = 0; c < vectors.size(); c++) {
+            ColumnVector vector = vectors.get(c);
+            ColumnVector reordered = ColumnVector.forColumn(columns.get(c));
+            reordered.ensureCapacity(rowCount);
+            for (int i = 0; i < rowCount; i++) {
+                vector.copyRow(order[i], reordered, i);
+            }
+            vectors.set(c, reordered);
+        }
+    }
+
+    @Override
+    public void setColumns(LinkedHashMap<String, String> newColumns) {
+        if (newColumns == null) {
+            throw new IllegalArgumentException("Columns map cannot be null");
+        }
+        for (Map.Entry<String, String> entry : newColumns.entrySet()) {
+            String columnName = entry.getKey();
+            String columnType = entry.getValue();
+            if (columnName == null || columnName.trim().isEmpty()) {
+                throw new IllegalArgumentException("Column names cannot be null or blank");
+            }
+            if (columnType == null || columnType.trim().isEmpty()) {
+                throw new IllegalArgumentException("Column types cannot be null or blank");
+            }
+        }
+        if (newColumns.size() != new HashSet<>(newColumns.keySet()).size()) {
+            throw new IllegalArgumentException("Duplicate column names are not allowed");
+        }
+
+        // Clear existing columns
+        columns.clear();
+        vectors.clear();
+        columnIndexes.clear();
+
+        // Add new columns
+        for (Map.Entry<String, String> entry : newColumns.entrySet()) {
+            appendColumn(ColumnFactory.createColumn(entry.getKey(), entry.getValue()));
+        }
+    }
+
+    @Override
+    public String inferType(String value) {
+        return TypeSniffer.inferType(value);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Object convertValue(String value, IColumn<?> column) {
+        return ((IColumn<Object>) column).convertFromString(value);
+    }
+
+    @Override
+    public String getDefaultValue(String type) {
+        if (type == null) {
+            throw new IllegalArgumentException("Type cannot be null");
+        }
+
+        switch (type) {
+            case "int":
+                return "0";
+            case "double":
+                return "0.0";
+            case "boolean":
+                return "false";
+            case "date":
+                return java.time.LocalDate.now().format(java.time.format.DateTimeFormatter.ISO_LOCAL_DATE);
+            case "time":
+                return java.time.LocalTime.now().format(java.time.format.DateTimeFormatter.ISO_LOCAL_TIME);
+            case "datetime":
+                return java.time.LocalDateTime.now().format(java.time.format.DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+            case "string":
+            default:
+                return "";
+        }
+    }
+
+    @Override
+    public void printTable() {
+        // Print column names
+        for (IColumn<?> column : columns) {
+            System.out.print(column.getName() + "\t");
+        }
+        System.out.println();
+
+        // Print rows
+        for (int row = 0; row < rowCount; row++) {
+            for (ColumnVector vector : vectors) {
+                Object value = vector.get(row);
+                System.out.print((value == null ? "" : value.toString()) + "\t");
+            }
+            System.out.println();
+        }
+    }
+
+    @Override
+    public void setCreateDefaultValue(boolean createDefaultValue) {
+        this.createDefaultValue = createDefaultValue;
+    }
+
+    @Override
+    public boolean isCreateDefaultValue() {
+        return createDefaultValue;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    private void checkRowIndex(int index) {
+        if (index < 0 || index >= rowCount) {
+            throw new IndexOutOfBoundsException("Invalid row index: " + index);
+        }
+    }
+
+    private void checkColumnIndex(int index) {
+        if (index < 0 || index >= columns.size()) {
+            throw new IndexOutOfBoundsException("Invalid column index: " + index);
+        }
+    }
+
+    /**
+     * A view of a single row. No values are held here; every access goes to the vectors.
+     */
+    private class ColumnarRow implements IRow {
+        private final int rowIndex;
+
+        ColumnarRow(int rowIndex) {
+            this.rowIndex = rowIndex;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> ICell<T> getCell(IColumn<T> column) {
+            return (ICell<T>) getCell(column.getName());
+        }
+
+        @Override
+        public ICell<?> getCell(String columnName) {
+            Integer columnIndex = columnIndexes.get(columnName);
+            return columnIndex == null ? null : new ColumnarCell<>(columns.get(columnIndex), rowIndex, columnIndex);
+        }
+
+        @Override
+        public <T> void setValue(IColumn<T> column, T value) {
+            ColumnarTableCore.this.setValue(rowIndex, column.getName(), value);
+        }
+
+        @Override
+        public void setValue(String columnName, Object value) {
+            ColumnarTableCore.this.setValue(rowIndex, columnName, value);
+        }
+
+        @Override
+        public List<ICell<?>> getCells() {
+            List<ICell<?>> cells = new ArrayList<>(columns.size());
+            for (int i = 0; i < columns.size(); i++) {
+                cells.add(new ColumnarCell<>(columns.get(i), rowIndex, i));
+            }
+            return cells;
+        }
+
+        @Override
+        public ITable getTable() {
+            return ColumnarTableCore.this;
+        }
+    }
+
+    /**
+     * A view of a single cell, addressed by row and column index.
+     */
+    private class ColumnarCell<T> implements ICell<T> {
+        private final IColumn<T> column;
+        private final int rowIndex;
+        private final int columnIndex;
+
+        ColumnarCell(IColumn<T> column, int rowIndex, int columnIndex) {
+            this.column = column;
+            this.rowIndex = rowIndex;
+            this.columnIndex = columnIndex;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T getValue() {
+            return (T) vectors.get(columnIndex).get(rowIndex);
+        }
+
+        @Override
+        public void setValue(T value) {
+            if (!column.isValidValue(value)) {
+                throw new IllegalArgumentException("Invalid value for column: " + column.getName());
+            }
+            vectors.get(columnIndex).set(rowIndex, value);
+        }
+
+        @Override
+        public String getValueAsString() {
+            T value = getValue();
+            return value == null ? "" : value.toString();
+        }
+
+        @Override
+        public IColumn<T> getColumn() {
+            return column;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package dev.mars.jtable.core.table;
+
+import dev.mars.jtable.core.model.IRow;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Append-only row storage for the concurrent mode of {@link OptimizedTableCore}.
+ *
+ * Rows live in fixed-size chunks, so appending never copies existing rows the way a
+ * CopyOnWriteArrayList does. A writer first reserves a slot with a single atomic increment,
+ * fills it, and then publishes it. Readers only see the published prefix of the store: the
+ * slots up to the first one that is reserved but not yet filled. Every reader therefore sees
+ * a gap-free snapshot. Each publishing writer moves the prefix past its own slot and any later
+ * slots that are already filled, and returns only once its own slot is visible; a writer that
+ * finishes before an earlier one briefly spins until that slot is filled.
+ *
+ * Rows cannot be removed or replaced.
+ */
+final class ConcurrentRowStore extends AbstractList<IRow> implements RandomAccess {
+    // 4096 rows per chunk, as in ColumnVector
+    private static final int CHUNK_SHIFT = 12;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private final AtomicInteger reserved = new AtomicInteger();
+    private final AtomicInteger published = new AtomicInteger();
+    private final Object growLock = new Object();
+
+    // Replaced, never modified in place, so that a reader always sees fully allocated chunks
+    private volatile AtomicReferenceArray<IRow>[] chunks;
+
+    /**
+     * Creates an empty store.
+     */
+    ConcurrentRowStore() {
+        this(CHUNK_SIZE);
+    }
+
+    /**
+     * Creates an empty store with chunks allocated for the given number of rows.
+     *
+     * @param initialCapacity the number of rows to allocate chunks for
+     */
+    @SuppressWarnings("unchecked")
+    ConcurrentRowStore(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Initial capacity cannot be negative: " + initialCapacity);
+        }
+        int chunkCount = Math.max(1, (initialCapacity + CHUNK_MASK) >>> CHUNK_SHIFT);
+        AtomicReferenceArray<IRow>[] initial = new AtomicReferenceArray[chunkCount];
+        for (int i = 0; i < chunkCount; i++) {
+            initial[i] = new AtomicReferenceArray<>(CHUNK_SIZE);
+        }
+        this.chunks = initial;
+    }
+
+    /**
+     * Reserves the next row slot. The slot stays invisible to readers until it is published,
+     * and it must be published, or the rows after it will never become visible.
+     *
+     * @return the index of the reserved slot, which becomes the row index
+     */
+    int reserve() {
+        int slot = reserved.getAndIncrement();
+        if (slot < 0) {
+            throw new IllegalStateException("Row store is full");
+        }
+        int chunkIndex = slot >>> CHUNK_SHIFT;
+        if (chunkIndex >= chunks.length) {
+            grow(chunkIndex);
+        }
+        return slot;
+    }
+
+    /**
+     * Fills a reserved slot and returns once it is visible, so that the caller can read back
+     * its own row. The slot becomes visible once every slot before it is filled too.
+     *
+     * @param slot the slot returned by {@link #reserve()}
+     * @param row the row to store
+     */
+    void publish(int slot, IRow row) {
+        if (row == null) {
+            throw new IllegalArgumentException("Row cannot be null");
+        }
+        chunks[slot >>> CHUNK_SHIFT].set(slot & CHUNK_MASK, row);
+
+        // Earlier slots are only ever between reserve and publish, so the wait is short
+        while (advancePublished() <= slot) {
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Advances the published prefix over every filled slot, including ones filled by writers
+     * that reserved after the caller but finished first.
+     *
+     * @return the length of the published prefix
+     */
+    private int advancePublished() {
+        int prefix = published.get();
+        while (prefix < reserved.get() && slotAt(prefix) != null) {
+            published.compareAndSet(prefix, prefix + 1);
+            prefix = published.get();
+        }
+        return prefix;
+    }
+
+    private IRow slotAt(int index) {
+        AtomicReferenceArray<IRow>[] current = chunks;
+        int chunkIndex = index >>> CHUNK_SHIFT;
+        return chunkIndex < current.length ? current[chunkIndex].get(index & CHUNK_MASK) : null;
+    }
+
+    private void grow(int chunkIndex) {
+        synchronized (growLock) {
+            AtomicReferenceArray<IRow>[] current = chunks;
+            if (chunkIndex < current.length) {
+                return;
+            }
+            int newLength = Math.max(chunkIndex + 1, current.length * 2);
+            @SuppressWarnings("unchecked")
+            AtomicReferenceArray<IRow>[] grown = new AtomicReferenceArray[newLength];
+            System.arraycopy(current, 0, grown, 0, current.length);
+            for (int i = current.length; i < newLength; i++) {
+                grown[i] = new AtomicReferenceArray<>(CHUNK_SIZE);
+            }
+            chunks = grown;
+        }
+    }
+
+    @Override
+    public boolean add(IRow row) {
+        publish(reserve(), row);
+        return true;
+    }
+
+    @Override
+    public IRow get(int index) {
+        if (index < 0 || index >= published.get()) {
+            throw new IndexOutOfBoundsException("Invalid row index: " + index);
+        }
+        return chunks[index >>> CHUNK_SHIFT].get(index & CHUNK_MASK);
+    }
+
+    /**
+     * Gets the number of published rows.
+     *
+     * @return the number of rows visible to readers
+     */
+    @Override
+    public int size() {
+        return published.get();
+    }
+}
@@ -0,0 +1,64 @@
+package dev.mars.jtable.core.table;
+
+import dev.mars.jtable.core.model.ICell;
+import dev.mars.jtable.core.model.IColumn;
+import dev.mars.jtable.core.model.IRow;
+
+/**
+ * A cell of a {@link DecimalColumn}, which records the number of fraction digits of the text its
+ * value was parsed from. Setting the value directly clears the recorded scale.
+ */
+final class DecimalCell extends Cell<Double> {
+    // The recorded scale plus one, so that zero means none
+    private byte scale;
+
+    DecimalCell(IColumn<Double> column, Double value) {
+        super(column, value);
+    }
+
+    DecimalCell(IColumn<Double> column, Double value, int scale) {
+        super(column, value);
+        this.scale = (byte) (scale + 1);
+    }
+
+    /**
+     * Gets the number of fraction digits recorded for the value.
+     *
+     * @return the recorded scale, or -1 if the value was not parsed from decimal text
+     */
+    int getScale() {
+        return scale - 1;
+    }
+
+    @Override
+    public void setValue(Double value) {
+        super.setValue(value);
+        scale = 0;
+    }
+
+    /**
+     * Records the scale of the text the value of a row's cell was parsed from, if the cell is a
+     * decimal cell holding a value.
+     *
+     * @param row the row holding the cell
+     * @param columnName the name of the cell's column
+     * @param text the text the value was parsed from
+     */
+    static void recordScale(IRow row, String columnName, String text) {
+        ICell<?> cell = row.getCell(columnName);
+        if (cell instanceof DecimalCell && cell.getValue() != null) {
+            ((DecimalCell) cell).scale = (byte) (DecimalText.scaleOf(text) + 1);
+        }
+    }
+
+    /**
+     * Formats the value of a cell, using the recorded scale of a decimal cell.
+     *
+     * @param cell a cell holding a Double value
+     * @return the formatted value
+     */
+    static String format(ICell<?> cell) {
+        int scale = cell instanceof DecimalCell ? ((DecimalCell) cell).getScale() : -1;
+        return DecimalText.format((Double) cell.getValue(), scale);
+    }
+}
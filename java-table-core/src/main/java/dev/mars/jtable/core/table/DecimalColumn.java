@@ -0,0 +1,40 @@
+package dev.mars.jtable.core.table;
+
+import dev.mars.jtable.core.model.ICell;
+
+/**
+ * A Double column created by {@link ColumnFactory#createDoubleColumn(String)} for the "double"
+ * column type.
+ *
+ * Its cells record how many fraction digits the decimal text of their value had, in a byte, so
+ * that the row-based tables format "2.50" back as "2.50" without keeping the text. A
+ * {@link ColumnarTableCore} records the same scale in its double vectors.
+ */
+public class DecimalColumn extends Column<Double> {
+
+    /**
+     * Creates a new decimal column with the given name and a default value of 0.0.
+     *
+     * @param name the name of the column
+     */
+    public DecimalColumn(String name) {
+        super(name, Double.class, 0.0);
+    }
+
+    @Override
+    public ICell<Double> createCell(Double value) {
+        return new DecimalCell(this, value);
+    }
+
+    /**
+     * Creates a cell for a value parsed from text, recording the number of fraction digits of
+     * the text.
+     *
+     * @param value the parsed value
+     * @param text the text the value was parsed from
+     * @return a new cell
+     */
+    ICell<Double> createCell(Double value, String text) {
+        return new DecimalCell(this, value, value == null ? -1 : DecimalText.scaleOf(text));
+    }
+}
@@ -0,0 +1,116 @@
+package dev.mars.jtable.core.table;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Formats double values as the tables return them from getValueAt, and records how many fraction
+ * digits the decimal text of a value had so that it can be formatted back the same way.
+ *
+ * A value with a recorded scale is formatted with exactly that many fraction digits, so "2.50"
+ * reads back as "2.50". A value without one keeps the digits of its shortest representation, with
+ * at least one and at most {@value #MAX_FRACTION_DIGITS} fraction digits. The output does not
+ * depend on the default locale, and common values are formatted without a BigDecimal.
+ */
+final class DecimalText {
+    /**
+     * The largest number of fraction digits of a value formatted without a recorded scale.
+     */
+    static final int MAX_FRACTION_DIGITS = 10;
+
+    // Exact powers of ten for the scales formatted with long arithmetic
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15
+    };
+
+    // Below this magnitude, a scaled value rounds to the exact unscaled digits of its decimal text
+    private static final double MAX_EXACT_UNSCALED = 1e15;
+
+    private DecimalText() {
+    }
+
+    /**
+     * Counts the fraction digits of plain decimal text such as "-12.50", ignoring surrounding
+     * whitespace.
+     *
+     * @param text the text a value was parsed from
+     * @return the number of fraction digits, or -1 if the text is not a plain decimal
+     */
+    static int scaleOf(String text) {
+        int start = 0;
+        int end = text.length();
+        while (start < end && text.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && text.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        int dot = -1;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c == '.' && dot < 0) {
+                dot = i;
+            } else if ((c < '0' || c > '9') && !(i == start && (c == '-' || c == '+'))) {
+                return -1;
+            }
+        }
+        return dot < 0 ? -1 : Math.min(end - dot - 1, Byte.MAX_VALUE - 1);
+    }
+
+    /**
+     * Formats a double value.
+     *
+     * @param value the value to format
+     * @param scale the number of fraction digits recorded for the value, or -1 if none
+     * @return the formatted value
+     */
+    static String format(double value, int scale) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            return Double.toString(value);
+        }
+        if (scale >= 0) {
+            if (scale < POWERS_OF_TEN.length) {
+                double unscaled = value * POWERS_OF_TEN[scale];
+                if (Math.abs(unscaled) < MAX_EXACT_UNSCALED) {
+                    return formatUnscaled(Math.round(unscaled), scale);
+                }
+            }
+            return BigDecimal.valueOf(value).setScale(scale, RoundingMode.HALF_EVEN).toPlainString();
+        }
+
+        // Double.toString is plain, with at least one fraction digit, from 1e-3 up to 1e7
+        String shortest = Double.toString(value);
+        if (shortest.indexOf('E') < 0 && shortest.length() - shortest.indexOf('.') - 1 <= MAX_FRACTION_DIGITS) {
+            return shortest;
+        }
+        BigDecimal decimal = new BigDecimal(shortest).stripTrailingZeros();
+        if (decimal.scale() > MAX_FRACTION_DIGITS) {
+            decimal = decimal.setScale(MAX_FRACTION_DIGITS, RoundingMode.HALF_EVEN).stripTrailingZeros();
+        }
+        if (decimal.scale() <= 0) {
+            decimal = decimal.setScale(1);
+        }
+        return decimal.toPlainString();
+    }
+
+    private static String formatUnscaled(long unscaled, int scale) {
+        String digits = Long.toString(Math.abs(unscaled));
+        StringBuilder text = new StringBuilder(digits.length() + scale + 3);
+        if (unscaled < 0) {
+            text.append('-');
+        }
+        int integerDigits = digits.length() - scale;
+        if (scale == 0) {
+            text.append(digits);
+        } else if (integerDigits <= 0) {
+            text.append("0.");
+            for (int i = integerDigits; i < 0; i++) {
+                text.append('0');
+            }
+            text.append(digits);
+        } else {
+            text.append(digits, 0, integerDigits).append('.').append(digits, integerDigits, digits.length());
+        }
+        return text.toString();
+    }
+}
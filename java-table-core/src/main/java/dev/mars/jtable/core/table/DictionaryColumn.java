@@ -0,0 +1,77 @@
+package dev.mars.jtable.core.table;
+
+import dev.mars.jtable.core.model.ICell;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A String column for values with few distinct values, such as countries, statuses or
+ * currencies, created by {@link ColumnFactory#createDictionaryColumn(String)} or with the
+ * "category" column type.
+ *
+ * The column keeps a dictionary of the distinct values it has seen, and every value parsed
+ * with {@link #convertFromString(String)} or stored in a new cell is replaced by the dictionary
+ * instance, so equal values share one String instead of one per cell. A
+ * {@link ColumnarTableCore} goes further and stores the column as int codes into a dictionary.
+ *
+ * Once the dictionary holds {@link #MAX_DICTIONARY_SIZE} values, new values are no longer added
+ * and are stored as they are. The dictionary is safe to use from several threads.
+ */
+public class DictionaryColumn extends Column<String> {
+    /**
+     * The largest number of distinct values the dictionary holds.
+     */
+    public static final int MAX_DICTIONARY_SIZE = ColumnVector.StringVector.MAX_DICTIONARY_SIZE;
+
+    private final ConcurrentHashMap<String, String> dictionary = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new dictionary column with the given name and an empty default value.
+     *
+     * @param name the name of the column
+     */
+    public DictionaryColumn(String name) {
+        super(name, String.class, "");
+    }
+
+    /**
+     * Gets the dictionary instance equal to a value, adding the value if the dictionary has room.
+     *
+     * @param value the value to look up
+     * @return the shared instance equal to the value, or the value itself if the dictionary is
+     *         full or the value is null
+     */
+    public String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        String shared = dictionary.get(value);
+        if (shared != null) {
+            return shared;
+        }
+        if (dictionary.size() >= MAX_DICTIONARY_SIZE) {
+            return value;
+        }
+        shared = dictionary.putIfAbsent(value, value);
+        return shared != null ? shared : value;
+    }
+
+    /**
+     * Gets the number of distinct values in the dictionary.
+     *
+     * @return the dictionary size
+     */
+    public int getDictionarySize() {
+        return dictionary.size();
+    }
+
+    @Override
+    public String convertFromString(String value) {
+        return intern(super.convertFromString(value));
+    }
+
+    @Override
+    public ICell<String> createCell(String value) {
+        return super.createCell(intern(value));
+    }
+}
@@ -7,7 +7,6 @@ import dev.mars.jtable.core.model.ITable;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * An optimized implementation of TableCore that uses appropriate collection types
@@ -17,32 +16,38 @@ import java.util.concurrent.CopyOnWriteArrayList;
  * Key optimizations:
  * 1. LinkedHashMap for columns (read-heavy, order matters)
  * 2. ArrayList for rows (balanced read-write, random access)
- * 3. ConcurrentHashMap for originalDoubleStrings (thread-safe for potential concurrent access)
+ * 3. Decimal cells that record the fraction digits of double values parsed from text in a
+ *    byte, rather than keeping the text in a side map keyed by row index
  * 
- * For multi-threaded scenarios:
- * 1. ConcurrentHashMap with custom ordering logic for columns
- * 2. CopyOnWriteArrayList for rows (if read-heavy)
+ * For multi-threaded scenarios (the concurrent constructors):
+ * 1. A {@link ConcurrentRowStore} for rows: writers reserve row slots atomically and append
+ *    into fixed-size chunks, and readers see a gap-free snapshot of the rows added so far
+ * 2. Rows keep their cells in a ConcurrentHashMap and replace a cell rather than modify it
+ * 3. Striped locks serialize writes to the same row through setValue and setValueAt
+ * Columns are expected to be set up before rows are added concurrently. A row added
+ * concurrently is visible, and counted by getRowCount, by the time addRow returns.
  */
 public class OptimizedTableCore implements ITable {
     // Read-heavy collection (mostly read after initialization)
     // LinkedHashMap preserves column order which is important
     private final Map<String, IColumn<?>> columns = new LinkedHashMap<>();
 
+    // Column positions, kept in step with the columns map for the index-based accessors
+    private final List<IColumn<?>> columnList = new ArrayList<>();
+    private final Map<String, Integer> columnIndexes = new HashMap<>();
+
     // Balanced read-write collection (frequent reads and writes)
     // ArrayList provides fast random access and efficient iteration
     private final List<IRow> rows;
 
-    // For single-threaded access, HashMap is appropriate
-    // For multi-threaded access, ConcurrentHashMap provides thread safety
-    // This example uses ConcurrentHashMap to demonstrate thread-safe collections
-    // Using default initial capacity (16) and load factor (0.75)
-    private final Map<String, Map<Integer, String>> originalDoubleStrings = new ConcurrentHashMap<>(16, 0.75f);
+    // Row-striped write locks; null unless the table is concurrent
+    private final Object[] writeLocks;
 
     private boolean createDefaultValue = true;
     private String name;
 
-    // Constants for Double handling
-    private static final int MAX_FRACTION_DIGITS = 10;
+    // Number of write lock stripes in concurrent mode, a power of two
+    private static final int WRITE_LOCK_STRIPES = 64;
 
     /**
      * Creates a new OptimizedTableCore.
@@ -50,6 +55,7 @@ public class OptimizedTableCore implements ITable {
     public OptimizedTableCore() {
         // Initialize with default capacity
         this.rows = new ArrayList<>();
+        this.writeLocks = null;
         this.name = "OptimizedTableCore";
     }
 
@@ -61,6 +67,7 @@ public class OptimizedTableCore implements ITable {
     public OptimizedTableCore(String name) {
         // Initialize with default capacity
         this.rows = new ArrayList<>();
+        this.writeLocks = null;
         this.name = name;
     }
 
@@ -75,6 +82,7 @@ public class OptimizedTableCore implements ITable {
         // Initialize with specified capacity for better performance
         // when the number of rows is known in advance
         this.rows = new ArrayList<>(initialRowCapacity);
+        this.writeLocks = null;
         this.name = "OptimizedTableCore";
     }
 
@@ -90,51 +98,32 @@ public class OptimizedTableCore implements ITable {
         // Initialize with specified capacity for better performance
         // when the number of rows is known in advance
         this.rows = new ArrayList<>(initialRowCapacity);
+        this.writeLocks = null;
         this.name = name;
     }
 
     /**
      * Creates a new OptimizedTableCore optimized for concurrent access.
-     * This constructor uses thread-safe collections for all internal data structures.
+     * Rows can then be added, read and updated from several threads at once.
      *
      * @param concurrent whether to use thread-safe collections
      */
     public OptimizedTableCore(boolean concurrent) {
-        if (concurrent) {
-            // Use thread-safe collections for concurrent access
-            // CopyOnWriteArrayList is appropriate for read-heavy scenarios
-            // No initial capacity parameter is provided as CopyOnWriteArrayList doesn't have a constructor with capacity
-            this.rows = new CopyOnWriteArrayList<>();
-            // Note: ConcurrentHashMap doesn't preserve order, so we need custom ordering logic
-            // This is just a demonstration - in a real implementation, we would need to
-            // implement custom ordering logic for columns
-        } else {
-            // Use standard collections for single-threaded access
-            this.rows = new ArrayList<>();
-        }
+        this.rows = concurrent ? new ConcurrentRowStore() : new ArrayList<>();
+        this.writeLocks = concurrent ? createWriteLocks() : null;
         this.name = "OptimizedTableCore";
     }
 
     /**
      * Creates a new OptimizedTableCore with the specified name, optimized for concurrent access.
-     * This constructor uses thread-safe collections for all internal data structures.
+     * Rows can then be added, read and updated from several threads at once.
      *
      * @param name the name of the table
      * @param concurrent whether to use thread-safe collections
      */
     public OptimizedTableCore(String name, boolean concurrent) {
-        if (concurrent) {
-            // Use thread-safe collections for concurrent access
-            // CopyOnWriteArrayList is appropriate for read-heavy scenarios
-            // No initial capacity parameter is provided as CopyOnWriteArrayList doesn't have a constructor with capacity
-            this.rows = new CopyOnWriteArrayList<>();
-            // Note: ConcurrentHashMap doesn't preserve order, so we need custom ordering logic
-            // This is just a demonstration - in a real implementation, we would need to
-            // implement custom ordering logic for columns
-        } else {
-            // Use standard collections for single-threaded access
-            this.rows = new ArrayList<>();
-        }
+        this.rows = concurrent ? new ConcurrentRowStore() : new ArrayList<>();
+        this.writeLocks = concurrent ? createWriteLocks() : null;
         this.name = name;
     }
 
@@ -146,16 +135,9 @@ public class OptimizedTableCore implements ITable {
      * @param initialRowCapacity the initial capacity for the rows collection
      */
     public OptimizedTableCore(boolean concurrent, int initialRowCapacity) {
-        if (concurrent) {
-            // Use thread-safe collections for concurrent access
-            // Since CopyOnWriteArrayList doesn't have a constructor with capacity,
-            // we create an ArrayList with the specified capacity and convert it to a CopyOnWriteArrayList
-            List<IRow> initialList = new ArrayList<>(initialRowCapacity);
-            this.rows = new CopyOnWriteArrayList<>(initialList);
-        } else {
-            // Use standard collections for single-threaded access with specified capacity
-            this.rows = new ArrayList<>(initialRowCapacity);
-        }
+        // Chunks are allocated up front for the expected number of rows
+        this.rows = concurrent ? new ConcurrentRowStore(initialRowCapacity) : new ArrayList<>(initialRowCapacity);
+        this.writeLocks = concurrent ? createWriteLocks() : null;
         this.name = "OptimizedTableCore";
     }
 
@@ -168,16 +150,9 @@ public class OptimizedTableCore implements ITable {
      * @param initialRowCapacity the initial capacity for the rows collection
      */
     public OptimizedTableCore(String name, boolean concurrent, int initialRowCapacity) {
-        if (concurrent) {
-            // Use thread-safe collections for concurrent access
-            // Since CopyOnWriteArrayList doesn't have a constructor with capacity,
-            // we create an ArrayList with the specified capacity and convert it to a CopyOnWriteArrayList
-            List<IRow> initialList = new ArrayList<>(initialRowCapacity);
-            this.rows = new CopyOnWriteArrayList<>(initialList);
-        } else {
-            // Use standard collections for single-threaded access with specified capacity
-            this.rows = new ArrayList<>(initialRowCapacity);
-        }
+        // Chunks are allocated up front for the expected number of rows
+        this.rows = concurrent ? new ConcurrentRowStore(initialRowCapacity) : new ArrayList<>(initialRowCapacity);
+        this.writeLocks = concurrent ? createWriteLocks() : null;
         this.name = name;
     }
 
@@ -192,12 +167,12 @@ public class OptimizedTableCore implements ITable {
         if (index < 0 || index >= columns.size()) {
             throw new IndexOutOfBoundsException("Invalid column index: " + index);
         }
-        return new ArrayList<>(columns.values()).get(index);
+        return columnList.get(index);
     }
 
     @Override
     public List<IColumn<?>> getColumns() {
-        return new ArrayList<>(columns.values());
+        return new ArrayList<>(columnList);
     }
 
     @Override
@@ -208,7 +183,13 @@ public class OptimizedTableCore implements ITable {
         if (columns.containsKey(column.getName())) {
             throw new IllegalArgumentException("Column already exists: " + column.getName());
         }
+        putColumn(column);
+    }
+
+    private void putColumn(IColumn<?> column) {
         columns.put(column.getName(), column);
+        columnIndexes.put(column.getName(), columnList.size());
+        columnList.add(column);
     }
 
     @Override
@@ -216,8 +197,7 @@ public class OptimizedTableCore implements ITable {
         if (index < 0 || index >= columns.size()) {
             throw new IndexOutOfBoundsException("Invalid column index: " + index);
         }
-        IColumn<?> column = new ArrayList<>(columns.values()).get(index);
-        return column.getName();
+        return columnList.get(index).getName();
     }
 
     @Override
@@ -316,15 +296,10 @@ public class OptimizedTableCore implements ITable {
 
             // Convert the string value to the column's type
             Object convertedValue = column.convertFromString(value);
-            newRow.setValue(columnName, convertedValue);
-
-            // Store original string representation for double values
-            if (convertedValue instanceof Double && value.contains(".")) {
-                // Initialize the map for this column if needed
-                // Using createSizedConcurrentMap to create a properly sized ConcurrentHashMap
-                originalDoubleStrings.computeIfAbsent(columnName, k -> createSizedConcurrentMap(8));
-                // Store the original string at the next row index
-                originalDoubleStrings.get(columnName).put(getRowCount(), value);
+            if (convertedValue instanceof Double) {
+                setDoubleFromString(newRow, column, (Double) convertedValue, value);
+            } else {
+                newRow.setValue(columnName, convertedValue);
             }
         }
 
@@ -332,6 +307,72 @@ public class OptimizedTableCore implements ITable {
         rows.add(newRow);
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public void addRow(String[] values) {
+        if (values == null) {
+            throw new IllegalArgumentException("Row values cannot be null");
+        }
+        if (values.length > columns.size()) {
+            throw new IllegalArgumentException("Row has " + values.length + " values but the table has "
+                    + columns.size() + " columns");
+        }
+
+        // Values arrive in column order, so no temporary map or name lookups are needed
+        IRow newRow = createRow();
+        int index = 0;
+        for (IColumn<?> column : columns.values()) {
+            if (index < values.length) {
+                String value = values[index];
+                Object convertedValue = column.convertFromString(value);
+                if (convertedValue instanceof Double) {
+                    setDoubleFromString(newRow, column, (Double) convertedValue, value);
+                } else {
+                    newRow.setValue((IColumn<Object>) column, convertedValue);
+                }
+            } else if (createDefaultValue) {
+                addDefaultValue(newRow, column);
+            } else {
+                throw new IllegalArgumentException("Row is missing column: " + column.getName());
+            }
+            index++;
+        }
+
+        rows.add(newRow);
+    }
+
+    /**
+     * Sets a double value parsed from text. A decimal column gets a new cell that already records
+     * the number of fraction digits of the text, so that readers of a concurrent table never see
+     * the value without them.
+     */
+    @SuppressWarnings("unchecked")
+    private static void setDoubleFromString(IRow row, IColumn<?> column, Double value, String text) {
+        if (column instanceof DecimalColumn && row instanceof OptimizedRow) {
+            ((OptimizedRow) row).putCell(column.getName(), ((DecimalColumn) column).createCell(value, text));
+        } else {
+            row.setValue((IColumn<Object>) column, value);
+        }
+    }
+
+    /**
+     * Gets the lock that serializes writes to a row in concurrent mode.
+     *
+     * @param rowIndex the index of the row
+     * @return the lock for the row, or null if the table is not concurrent
+     */
+    private Object writeLock(int rowIndex) {
+        return writeLocks == null ? null : writeLocks[rowIndex & (WRITE_LOCK_STRIPES - 1)];
+    }
+
+    private static Object[] createWriteLocks() {
+        Object[] locks = new Object[WRITE_LOCK_STRIPES];
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new Object();
+        }
+        return locks;
+    }
+
     @SuppressWarnings("unchecked")
     private <T> void addDefaultValue(IRow row, IColumn<?> column) {
         IColumn<T> typedColumn = (IColumn<T>) column;
@@ -341,7 +382,7 @@ public class OptimizedTableCore implements ITable {
 
     @Override
     public IRow createRow() {
-        return new OptimizedRow(this);
+        return new OptimizedRow(this, writeLocks != null);
     }
 
     @Override
@@ -367,28 +408,60 @@ public class OptimizedTableCore implements ITable {
     @Override
     public void setValue(int rowIndex, String columnName, Object value) {
         IRow row = getRow(rowIndex);
-        row.setValue(columnName, value);
+        Object lock = writeLock(rowIndex);
+        if (lock == null) {
+            row.setValue(columnName, value);
+        } else {
+            synchronized (lock) {
+                row.setValue(columnName, value);
+            }
+        }
     }
 
     @Override
     public void setValueAt(int rowIndex, String columnName, String value) {
+        Object lock = writeLock(rowIndex);
+        if (lock == null) {
+            setValueFromString(rowIndex, columnName, value);
+        } else {
+            // Serialize concurrent writers of the row
+            synchronized (lock) {
+                setValueFromString(rowIndex, columnName, value);
+            }
+        }
+    }
+
+    private void setValueFromString(int rowIndex, String columnName, String value) {
         IColumn<?> column = getColumn(columnName);
         if (column == null) {
             throw new IllegalArgumentException("Column '" + columnName + "' does not exist");
         }
 
         Object convertedValue = column.convertFromString(value);
-        setValue(rowIndex, columnName, convertedValue);
+        if (convertedValue instanceof Double) {
+            setDoubleFromString(getRow(rowIndex), column, (Double) convertedValue, value);
+        } else {
+            setValue(rowIndex, columnName, convertedValue);
+        }
+    }
 
-        // Store original string representation for double values
-        if (convertedValue instanceof Double && value.contains(".")) {
-            // Initialize the map for this column if needed
-            // Using createSizedConcurrentMap to create a properly sized ConcurrentHashMap
-            // Initial capacity of 8 is appropriate for most columns as they will have a moderate number of rows
-            originalDoubleStrings.computeIfAbsent(columnName, k -> createSizedConcurrentMap(8));
-            // Store the original string
-            originalDoubleStrings.get(columnName).put(rowIndex, value);
+    /**
+     * {@inheritDoc}
+     *
+     * @throws UnsupportedOperationException if the table is concurrent, as its rows are append-only
+     */
+    @Override
+    public void reorderRows(int[] order) {
+        if (rows instanceof ConcurrentRowStore) {
+            throw new UnsupportedOperationException("Rows of a concurrent table cannot be reordered");
+        }
+        RowPermutation.check(order, rows.size());
+        List<IRow> reordered = new ArrayList<>(rows.size());
+        for (int index : order) {
+            reordered.add(rows.get(index));
         }
+        rows.clear();
+        rows.addAll(reordered);
     }
 
     @Override
@@ -413,58 +486,21 @@ public class OptimizedTableCore implements ITable {
         // Clear existing columns
         if (!columns.isEmpty()) {
             columns.clear();
+            columnList.clear();
+            columnIndexes.clear();
         }
 
         // Add new columns
         for (Map.Entry<String, String> entry : newColumns.entrySet()) {
             String columnName = entry.getKey();
             String columnType = entry.getValue();
-            IColumn<?> column = ColumnFactory.createColumn(columnName, columnType);
-            columns.put(column.getName(), column);
+            putColumn(ColumnFactory.createColumn(columnName, columnType));
         }
     }
 
     @Override
     public String inferType(String value) {
-        if (value == null) {
-            return "string";
-        }
-
-        // Trim whitespace for better pattern matching
-        String trimmedValue = value.trim();
-        if (trimmedValue.isEmpty()) {
-            return "string";
-        }
-
-        // Integer pattern: optional negative sign followed by one or more digits
-        if (trimmedValue.matches("^-?\\d+$")) {
-            return "int";
-        } 
-        // Double patterns:
-        // 1. Standard decimal: optional sign, digits, decimal point, optional digits
-        // 2. Leading decimal: optional sign, decimal point, one or more digits
-        // 3. Scientific notation: any of the above followed by e or E, optional sign, and digits
-        else if (trimmedValue.matches("^[-+]?\\d+\\.\\d*$") || 
-                 trimmedValue.matches("^[-+]?\\.\\d+$") ||
-                 trimmedValue.matches("^[-+]?\\d+\\.?\\d*[eE][-+]?\\d+$") ||
-                 trimmedValue.matches("^[-+]?\\.\\d+[eE][-+]?\\d+$")) {
-            return "double";
-        } 
-        // Boolean pattern: case-insensitive "true" or "false"
-        else if (trimmedValue.equalsIgnoreCase("true") || trimmedValue.equalsIgnoreCase("false")) {
-            return "boolean";
-        } 
-        // Special numeric values
-        else if (trimmedValue.equalsIgnoreCase("NaN") || 
-                 trimmedValue.equalsIgnoreCase("Infinity") || 
-                 trimmedValue.equalsIgnoreCase("+Infinity") || 
-                 trimmedValue.equalsIgnoreCase("-Infinity")) {
-            return "double";
-        } 
-        // Everything else is a string
-        else {
-            return "string";
-        }
+        return TypeSniffer.inferType(value);
     }
 
     @SuppressWarnings("unchecked")
@@ -494,40 +530,77 @@ public class OptimizedTableCore implements ITable {
 
     @Override
     public String getValueAt(int rowIndex, String columnName) {
-        Object value = getValueObject(rowIndex, columnName);
+        ICell<?> cell = getRow(rowIndex).getCell(columnName);
+        Object value = cell == null ? null : cell.getValue();
         if (value == null) {
             return null;
         }
 
-        // General handling for Double values to preserve trailing zeros
+        // Double values keep the fraction digits of the text they were parsed from
         if (value instanceof Double) {
-            // Check if we have the original string representation
-            if (originalDoubleStrings.containsKey(columnName) &&
-                    originalDoubleStrings.get(columnName).containsKey(rowIndex)) {
-                return originalDoubleStrings.get(columnName).get(rowIndex);
-            }
-
-            // Use DecimalFormat to preserve decimal places
-            java.text.DecimalFormat df = new java.text.DecimalFormat();
-            df.setMinimumFractionDigits(0);
-            df.setMaximumFractionDigits(MAX_FRACTION_DIGITS);
-            df.setGroupingUsed(false);
-
-            // Check if the value has decimal places
-            String stringValue = value.toString();
-            if (stringValue.contains(".")) {
-                // Count the number of digits after decimal point in the original string
-                int decimalPlaces = stringValue.length() - stringValue.indexOf('.') - 1;
-                // Ensure we keep at least that many decimal places
-                df.setMinimumFractionDigits(decimalPlaces);
-            }
-
-            return df.format(value);
+            return DecimalCell.format(cell);
         }
 
         return value.toString();
     }
 
+    @Override
+    public int getColumnIndex(String columnName) {
+        Integer index = columnIndexes.get(columnName);
+        return index == null ? -1 : index;
+    }
+
+    @Override
+    public boolean isNull(int rowIndex, int columnIndex) {
+        IColumn<?> column = getColumn(columnIndex);
+        ICell<?> cell = getRow(rowIndex).getCell(column.getName());
+        return cell == null || cell.getValue() == null;
+    }
+
+    @Override
+    public int getInt(int rowIndex, int columnIndex) {
+        return (Integer) getTypedValue(rowIndex, columnIndex, Integer.class);
+    }
+
+    @Override
+    public double getDouble(int rowIndex, int columnIndex) {
+        return ((Number) getTypedValue(rowIndex, columnIndex, Double.class)).doubleValue();
+    }
+
+    @Override
+    public boolean getBoolean(int rowIndex, int columnIndex) {
+        return (Boolean) getTypedValue(rowIndex, columnIndex, Boolean.class);
+    }
+
+    @Override
+    public String getString(int rowIndex, int columnIndex) {
+        return getValueAt(rowIndex, getColumn(columnIndex).getName());
+    }
+
+    @Override
+    public int getScale(int rowIndex, int columnIndex) {
+        ICell<?> cell = getRow(rowIndex).getCell(getColumn(columnIndex).getName());
+        return cell instanceof DecimalCell && cell.getValue() != null ? ((DecimalCell) cell).getScale() : -1;
+    }
+
+    /**
+     * Gets the non-null value of a cell after checking that its column holds the given type.
+     * Int columns are accepted where a double is asked for.
+     */
+    private Object getTypedValue(int rowIndex, int columnIndex, Class<?> type) {
+        IColumn<?> column = getColumn(columnIndex);
+        Class<?> columnType = column.getType();
+        if (columnType != type && !(type == Double.class && columnType == Integer.class)) {
+            throw new IllegalArgumentException("Column '" + column.getName() + "' is not of type " + type.getSimpleName());
+        }
+        ICell<?> cell = getRow(rowIndex).getCell(column.getName());
+        Object value = cell == null ? null : cell.getValue();
+        if (value == null) {
+            throw new IllegalStateException("Value at row " + rowIndex + " of column '" + column.getName() + "' is null");
+        }
+        return value;
+    }
+
     @Override
     public void printTable() {
         // Print column names
@@ -566,33 +639,23 @@ public class OptimizedTableCore implements ITable {
         this.name = name;
     }
 
-    /**
-     * Creates a properly sized ConcurrentHashMap with the specified initial capacity.
-     * This utility method helps reduce resizing operations, which can be expensive in concurrent contexts.
-     *
-     * @param initialCapacity the initial capacity for the map
-     * @param <K> the type of keys in the map
-     * @param <V> the type of values in the map
-     * @return a new ConcurrentHashMap with the specified initial capacity
-     */
-    private <K, V> ConcurrentHashMap<K, V> createSizedConcurrentMap(int initialCapacity) {
-        // Using a load factor of 0.75 (default) which provides a good balance between
-        // space efficiency and performance
-        return new ConcurrentHashMap<>(initialCapacity, 0.75f);
-    }
-
     /**
      * An optimized implementation of Row that uses a HashMap for cells.
      * This class demonstrates how to optimize collections for different usage patterns.
+     * Rows of a concurrent table use a ConcurrentHashMap and replace a cell on every write, so
+     * that readers on other threads always see a fully written cell.
      */
     private static class OptimizedRow implements IRow {
         private final ITable table;
         // Balanced read-write collection (frequent reads and writes)
         // HashMap provides fast access by key
-        private final Map<String, ICell<?>> cells = new HashMap<>();
+        private final Map<String, ICell<?>> cells;
+        private final boolean concurrent;
 
-        public OptimizedRow(ITable table) {
+        public OptimizedRow(ITable table, boolean concurrent) {
             this.table = table;
+            this.concurrent = concurrent;
+            this.cells = concurrent ? new ConcurrentHashMap<>(8, 0.75f, 1) : new HashMap<>();
         }
 
         @Override
@@ -609,7 +672,7 @@ public class OptimizedTableCore implements ITable {
         @Override
         public <T> void setValue(IColumn<T> column, T value) {
             ICell<T> cell = getCell(column);
-            if (cell == null) {
+            if (cell == null || concurrent) {
                 cell = column.createCell(value);
                 cells.put(column.getName(), cell);
             } else {
@@ -626,7 +689,7 @@ public class OptimizedTableCore implements ITable {
             }
 
             ICell<?> cell = getCell(columnName);
-            if (cell == null) {
+            if (cell == null || concurrent) {
                 IColumn<Object> objectColumn = (IColumn<Object>) column;
                 cell = objectColumn.createCell((Object) value);
                 cells.put(columnName, cell);
@@ -635,6 +698,13 @@ public class OptimizedTableCore implements ITable {
             }
         }
 
+        /**
+         * Puts a new cell into the row, replacing any existing cell of its column.
+         */
+        void putCell(String columnName, ICell<?> cell) {
+            cells.put(columnName, cell);
+        }
+
         @Override
         public List<ICell<?>> getCells() {
             return new ArrayList<>(cells.values());
@@ -0,0 +1,34 @@
+package dev.mars.jtable.core.table;
+
+/**
+ * Helpers for the reorderRows implementations of the tables.
+ */
+final class RowPermutation {
+
+    private RowPermutation() {
+    }
+
+    /**
+     * Checks that a row order holds every row index of a table exactly once.
+     *
+     * @param order the row order
+     * @param rowCount the number of rows of the table
+     * @throws IllegalArgumentException if the order is not a permutation of the row indexes
+     */
+    static void check(int[] order, int rowCount) {
+        if (order == null) {
+            throw new IllegalArgumentException("Row order cannot be null");
+        }
+        if (order.length != rowCount) {
+            throw new IllegalArgumentException("Row order has " + order.length + " entries but the table has "
+                    + rowCount + " rows");
+        }
+        boolean[] seen = new boolean[rowCount];
+        for (int index : order) {
+            if (index < 0 || index >= rowCount || seen[index]) {
+                throw new IllegalArgumentException("Row order must hold every row index exactly once");
+            }
+            seen[index] = true;
+        }
+    }
+}
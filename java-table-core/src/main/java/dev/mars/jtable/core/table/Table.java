@@ -37,6 +37,11 @@ public class Table implements ITable {
         tableCore.setColumns(columns);
     }
 
+    @Override
+    public void reorderRows(int[] order) {
+        tableCore.reorderRows(order);
+    }
+
     @Override
     public Object convertValue(String value, IColumn<?> column) {
         return tableCore.convertValue(value, column);
@@ -106,6 +111,11 @@ public class Table implements ITable {
         tableCore.addRow(row);
     }
 
+    @Override
+    public void addRow(String[] values) {
+        tableCore.addRow(values);
+    }
+
     @Override
     public IRow createRow() {
         return tableCore.createRow();
@@ -129,6 +139,41 @@ public class Table implements ITable {
     @Override
     public void setValue(int rowIndex, String columnName, Object value) {tableCore.setValue(rowIndex, columnName, value);}
 
+    @Override
+    public int getColumnIndex(String columnName) {
+        return tableCore.getColumnIndex(columnName);
+    }
+
+    @Override
+    public boolean isNull(int rowIndex, int columnIndex) {
+        return tableCore.isNull(rowIndex, columnIndex);
+    }
+
+    @Override
+    public int getInt(int rowIndex, int columnIndex) {
+        return tableCore.getInt(rowIndex, columnIndex);
+    }
+
+    @Override
+    public double getDouble(int rowIndex, int columnIndex) {
+        return tableCore.getDouble(rowIndex, columnIndex);
+    }
+
+    @Override
+    public boolean getBoolean(int rowIndex, int columnIndex) {
+        return tableCore.getBoolean(rowIndex, columnIndex);
+    }
+
+    @Override
+    public String getString(int rowIndex, int columnIndex) {
+        return tableCore.getString(rowIndex, columnIndex);
+    }
+
+    @Override
+    public int getScale(int rowIndex, int columnIndex) {
+        return tableCore.getScale(rowIndex, columnIndex);
+    }
+
     @Override
     public void printTable() {
         tableCore.printTable();
@@ -20,6 +20,19 @@ public class TableBuilder {
         this.table = new TableCore();
     }
 
+    /**
+     * Creates a builder that populates the given table implementation, for example a
+     * {@link ColumnarTableCore} for large data sets.
+     *
+     * @param table the empty table to build into
+     */
+    public TableBuilder(ITable table) {
+        if (table == null) {
+            throw new IllegalArgumentException("Table cannot be null");
+        }
+        this.table = table;
+    }
+
     public TableBuilder addColumn(IColumn<?> column) {
         columns.put(column.getName(), column);
         return this;
@@ -91,7 +104,7 @@ public class TableBuilder {
      * @return this builder for method chaining
      */
     public TableBuilder setCreateDefaultValue(boolean createDefaultValue) {
-        ((TableCore) table).setCreateDefaultValue(createDefaultValue);
+        table.setCreateDefaultValue(createDefaultValue);
         return this;
     }
 
@@ -11,16 +11,14 @@ import java.util.*;
 
 public class TableCore implements ITable {
     private final Map<String, IColumn<?>> columns = new LinkedHashMap<>();
+
+    // Column positions, kept in step with the columns map for the index-based accessors
+    private final List<IColumn<?>> columnList = new ArrayList<>();
+    private final Map<String, Integer> columnIndexes = new HashMap<>();
     private final List<IRow> rows = new ArrayList<>();
     private boolean createDefaultValue = true;
     private String name;
 
-    // Constants for Double handling
-    private static final int MAX_FRACTION_DIGITS = 10;
-
-    // Map to store original string representations of double values
-    private final java.util.Map<String, java.util.Map<Integer, String>> originalDoubleStrings = new java.util.HashMap<>();
-
     public TableCore() {
         this.name = "TableCore";
     }
@@ -44,12 +42,12 @@ public class TableCore implements ITable {
         if (index < 0 || index >= columns.size()) {
             throw new IndexOutOfBoundsException("Invalid column index: " + index);
         }
-        return new ArrayList<>(columns.values()).get(index);
+        return columnList.get(index);
     }
 
     @Override
     public List<IColumn<?>> getColumns() {
-        return new ArrayList<>(columns.values());
+        return new ArrayList<>(columnList);
     }
 
     @Override
@@ -60,7 +58,13 @@ public class TableCore implements ITable {
         if (columns.containsKey(column.getName())) {
             throw new IllegalArgumentException("Column already exists: " + column.getName());
         }
+        putColumn(column);
+    }
+
+    private void putColumn(IColumn<?> column) {
         columns.put(column.getName(), column);
+        columnIndexes.put(column.getName(), columnList.size());
+        columnList.add(column);
     }
 
     @Override
@@ -68,8 +72,7 @@ public class TableCore implements ITable {
         if (index < 0 || index >= columns.size()) {
             throw new IndexOutOfBoundsException("Invalid column index: " + index);
         }
-        IColumn<?> column = new ArrayList<>(columns.values()).get(index);
-        return column.getName();
+        return columnList.get(index).getName();
     }
 
     @Override
@@ -130,22 +133,19 @@ public class TableCore implements ITable {
         for (IColumn<?> column : columns.values()) {
             if (!rowCopy.containsKey(column.getName())) {
                 if (createDefaultValue) {
-                    // Add default value for missing column
+                    // Add default value for missing column, by the value type of the column as
+                    // in OptimizedTableCore; other types get the empty string, which reads as null
                     String columnType = "";
                     if (column instanceof Column) {
-                        // Get the column type from the Column class
-                        if (column.getClass().getGenericSuperclass() instanceof java.lang.reflect.ParameterizedType) {
-                            java.lang.reflect.ParameterizedType paramType = (java.lang.reflect.ParameterizedType) column.getClass().getGenericSuperclass();
-                            Class<?> valueType = (Class<?>) paramType.getActualTypeArguments()[0];
-                            if (valueType == String.class) {
-                                columnType = "string";
-                            } else if (valueType == Integer.class) {
-                                columnType = "int";
-                            } else if (valueType == Double.class) {
-                                columnType = "double";
-                            } else if (valueType == Boolean.class) {
-                                columnType = "boolean";
-                            }
+                        Class<?> valueType = column.getType();
+                        if (valueType == String.class) {
+                            columnType = "string";
+                        } else if (valueType == Integer.class) {
+                            columnType = "int";
+                        } else if (valueType == Double.class) {
+                            columnType = "double";
+                        } else if (valueType == Boolean.class) {
+                            columnType = "boolean";
                         }
                     }
                     rowCopy.put(column.getName(), getDefaultValue(columnType));
@@ -172,12 +172,9 @@ public class TableCore implements ITable {
             Object convertedValue = column.convertFromString(value);
             newRow.setValue(columnName, convertedValue);
 
-            // Store original string representation for double values
-            if (convertedValue instanceof Double && value.contains(".")) {
-                // Initialize the map for this column if needed
-                originalDoubleStrings.computeIfAbsent(columnName, k -> new java.util.HashMap<>());
-                // Store the original string at the next row index
-                originalDoubleStrings.get(columnName).put(getRowCount(), value);
+            // Record the number of fraction digits of double values
+            if (convertedValue instanceof Double) {
+                DecimalCell.recordScale(newRow, columnName, value);
             }
         }
 
@@ -185,6 +182,40 @@ public class TableCore implements ITable {
         rows.add(newRow);
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public void addRow(String[] values) {
+        if (values == null) {
+            throw new IllegalArgumentException("Row values cannot be null");
+        }
+        if (values.length > columns.size()) {
+            throw new IllegalArgumentException("Row has " + values.length + " values but the table has "
+                    + columns.size() + " columns");
+        }
+
+        IRow newRow = createRow();
+        int index = 0;
+        for (IColumn<?> column : columns.values()) {
+            if (index < values.length) {
+                String value = values[index];
+                Object convertedValue = column.convertFromString(value);
+                newRow.setValue((IColumn<Object>) column, convertedValue);
+
+                // Record the number of fraction digits of double values
+                if (convertedValue instanceof Double) {
+                    DecimalCell.recordScale(newRow, column.getName(), value);
+                }
+            } else if (createDefaultValue) {
+                addDefaultValue(newRow, column);
+            } else {
+                throw new IllegalArgumentException("Row is missing column: " + column.getName());
+            }
+            index++;
+        }
+
+        rows.add(newRow);
+    }
+
     @SuppressWarnings("unchecked")
     private <T> void addDefaultValue(IRow row, IColumn<?> column) {
         IColumn<T> typedColumn = (IColumn<T>) column;
@@ -233,15 +264,23 @@ public class TableCore implements ITable {
         Object convertedValue = column.convertFromString(value);
         setValue(rowIndex, columnName, convertedValue);
 
-        // Store original string representation for double values
-        if (convertedValue instanceof Double && value.contains(".")) {
-            // Initialize the map for this column if needed
-            originalDoubleStrings.computeIfAbsent(columnName, k -> new java.util.HashMap<>());
-            // Store the original string
-            originalDoubleStrings.get(columnName).put(rowIndex, value);
+        // Record the number of fraction digits of double values
+        if (convertedValue instanceof Double) {
+            DecimalCell.recordScale(getRow(rowIndex), columnName, value);
         }
     }
 
+    @Override
+    public void reorderRows(int[] order) {
+        RowPermutation.check(order, rows.size());
+        List<IRow> reordered = new ArrayList<>(rows.size());
+        for (int index : order) {
+            reordered.add(rows.get(index));
+        }
+        rows.clear();
+        rows.addAll(reordered);
+    }
+
     @Override
     public void setColumns(LinkedHashMap<String, String> newColumns) {
         if (newColumns == null) {
@@ -264,90 +303,21 @@ public class TableCore implements ITable {
         // Clear existing columns
         if (!columns.isEmpty()) {
             columns.clear();
+            columnList.clear();
+            columnIndexes.clear();
         }
 
         // Add new columns
         for (Map.Entry<String, String> entry : newColumns.entrySet()) {
             String columnName = entry.getKey();
             String columnType = entry.getValue();
-            IColumn<?> column = ColumnFactory.createColumn(columnName, columnType);
-            columns.put(column.getName(), column);
+            putColumn(ColumnFactory.createColumn(columnName, columnType));
         }
     }
 
     @Override
     public String inferType(String value) {
-        if (value == null) {
-            return "string";
-        }
-
-        // Trim whitespace for better pattern matching
-        String trimmedValue = value.trim();
-        if (trimmedValue.isEmpty()) {
-            return "string";
-        }
-
-        // Integer pattern: optional negative sign followed by one or more digits
-        // Note: We don't treat values with a leading plus sign as integers
-        // to match the expectations of the testInferTypeStringProperty test
-        if (trimmedValue.matches("^-?\\d+$")) {
-            return "int";
-        } 
-        // Double patterns:
-        // 1. Standard decimal: optional sign, digits, decimal point, optional digits
-        // 2. Leading decimal: optional sign, decimal point, one or more digits
-        // 3. Scientific notation: any of the above followed by e or E, optional sign, and digits
-        else if (trimmedValue.matches("^[-+]?\\d+\\.\\d*$") || 
-                 trimmedValue.matches("^[-+]?\\.\\d+$") ||
-                 trimmedValue.matches("^[-+]?\\d+\\.?\\d*[eE][-+]?\\d+$") ||
-                 trimmedValue.matches("^[-+]?\\.\\d+[eE][-+]?\\d+$")) {
-            return "double";
-        } 
-        // Boolean pattern: case-insensitive "true" or "false"
-        else if (trimmedValue.equalsIgnoreCase("true") || trimmedValue.equalsIgnoreCase("false")) {
-            return "boolean";
-        } 
-        // Special numeric values
-        else if (trimmedValue.equalsIgnoreCase("NaN") || 
-                 trimmedValue.equalsIgnoreCase("Infinity") || 
-                 trimmedValue.equalsIgnoreCase("+Infinity") || 
-                 trimmedValue.equalsIgnoreCase("-Infinity")) {
-            return "double";
-        }
-        // Date pattern: yyyy-MM-dd (ISO_LOCAL_DATE)
-        else if (trimmedValue.matches("^\\d{4}-\\d{2}-\\d{2}$")) {
-            try {
-                java.time.LocalDate.parse(trimmedValue);
-                return "date";
-            } catch (java.time.format.DateTimeParseException e) {
-                // If parsing fails, it's not a valid date
-                return "string";
-            }
-        }
-        // Time pattern: HH:mm:ss (ISO_LOCAL_TIME)
-        else if (trimmedValue.matches("^\\d{2}:\\d{2}:\\d{2}$")) {
-            try {
-                java.time.LocalTime.parse(trimmedValue);
-                return "time";
-            } catch (java.time.format.DateTimeParseException e) {
-                // If parsing fails, it's not a valid time
-                return "string";
-            }
-        }
-        // DateTime pattern: yyyy-MM-ddTHH:mm:ss (ISO_LOCAL_DATE_TIME)
-        else if (trimmedValue.matches("^\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}$")) {
-            try {
-                java.time.LocalDateTime.parse(trimmedValue);
-                return "datetime";
-            } catch (java.time.format.DateTimeParseException e) {
-                // If parsing fails, it's not a valid datetime
-                return "string";
-            }
-        }
-        // Everything else is a string
-        else {
-            return "string";
-        }
+        return TypeSniffer.inferType(value);
     }
 
     @SuppressWarnings("unchecked")
@@ -384,35 +354,15 @@ public class TableCore implements ITable {
 
     @Override
     public String getValueAt(int rowIndex, String columnName) {
-        Object value = getValueObject(rowIndex, columnName);
+        ICell<?> cell = getRow(rowIndex).getCell(columnName);
+        Object value = cell == null ? null : cell.getValue();
         if (value == null) {
             return null;
         }
 
-        // General handling for Double values to preserve trailing zeros
+        // Double values keep the fraction digits of the text they were parsed from
         if (value instanceof Double) {
-            // Check if we have the original string representation
-            if (originalDoubleStrings.containsKey(columnName) &&
-                    originalDoubleStrings.get(columnName).containsKey(rowIndex)) {
-                return originalDoubleStrings.get(columnName).get(rowIndex);
-            }
-
-            // Use DecimalFormat to preserve decimal places
-            java.text.DecimalFormat df = new java.text.DecimalFormat();
-            df.setMinimumFractionDigits(0);
-            df.setMaximumFractionDigits(MAX_FRACTION_DIGITS);
-            df.setGroupingUsed(false);
-
-            // Check if the value has decimal places
-            String stringValue = value.toString();
-            if (stringValue.contains(".")) {
-                // Count the number of digits after decimal point in the original string
-                int decimalPlaces = stringValue.length() - stringValue.indexOf('.') - 1;
-                // Ensure we keep at least that many decimal places
-                df.setMinimumFractionDigits(decimalPlaces);
-            }
-
-            return df.format(value);
+            return DecimalCell.format(cell);
         }
         // Handling for LocalDate values
         else if (value instanceof java.time.LocalDate) {
@@ -430,6 +380,63 @@ public class TableCore implements ITable {
         return value.toString();
     }
 
+    @Override
+    public int getColumnIndex(String columnName) {
+        Integer index = columnIndexes.get(columnName);
+        return index == null ? -1 : index;
+    }
+
+    @Override
+    public boolean isNull(int rowIndex, int columnIndex) {
+        IColumn<?> column = getColumn(columnIndex);
+        ICell<?> cell = getRow(rowIndex).getCell(column.getName());
+        return cell == null || cell.getValue() == null;
+    }
+
+    @Override
+    public int getInt(int rowIndex, int columnIndex) {
+        return (Integer) getTypedValue(rowIndex, columnIndex, Integer.class);
+    }
+
+    @Override
+    public double getDouble(int rowIndex, int columnIndex) {
+        return ((Number) getTypedValue(rowIndex, columnIndex, Double.class)).doubleValue();
+    }
+
+    @Override
+    public boolean getBoolean(int rowIndex, int columnIndex) {
+        return (Boolean) getTypedValue(rowIndex, columnIndex, Boolean.class);
+    }
+
+    @Override
+    public String getString(int rowIndex, int columnIndex) {
+        return getValueAt(rowIndex, getColumn(columnIndex).getName());
+    }
+
+    @Override
+    public int getScale(int rowIndex, int columnIndex) {
+        ICell<?> cell = getRow(rowIndex).getCell(getColumn(columnIndex).getName());
+        return cell instanceof DecimalCell && cell.getValue() != null ? ((DecimalCell) cell).getScale() : -1;
+    }
+
+    /**
+     * Gets the non-null value of a cell after checking that its column holds the given type.
+     * Int columns are accepted where a double is asked for.
+     */
+    private Object getTypedValue(int rowIndex, int columnIndex, Class<?> type) {
+        IColumn<?> column = getColumn(columnIndex);
+        Class<?> columnType = column.getType();
+        if (columnType != type && !(type == Double.class && columnType == Integer.class)) {
+            throw new IllegalArgumentException("Column '" + column.getName() + "' is not of type " + type.getSimpleName());
+        }
+        ICell<?> cell = getRow(rowIndex).getCell(column.getName());
+        Object value = cell == null ? null : cell.getValue();
+        if (value == null) {
+            throw new IllegalStateException("Value at row " + rowIndex + " of column '" + column.getName() + "' is null");
+        }
+        return value;
+    }
+
     @Override
     public void printTable() {
         // Print column names
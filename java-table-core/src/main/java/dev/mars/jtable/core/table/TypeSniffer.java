@@ -0,0 +1,360 @@
+package dev.mars.jtable.core.table;
+
+import java.time.Month;
+import java.time.Year;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Infers column types from textual values with a single hand-written scan per value.
+ *
+ * A value is classified as one of int, long, double, boolean, date ({@code yyyy-MM-dd}),
+ * time ({@code HH:mm:ss}), datetime ({@code yyyy-MM-ddTHH:mm:ss}) or string. Surrounding
+ * whitespace is ignored, and no regular expression, exception or temporary string is involved.
+ *
+ * An instance samples whole rows and widens the type of each column as it goes:
+ * int widens to long, int and long widen to double, and any other disagreement widens to
+ * string. Empty values carry no type information and are skipped. Tables have no 64-bit
+ * integer column, so a column whose widest value is a long is reported as a string column
+ * to keep its digits intact.
+ *
+ * A string column whose sampled values repeat enough is reported as a "category" column, so
+ * that tables store it dictionary encoded: it must have at least {@value #MIN_CATEGORY_VALUES}
+ * non-empty values, at most the dictionary threshold of distinct values, and on average each
+ * distinct value must occur at least twice. The distinct values of a column are only counted
+ * until they exceed the threshold.
+ *
+ * This class is not thread-safe.
+ */
+public final class TypeSniffer {
+
+    // Classifications, ordered so that the numeric ones widen towards the larger constant
+    private static final byte EMPTY = 0;
+    private static final byte INT = 1;
+    private static final byte LONG = 2;
+    private static final byte DOUBLE = 3;
+    private static final byte BOOLEAN = 4;
+    private static final byte DATE = 5;
+    private static final byte TIME = 6;
+    private static final byte DATETIME = 7;
+    private static final byte STRING = 8;
+
+    private static final int MAX_INT_DIGITS = 10;
+    private static final int MAX_LONG_DIGITS = 19;
+
+    /**
+     * The default maximum number of distinct values of a "category" column.
+     */
+    public static final int DEFAULT_DICTIONARY_THRESHOLD = 1000;
+
+    /**
+     * The minimum number of non-empty values of a "category" column.
+     */
+    public static final int MIN_CATEGORY_VALUES = 32;
+
+    private final byte[] columnKinds;
+    private final int dictionaryThreshold;
+    private final Set<String>[] distinctValues;
+    private final long[] nonEmptyCounts;
+    private long sampledRows;
+
+    /**
+     * Creates a sniffer for rows with the given number of columns, which detects "category"
+     * columns with the default dictionary threshold.
+     *
+     * @param columnCount the number of columns
+     */
+    public TypeSniffer(int columnCount) {
+        this(columnCount, DEFAULT_DICTIONARY_THRESHOLD);
+    }
+
+    /**
+     * Creates a sniffer for rows with the given number of columns.
+     *
+     * @param columnCount the number of columns
+     * @param dictionaryThreshold the maximum number of distinct values of a "category" column,
+     *                            or 0 to report every string column as "string"
+     */
+    @SuppressWarnings("unchecked")
+    public TypeSniffer(int columnCount, int dictionaryThreshold) {
+        if (columnCount < 0) {
+            throw new IllegalArgumentException("Column count cannot be negative: " + columnCount);
+        }
+        if (dictionaryThreshold < 0) {
+            throw new IllegalArgumentException("Dictionary threshold cannot be negative: " + dictionaryThreshold);
+        }
+        this.columnKinds = new byte[columnCount];
+        this.dictionaryThreshold = Math.min(dictionaryThreshold, DictionaryColumn.MAX_DICTIONARY_SIZE);
+        this.nonEmptyCounts = new long[columnCount];
+        this.distinctValues = new Set[columnCount];
+        if (this.dictionaryThreshold > 0) {
+            for (int i = 0; i < columnCount; i++) {
+                distinctValues[i] = new HashSet<>();
+            }
+        }
+    }
+
+    /**
+     * Widens the column types with the values of one row. Values beyond the column count are
+     * ignored, and missing trailing values are treated as empty.
+     *
+     * @param values the values of the row, indexed by column
+     */
+    public void sample(String[] values) {
+        int count = Math.min(values.length, columnKinds.length);
+        for (int i = 0; i < count; i++) {
+            byte kind = classify(values[i]);
+            if (kind != EMPTY) {
+                columnKinds[i] = widen(columnKinds[i], kind);
+                nonEmptyCounts[i]++;
+                Set<String> distinct = distinctValues[i];
+                if (distinct != null && distinct.add(values[i]) && distinct.size() > dictionaryThreshold) {
+                    // Too many distinct values for a dictionary; stop counting them
+                    distinctValues[i] = null;
+                }
+            }
+        }
+        sampledRows++;
+    }
+
+    /**
+     * Gets the number of rows sampled so far.
+     *
+     * @return the number of sampled rows
+     */
+    public long getSampledRows() {
+        return sampledRows;
+    }
+
+    /**
+     * Gets the column type inferred from the rows sampled so far.
+     *
+     * @param columnIndex the index of the column
+     * @return the column type, as accepted by {@link ColumnFactory#createColumn(String, String)};
+     *         "string" if the column has only held empty values
+     */
+    public String getColumnType(int columnIndex) {
+        byte kind = columnKinds[columnIndex];
+        if (kind == STRING && isCategory(columnIndex)) {
+            return "category";
+        }
+        return toColumnType(kind);
+    }
+
+    private boolean isCategory(int columnIndex) {
+        Set<String> distinct = distinctValues[columnIndex];
+        long nonEmpty = nonEmptyCounts[columnIndex];
+        return distinct != null && nonEmpty >= MIN_CATEGORY_VALUES && distinct.size() * 2L <= nonEmpty;
+    }
+
+    /**
+     * Infers the column type of a single value.
+     *
+     * @param value the value to classify
+     * @return the column type, as accepted by {@link ColumnFactory#createColumn(String, String)}
+     */
+    public static String inferType(String value) {
+        return toColumnType(classify(value));
+    }
+
+    private static String toColumnType(byte kind) {
+        switch (kind) {
+            case INT:
+                return "int";
+            case DOUBLE:
+                return "double";
+            case BOOLEAN:
+                return "boolean";
+            case DATE:
+                return "date";
+            case TIME:
+                return "time";
+            case DATETIME:
+                return "datetime";
+            default:
+                return "string";
+        }
+    }
+
+    private static byte widen(byte current, byte kind) {
+        if (current == EMPTY || current == kind) {
+            return kind;
+        }
+        if (current <= DOUBLE && kind <= DOUBLE) {
+            return (byte) Math.max(current, kind);
+        }
+        return STRING;
+    }
+
+    private static byte classify(String value) {
+        if (value == null) {
+            return EMPTY;
+        }
+        // Trim the same characters as String.trim
+        int start = 0;
+        int end = value.length();
+        while (start < end && value.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && value.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        if (start == end) {
+            return EMPTY;
+        }
+
+        char first = value.charAt(start);
+        if (isDigit(first) || first == '-' || first == '+' || first == '.') {
+            byte kind = classifyNumber(value, start, end);
+            if (kind != STRING) {
+                return kind;
+            }
+            int length = end - start;
+            if (length == 8) {
+                return isTime(value, start) ? TIME : STRING;
+            } else if (length == 10) {
+                return isDate(value, start) ? DATE : STRING;
+            } else if (length == 19) {
+                return isDate(value, start) && value.charAt(start + 10) == 'T' && isTime(value, start + 11)
+                        ? DATETIME : STRING;
+            }
+            return isSpecialDouble(value, start, end) ? DOUBLE : STRING;
+        }
+        if (equalsIgnoreCase(value, start, end, "true") || equalsIgnoreCase(value, start, end, "false")) {
+            return BOOLEAN;
+        }
+        return isSpecialDouble(value, start, end) ? DOUBLE : STRING;
+    }
+
+    /**
+     * Classifies a plain or scientific number: an integer with an optional minus sign, or a
+     * decimal with an optional sign, a fraction and/or an exponent.
+     */
+    private static byte classifyNumber(String value, int start, int end) {
+        int pos = start;
+        char sign = value.charAt(pos);
+        if (sign == '-' || sign == '+') {
+            pos++;
+        }
+
+        int digitsStart = pos;
+        while (pos < end && isDigit(value.charAt(pos))) {
+            pos++;
+        }
+        int integerDigits = pos - digitsStart;
+
+        if (pos == end) {
+            if (integerDigits == 0 || sign == '+') {
+                return STRING;
+            }
+            return classifyInteger(value, digitsStart, end, sign == '-');
+        }
+
+        int fractionDigits = 0;
+        boolean hasPoint = value.charAt(pos) == '.';
+        if (hasPoint) {
+            pos++;
+            int fractionStart = pos;
+            while (pos < end && isDigit(value.charAt(pos))) {
+                pos++;
+            }
+            fractionDigits = pos - fractionStart;
+        }
+        if (integerDigits == 0 && fractionDigits == 0) {
+            return STRING;
+        }
+
+        if (pos < end && (value.charAt(pos) == 'e' || value.charAt(pos) == 'E')) {
+            pos++;
+            if (pos < end && (value.charAt(pos) == '-' || value.charAt(pos) == '+')) {
+                pos++;
+            }
+            int exponentStart = pos;
+            while (pos < end && isDigit(value.charAt(pos))) {
+                pos++;
+            }
+            if (pos == exponentStart || pos != end) {
+                return STRING;
+            }
+            return DOUBLE;
+        }
+        return hasPoint && pos == end ? DOUBLE : STRING;
+    }
+
+    private static byte classifyInteger(String value, int start, int end, boolean negative) {
+        while (start < end - 1 && value.charAt(start) == '0') {
+            start++;
+        }
+        int digits = end - start;
+        if (digits < MAX_INT_DIGITS) {
+            return INT;
+        }
+        if (digits > MAX_LONG_DIGITS) {
+            // Too wide for any integer column; keep the text
+            return LONG;
+        }
+        long magnitude = 0;
+        for (int i = start; i < end; i++) {
+            int digit = value.charAt(i) - '0';
+            if (magnitude > (Long.MAX_VALUE - digit) / 10) {
+                return LONG;
+            }
+            magnitude = magnitude * 10 + digit;
+        }
+        long limit = negative ? -(long) Integer.MIN_VALUE : Integer.MAX_VALUE;
+        return magnitude <= limit ? INT : LONG;
+    }
+
+    private static boolean isDate(String value, int start) {
+        if (value.charAt(start + 4) != '-' || value.charAt(start + 7) != '-') {
+            return false;
+        }
+        int year = digits(value, start, 4);
+        int month = digits(value, start + 5, 2);
+        int day = digits(value, start + 8, 2);
+        if (year < 0 || month < 1 || month > 12 || day < 1) {
+            return false;
+        }
+        return day <= Month.of(month).length(Year.isLeap(year));
+    }
+
+    private static boolean isTime(String value, int start) {
+        if (value.charAt(start + 2) != ':' || value.charAt(start + 5) != ':') {
+            return false;
+        }
+        int hour = digits(value, start, 2);
+        int minute = digits(value, start + 3, 2);
+        int second = digits(value, start + 6, 2);
+        return hour >= 0 && hour < 24 && minute >= 0 && minute < 60 && second >= 0 && second < 60;
+    }
+
+    /**
+     * Parses a fixed number of ASCII digits, or returns -1 if any of them is not a digit.
+     */
+    private static int digits(String value, int start, int count) {
+        int result = 0;
+        for (int i = start; i < start + count; i++) {
+            char c = value.charAt(i);
+            if (!isDigit(c)) {
+                return -1;
+            }
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+
+    private static boolean isSpecialDouble(String value, int start, int end) {
+        return equalsIgnoreCase(value, start, end, "NaN")
+                || equalsIgnoreCase(value, start, end, "Infinity")
+                || equalsIgnoreCase(value, start, end, "+Infinity")
+                || equalsIgnoreCase(value, start, end, "-Infinity");
+    }
+
+    private static boolean equalsIgnoreCase(String value, int start, int end, String expected) {
+        return end - start == expected.length() && value.regionMatches(true, start, expected, 0, expected.length());
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
@@ -1,6 +1,8 @@
 module dev.mars.jtable.core {
     exports dev.mars.jtable.core.collections;
+    exports dev.mars.jtable.core.index;
     exports dev.mars.jtable.core.model;
     exports dev.mars.jtable.core.profiling;
+    exports dev.mars.jtable.core.query;
     exports dev.mars.jtable.core.table;
 }
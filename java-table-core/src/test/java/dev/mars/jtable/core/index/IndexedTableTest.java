@@ -0,0 +1,126 @@
+package dev.mars.jtable.core.index;
+
+import dev.mars.jtable.core.model.ITable;
+import dev.mars.jtable.core.table.ColumnarTableCore;
+import dev.mars.jtable.core.table.OptimizedTableCore;
+import dev.mars.jtable.core.table.TableCore;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for IndexedTable and its hash and sorted indexes.
+ */
+public class IndexedTableTest {
+
+    private static IndexedTable newTable(ITable core) {
+        LinkedHashMap<String, String> columns = new LinkedHashMap<>();
+        columns.put("Id", "int");
+        columns.put("Name", "string");
+        columns.put("Price", "double");
+        core.setColumns(columns);
+        core.addRow(new String[]{"1", "Alice", "10.5"});
+        core.addRow(new String[]{"2", "Bob", "7.25"});
+        core.addRow(new String[]{"1", "Carol", "10.5"});
+        return new IndexedTable(core);
+    }
+
+    /**
+     * Test that the hash indexes find the rows of int, double and string values on every table.
+     */
+    @Test
+    void testHashIndexLookups() {
+        for (ITable core : new ITable[]{new TableCore(), new OptimizedTableCore(), new ColumnarTableCore()}) {
+            IndexedTable table = newTable(core);
+
+            HashIndex ids = table.createHashIndex("Id");
+            assertTrue(ids instanceof IntHashIndex);
+            assertArrayEquals(new int[]{0, 2}, ((IntHashIndex) ids).lookup(1));
+            assertArrayEquals(new int[]{1}, ids.lookup(2));
+            assertArrayEquals(new int[0], ids.lookup(3));
+            assertArrayEquals(new int[0], ids.lookup("1"));
+            assertEquals(3, ids.size());
+
+            HashIndex prices = table.createHashIndex("Price");
+            assertTrue(prices instanceof DoubleHashIndex);
+            assertArrayEquals(new int[]{0, 2}, ((DoubleHashIndex) prices).lookup(10.5));
+            assertFalse(prices.contains(10.0));
+
+            HashIndex names = table.createHashIndex("Name");
+            assertArrayEquals(new int[]{2}, names.lookup("Carol"));
+            assertSame(names, table.createHashIndex("Name"));
+        }
+    }
+
+    /**
+     * Test that the indexes follow rows added and values changed through the table.
+     */
+    @Test
+    void testIndexesAreMaintainedIncrementally() {
+        IndexedTable table = newTable(new OptimizedTableCore());
+        IntHashIndex ids = (IntHashIndex) table.createHashIndex("Id");
+        SortedIndex prices = table.createSortedIndex("Price");
+
+        table.addRow(new String[]{"3", "Dave", "1.0"});
+        assertArrayEquals(new int[]{3}, ids.lookup(3));
+        assertArrayEquals(new int[]{3}, prices.range(null, 5.0));
+
+        table.setValueAt(0, "Id", "3");
+        assertArrayEquals(new int[]{2}, ids.lookup(1));
+        assertArrayEquals(new int[]{0, 3}, ids.lookup(3));
+
+        table.setValue(2, "Price", 2.0);
+        assertArrayEquals(new int[]{3, 2}, prices.range(null, 5.0));
+        assertArrayEquals(new int[]{0}, prices.lookup(10.5));
+        assertEquals(4, prices.size());
+
+        // Names are not indexed, so changing them leaves the indexes alone
+        table.setValueAt(1, "Name", "Robert");
+        assertEquals("Robert", table.getValueAt(1, "Name"));
+    }
+
+    /**
+     * Test the range queries of a sorted index.
+     */
+    @Test
+    void testSortedIndexRanges() {
+        IndexedTable table = newTable(new TableCore());
+        SortedIndex names = table.createSortedIndex("Name");
+
+        assertArrayEquals(new int[]{0, 1}, names.range("A", "C"));
+        assertArrayEquals(new int[]{1, 2}, names.range("Bob", true, null, false));
+        assertArrayEquals(new int[]{2}, names.range("Bob", false, "Carol", true));
+        assertArrayEquals(new int[0], names.range("Z", "A"));
+        assertEquals("Alice", names.firstValue());
+        assertEquals("Carol", names.lastValue());
+
+        SortedIndex prices = table.createSortedIndex("Price");
+        assertArrayEquals(new int[]{1, 0, 2}, prices.range(null, null));
+        assertThrows(IllegalArgumentException.class, () -> prices.range(1, 2));
+    }
+
+    /**
+     * Test that indexes on unknown columns are rejected and that redefining the columns rebuilds them.
+     */
+    @Test
+    void testColumnChanges() {
+        IndexedTable table = newTable(new TableCore());
+        assertThrows(IllegalArgumentException.class, () -> table.createHashIndex("Missing"));
+
+        table.createHashIndex("Id");
+        table.createSortedIndex("Name");
+        LinkedHashMap<String, String> columns = new LinkedHashMap<>();
+        columns.put("Id", "int");
+        columns.put("Price", "double");
+        table.setColumns(columns);
+
+        assertNotNull(table.getHashIndex("Id"));
+        assertArrayEquals(new int[]{0, 2}, table.getHashIndex("Id").lookup(1));
+        assertNull(table.getSortedIndex("Name"));
+
+        table.dropIndexes("Id");
+        assertNull(table.getHashIndex("Id"));
+    }
+}
@@ -0,0 +1,175 @@
+package dev.mars.jtable.core.query;
+
+import dev.mars.jtable.core.model.ITable;
+import dev.mars.jtable.core.table.ColumnarTableCore;
+import dev.mars.jtable.core.table.OptimizedTableCore;
+import dev.mars.jtable.core.table.TableCore;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for Join.
+ */
+public class JoinTest {
+
+    private static ITable table(ITable table, String[] columns, String[]... rows) {
+        LinkedHashMap<String, String> definitions = new LinkedHashMap<>();
+        for (String column : columns) {
+            String[] parts = column.split(":");
+            definitions.put(parts[0], parts[1]);
+        }
+        table.setColumns(definitions);
+        for (String[] row : rows) {
+            table.addRow(row);
+        }
+        return table;
+    }
+
+    private static ITable trades() {
+        return table(new TableCore(), new String[]{"Id:int", "Instrument:int", "Quantity:int"},
+                new String[]{"1", "20", "5"},
+                new String[]{"2", "10", "7"},
+                new String[]{"3", "30", "1"},
+                new String[]{"4", "20", "2"});
+    }
+
+    private static ITable instruments() {
+        ColumnarTableCore instruments = new ColumnarTableCore();
+        table(instruments, new String[]{"Id:int", "Name:string"},
+                new String[]{"20", "Bond"},
+                new String[]{"10", "Equity"},
+                new String[]{"20", "Bond B"});
+        instruments.addRowValues(new Object[]{null, "Unknown"});
+        return instruments;
+    }
+
+    private static List<String> rows(ITable table) {
+        List<String> rows = new ArrayList<>();
+        for (int i = 0; i < table.getRowCount(); i++) {
+            StringBuilder row = new StringBuilder();
+            for (int c = 0; c < table.getColumnCount(); c++) {
+                row.append(c == 0 ? "" : ",").append(table.getValueObject(i, table.getColumnName(c)));
+            }
+            rows.add(row.toString());
+        }
+        return rows;
+    }
+
+    /**
+     * Test every join type with both hash join sides, and the renaming of clashing columns.
+     */
+    @Test
+    void testHashJoins() {
+        // Building on either side gives the same rows in the same order
+        for (boolean buildLeft : new boolean[]{false, true}) {
+            ITable trades = trades();
+            if (buildLeft) {
+                for (int i = 0; i < 3; i++) {
+                    trades.addRow(new String[]{String.valueOf(10 + i), "99", "0"});
+                }
+            }
+            ITable inner = Join.inner(trades, instruments()).on("Instrument", "Id").execute();
+            assertEquals(List.of("Id", "Instrument", "Quantity", "Id_right", "Name"),
+                    List.of(inner.getColumnName(0), inner.getColumnName(1), inner.getColumnName(2),
+                            inner.getColumnName(3), inner.getColumnName(4)));
+            assertEquals(List.of("1,20,5,20,Bond", "1,20,5,20,Bond B", "2,10,7,10,Equity",
+                    "4,20,2,20,Bond", "4,20,2,20,Bond B"), rows(inner));
+
+            ITable leftOuter = Join.leftOuter(trades, instruments()).on("Instrument", "Id").execute();
+            assertEquals(buildLeft ? 9 : 6, leftOuter.getRowCount());
+            assertEquals("3,30,1,null,null", rows(leftOuter).get(3));
+
+            assertEquals(List.of("1,20,5", "2,10,7", "4,20,2"),
+                    rows(Join.semi(trades, instruments()).on("Instrument", "Id").execute()));
+            List<String> anti = rows(Join.anti(trades, instruments()).on("Instrument", "Id").execute());
+            assertEquals("3,30,1", anti.get(0));
+            assertEquals(buildLeft ? 4 : 1, anti.size());
+        }
+    }
+
+    /**
+     * Test that the sort-merge join matches the hash join on sorted tables, duplicates and nulls included.
+     */
+    @Test
+    void testSortMergeJoin() {
+        ITable left = table(new ColumnarTableCore(), new String[]{"Key:int", "L:string"},
+                new String[]{"1", "a"}, new String[]{"2", "b"}, new String[]{"2", "c"}, new String[]{"4", "d"});
+        ((ColumnarTableCore) left).addRowValues(new Object[]{null, "e"});
+        ITable right = table(new ColumnarTableCore(), new String[]{"Key:double", "R:string"},
+                new String[]{"2.0", "x"}, new String[]{"2.0", "y"}, new String[]{"3.0", "z"}, new String[]{"4.0", "w"});
+
+        for (Join.Type type : Join.Type.values()) {
+            List<String> merged = rows(join(type, left, right).strategy(Join.Strategy.SORT_MERGE).execute());
+            List<String> hashed = rows(join(type, left, right).strategy(Join.Strategy.HASH).execute());
+            assertEquals(hashed, merged, type.name());
+        }
+        assertEquals(5, Join.inner(left, right).on("Key").execute().getRowCount());
+
+        ITable unsorted = table(new TableCore(), new String[]{"Key:int"}, new String[]{"2"}, new String[]{"1"});
+        assertThrows(IllegalArgumentException.class,
+                () -> Join.inner(unsorted, right).on("Key").strategy(Join.Strategy.SORT_MERGE).execute());
+        assertEquals(2, Join.inner(unsorted, right).on("Key").execute().getRowCount());
+    }
+
+    private static Join join(Join.Type type, ITable left, ITable right) {
+        switch (type) {
+            case INNER:
+                return Join.inner(left, right).on("Key");
+            case LEFT_OUTER:
+                return Join.leftOuter(left, right).on("Key");
+            case SEMI:
+                return Join.semi(left, right).on("Key");
+            default:
+                return Join.anti(left, right).on("Key");
+        }
+    }
+
+    /**
+     * Test composite keys, string keys and invalid join columns.
+     */
+    @Test
+    void testCompositeKeys() {
+        ITable left = table(new TableCore(), new String[]{"Region:string", "Year:int", "Sales:double"},
+                new String[]{"EU", "2023", "1.5"}, new String[]{"EU", "2024", "2.5"}, new String[]{"US", "2024", "3.5"});
+        ITable right = table(new TableCore(), new String[]{"Region:string", "Year:double", "Target:double"},
+                new String[]{"US", "2024.0", "3.0"}, new String[]{"EU", "2023", "1.0"});
+
+        ITable joined = Join.inner(left, right).on("Region").on("Year").rightSuffix("_t").execute();
+        assertEquals(List.of("EU,2023,1.5,EU,2023.0,1.0", "US,2024,3.5,US,2024.0,3.0"), rows(joined));
+        assertEquals("Region_t", joined.getColumnName(3));
+
+        assertThrows(IllegalArgumentException.class, () -> Join.inner(left, right).execute());
+        assertThrows(IllegalArgumentException.class, () -> Join.inner(left, right).on("Missing").execute());
+        assertThrows(IllegalArgumentException.class, () -> Join.inner(left, right).on("Region", "Year").execute());
+    }
+
+    /**
+     * Test that joined doubles print as the text they were read from, on either side and on
+     * every table implementation.
+     */
+    @Test
+    void testJoinKeepsDecimalScale() {
+        for (ITable[] sides : new ITable[][]{{new TableCore(), new TableCore()},
+                {new OptimizedTableCore(), new OptimizedTableCore()},
+                {new ColumnarTableCore(), new ColumnarTableCore()}}) {
+            ITable left = table(sides[0], new String[]{"Key:int", "Price:double"},
+                    new String[]{"1", "2.50"},
+                    new String[]{"2", "3.0"});
+            ITable right = table(sides[1], new String[]{"Key:int", "Rate:double"},
+                    new String[]{"1", "0.125"});
+
+            ITable joined = Join.leftOuter(left, right).on("Key").execute();
+            assertEquals(2, joined.getRowCount());
+            assertEquals("2.50", joined.getValueAt(0, "Price"));
+            assertEquals("0.125", joined.getValueAt(0, "Rate"));
+            assertEquals("3.0", joined.getValueAt(1, "Price"));
+            assertNull(joined.getValueAt(1, "Rate"));
+            assertEquals(-1, joined.getScale(1, 3));
+        }
+    }
+}
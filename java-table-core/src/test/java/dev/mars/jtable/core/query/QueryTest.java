@@ -0,0 +1,265 @@
+package dev.mars.jtable.core.query;
+
+import dev.mars.jtable.core.model.ITable;
+import dev.mars.jtable.core.table.ColumnarTableCore;
+import dev.mars.jtable.core.table.OptimizedTableCore;
+import dev.mars.jtable.core.table.TableCore;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for Query, Filter and Aggregate.
+ */
+public class QueryTest {
+
+    private static ITable newOrders(ITable table) {
+        LinkedHashMap<String, String> columns = new LinkedHashMap<>();
+        columns.put("Id", "int");
+        columns.put("Customer", "string");
+        columns.put("Price", "double");
+        columns.put("Active", "boolean");
+        table.setColumns(columns);
+        table.addRow(new String[]{"1", "Alice", "10.5", "true"});
+        table.addRow(new String[]{"2", "Bob", "7.25", "false"});
+        table.addRow(new String[]{"3", "Alice", "20.0", "true"});
+        table.addRow(new String[]{"4", "Carol", "3.0", "true"});
+        table.addRow(new String[]{"5", "Bob", "12.0", "true"});
+        return table;
+    }
+
+    /**
+     * Test filters, projection, ordering and limit on every table implementation.
+     */
+    @Test
+    void testFilterProjectOrderLimit() {
+        for (ITable orders : new ITable[]{newOrders(new TableCore()), newOrders(new OptimizedTableCore()),
+                newOrders(new ColumnarTableCore())}) {
+            ITable result = Query.from(orders)
+                    .where(Filter.gt("Price", 5).and(Filter.eq("Active", true)))
+                    .select("Customer", "Price")
+                    .orderBy("Price", false)
+                    .limit(2)
+                    .execute();
+
+            assertEquals(2, result.getColumnCount());
+            assertEquals("Customer", result.getColumnName(0));
+            assertEquals(2, result.getRowCount());
+            assertEquals("Alice", result.getValueObject(0, "Customer"));
+            assertEquals(20.0, result.getValueObject(0, "Price"));
+            assertEquals("Bob", result.getValueObject(1, "Customer"));
+        }
+    }
+
+    /**
+     * Test that a selected double prints as the text it was read from, as it does in the source.
+     */
+    @Test
+    void testSelectKeepsDecimalScale() {
+        for (ITable orders : new ITable[]{newOrders(new TableCore()), newOrders(new OptimizedTableCore()),
+                newOrders(new ColumnarTableCore())}) {
+            orders.addRow(new String[]{"6", "Dave", "2.50", "true"});
+            ITable result = Query.from(orders)
+                    .where(Filter.lt("Price", 5))
+                    .select("Customer", "Price")
+                    .orderBy("Price", true)
+                    .execute();
+
+            assertEquals(2, result.getRowCount());
+            assertEquals("2.50", result.getValueAt(0, "Price"));
+            assertEquals(2, result.getScale(0, 1));
+            assertEquals("3.0", result.getValueAt(1, "Price"));
+            assertEquals(-1, result.getScale(0, 0));
+        }
+    }
+
+    /**
+     * Test the comparison, null and boolean filters.
+     */
+    @Test
+    void testFilters() {
+        ITable orders = newOrders(new ColumnarTableCore());
+        orders.setValue(3, "Price", null);
+
+        assertEquals(2, Query.from(orders).where(Filter.between("Id", 2, 3)).execute().getRowCount());
+        assertEquals(1, Query.from(orders).where(Filter.le("Price", "7.25")).execute().getRowCount());
+        assertEquals(1, Query.from(orders).where(Filter.isNull("Price")).execute().getRowCount());
+        // A null never matches a comparison, but does match its negation
+        assertEquals(3, Query.from(orders).where(Filter.ne("Price", 7.25)).execute().getRowCount());
+        assertEquals(3, Query.from(orders).where(Filter.lt("Price", 11.0).negate()).execute().getRowCount());
+
+        ITable result = Query.from(orders)
+                .where(Filter.eq("Customer", "Carol").or(Filter.lt("Id", 3)))
+                .select("Id")
+                .execute();
+        assertEquals(3, result.getRowCount());
+        assertEquals(1, result.getValueObject(0, "Id"));
+        assertEquals(2, result.getValueObject(1, "Id"));
+        assertEquals(4, result.getValueObject(2, "Id"));
+
+        assertEquals(1, Query.from(orders).where(Filter.ge("Customer", "C")).execute().getRowCount());
+        assertThrows(IllegalArgumentException.class, () -> Query.from(orders).where(Filter.eq("Missing", 1)).execute());
+        assertThrows(IllegalArgumentException.class, () -> Query.from(orders).where(Filter.eq("Active", 1)).execute());
+        assertThrows(IllegalArgumentException.class, () -> Filter.eq("Id", null));
+    }
+
+    /**
+     * Test grouping with every aggregate function.
+     */
+    @Test
+    void testGroupByAggregates() {
+        ITable orders = newOrders(new OptimizedTableCore());
+
+        ITable result = Query.from(orders)
+                .groupBy("Customer")
+                .aggregate(Aggregate.sum("Price").as("Total"), Aggregate.count(), Aggregate.avg("Price"),
+                        Aggregate.min("Id"), Aggregate.max("Customer"))
+                .orderBy("Total", false)
+                .execute();
+
+        assertEquals(6, result.getColumnCount());
+        assertEquals("Customer", result.getColumnName(0));
+        assertEquals("Total", result.getColumnName(1));
+        assertEquals("count", result.getColumnName(2));
+        assertEquals("avg_Price", result.getColumnName(3));
+        assertEquals(3, result.getRowCount());
+
+        assertEquals("Alice", result.getValueObject(0, "Customer"));
+        assertEquals(30.5, result.getValueObject(0, "Total"));
+        assertEquals(2, result.getValueObject(0, "count"));
+        assertEquals(15.25, result.getValueObject(0, "avg_Price"));
+        assertEquals(1, result.getValueObject(0, "min_Id"));
+        assertEquals("Alice", result.getValueObject(0, "max_Customer"));
+        assertEquals("Bob", result.getValueObject(1, "Customer"));
+        assertEquals("Carol", result.getValueObject(2, "Customer"));
+    }
+
+    /**
+     * Test aggregates without group-by columns, including over no rows.
+     */
+    @Test
+    void testAggregatesWithoutGroups() {
+        ITable orders = newOrders(new TableCore());
+
+        ITable result = Query.from(orders)
+                .where(Filter.eq("Active", true))
+                .aggregate(Aggregate.count(), Aggregate.max("Price"))
+                .execute();
+        assertEquals(1, result.getRowCount());
+        assertEquals(4, result.getValueObject(0, "count"));
+        assertEquals(20.0, result.getValueObject(0, "max_Price"));
+
+        ITable empty = Query.from(orders)
+                .where(Filter.gt("Id", 100))
+                .aggregate(Aggregate.count(), Aggregate.sum("Price"))
+                .execute();
+        assertEquals(1, empty.getRowCount());
+        assertEquals(0, empty.getValueObject(0, "count"));
+        assertNull(empty.getValueObject(0, "sum_Price"));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> Query.from(orders).aggregate(Aggregate.sum("Customer")).execute());
+        assertThrows(IllegalArgumentException.class,
+                () -> Query.from(orders).select("Id").groupBy("Customer").execute());
+        assertThrows(IllegalArgumentException.class,
+                () -> Query.from(orders).groupBy("Customer").orderBy("Price").execute());
+    }
+
+    /**
+     * Test that equality filters, grouping and sorting on the codes of a dictionary-encoded
+     * column give the same results as on a plain String column.
+     */
+    @Test
+    void testDictionaryEncodedColumn() {
+        String[] statuses = {"open", "closed", "pending", null};
+        ITable plain = new TableCore();
+        ColumnarTableCore encoded = new ColumnarTableCore();
+        for (ITable table : new ITable[]{plain, encoded}) {
+            LinkedHashMap<String, String> columns = new LinkedHashMap<>();
+            columns.put("Id", "int");
+            columns.put("Status", "category");
+            table.setColumns(columns);
+            for (int i = 0; i < Query.BLOCK_SIZE + 500; i++) {
+                table.addRow(new String[]{String.valueOf(i), statuses[(i * 5) % statuses.length]});
+            }
+        }
+        assertNotNull(encoded.getDictionary(1));
+
+        for (Filter filter : new Filter[]{Filter.eq("Status", "closed"), Filter.ne("Status", "closed"),
+                Filter.eq("Status", "missing"), Filter.ne("Status", "missing")}) {
+            ITable expected = Query.from(plain).where(filter).execute();
+            ITable actual = Query.from(encoded).where(filter).execute();
+            assertEquals(expected.getRowCount(), actual.getRowCount());
+            for (int i = 0; i < expected.getRowCount(); i += 97) {
+                assertEquals(expected.getValueObject(i, "Id"), actual.getValueObject(i, "Id"));
+            }
+        }
+        assertEquals(0, Query.from(encoded).where(Filter.eq("Status", "missing")).execute().getRowCount());
+
+        Query grouped = Query.from(plain).groupBy("Status").aggregate(Aggregate.count()).orderBy("Status");
+        ITable expected = grouped.execute();
+        ITable actual = Query.from(encoded).groupBy("Status").aggregate(Aggregate.count()).orderBy("Status").execute();
+        assertEquals(4, actual.getRowCount());
+        for (int i = 0; i < expected.getRowCount(); i++) {
+            assertEquals(expected.getValueObject(i, "Status"), actual.getValueObject(i, "Status"));
+            assertEquals(expected.getValueObject(i, "count"), actual.getValueObject(i, "count"));
+        }
+
+        int[] expectedOrder = TableSorter.of(plain).by("Status", false).by("Id").sortedRowIndexes();
+        int[] actualOrder = TableSorter.of(encoded).by("Status", false).by("Id").sortedRowIndexes();
+        assertArrayEquals(expectedOrder, actualOrder);
+    }
+
+    /**
+     * Test that a parallel run over many blocks returns the same result as a sequential one.
+     */
+    @Test
+    void testParallelMatchesSequential() {
+        ColumnarTableCore table = new ColumnarTableCore();
+        LinkedHashMap<String, String> columns = new LinkedHashMap<>();
+        columns.put("Key", "int");
+        columns.put("Value", "double");
+        table.setColumns(columns);
+        int rows = Query.BLOCK_SIZE * 3 + 123;
+        Map<Integer, Double> expected = new HashMap<>();
+        for (int i = 0; i < rows; i++) {
+            int key = (i * 7) % 13;
+            double value = i % 100;
+            table.addRowValues(new Object[]{key, value});
+            if (value >= 50) {
+                expected.merge(key, value, Double::sum);
+            }
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Query query = Query.from(table)
+                    .where(Filter.ge("Value", 50))
+                    .groupBy("Key")
+                    .aggregate(Aggregate.sum("Value"), Aggregate.count())
+                    .orderBy("Key");
+            ITable sequential = query.execute();
+            ITable parallel = query.parallel(pool).execute();
+
+            assertEquals(13, parallel.getRowCount());
+            for (int i = 0; i < parallel.getRowCount(); i++) {
+                assertEquals(i, parallel.getValueObject(i, "Key"));
+                assertEquals(expected.get(i), parallel.getValueObject(i, "sum_Value"));
+                assertEquals(sequential.getValueObject(i, "sum_Value"), parallel.getValueObject(i, "sum_Value"));
+                assertEquals(sequential.getValueObject(i, "count"), parallel.getValueObject(i, "count"));
+            }
+
+            ITable selected = Query.from(table).where(Filter.eq("Key", 5)).parallel(pool).execute();
+            ITable selectedSequentially = Query.from(table).where(Filter.eq("Key", 5)).execute();
+            assertEquals(selectedSequentially.getRowCount(), selected.getRowCount());
+            assertEquals(selectedSequentially.getValueObject(100, "Value"), selected.getValueObject(100, "Value"));
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
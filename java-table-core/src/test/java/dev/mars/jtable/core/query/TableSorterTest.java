@@ -0,0 +1,154 @@
+package dev.mars.jtable.core.query;
+
+import dev.mars.jtable.core.model.ITable;
+import dev.mars.jtable.core.table.ColumnarTableCore;
+import dev.mars.jtable.core.table.OptimizedTableCore;
+import dev.mars.jtable.core.table.TableCore;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for TableSorter.
+ */
+public class TableSorterTest {
+
+    private static ITable newOrders(ITable table) {
+        LinkedHashMap<String, String> columns = new LinkedHashMap<>();
+        columns.put("Id", "int");
+        columns.put("Customer", "string");
+        columns.put("Price", "double");
+        table.setColumns(columns);
+        table.addRow(new String[]{"1", "Bob", "7.25"});
+        table.addRow(new String[]{"2", "Alice", "10.50"});
+        table.addRow(new String[]{"3", "Carol", "3.0"});
+        table.addRow(new String[]{"4", "Alice", "20.0"});
+        table.addRow(new String[]{"5", "Bob", "12.0"});
+        return table;
+    }
+
+    private static int[] ids(ITable table) {
+        int[] ids = new int[table.getRowCount()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = (Integer) table.getValueObject(i, "Id");
+        }
+        return ids;
+    }
+
+    /**
+     * Test sorting by several keys, ascending and descending, on every table implementation.
+     */
+    @Test
+    void testMultiKeySort() {
+        for (ITable orders : new ITable[]{newOrders(new TableCore()), newOrders(new OptimizedTableCore()),
+                newOrders(new ColumnarTableCore())}) {
+            int[] rows = TableSorter.of(orders).by("Customer").by("Price", false).sortedRowIndexes();
+            assertArrayEquals(new int[]{3, 1, 4, 0, 2}, rows);
+
+            assertArrayEquals(new int[]{4, 3, 2, 1, 0}, TableSorter.of(orders).by("Id", false).sortedRowIndexes());
+            // The table itself is left as it was
+            assertArrayEquals(new int[]{1, 2, 3, 4, 5}, ids(orders));
+        }
+    }
+
+    /**
+     * Test the placement of nulls and the stability of the sort.
+     */
+    @Test
+    void testNullsAndStability() {
+        ITable orders = newOrders(new ColumnarTableCore());
+        orders.setValue(2, "Price", null);
+        orders.setValue(4, "Price", null);
+
+        assertArrayEquals(new int[]{2, 4, 0, 1, 3}, TableSorter.of(orders).by("Price").sortedRowIndexes());
+        assertArrayEquals(new int[]{3, 1, 0, 2, 4}, TableSorter.of(orders).by("Price", false).sortedRowIndexes());
+        assertArrayEquals(new int[]{0, 1, 3, 2, 4}, TableSorter.of(orders).by("Price", true, false).sortedRowIndexes());
+        assertArrayEquals(new int[]{2, 4, 3, 1, 0}, TableSorter.of(orders).by("Price", false, true).sortedRowIndexes());
+
+        // Rows with equal keys keep their order
+        assertArrayEquals(new int[]{1, 3, 0, 4, 2}, TableSorter.of(orders).by("Customer").sortedRowIndexes());
+
+        assertThrows(IllegalArgumentException.class, () -> TableSorter.of(orders).sortedRowIndexes());
+        assertThrows(IllegalArgumentException.class, () -> TableSorter.of(orders).by("Missing").sortedRowIndexes());
+    }
+
+    /**
+     * Test sorting by an int key with negative, mixed-sign and extreme values.
+     */
+    @Test
+    void testNegativeIntKeys() {
+        int[] keys = {3, -1, 0, -5, 2, Integer.MIN_VALUE, Integer.MAX_VALUE, -1};
+        for (ITable table : new ITable[]{new TableCore(), new OptimizedTableCore(), new ColumnarTableCore()}) {
+            LinkedHashMap<String, String> columns = new LinkedHashMap<>();
+            columns.put("Key", "int");
+            table.setColumns(columns);
+            for (int key : keys) {
+                table.addRow(new String[]{String.valueOf(key)});
+            }
+
+            assertArrayEquals(new int[]{5, 3, 1, 7, 2, 4, 0, 6}, TableSorter.of(table).by("Key").sortedRowIndexes());
+            // Equal keys keep their order when descending too
+            assertArrayEquals(new int[]{6, 0, 4, 2, 1, 7, 3, 5}, TableSorter.of(table).by("Key", false).sortedRowIndexes());
+        }
+    }
+
+    /**
+     * Test that a parallel sort of a large table gives the same order as a sequential one.
+     */
+    @Test
+    void testParallelSort() {
+        ColumnarTableCore table = new ColumnarTableCore();
+        LinkedHashMap<String, String> columns = new LinkedHashMap<>();
+        columns.put("Group", "int");
+        columns.put("Value", "double");
+        table.setColumns(columns);
+        Random random = new Random(42);
+        for (int i = 0; i < 50_000; i++) {
+            table.addRowValues(new Object[]{random.nextInt(100), random.nextInt(10) == 0 ? null : random.nextDouble()});
+        }
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            assertArrayEquals(TableSorter.of(table).by("Group", false).by("Value").sortedRowIndexes(),
+                    TableSorter.of(table).by("Group", false).by("Value").parallel(pool).sortedRowIndexes());
+            assertArrayEquals(TableSorter.of(table).by("Group").sortedRowIndexes(),
+                    TableSorter.of(table).by("Group").parallel(pool).sortedRowIndexes());
+        } finally {
+            pool.shutdown();
+        }
+
+        int[] rows = TableSorter.of(table).by("Group", false).sortedRowIndexes();
+        for (int i = 1; i < rows.length; i++) {
+            int previous = table.getInt(rows[i - 1], 0);
+            int current = table.getInt(rows[i], 0);
+            assertTrue(previous > current || (previous == current && rows[i - 1] < rows[i]));
+        }
+    }
+
+    /**
+     * Test the sorted view and sorting in place, which keeps the text of double values.
+     */
+    @Test
+    void testSortedViewAndInPlace() {
+        ITable orders = newOrders(new TableCore());
+        ITable view = TableSorter.of(orders).by("Price").sortedView();
+        assertEquals(5, view.getRowCount());
+        assertEquals(3, view.getValueObject(0, "Id"));
+        assertEquals("10.50", view.getValueAt(2, "Price"));
+        assertThrows(UnsupportedOperationException.class, () -> view.addRow(new String[]{"6", "Dan", "1.0"}));
+
+        for (ITable table : new ITable[]{orders, newOrders(new OptimizedTableCore()), newOrders(new ColumnarTableCore())}) {
+            TableSorter.of(table).by("Price", false).sortInPlace();
+            assertArrayEquals(new int[]{4, 5, 2, 1, 3}, ids(table));
+            assertEquals("10.50", table.getValueAt(2, "Price"));
+            assertEquals("Alice", table.getValueObject(2, "Customer"));
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> orders.reorderRows(new int[]{0, 0, 1, 2, 3}));
+        assertThrows(UnsupportedOperationException.class,
+                () -> TableSorter.of(newOrders(new OptimizedTableCore(true))).by("Id").sortInPlace());
+    }
+}
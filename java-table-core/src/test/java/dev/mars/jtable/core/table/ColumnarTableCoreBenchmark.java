@@ -0,0 +1,113 @@
+package dev.mars.jtable.core.table;
+
+import dev.mars.jtable.core.model.ITable;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Benchmark comparing the heap footprint and column scan speed of ColumnarTableCore
+ * against OptimizedTableCore. Run the main method with a generous heap, e.g. -Xmx4g.
+ */
+public class ColumnarTableCoreBenchmark {
+
+    // Number of rows loaded into each table
+    private static final int ROWS = 1_000_000;
+
+    // Warm-up iterations to allow JVM optimizations
+    private static final int WARM_UP_ITERATIONS = 3;
+
+    // Benchmark iterations for averaging results
+    private static final int BENCHMARK_ITERATIONS = 10;
+
+    private static final String[] STATUSES = {"NEW", "OPEN", "PENDING", "CLOSED"};
+
+    // Keeps scan results reachable so the JIT cannot drop the loop
+    private static volatile double sink;
+
+    /**
+     * Main method to run the benchmarks.
+     */
+    public static void main(String[] args) {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : ROWS;
+        System.out.println("Running table core benchmarks with " + rows + " rows...");
+
+        Map<String, Supplier<ITable>> tableSuppliers = new LinkedHashMap<>();
+        tableSuppliers.put("OptimizedTableCore", OptimizedTableCore::new);
+        tableSuppliers.put("ColumnarTableCore", ColumnarTableCore::new);
+
+        System.out.println("Implementation\tHeap (MB)\tBytes/row\tLoad (ms)\tScan (ms)");
+        for (Map.Entry<String, Supplier<ITable>> entry : tableSuppliers.entrySet()) {
+            runBenchmark(entry.getKey(), entry.getValue(), rows);
+        }
+    }
+
+    private static void runBenchmark(String name, Supplier<ITable> supplier, int rows) {
+        long heapBefore = usedHeap();
+        long startTime = System.currentTimeMillis();
+        ITable table = load(supplier.get(), rows);
+        long loadTime = System.currentTimeMillis() - startTime;
+        long heapUsed = usedHeap() - heapBefore;
+
+        // Warm-up
+        for (int i = 0; i < WARM_UP_ITERATIONS; i++) {
+            scan(table);
+        }
+
+        // Benchmark
+        long totalTime = 0;
+        double checksum = 0;
+        for (int i = 0; i < BENCHMARK_ITERATIONS; i++) {
+            long scanStart = System.nanoTime();
+            checksum += scan(table);
+            totalTime += System.nanoTime() - scanStart;
+        }
+
+        System.out.println(name + "\t" + (heapUsed / (1024 * 1024)) + "\t" + (heapUsed / rows) + "\t"
+                + loadTime + "\t" + (totalTime / BENCHMARK_ITERATIONS / 1_000_000));
+        sink = checksum;
+    }
+
+    private static ITable load(ITable table, int rows) {
+        LinkedHashMap<String, String> columns = new LinkedHashMap<>();
+        columns.put("Id", "int");
+        columns.put("Status", "string");
+        columns.put("Price", "double");
+        columns.put("Active", "boolean");
+        table.setColumns(columns);
+
+        Map<String, String> row = new HashMap<>();
+        for (int i = 0; i < rows; i++) {
+            row.put("Id", String.valueOf(i));
+            row.put("Status", STATUSES[i % STATUSES.length]);
+            row.put("Price", (i % 1000) + ".50");
+            row.put("Active", String.valueOf(i % 3 == 0));
+            table.addRow(row);
+        }
+        return table;
+    }
+
+    /**
+     * Sums the Price column through the ITable interface.
+     */
+    private static double scan(ITable table) {
+        double sum = 0;
+        for (int i = 0; i < table.getRowCount(); i++) {
+            Object value = table.getValueObject(i, "Price");
+            if (value != null) {
+                sum += (Double) value;
+            }
+        }
+        return sum;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
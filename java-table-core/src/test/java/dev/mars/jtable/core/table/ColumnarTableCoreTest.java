@@ -0,0 +1,332 @@
+package dev.mars.jtable.core.table;
+
+import dev.mars.jtable.core.model.ICell;
+import dev.mars.jtable.core.model.IRow;
+import dev.mars.jtable.core.model.ITable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for ColumnarTableCore.
+ * This class verifies that ColumnarTableCore behaves like the row-based tables
+ * while storing its values in typed column vectors.
+ */
+public class ColumnarTableCoreTest {
+
+    private ColumnarTableCore table;
+
+    @BeforeEach
+    void setUp() {
+        table = new ColumnarTableCore();
+
+        LinkedHashMap<String, String> columns = new LinkedHashMap<>();
+        columns.put("Name", "string");
+        columns.put("Age", "int");
+        columns.put("Salary", "double");
+        columns.put("IsActive", "boolean");
+        table.setColumns(columns);
+    }
+
+    private Map<String, String> createRow(String name, String age, String salary, String isActive) {
+        Map<String, String> row = new HashMap<>();
+        row.put("Name", name);
+        row.put("Age", age);
+        row.put("Salary", salary);
+        row.put("IsActive", isActive);
+        return row;
+    }
+
+    @Test
+    void testAddAndRetrieveRows() {
+        table.addRow(createRow("Alice", "30", "50000.50", "true"));
+
+        assertEquals(1, table.getRowCount());
+        assertEquals("Alice", table.getValueAt(0, "Name"));
+        assertEquals("30", table.getValueAt(0, "Age"));
+        assertEquals("50000.50", table.getValueAt(0, "Salary"));
+        assertEquals("true", table.getValueAt(0, "IsActive"));
+
+        assertEquals(30, table.getValueObject(0, "Age"));
+        assertEquals(50000.5, table.getValueObject(0, "Salary"));
+        assertEquals(Boolean.TRUE, table.getValueObject(0, "IsActive"));
+    }
+
+    @Test
+    void testDoubleFormattingMatchesTableCore() {
+        TableCore reference = new TableCore();
+        LinkedHashMap<String, String> columns = new LinkedHashMap<>();
+        columns.put("Value", "double");
+        reference.setColumns(columns);
+        ColumnarTableCore columnar = new ColumnarTableCore();
+        columnar.setColumns(columns);
+
+        String[] values = {"1.0", "2.50", "-3.125", "100", "0.000", "42.10"};
+        for (String value : values) {
+            Map<String, String> row = new HashMap<>();
+            row.put("Value", value);
+            reference.addRow(row);
+            columnar.addRow(row);
+        }
+
+        for (int i = 0; i < values.length; i++) {
+            assertEquals(reference.getValueAt(i, "Value"), columnar.getValueAt(i, "Value"),
+                    "Formatting should match TableCore for " + values[i]);
+        }
+
+        // Values set as objects have no recorded scale
+        columnar.setValue(0, "Value", 7.25);
+        assertEquals("7.25", columnar.getValueAt(0, "Value"));
+    }
+
+    @Test
+    void testNullsAndMissingColumns() {
+        Map<String, String> row = new HashMap<>();
+        row.put("Name", "Bob");
+        row.put("Age", "");
+        table.addRow(row);
+
+        assertNull(table.getValueObject(0, "Age"), "Empty text should be stored as null");
+        assertNull(table.getValueAt(0, "Age"));
+        assertEquals(0.0, table.getValueObject(0, "Salary"), "Missing columns should get the default value");
+        assertEquals(Boolean.FALSE, table.getValueObject(0, "IsActive"));
+
+        table.setCreateDefaultValue(false);
+        assertThrows(IllegalArgumentException.class, () -> table.addRow(row));
+        assertEquals(1, table.getRowCount(), "A rejected row should not be added");
+    }
+
+    @Test
+    void testInvalidRowsAreRejected() {
+        Map<String, String> unknownColumn = createRow("Alice", "30", "1.5", "true");
+        unknownColumn.put("Unknown", "x");
+        assertThrows(IllegalArgumentException.class, () -> table.addRow(unknownColumn));
+
+        assertThrows(NumberFormatException.class, () -> table.addRow(createRow("Alice", "abc", "1.5", "true")));
+        assertEquals(0, table.getRowCount());
+
+        table.addRow(createRow("Bob", "25", "2.5", "false"));
+        assertThrows(IllegalArgumentException.class, () -> table.setValue(0, "Age", "not an int"));
+        assertThrows(IndexOutOfBoundsException.class, () -> table.getValueAt(1, "Age"));
+    }
+
+    @Test
+    void testAddRowByColumnIndex() {
+        String[] values = {"Alice", "30", "50000.50", "true"};
+        table.addRow(values);
+        values[0] = "Bob";
+        table.addRow(new String[]{"Carol", "41"});
+
+        assertEquals(2, table.getRowCount());
+        assertEquals("Alice", table.getValueAt(0, "Name"), "The values array should not be retained");
+        assertEquals("50000.50", table.getValueAt(0, "Salary"));
+        assertEquals(0.0, table.getValueObject(1, "Salary"));
+
+        assertThrows(IllegalArgumentException.class, () -> table.addRow(new String[]{"a", "1", "1.0", "true", "x"}));
+        table.setCreateDefaultValue(false);
+        assertThrows(IllegalArgumentException.class, () -> table.addRow(new String[]{"Dave"}));
+        assertEquals(2, table.getRowCount());
+    }
+
+    @Test
+    void testSetValueAt() {
+        table.addRow(createRow("Alice", "30", "50000.50", "true"));
+
+        table.setValueAt(0, "Age", "31");
+        table.setValueAt(0, "Salary", "60000.00");
+        table.setValueAt(0, "Name", "Alicia");
+
+        assertEquals("31", table.getValueAt(0, "Age"));
+        assertEquals("60000.00", table.getValueAt(0, "Salary"));
+        assertEquals("Alicia", table.getValueAt(0, "Name"));
+        assertThrows(IllegalArgumentException.class, () -> table.setValueAt(0, "Unknown", "x"));
+    }
+
+    @Test
+    void testRowViewsReadAndWriteThrough() {
+        table.addRow(createRow("Alice", "30", "50000.50", "true"));
+        table.addRow(createRow("Bob", "25", "40000.00", "false"));
+
+        IRow row = table.getRow(1);
+        assertEquals("Bob", row.getCell("Name").getValue());
+        assertSame(table, row.getTable());
+        assertEquals(4, row.getCells().size());
+
+        row.setValue("Age", 26);
+        assertEquals(26, table.getValueObject(1, "Age"));
+
+        @SuppressWarnings("unchecked")
+        ICell<Object> cell = (ICell<Object>) row.getCell("IsActive");
+        cell.setValue(true);
+        assertEquals("true", table.getValueAt(1, "IsActive"));
+
+        List<IRow> rows = table.getRows();
+        assertEquals(2, rows.size());
+        assertEquals("Alice", rows.get(0).getCell("Name").getValueAsString());
+    }
+
+    @Test
+    void testAddDetachedRow() {
+        IRow row = table.createRow();
+        row.setValue("Name", "Carol");
+        row.setValue("Age", 41);
+        table.addRow(row);
+
+        assertEquals(1, table.getRowCount());
+        assertEquals("Carol", table.getValueAt(0, "Name"));
+        assertEquals("41", table.getValueAt(0, "Age"));
+        assertEquals("0.0", table.getValueAt(0, "Salary"));
+    }
+
+    @Test
+    void testAddColumnAfterRows() {
+        table.addRow(createRow("Alice", "30", "1.5", "true"));
+        table.addColumn(ColumnFactory.createDateColumn("Joined"));
+
+        assertNull(table.getValueObject(0, "Joined"));
+        table.setValueAt(0, "Joined", "2024-02-29");
+        assertEquals(LocalDate.of(2024, 2, 29), table.getValueObject(0, "Joined"));
+        assertEquals("2024-02-29", table.getValueAt(0, "Joined"));
+        assertEquals(5, table.getColumnCount());
+    }
+
+    @Test
+    void testGrowsAcrossChunks() {
+        int rows = ColumnVector.CHUNK_SIZE * 3 + 17;
+        String[] statuses = {"NEW", "OPEN", "CLOSED"};
+        for (int i = 0; i < rows; i++) {
+            table.addRow(createRow(statuses[i % 3], String.valueOf(i), i + ".25", String.valueOf(i % 2 == 0)));
+        }
+
+        assertEquals(rows, table.getRowCount());
+        for (int i = 0; i < rows; i += 997) {
+            assertEquals(statuses[i % 3], table.getValueAt(i, "Name"));
+            assertEquals(i, table.getValueObject(i, "Age"));
+            assertEquals(i + ".25", table.getValueAt(i, "Salary"));
+            assertEquals(i % 2 == 0, table.getValueObject(i, "IsActive"));
+        }
+    }
+
+    @Test
+    void testAppendColumns() {
+        table.addRow(createRow("Alice", "30", "50000.50", "true"));
+
+        int rows = ColumnVector.CHUNK_SIZE + 100;
+        String[] names = new String[rows];
+        int[] ages = new int[rows];
+        double[] salaries = new double[rows];
+        long[] active = new long[(rows + 63) / 64];
+        long[] nullAges = new long[(rows + 63) / 64];
+        for (int i = 0; i < rows; i++) {
+            names[i] = i % 10 == 0 ? null : "Name" + (i % 3);
+            ages[i] = i;
+            salaries[i] = i + 0.5;
+            if (i % 2 == 0) {
+                active[i >>> 6] |= 1L << i;
+            }
+            if (i % 7 == 0) {
+                nullAges[i >>> 6] |= 1L << i;
+            }
+        }
+        table.appendColumns(rows, new Object[]{names, ages, salaries, active}, new long[][]{null, nullAges, null, null});
+
+        assertEquals(rows + 1, table.getRowCount());
+        assertEquals("50000.50", table.getValueAt(0, "Salary"), "Existing rows should be left as they were");
+        for (int i = 0; i < rows; i++) {
+            int row = i + 1;
+            assertEquals(names[i], table.getValueObject(row, "Name"));
+            assertEquals(i % 7 == 0 ? null : i, table.getValueObject(row, "Age"));
+            assertEquals(i + 0.5, table.getValueObject(row, "Salary"));
+            assertEquals(i % 2 == 0, table.getValueObject(row, "IsActive"));
+        }
+        assertEquals(List.of("Alice", "Name1", "Name2", "Name0"), table.getDictionary(0),
+                "Null rows should not enter the dictionary");
+
+        assertThrows(IllegalArgumentException.class,
+                () -> table.appendColumns(2, new Object[]{new String[2], new double[2], new double[2], new long[1]}, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> table.appendColumns(2, new Object[]{new String[2], new int[1], new double[2], new long[1]}, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> table.appendColumns(2, new Object[]{new String[2], new int[2]}, null));
+        assertEquals(rows + 1, table.getRowCount(), "A rejected append should not add rows");
+    }
+
+    @Test
+    void testStringColumnFallsBackFromDictionary() {
+        ColumnVector.StringVector vector = new ColumnVector.StringVector();
+        int values = ColumnVector.StringVector.MAX_DICTIONARY_SIZE + 10;
+        vector.ensureCapacity(values);
+        for (int i = 0; i < values; i++) {
+            vector.set(i, "value-" + i);
+        }
+        vector.set(3, null);
+
+        assertFalse(vector.isDictionaryEncoded());
+        assertEquals("value-0", vector.get(0));
+        assertNull(vector.get(3));
+        assertEquals("value-" + (values - 1), vector.get(values - 1));
+    }
+
+    @Test
+    void testDictionaryCodes() {
+        table.addRow(createRow("Alice", "30", "1.0", "true"));
+        table.addRow(createRow("Bob", "31", "2.0", "true"));
+        table.addRow(createRow("Alice", "32", "3.0", "false"));
+        table.addRow(createRow(null, "33", "4.0", "false"));
+
+        List<String> dictionary = table.getDictionary(0);
+        assertEquals(List.of("Alice", "Bob"), dictionary);
+        assertEquals(0, table.getCode(0, 0));
+        assertEquals(1, table.getCode(1, 0));
+        assertEquals(0, table.getCode(2, 0));
+        assertEquals(-1, table.getCode(3, 0));
+        assertThrows(UnsupportedOperationException.class, () -> dictionary.add("Carol"));
+
+        assertNull(table.getDictionary(1));
+        assertThrows(IllegalArgumentException.class, () -> table.getCode(0, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> table.getCode(4, 0));
+    }
+
+    @Test
+    void testTableBuilderWithColumnarTable() {
+        ITable built = new TableBuilder(new ColumnarTableCore("Built"))
+                .addStringColumn("Name")
+                .addIntColumn("Age")
+                .addRow("Name", "Alice", "Age", "30")
+                .addRow("Name", "Bob", "Age", "25")
+                .build();
+
+        assertTrue(built instanceof ColumnarTableCore);
+        assertEquals("Built", built.getName());
+        assertEquals(2, built.getRowCount());
+        assertEquals("25", built.getValueAt(1, "Age"));
+    }
+
+    @Test
+    void testTypedIndexAccessors() {
+        table.addRow(createRow("Alice", "30", "50000.50", "true"));
+        table.addRow(new String[]{"Bob", null, "1e3", "false"});
+
+        assertEquals(1, table.getColumnIndex("Age"));
+        assertEquals(-1, table.getColumnIndex("Missing"));
+        assertEquals(30, table.getInt(0, 1));
+        assertEquals(30.0, table.getDouble(0, 1));
+        assertEquals(1000.0, table.getDouble(1, 2));
+        assertFalse(table.getBoolean(1, 3));
+        assertEquals("50000.50", table.getString(0, 2));
+        assertEquals(table.getValueAt(1, "Salary"), table.getString(1, 2));
+
+        assertTrue(table.isNull(1, 1));
+        assertNull(table.getString(1, 1));
+        assertThrows(IllegalStateException.class, () -> table.getInt(1, 1));
+        assertThrows(IllegalArgumentException.class, () -> table.getDouble(0, 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> table.getInt(2, 1));
+    }
+}
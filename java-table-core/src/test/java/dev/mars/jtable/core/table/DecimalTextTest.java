@@ -0,0 +1,119 @@
+package dev.mars.jtable.core.table;
+
+import dev.mars.jtable.core.model.ITable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for DecimalText and the decimal cells of the row-based tables.
+ */
+public class DecimalTextTest {
+
+    @ParameterizedTest
+    @CsvSource({
+        "2.50, 2.50",
+        "-3.125, -3.125",
+        "0.000, 0.000",
+        "-0.05, -0.05",
+        "' 42.10 ', 42.10",
+        "+1.5, 1.5",
+        "7., 7",
+        "123456789012.345, 123456789012.345",
+        "12345678901234567.89, 12345678901234568.00",
+        "0.1234567890123456789, 0.1234567890123456800"
+    })
+    void testFormatWithScaleOfText(String text, String expected) {
+        assertEquals(expected, DecimalText.format(Double.parseDouble(text), DecimalText.scaleOf(text)));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "100, 100.0",
+        "0.1, 0.1",
+        "1e7, 10000000.0",
+        "1e-4, 0.0001",
+        "0.1234567890123, 0.123456789",
+        "-2.5e-12, 0.0",
+        "NaN, NaN",
+        "-Infinity, -Infinity"
+    })
+    void testFormatWithoutScale(double value, String expected) {
+        assertEquals(expected, DecimalText.format(value, -1));
+    }
+
+    @Test
+    void testScaleOf() {
+        assertEquals(2, DecimalText.scaleOf("-12.50"));
+        assertEquals(-1, DecimalText.scaleOf("100"));
+        assertEquals(-1, DecimalText.scaleOf("1.5e3"));
+        assertEquals(-1, DecimalText.scaleOf("1.2.3"));
+    }
+
+    /**
+     * Test that the row-based tables keep the fraction digits of parsed values across a reorder,
+     * and drop them when a value is set directly.
+     */
+    @Test
+    void testRowTablesKeepScaleInCells() {
+        for (ITable table : new ITable[]{new TableCore(), new OptimizedTableCore()}) {
+            LinkedHashMap<String, String> columns = new LinkedHashMap<>();
+            columns.put("Price", "double");
+            table.setColumns(columns);
+            table.addRow(new String[]{"1.50"});
+            table.addRow(new String[]{"2.000"});
+            table.addRow(new String[]{"3"});
+
+            table.reorderRows(new int[]{1, 2, 0});
+            assertEquals("2.000", table.getValueAt(0, "Price"));
+            assertEquals("3.0", table.getValueAt(1, "Price"));
+            assertEquals("1.50", table.getValueAt(2, "Price"));
+
+            table.setValueAt(1, "Price", "4.250");
+            assertEquals("4.250", table.getValueAt(1, "Price"));
+            table.setValue(0, "Price", 2.0);
+            assertEquals("2.0", table.getValueAt(0, "Price"));
+        }
+
+        // Concurrent rows replace the cell, which already holds the scale
+        OptimizedTableCore concurrent = new OptimizedTableCore(true);
+        LinkedHashMap<String, String> columns = new LinkedHashMap<>();
+        columns.put("Price", "double");
+        concurrent.setColumns(columns);
+        concurrent.addRow(new String[]{"1.50"});
+        assertEquals("1.50", concurrent.getValueAt(0, "Price"));
+        concurrent.setValueAt(0, "Price", "0.750");
+        assertEquals("0.750", concurrent.getValueAt(0, "Price"));
+    }
+
+    /**
+     * Test that a column missing from a row map gets the default value of its type in every
+     * table, the decimal column included.
+     */
+    @Test
+    void testMissingColumnsGetTypeDefaults() {
+        for (ITable table : new ITable[]{new TableCore(), new OptimizedTableCore(), new ColumnarTableCore()}) {
+            LinkedHashMap<String, String> columns = new LinkedHashMap<>();
+            columns.put("Name", "string");
+            columns.put("Price", "double");
+            columns.put("Quantity", "int");
+            columns.put("Active", "boolean");
+            table.setColumns(columns);
+            Map<String, String> row = new HashMap<>();
+            row.put("Name", "a");
+            table.addRow(row);
+
+            String tableType = table.getClass().getSimpleName();
+            assertEquals(0.0, table.getValueObject(0, "Price"), tableType);
+            assertEquals("0.0", table.getValueAt(0, "Price"), tableType);
+            assertEquals(0, table.getValueObject(0, "Quantity"), tableType);
+            assertEquals(Boolean.FALSE, table.getValueObject(0, "Active"), tableType);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package dev.mars.jtable.core.table;
+
+import dev.mars.jtable.core.model.IColumn;
+import dev.mars.jtable.core.model.ITable;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for DictionaryColumn.
+ */
+public class DictionaryColumnTest {
+
+    /**
+     * Test that the "category" type creates a dictionary column whose equal values share one instance.
+     */
+    @Test
+    void testCategoryColumnSharesValues() {
+        for (ITable table : new ITable[]{new TableCore(), new OptimizedTableCore()}) {
+            LinkedHashMap<String, String> columns = new LinkedHashMap<>();
+            columns.put("Currency", "category");
+            table.setColumns(columns);
+            table.addRow(new String[]{new String("EUR")});
+            table.addRow(new String[]{new String("EUR")});
+            table.addRow(new String[]{"USD"});
+
+            IColumn<?> column = table.getColumn("Currency");
+            assertTrue(column instanceof DictionaryColumn);
+            assertEquals(String.class, column.getType());
+            assertEquals(2, ((DictionaryColumn) column).getDictionarySize());
+            assertEquals("EUR", table.getValueObject(1, "Currency"));
+            assertSame(table.getValueObject(0, "Currency"), table.getValueObject(1, "Currency"));
+        }
+    }
+
+    /**
+     * Test interning of null values and of values added directly.
+     */
+    @Test
+    void testIntern() {
+        DictionaryColumn column = (DictionaryColumn) ColumnFactory.createDictionaryColumn("Status");
+        String open = column.intern(new String("open"));
+
+        assertSame(open, column.intern(new String("open")));
+        assertSame(open, column.createCell(new String("open")).getValue());
+        assertNull(column.intern(null));
+        assertEquals(1, column.getDictionarySize());
+    }
+}
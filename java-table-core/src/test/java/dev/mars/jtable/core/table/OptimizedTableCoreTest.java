@@ -10,6 +10,9 @@ import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -124,6 +127,34 @@ public class OptimizedTableCoreTest {
         assertThrows(IllegalArgumentException.class, () -> tableWithoutDefaults.addRow(row));
     }
 
+    /**
+     * Test that rows given in column order match rows added from a map.
+     */
+    @Test
+    void testAddRowByColumnIndex() {
+        String[] values = {"Alice", "30", "50000.50", "true"};
+        optimizedTable.addRow(values);
+        standardTable.addRow(values);
+
+        for (ITable table : new ITable[]{optimizedTable, standardTable}) {
+            assertEquals(1, table.getRowCount());
+            assertEquals("Alice", table.getValueAt(0, "Name"));
+            assertEquals(30, table.getValueObject(0, "Age"));
+            assertEquals("50000.50", table.getValueAt(0, "Salary"));
+            assertEquals(Boolean.TRUE, table.getValueObject(0, "IsActive"));
+        }
+
+        // Missing trailing values get defaults, extra values are rejected
+        optimizedTable.addRow(new String[]{"Bob", "25"});
+        assertEquals("0.0", optimizedTable.getValueAt(1, "Salary"));
+        assertThrows(IllegalArgumentException.class,
+                () -> optimizedTable.addRow(new String[]{"Carol", "41", "1.0", "true", "extra"}));
+
+        optimizedTable.setCreateDefaultValue(false);
+        assertThrows(IllegalArgumentException.class, () -> optimizedTable.addRow(new String[]{"Dave"}));
+        assertEquals(2, optimizedTable.getRowCount());
+    }
+
     /**
      * Test that OptimizedTableCore correctly infers types.
      */
@@ -213,11 +244,11 @@ public class OptimizedTableCoreTest {
         // Set up columns
         LinkedHashMap<String, String> columns = new LinkedHashMap<>();
         columns.put("Name", "string");
-        columns.put("Salary", "double"); // We'll focus on double values to test originalDoubleStrings map
+        columns.put("Salary", "double"); // We'll focus on double values to test the decimal cells
         concurrentTableWithSizing.setColumns(columns);
         concurrentTableWithoutSizing.setColumns(columns);
 
-        // Prepare test data - all rows have double values to ensure originalDoubleStrings is used
+        // Prepare test data - all rows have double values parsed from decimal text
         List<Map<String, String>> testRows = new ArrayList<>(numRows);
         for (int i = 0; i < numRows; i++) {
             Map<String, String> row = new HashMap<>();
@@ -294,4 +325,90 @@ public class OptimizedTableCoreTest {
         assertEquals("50000.50", concurrentTable.getValueAt(0, "Salary"));
         assertEquals("true", concurrentTable.getValueAt(0, "IsActive"));
     }
+
+    /**
+     * Test that writers on several threads append gap-free rows to a concurrent table and can
+     * update them while other rows are still being added.
+     */
+    @Test
+    void testConcurrentWriters() throws Exception {
+        OptimizedTableCore concurrentTable = new OptimizedTableCore(true);
+        LinkedHashMap<String, String> columns = new LinkedHashMap<>();
+        columns.put("Writer", "int");
+        columns.put("Sequence", "int");
+        columns.put("Salary", "double");
+        concurrentTable.setColumns(columns);
+
+        int writers = 4;
+        int rowsPerWriter = 5000;
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int w = 0; w < writers; w++) {
+                int writer = w;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < rowsPerWriter; i++) {
+                        concurrentTable.addRow(new String[]{String.valueOf(writer), String.valueOf(i), i + ".50"});
+                        // Every row seen so far must be complete
+                        int visible = concurrentTable.getRowCount();
+                        assertNotNull(concurrentTable.getRow(visible - 1));
+                        concurrentTable.setValueAt(i % visible, "Salary", "1.25");
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(writers * rowsPerWriter, concurrentTable.getRowCount());
+        int[] nextSequence = new int[writers];
+        for (int i = 0; i < concurrentTable.getRowCount(); i++) {
+            int writer = concurrentTable.getInt(i, 0);
+            assertEquals(nextSequence[writer]++, concurrentTable.getInt(i, 1));
+            String salary = concurrentTable.getValueAt(i, "Salary");
+            assertEquals(Double.parseDouble(salary), concurrentTable.getDouble(i, 2));
+        }
+        for (int count : nextSequence) {
+            assertEquals(rowsPerWriter, count);
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> concurrentTable.getRow(writers * rowsPerWriter));
+    }
+
+    /**
+     * Test that the index-based accessors agree with the name-based ones on every row-based table.
+     */
+    @Test
+    void testTypedIndexAccessors() {
+        Table wrapper = new Table();
+        LinkedHashMap<String, String> columns = new LinkedHashMap<>();
+        columns.put("Name", "string");
+        columns.put("Age", "int");
+        columns.put("Salary", "double");
+        columns.put("IsActive", "boolean");
+        wrapper.setColumns(columns);
+
+        for (ITable table : List.of(optimizedTable, standardTable, wrapper)) {
+            table.addRow(new String[]{"Alice", "30", "50000.50", "true"});
+            table.setValue(0, "Name", null);
+
+            assertEquals(2, table.getColumnIndex("Salary"));
+            assertEquals(-1, table.getColumnIndex("Missing"));
+            assertEquals(30, table.getInt(0, 1));
+            assertEquals(30.0, table.getDouble(0, 1));
+            assertEquals(50000.5, table.getDouble(0, 2));
+            assertTrue(table.getBoolean(0, 3));
+            assertEquals("50000.50", table.getString(0, 2));
+            assertTrue(table.isNull(0, 0));
+            assertFalse(table.isNull(0, 1));
+            assertNull(table.getString(0, 0));
+
+            assertThrows(IllegalArgumentException.class, () -> table.getInt(0, 2));
+            assertThrows(IllegalArgumentException.class, () -> table.getBoolean(0, 1));
+            assertThrows(IndexOutOfBoundsException.class, () -> table.getInt(1, 1));
+            assertThrows(IndexOutOfBoundsException.class, () -> table.getInt(0, 4));
+        }
+    }
 }
@@ -77,14 +77,14 @@ public class ProfiledOptimizedTableCoreTest {
         System.out.println("=== Rows Profiler Report ===");
         System.out.println(profiledTable.getRowsProfiler().generateReport());
 
-        System.out.println("=== DoubleStrings Profiler Report ===");
-        System.out.println(profiledTable.getDoubleStringsProfiler().generateReport());
+        System.out.println("=== DecimalText Profiler Report ===");
+        System.out.println(profiledTable.getDecimalTextProfiler().generateReport());
 
         // Verify that operations were tracked
         assertTrue(profiledTable.getColumnsProfiler().generateReport().contains("Write operations:"));
         assertTrue(profiledTable.getRowsProfiler().generateReport().contains("Write operations: 10")); // 10 row additions
-        assertTrue(profiledTable.getDoubleStringsProfiler().generateReport().contains("Read operations:")); // getValueAt operations
-        assertTrue(profiledTable.getDoubleStringsProfiler().generateReport().contains("Write operations:")); // setValueAt operations
+        assertTrue(profiledTable.getDecimalTextProfiler().generateReport().contains("Read operations:")); // getValueAt operations
+        assertTrue(profiledTable.getDecimalTextProfiler().generateReport().contains("Write operations:")); // setValueAt operations
     }
 
     /**
@@ -198,20 +198,20 @@ public class ProfiledOptimizedTableCoreTest {
 
         // Verify that operations were tracked
         String rowsReport = concurrentTable.getRowsProfiler().generateReport();
-        String doubleStringsReport = concurrentTable.getDoubleStringsProfiler().generateReport();
+        String decimalTextReport = concurrentTable.getDecimalTextProfiler().generateReport();
 
-        // Print the entire doubleStringsReport for debugging
-        System.out.println("[DEBUG_LOG] DoubleStrings Profiler Report:");
-        System.out.println("[DEBUG_LOG] " + doubleStringsReport.replace("\n", "\n[DEBUG_LOG] "));
+        // Print the entire decimalTextReport for debugging
+        System.out.println("[DEBUG_LOG] DecimalText Profiler Report:");
+        System.out.println("[DEBUG_LOG] " + decimalTextReport.replace("\n", "\n[DEBUG_LOG] "));
 
         // Verify row additions
         assertTrue(rowsReport.contains("Write operations: " + (numThreads * operationsPerThread)));
 
-        // Verify read operations on double strings
-        assertTrue(doubleStringsReport.contains("Read operations:"));
+        // Verify read operations on decimal text
+        assertTrue(decimalTextReport.contains("Read operations:"));
 
         // Extract the number of read operations from the report
-        String readOpsLine = doubleStringsReport.lines()
+        String readOpsLine = decimalTextReport.lines()
             .filter(line -> line.contains("Read operations:"))
             .findFirst()
             .orElseThrow(() -> new AssertionError("Read operations line not found in report"));
@@ -220,20 +220,20 @@ public class ProfiledOptimizedTableCoreTest {
 
         // We expect at least some read operations since each thread reads the "Value" column (which is a Double)
         if (readOps == 0) {
-            throw new AssertionError("Expected non-zero read operations for doubleStrings, but got: " + readOps + "\nReport: " + doubleStringsReport);
+            throw new AssertionError("Expected non-zero read operations for decimal text, but got: " + readOps + "\nReport: " + decimalTextReport);
         }
 
         // Print the actual number of read operations
-        System.out.println("[DEBUG_LOG] Number of read operations for doubleStrings: " + readOps);
+        System.out.println("[DEBUG_LOG] Number of read operations for decimal text: " + readOps);
 
         // Check for potential bottlenecks (high max times compared to average)
-        if (doubleStringsReport.contains("Max read time:") && doubleStringsReport.contains("Avg read time:")) {
-            String maxReadLine = doubleStringsReport.lines()
+        if (decimalTextReport.contains("Max read time:") && decimalTextReport.contains("Avg read time:")) {
+            String maxReadLine = decimalTextReport.lines()
                 .filter(line -> line.contains("Max read time:"))
                 .findFirst()
                 .orElse("");
 
-            String avgReadLine = doubleStringsReport.lines()
+            String avgReadLine = decimalTextReport.lines()
                 .filter(line -> line.contains("Avg read time:"))
                 .findFirst()
                 .orElse("");
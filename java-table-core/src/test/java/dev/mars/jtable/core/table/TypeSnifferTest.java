@@ -0,0 +1,95 @@
+package dev.mars.jtable.core.table;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for TypeSniffer.
+ */
+public class TypeSnifferTest {
+
+    @ParameterizedTest
+    @CsvSource({
+        "42, int",
+        "-2147483648, int",
+        "2147483648, string",
+        "12345678901234567890123, string",
+        "+7, string",
+        "3.14, double",
+        "'1.5e-3', double",
+        "-.5, double",
+        "7., double",
+        "-Infinity, double",
+        "NaN, double",
+        "TRUE, boolean",
+        "2024-02-29, date",
+        "2023-02-29, string",
+        "23:59:59, time",
+        "24:00:00, string",
+        "2024-01-15T09:30:00, datetime",
+        "2024-01-15 09:30:00, string",
+        "1-2-3, string",
+        "1.2.3, string",
+        "'1e', string",
+        "abc, string"
+    })
+    void testInferType(String value, String expectedType) {
+        assertEquals(expectedType, TypeSniffer.inferType(value));
+    }
+
+    @Test
+    void testInferTypeIgnoresSurroundingWhitespace() {
+        assertEquals("int", TypeSniffer.inferType("  12\t"));
+        assertEquals("string", TypeSniffer.inferType("   "));
+        assertEquals("string", TypeSniffer.inferType(null));
+    }
+
+    @Test
+    void testSampleWidensColumnTypes() {
+        TypeSniffer sniffer = new TypeSniffer(5);
+        sniffer.sample(new String[]{"1", "1", "1", "true", ""});
+        sniffer.sample(new String[]{"2", "9999999999", "2.5", "1"});
+        sniffer.sample(new String[]{"", "3", "4", "false", null});
+
+        assertEquals(3, sniffer.getSampledRows());
+        assertEquals("int", sniffer.getColumnType(0));
+        assertEquals("string", sniffer.getColumnType(1));
+        assertEquals("double", sniffer.getColumnType(2));
+        assertEquals("string", sniffer.getColumnType(3));
+        assertEquals("string", sniffer.getColumnType(4));
+    }
+
+    @Test
+    void testCategoryColumns() {
+        TypeSniffer sniffer = new TypeSniffer(3);
+        TypeSniffer disabled = new TypeSniffer(3, 0);
+        for (int i = 0; i < 100; i++) {
+            String[] row = {i % 2 == 0 ? "EUR" : "USD", "name-" + i, String.valueOf(i % 3)};
+            sniffer.sample(row);
+            disabled.sample(row);
+        }
+
+        assertEquals("category", sniffer.getColumnType(0));
+        assertEquals("string", sniffer.getColumnType(1));
+        assertEquals("int", sniffer.getColumnType(2));
+        assertEquals("string", disabled.getColumnType(0));
+
+        TypeSniffer few = new TypeSniffer(1);
+        few.sample(new String[]{"EUR"});
+        few.sample(new String[]{"EUR"});
+        assertEquals("string", few.getColumnType(0));
+        assertThrows(IllegalArgumentException.class, () -> new TypeSniffer(1, -1));
+    }
+
+    @Test
+    void testLongWidensToDouble() {
+        TypeSniffer sniffer = new TypeSniffer(1);
+        sniffer.sample(new String[]{"9999999999"});
+        sniffer.sample(new String[]{"0.5"});
+
+        assertEquals("double", sniffer.getColumnType(0));
+    }
+}
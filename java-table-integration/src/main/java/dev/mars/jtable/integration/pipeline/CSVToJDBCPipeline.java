@@ -0,0 +1,376 @@
+package dev.mars.jtable.integration.pipeline;
+
+import dev.mars.jtable.io.common.datasource.DbConnection;
+import dev.mars.jtable.io.common.datasource.IRowSink;
+import dev.mars.jtable.io.common.mapping.MappingConfiguration;
+import dev.mars.jtable.io.files.csv.CSVMappingReader;
+import dev.mars.jtable.io.files.jdbc.JDBCMappingWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Streams a CSV file straight into a database table without building an intermediate table.
+ * <p>
+ * A reader thread parses and maps the CSV file with {@link CSVMappingReader#readRows} and hands
+ * the mapped rows to the calling thread in batches through a bounded queue. The calling thread
+ * binds each row to a single reusable {@link PreparedStatement}, executes the statement in batches,
+ * and commits at a fixed row interval. When the database falls behind, the queue fills up and the
+ * reader blocks, so memory stays bounded by the queue capacity times the batch size.
+ * <p>
+ * The CSV mapping configuration supplies both sides of the pipeline. The target column names and
+ * types of its column mappings become the database columns, and these options are supported
+ * alongside the usual CSV reader options:
+ * <ul>
+ *   <li>{@code tableName} (required): the database table to insert into</li>
+ *   <li>{@code createTable}: whether to create the table if it does not exist, false by default</li>
+ *   <li>{@code batchSize}: the number of rows per JDBC batch, {@value #DEFAULT_BATCH_SIZE} by default</li>
+ *   <li>{@code commitInterval}: the number of rows per transaction, {@value #DEFAULT_COMMIT_INTERVAL} by default</li>
+ *   <li>{@code queueCapacity}: the number of batches the reader may run ahead, {@value #DEFAULT_QUEUE_CAPACITY} by default</li>
+ * </ul>
+ */
+public class CSVToJDBCPipeline {
+    private static final Logger logger = LoggerFactory.getLogger(CSVToJDBCPipeline.class);
+
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+    public static final int DEFAULT_COMMIT_INTERVAL = 10000;
+    public static final int DEFAULT_QUEUE_CAPACITY = 8;
+
+    /**
+     * Marks the end of the rows in the queue. Compared by identity.
+     */
+    private static final List<String[]> END_OF_ROWS = new ArrayList<>(0);
+
+    private final CSVMappingReader csvReader = new CSVMappingReader();
+
+    /**
+     * Runs the pipeline, streaming every row of the CSV file into the database table.
+     * The connection is left open, and its auto-commit mode is restored afterwards. If any row
+     * fails, the current transaction is rolled back; rows from earlier commits remain.
+     *
+     * @param csvConfig the mapping configuration for the CSV file and the target table
+     * @param connection the database connection to write to
+     * @return the result of the run, including the throughput
+     * @throws IllegalArgumentException if an argument or option is invalid
+     * @throws IOException if there is an error reading the CSV file
+     * @throws SQLException if there is an error writing to the database
+     */
+    public PipelineResult run(MappingConfiguration csvConfig, DbConnection connection) throws IOException, SQLException {
+        if (csvConfig == null) {
+            throw new IllegalArgumentException("Mapping configuration cannot be null");
+        }
+        if (connection == null) {
+            throw new IllegalArgumentException("Database connection cannot be null");
+        }
+        String tableName = (String) csvConfig.getOption("tableName", null);
+        if (tableName == null || tableName.trim().isEmpty()) {
+            throw new IllegalArgumentException("'tableName' must be specified in options");
+        }
+        boolean createTable = (boolean) csvConfig.getOption("createTable", false);
+        int batchSize = getPositiveIntOption(csvConfig, "batchSize", DEFAULT_BATCH_SIZE);
+        int commitInterval = getPositiveIntOption(csvConfig, "commitInterval", DEFAULT_COMMIT_INTERVAL);
+        int queueCapacity = getPositiveIntOption(csvConfig, "queueCapacity", DEFAULT_QUEUE_CAPACITY);
+
+        if (!connection.isConnected() && !connection.connect()) {
+            throw new SQLException("Failed to connect to database: " + connection.getConnectionString());
+        }
+        Connection jdbcConnection = (Connection) connection.getRawConnection();
+
+        LinkedHashMap<String, String> columns = csvConfig.createColumnDefinitions();
+        BlockingQueue<List<String[]>> queue = new ArrayBlockingQueue<>(queueCapacity);
+        BatchingRowSink reader = new BatchingRowSink(queue, batchSize);
+        Thread readerThread = new Thread(() -> reader.read(csvReader, csvConfig), "csv-pipeline-reader");
+        readerThread.setDaemon(true);
+
+        long startTime = System.nanoTime();
+        boolean autoCommit = jdbcConnection.getAutoCommit();
+        readerThread.start();
+        try {
+            jdbcConnection.setAutoCommit(false);
+            if (createTable) {
+                createTable(jdbcConnection, tableName, columns);
+            }
+
+            long rowsWritten = write(jdbcConnection, insertSql(tableName, columns), columns, queue,
+                    reader, batchSize, commitInterval, startTime);
+
+            PipelineResult result = new PipelineResult(rowsWritten, System.nanoTime() - startTime);
+            logger.info("Wrote {} rows to table {} in {} ms ({} rows/sec)", result.getRowsWritten(), tableName,
+                    result.getElapsedMillis(), Math.round(result.getRowsPerSecond()));
+            return result;
+        } catch (SQLException | IOException | RuntimeException e) {
+            // Stop the reader if it is still running and discard the uncommitted rows
+            readerThread.interrupt();
+            rollback(jdbcConnection);
+            logger.error("CSV to JDBC pipeline failed: {}", e.getMessage());
+            throw e;
+        } finally {
+            joinReader(readerThread);
+            jdbcConnection.setAutoCommit(autoCommit);
+        }
+    }
+
+    /**
+     * Takes batches from the queue and writes them until the reader signals the end of the rows.
+     *
+     * @return the number of rows written
+     */
+    private long write(Connection jdbcConnection, String insertSql, LinkedHashMap<String, String> columns, BlockingQueue<List<String[]>> queue,
+                       BatchingRowSink reader, int batchSize, int commitInterval, long startTime) throws SQLException, IOException {
+        String[] names = columns.keySet().toArray(new String[0]);
+        int[] types = columnTypes(columns);
+        long rowsWritten = 0;
+        long rowsSinceCommit = 0;
+        int rowsInBatch = 0;
+
+        try (PreparedStatement statement = jdbcConnection.prepareStatement(insertSql)) {
+            List<String[]> batch;
+            while ((batch = take(queue)) != END_OF_ROWS) {
+                for (String[] values : batch) {
+                    bind(statement, names, types, values, rowsWritten + 1);
+                    statement.addBatch();
+                    rowsWritten++;
+                    rowsSinceCommit++;
+
+                    if (++rowsInBatch == batchSize) {
+                        statement.executeBatch();
+                        rowsInBatch = 0;
+                    }
+                    if (rowsSinceCommit == commitInterval) {
+                        if (rowsInBatch > 0) {
+                            statement.executeBatch();
+                            rowsInBatch = 0;
+                        }
+                        jdbcConnection.commit();
+                        rowsSinceCommit = 0;
+                        if (logger.isDebugEnabled()) {
+                            double seconds = (System.nanoTime() - startTime) / 1e9;
+                            logger.debug("Committed {} rows ({} rows/sec)", rowsWritten, Math.round(rowsWritten / seconds));
+                        }
+                    }
+                }
+            }
+            reader.checkError();
+
+            if (rowsInBatch > 0) {
+                statement.executeBatch();
+            }
+            jdbcConnection.commit();
+        }
+        return rowsWritten;
+    }
+
+    /**
+     * Binds the values of a row to the parameters of the insert statement by column type.
+     * Empty values are bound as SQL NULL for non-string columns.
+     */
+    private static void bind(PreparedStatement statement, String[] names, int[] types, String[] values, long rowNumber) throws SQLException {
+        for (int i = 0; i < types.length; i++) {
+            String value = values[i];
+            int parameter = i + 1;
+            if (types[i] == Types.VARCHAR) {
+                statement.setString(parameter, value);
+                continue;
+            }
+            if (value == null || value.trim().isEmpty()) {
+                statement.setNull(parameter, types[i]);
+                continue;
+            }
+            try {
+                switch (types[i]) {
+                    case Types.INTEGER:
+                        statement.setInt(parameter, Integer.parseInt(value.trim()));
+                        break;
+                    case Types.DOUBLE:
+                        statement.setDouble(parameter, Double.parseDouble(value.trim()));
+                        break;
+                    default:
+                        statement.setBoolean(parameter, Boolean.parseBoolean(value.trim()));
+                        break;
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid value '" + value + "' for column " + names[i]
+                        + " in row " + rowNumber, e);
+            }
+        }
+    }
+
+    private static String insertSql(String tableName, LinkedHashMap<String, String> columns) {
+        StringBuilder sql = new StringBuilder("INSERT INTO ").append(tableName).append(" (");
+        sql.append(String.join(", ", columns.keySet())).append(") VALUES (");
+        for (int i = 0; i < columns.size(); i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        return sql.append(")").toString();
+    }
+
+    private static void createTable(Connection connection, String tableName, LinkedHashMap<String, String> columns) throws SQLException {
+        StringBuilder sql = new StringBuilder("CREATE TABLE IF NOT EXISTS ").append(tableName).append(" (");
+        boolean first = true;
+        for (Map.Entry<String, String> column : columns.entrySet()) {
+            if (!first) {
+                sql.append(", ");
+            }
+            sql.append(column.getKey()).append(" ").append(JDBCMappingWriter.mapTableTypeToSqlType(column.getValue()));
+            first = false;
+        }
+        sql.append(")");
+
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate(sql.toString());
+        }
+    }
+
+    /**
+     * Maps the table type of each column to the SQL type used to bind its values.
+     */
+    private static int[] columnTypes(LinkedHashMap<String, String> columns) {
+        int[] types = new int[columns.size()];
+        int i = 0;
+        for (String type : columns.values()) {
+            switch (type) {
+                case "int":
+                    types[i++] = Types.INTEGER;
+                    break;
+                case "double":
+                    types[i++] = Types.DOUBLE;
+                    break;
+                case "boolean":
+                    types[i++] = Types.BOOLEAN;
+                    break;
+                default:
+                    types[i++] = Types.VARCHAR;
+                    break;
+            }
+        }
+        return types;
+    }
+
+    private static List<String[]> take(BlockingQueue<List<String[]>> queue) throws IOException {
+        try {
+            return queue.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for CSV rows", e);
+        }
+    }
+
+    private static void rollback(Connection connection) {
+        try {
+            connection.rollback();
+        } catch (SQLException e) {
+            logger.warn("Rollback failed: {}", e.getMessage());
+        }
+    }
+
+    private static void joinReader(Thread readerThread) {
+        try {
+            readerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static int getPositiveIntOption(MappingConfiguration config, String name, int defaultValue) {
+        Object value = config.getOption(name, defaultValue);
+        int result;
+        try {
+            result = value instanceof Number ? ((Number) value).intValue() : Integer.parseInt(value.toString().trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Option '" + name + "' must be a number: " + value);
+        }
+        if (result <= 0) {
+            throw new IllegalArgumentException("Option '" + name + "' must be positive: " + value);
+        }
+        return result;
+    }
+
+    /**
+     * Collects mapped rows into batches and puts them on the queue, blocking while it is full.
+     * Runs on the reader thread.
+     */
+    private static final class BatchingRowSink implements IRowSink {
+        private final BlockingQueue<List<String[]>> queue;
+        private final int batchSize;
+        private List<String[]> batch;
+        private volatile Throwable error;
+
+        BatchingRowSink(BlockingQueue<List<String[]>> queue, int batchSize) {
+            this.queue = queue;
+            this.batchSize = batchSize;
+            this.batch = new ArrayList<>(batchSize);
+        }
+
+        void read(CSVMappingReader csvReader, MappingConfiguration csvConfig) {
+            try {
+                csvReader.readRows(csvConfig, this);
+            } catch (Throwable e) {
+                error = e;
+            }
+            try {
+                queue.put(END_OF_ROWS);
+            } catch (InterruptedException e) {
+                // The writer has failed and no longer reads the queue
+            }
+        }
+
+        @Override
+        public void start(LinkedHashMap<String, String> columns) {
+        }
+
+        @Override
+        public void row(String[] values) throws IOException {
+            // The reader reuses its value array, so each row is copied
+            batch.add(Arrays.copyOf(values, values.length));
+            if (batch.size() == batchSize) {
+                put(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+
+        @Override
+        public void end() throws IOException {
+            if (!batch.isEmpty()) {
+                put(batch);
+            }
+        }
+
+        private void put(List<String[]> rows) throws IOException {
+            try {
+                queue.put(rows);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Pipeline was stopped while reading CSV rows", e);
+            }
+        }
+
+        /**
+         * Rethrows the error that stopped the reader, if any.
+         */
+        void checkError() throws IOException {
+            Throwable e = error;
+            if (e instanceof IOException) {
+                throw (IOException) e;
+            }
+            if (e instanceof RuntimeException) {
+                throw (RuntimeException) e;
+            }
+            if (e != null) {
+                throw new IOException("Error reading CSV file: " + e.getMessage(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package dev.mars.jtable.integration.pipeline;
+
+/**
+ * The outcome of a pipeline run: how many rows were written and how fast.
+ */
+public class PipelineResult {
+    private final long rowsWritten;
+    private final long elapsedNanos;
+
+    public PipelineResult(long rowsWritten, long elapsedNanos) {
+        this.rowsWritten = rowsWritten;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Gets the number of rows written to the database.
+     *
+     * @return the number of rows
+     */
+    public long getRowsWritten() {
+        return rowsWritten;
+    }
+
+    /**
+     * Gets the wall-clock time of the run in milliseconds.
+     *
+     * @return the elapsed time
+     */
+    public long getElapsedMillis() {
+        return elapsedNanos / 1_000_000;
+    }
+
+    /**
+     * Gets the sustained throughput of the run.
+     *
+     * @return the number of rows written per second
+     */
+    public double getRowsPerSecond() {
+        return elapsedNanos == 0 ? 0 : rowsWritten * 1e9 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "PipelineResult{rowsWritten=" + rowsWritten + ", elapsedMillis=" + getElapsedMillis()
+                + ", rowsPerSecond=" + Math.round(getRowsPerSecond()) + "}";
+    }
+}
@@ -0,0 +1,142 @@
+package dev.mars.jtable.integration.pipeline;
+
+import dev.mars.jtable.io.common.datasource.DbConnection;
+import dev.mars.jtable.io.common.mapping.ColumnMapping;
+import dev.mars.jtable.io.common.mapping.MappingConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for CSVToJDBCPipeline.
+ * Streams generated CSV files into H2 and SQLite databases.
+ */
+class CSVToJDBCPipelineTest {
+
+    private static final String H2_URL = "jdbc:h2:mem:pipeline;DB_CLOSE_DELAY=-1";
+    private static final String TABLE_NAME = "PIPELINE_PERSON";
+    private static final int ROWS = 2500;
+
+    @TempDir
+    Path tempDir;
+
+    private DbConnection connection;
+
+    @BeforeEach
+    void setUp() {
+        connection = new DbConnection(H2_URL, "sa", "");
+        assertTrue(connection.connect(), "Connection should be established");
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        try (Statement statement = ((Connection) connection.getRawConnection()).createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + TABLE_NAME);
+        }
+        connection.disconnect();
+    }
+
+    private MappingConfiguration writeCSV(String content) throws Exception {
+        Path file = tempDir.resolve("people.csv");
+        Files.writeString(file, content);
+        return new MappingConfiguration()
+                .setSourceLocation(file.toString())
+                .setOption("hasHeaderRow", true)
+                .setOption("tableName", TABLE_NAME)
+                .setOption("createTable", true)
+                .setOption("batchSize", 100)
+                .setOption("commitInterval", 1000)
+                .setOption("queueCapacity", 2)
+                .addColumnMapping(new ColumnMapping("id", "personId", "int"))
+                .addColumnMapping(new ColumnMapping("name", "fullName", "string"))
+                .addColumnMapping(new ColumnMapping("score", "score", "double"))
+                .addColumnMapping(new ColumnMapping("department", "department", "string").setDefaultValue("General"));
+    }
+
+    private static String generateCSV(int rows, int badRow) {
+        StringBuilder csv = new StringBuilder("id,name,score\n");
+        for (int i = 1; i <= rows; i++) {
+            csv.append(i == badRow ? "x" : String.valueOf(i)).append(",\"Person, ").append(i).append("\",")
+                    .append(i % 10 == 0 ? "" : String.valueOf(i / 2.0)).append('\n');
+        }
+        return csv.toString();
+    }
+
+    private long count(Connection jdbcConnection) throws Exception {
+        try (Statement statement = jdbcConnection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM " + TABLE_NAME)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    @Test
+    void testStreamsRowsIntoH2() throws Exception {
+        MappingConfiguration config = writeCSV(generateCSV(ROWS, -1));
+
+        PipelineResult result = new CSVToJDBCPipeline().run(config, connection);
+
+        assertEquals(ROWS, result.getRowsWritten());
+        assertTrue(result.getRowsPerSecond() > 0);
+
+        Connection jdbcConnection = (Connection) connection.getRawConnection();
+        assertEquals(ROWS, count(jdbcConnection));
+        assertTrue(jdbcConnection.getAutoCommit(), "Auto-commit should be restored");
+        try (Statement statement = jdbcConnection.createStatement();
+             ResultSet resultSet = statement.executeQuery(
+                     "SELECT fullName, score, department FROM " + TABLE_NAME + " WHERE personId IN (7, 10) ORDER BY personId")) {
+            assertTrue(resultSet.next());
+            assertEquals("Person, 7", resultSet.getString(1));
+            assertEquals(3.5, resultSet.getDouble(2));
+            assertEquals("General", resultSet.getString(3));
+
+            // Empty numeric values are written as NULL
+            assertTrue(resultSet.next());
+            resultSet.getDouble(2);
+            assertTrue(resultSet.wasNull());
+        }
+    }
+
+    @Test
+    void testFailedRowRollsBackOpenTransaction() throws Exception {
+        MappingConfiguration config = writeCSV(generateCSV(ROWS, 1500));
+
+        assertThrows(IllegalArgumentException.class, () -> new CSVToJDBCPipeline().run(config, connection));
+
+        // Only the rows committed before the bad row remain
+        assertEquals(1000, count((Connection) connection.getRawConnection()));
+    }
+
+    @Test
+    void testStreamsRowsIntoSQLite() throws Exception {
+        MappingConfiguration config = writeCSV(generateCSV(ROWS, -1));
+        DbConnection sqlite = new DbConnection("jdbc:sqlite:" + tempDir.resolve("pipeline.db"), "", "");
+        try {
+            PipelineResult result = new CSVToJDBCPipeline().run(config, sqlite);
+
+            assertEquals(ROWS, result.getRowsWritten());
+            assertEquals(ROWS, count((Connection) sqlite.getRawConnection()));
+        } finally {
+            sqlite.disconnect();
+        }
+    }
+
+    @Test
+    void testInvalidOptions() throws Exception {
+        MappingConfiguration config = writeCSV(generateCSV(1, -1));
+        config.setOption("batchSize", 0);
+        assertThrows(IllegalArgumentException.class, () -> new CSVToJDBCPipeline().run(config, connection));
+
+        config.setOption("batchSize", 10).getOptions().remove("tableName");
+        assertThrows(IllegalArgumentException.class, () -> new CSVToJDBCPipeline().run(config, connection));
+    }
+}
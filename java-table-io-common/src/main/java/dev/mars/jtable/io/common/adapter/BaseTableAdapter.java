@@ -43,6 +43,11 @@ public abstract class BaseTableAdapter implements ITableAdapter, IDataSource {
         return table.getValueAt(rowIndex, columnName);
     }
 
+    @Override
+    public String getValueAt(int rowIndex, int columnIndex) {
+        return table.getString(rowIndex, columnIndex);
+    }
+
     @Override
     public String inferType(String value) {
         return table.inferType(value);
@@ -57,4 +62,9 @@ public abstract class BaseTableAdapter implements ITableAdapter, IDataSource {
     public void addRow(Map<String, String> row) {
         table.addRow(row);
     }
+
+    @Override
+    public void addRow(String[] values) {
+        table.addRow(values);
+    }
 }
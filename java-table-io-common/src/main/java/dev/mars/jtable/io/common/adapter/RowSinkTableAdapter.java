@@ -0,0 +1,90 @@
+package dev.mars.jtable.io.common.adapter;
+
+import dev.mars.jtable.core.table.TableCore;
+import dev.mars.jtable.io.common.datasource.ICSVDataSource;
+import dev.mars.jtable.io.common.datasource.IJDBCDataSource;
+import dev.mars.jtable.io.common.datasource.IJSONDataSource;
+import dev.mars.jtable.io.common.datasource.IRowSink;
+import dev.mars.jtable.io.common.datasource.IXMLDataSource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Adapter that forwards the rows added to it to a row sink instead of storing them.
+ * This lets a reader that only supports {@link dev.mars.jtable.io.common.datasource.IDataReader}
+ * stream its rows. The wrapped table only holds the column definitions.
+ * Failures of the sink are rethrown as {@link UncheckedIOException}.
+ */
+public class RowSinkTableAdapter extends BaseTableAdapter implements ICSVDataSource, IJSONDataSource, IXMLDataSource, IJDBCDataSource {
+    private final IRowSink sink;
+    private String[] columnNames;
+    private String[] values;
+    private int rowCount;
+
+    public RowSinkTableAdapter(IRowSink sink) {
+        super(new TableCore());
+        if (sink == null) {
+            throw new IllegalArgumentException("Row sink cannot be null");
+        }
+        this.sink = sink;
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public String getValueAt(int rowIndex, String columnName) {
+        throw new UnsupportedOperationException("Rows are forwarded to the sink and cannot be read back");
+    }
+
+    @Override
+    public String getValueAt(int rowIndex, int columnIndex) {
+        throw new UnsupportedOperationException("Rows are forwarded to the sink and cannot be read back");
+    }
+
+    @Override
+    public void setColumns(LinkedHashMap<String, String> columns) {
+        table.setColumns(columns);
+        columnNames = columns.keySet().toArray(new String[0]);
+        values = new String[columnNames.length];
+        try {
+            sink.start(columns);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void addRow(Map<String, String> row) {
+        if (row == null) {
+            throw new IllegalArgumentException("Row map cannot be null");
+        }
+        checkColumns();
+        for (int i = 0; i < values.length; i++) {
+            values[i] = row.get(columnNames[i]);
+        }
+        addRow(values);
+    }
+
+    @Override
+    public void addRow(String[] values) {
+        checkColumns();
+        try {
+            sink.row(values);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        rowCount++;
+    }
+
+    private void checkColumns() {
+        if (columnNames == null) {
+            throw new IllegalStateException("Columns must be set before rows are added");
+        }
+    }
+}
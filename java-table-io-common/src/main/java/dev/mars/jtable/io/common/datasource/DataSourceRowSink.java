@@ -0,0 +1,39 @@
+package dev.mars.jtable.io.common.datasource;
+
+import java.util.LinkedHashMap;
+
+/**
+ * Row sink that loads the rows it receives into a data source.
+ * This lets a streaming reader populate a data source in the same way as {@link IDataReader}.
+ */
+public class DataSourceRowSink implements IRowSink {
+    private final IDataSource dataSource;
+    private int rowCount;
+
+    public DataSourceRowSink(IDataSource dataSource) {
+        if (dataSource == null) {
+            throw new IllegalArgumentException("Data source cannot be null");
+        }
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public void start(LinkedHashMap<String, String> columns) {
+        dataSource.setColumns(columns);
+    }
+
+    @Override
+    public void row(String[] values) {
+        dataSource.addRow(values);
+        rowCount++;
+    }
+
+    /**
+     * Gets the number of rows added to the data source.
+     *
+     * @return the number of rows
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+}
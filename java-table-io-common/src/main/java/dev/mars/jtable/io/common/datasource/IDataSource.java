@@ -36,6 +36,19 @@ public interface IDataSource {
      */
     String getValueAt(int rowIndex, String columnName);
 
+    /**
+     * Gets the value at a specific row and column index.
+     * The default implementation looks the column up by name; data sources backed by a
+     * table should read the cell by index instead.
+     *
+     * @param rowIndex the index of the row
+     * @param columnIndex the index of the column
+     * @return the value at the specified row and column
+     */
+    default String getValueAt(int rowIndex, int columnIndex) {
+        return getValueAt(rowIndex, getColumnName(columnIndex));
+    }
+
     /**
      * Infers the data type of a value.
      *
@@ -57,4 +70,19 @@ public interface IDataSource {
      * @param row a map of column names to values
      */
     void addRow(java.util.Map<String, String> row);
+
+    /**
+     * Adds a row whose values are given in column order.
+     * The default implementation builds a map from the column names; data sources backed
+     * by a table should pass the values straight through by column index.
+     *
+     * @param values the values of the row, indexed by column
+     */
+    default void addRow(String[] values) {
+        java.util.Map<String, String> row = new java.util.HashMap<>();
+        for (int i = 0; i < values.length; i++) {
+            row.put(getColumnName(i), values[i]);
+        }
+        addRow(row);
+    }
 }
\ No newline at end of file
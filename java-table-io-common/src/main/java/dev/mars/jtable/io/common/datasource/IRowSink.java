@@ -0,0 +1,37 @@
+package dev.mars.jtable.io.common.datasource;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+
+/**
+ * Receives rows from a streaming reader as they are parsed.
+ * A reader calls {@link #start(LinkedHashMap)} once before the first row, then {@link #row(String[])}
+ * for each row, and finally {@link #end()} when the source is exhausted.
+ */
+public interface IRowSink {
+    /**
+     * Called once with the columns of the source before any row is delivered.
+     *
+     * @param columns a map of column names to column types, in column order
+     * @throws IOException if the sink cannot accept the columns
+     */
+    void start(LinkedHashMap<String, String> columns) throws IOException;
+
+    /**
+     * Called for each row of the source, in source order.
+     * The array may be reused by the reader once this method returns, so a sink that keeps
+     * the values must copy them. A value is null if the source row has no value for the column.
+     *
+     * @param values the values of the row, indexed by column
+     * @throws IOException if the sink cannot accept the row
+     */
+    void row(String[] values) throws IOException;
+
+    /**
+     * Called once after the last row has been delivered.
+     *
+     * @throws IOException if the sink cannot be completed
+     */
+    default void end() throws IOException {
+    }
+}
@@ -0,0 +1,22 @@
+package dev.mars.jtable.io.common.datasource;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Interface for readers that can stream rows to a sink as they are parsed.
+ * This is the streaming counterpart of {@link IDataReader}: no data source or table is built,
+ * so a source of any size can be filtered or forwarded in constant memory.
+ */
+public interface IStreamingDataReader {
+    /**
+     * Reads rows from a source and passes them to a sink.
+     *
+     * @param connection the connection to the source
+     * @param options additional options for reading (implementation-specific)
+     * @param sink the sink to receive the rows
+     * @throws IOException if there is an error reading from the source or the sink fails
+     * @throws IllegalArgumentException if there is an error with the connection or options
+     */
+    void readRows(IDataSourceConnection connection, Map<String, Object> options, IRowSink sink) throws IOException, IllegalArgumentException;
+}
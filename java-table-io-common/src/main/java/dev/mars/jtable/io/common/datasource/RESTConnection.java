@@ -6,20 +6,33 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.net.HttpURLConnection;
+import java.net.URI;
 import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 
 /**
  * Implementation of IDataSourceConnection for RESTful web services.
  * Supports HTTP/HTTPS connections to REST APIs.
+ * Requests are sent with a {@link HttpClient}, which keeps connections open between requests
+ * and uses HTTP/2 where the server supports it. Unless another client is set, every connection
+ * shares one client and so one connection pool.
  */
 public class RESTConnection implements IDataSourceConnection {
     private static final Logger logger = LoggerFactory.getLogger(RESTConnection.class);
+    private static final HttpClient DEFAULT_HTTP_CLIENT = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .connectTimeout(Duration.ofSeconds(30))
+            .build();
     private String endpoint;
     private Map<String, String> headers;
     private String authToken;
-    private HttpURLConnection connection;
+    private HttpClient httpClient = DEFAULT_HTTP_CLIENT;
     private boolean isConnected;
     private Map<String, Object> properties;
 
@@ -48,36 +61,35 @@ public class RESTConnection implements IDataSourceConnection {
         }
     }
 
+    /**
+     * Checks that the endpoint answers a HEAD request with a success status.
+     *
+     * @return whether the endpoint is reachable
+     */
     @Override
     public boolean connect() {
         try {
-            URL url = new URL(endpoint);
-            connection = (HttpURLConnection) url.openConnection();
-
-            // Set headers
-            for (Map.Entry<String, String> header : headers.entrySet()) {
-                connection.setRequestProperty(header.getKey(), header.getValue());
-            }
-
-            // Test connection
-            connection.setRequestMethod("HEAD");
-            int responseCode = connection.getResponseCode();
-            isConnected = (responseCode >= 200 && responseCode < 300);
-
+            HttpResponse<Void> response = httpClient.send(createRequestBuilder("HEAD").build(),
+                    HttpResponse.BodyHandlers.discarding());
+            isConnected = response.statusCode() >= 200 && response.statusCode() < 300;
             return isConnected;
-        } catch (IOException e) {
+        } catch (IOException | IllegalArgumentException e) {
             logger.error("Error connecting to REST API: {}", e.getMessage());
             isConnected = false;
             return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            isConnected = false;
+            return false;
         }
     }
 
+    /**
+     * Marks the connection as disconnected. Open network connections stay in the pool of the
+     * HTTP client for reuse.
+     */
     @Override
     public void disconnect() {
-        if (connection != null) {
-            connection.disconnect();
-            connection = null;
-        }
         isConnected = false;
     }
 
@@ -91,9 +103,36 @@ public class RESTConnection implements IDataSourceConnection {
         return "rest";
     }
 
+    /**
+     * Gets the HTTP client used to send requests.
+     *
+     * @return the {@link HttpClient}
+     */
     @Override
     public Object getRawConnection() {
-        return connection;
+        return httpClient;
+    }
+
+    /**
+     * Gets the HTTP client used to send requests.
+     *
+     * @return the HTTP client
+     */
+    public HttpClient getHttpClient() {
+        return httpClient;
+    }
+
+    /**
+     * Sets the HTTP client used to send requests, for example to use another executor, proxy
+     * or SSL context. By default all connections share one client.
+     *
+     * @param httpClient the HTTP client
+     */
+    public void setHttpClient(HttpClient httpClient) {
+        if (httpClient == null) {
+            throw new IllegalArgumentException("HTTP client cannot be null");
+        }
+        this.httpClient = httpClient;
     }
 
     @Override
@@ -120,8 +159,39 @@ public class RESTConnection implements IDataSourceConnection {
         return endpoint;
     }
 
+    /**
+     * Creates a request builder for the endpoint, with the connection headers and no body.
+     *
+     * @param method the HTTP method (GET, POST, PUT, DELETE, etc.)
+     * @return the request builder
+     * @throws IllegalArgumentException if the endpoint is not a valid URI or a header is not allowed
+     */
+    public HttpRequest.Builder createRequestBuilder(String method) {
+        return createRequestBuilder(method, URI.create(endpoint));
+    }
+
+    /**
+     * Creates a request builder for another URI of the API, such as the next page of a
+     * paginated endpoint, with the connection headers and no body.
+     *
+     * @param method the HTTP method (GET, POST, PUT, DELETE, etc.)
+     * @param uri the URI to request
+     * @return the request builder
+     * @throws IllegalArgumentException if the URI is not an HTTP URI or a header is not allowed
+     */
+    public HttpRequest.Builder createRequestBuilder(String method, URI uri) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+                .method(method, HttpRequest.BodyPublishers.noBody());
+        for (Map.Entry<String, String> header : headers.entrySet()) {
+            builder.header(header.getKey(), header.getValue());
+        }
+        return builder;
+    }
+
     /**
      * Creates a new connection for a specific HTTP method.
+     * This opens an {@link HttpURLConnection}, outside the pool of the HTTP client; the readers use
+     * {@link #createRequestBuilder(String)} instead.
      *
      * @param method the HTTP method (GET, POST, PUT, DELETE, etc.)
      * @return the HTTP connection
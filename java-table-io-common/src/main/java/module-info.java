@@ -1,6 +1,7 @@
 module dev.mars.jtable.io.common {
     requires dev.mars.jtable.core;
     requires java.sql;
+    requires java.net.http;
     requires org.slf4j;
     requires com.fasterxml.jackson.databind;
     requires com.fasterxml.jackson.dataformat.yaml;
@@ -0,0 +1,359 @@
+package dev.mars.jtable.io.files.csv;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Single-pass streaming CSV encoder, the writing counterpart of {@link CSVParser}.
+ * <p>
+ * Fields are encoded as UTF-8 straight into a large direct buffer, which is written to the
+ * channel whenever it fills up, so no string is built per field or per record. Following
+ * RFC 4180, a field is quoted only if it contains the delimiter, a quote or a line break, and
+ * quotes inside it are doubled. Records end with LF. Null fields are written as empty fields,
+ * while empty strings are written as {@code ""}, so that the two stay apart and a record of a
+ * single empty string is not read back as a blank line, which parsers skip.
+ * <p>
+ * In background mode, full buffers are handed to a writer thread through a bounded queue, so
+ * that writing to the channel, and any compression behind it, overlaps with the encoding. At
+ * most {@value #BACKGROUND_BUFFERS} buffers exist at a time; when they are all waiting to be
+ * written, the encoder blocks until the writer thread has caught up.
+ * <p>
+ * The encoder is not thread-safe.
+ */
+public class CSVEncoder implements Closeable {
+
+    /**
+     * The default size in bytes of the output buffer.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 20;
+
+    /**
+     * The number of buffers used in background mode.
+     */
+    public static final int BACKGROUND_BUFFERS = 4;
+
+    private static final byte QUOTE = '"';
+    private static final byte LINE_FEED = '\n';
+    private static final byte[] TRUE = {'t', 'r', 'u', 'e'};
+    private static final byte[] FALSE = {'f', 'a', 'l', 's', 'e'};
+
+    // The most bytes one character can add to a field: a quote doubled, or a surrogate pair in UTF-8
+    private static final int MAX_CHAR_BYTES = 4;
+    private static final int MAX_LONG_BYTES = 20;
+
+    private final WritableByteChannel channel;
+    private final char delimiter;
+    private final byte[] delimiterBytes;
+    private final BackgroundWriter backgroundWriter;
+    private final byte[] digits = new byte[MAX_LONG_BYTES];
+    private ByteBuffer buffer;
+    private boolean inRecord;
+    private boolean closed;
+
+    /**
+     * Creates an encoder writing UTF-8 text to the given channel from the calling thread.
+     *
+     * @param channel the channel to write to
+     * @param delimiter the field delimiter
+     */
+    public CSVEncoder(WritableByteChannel channel, char delimiter) {
+        this(channel, delimiter, DEFAULT_BUFFER_SIZE, false);
+    }
+
+    /**
+     * Creates an encoder writing UTF-8 text to the given channel.
+     *
+     * @param channel the channel to write to
+     * @param delimiter the field delimiter
+     * @param bufferSize the size in bytes of the output buffer
+     * @param background whether to write to the channel from a background thread
+     * @throws IllegalArgumentException if the delimiter is a quote or line break, or the buffer size is too small
+     */
+    public CSVEncoder(WritableByteChannel channel, char delimiter, int bufferSize, boolean background) {
+        if (channel == null) {
+            throw new IllegalArgumentException("Channel cannot be null");
+        }
+        CSVParser.checkDelimiter(delimiter);
+        if (bufferSize < MAX_LONG_BYTES) {
+            throw new IllegalArgumentException("Buffer size must be at least " + MAX_LONG_BYTES + ": " + bufferSize);
+        }
+        this.channel = channel;
+        this.delimiter = delimiter;
+        this.delimiterBytes = String.valueOf(delimiter).getBytes(StandardCharsets.UTF_8);
+        this.buffer = ByteBuffer.allocateDirect(bufferSize);
+        this.backgroundWriter = background ? new BackgroundWriter(channel, bufferSize) : null;
+    }
+
+    /**
+     * Writes a text field, quoting it if needed.
+     *
+     * @param value the field value, or null for an empty field
+     * @throws IOException if the channel cannot be written
+     */
+    public void writeField(String value) throws IOException {
+        startField();
+        if (value == null) {
+            return;
+        }
+        if (value.isEmpty() || needsQuotes(value)) {
+            put(QUOTE);
+            encode(value, true);
+            put(QUOTE);
+        } else {
+            encode(value, false);
+        }
+    }
+
+    /**
+     * Writes an integer field.
+     *
+     * @param value the field value
+     * @throws IOException if the channel cannot be written
+     */
+    public void writeField(long value) throws IOException {
+        startField();
+        ensureRemaining(MAX_LONG_BYTES);
+        if (value == Long.MIN_VALUE) {
+            encode(Long.toString(value), false);
+            return;
+        }
+        if (value < 0) {
+            buffer.put((byte) '-');
+            value = -value;
+        }
+        int start = digits.length;
+        do {
+            digits[--start] = (byte) ('0' + (int) (value % 10));
+            value /= 10;
+        } while (value != 0);
+        buffer.put(digits, start, digits.length - start);
+    }
+
+    /**
+     * Writes a boolean field as "true" or "false".
+     *
+     * @param value the field value
+     * @throws IOException if the channel cannot be written
+     */
+    public void writeField(boolean value) throws IOException {
+        startField();
+        byte[] bytes = value ? TRUE : FALSE;
+        ensureRemaining(bytes.length);
+        buffer.put(bytes);
+    }
+
+    /**
+     * Ends the current record.
+     *
+     * @throws IOException if the channel cannot be written
+     */
+    public void endRecord() throws IOException {
+        put(LINE_FEED);
+        inRecord = false;
+    }
+
+    /**
+     * Writes the buffered output and closes the channel, after waiting for the writer thread in
+     * background mode.
+     *
+     * @throws IOException if the channel cannot be written or closed
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            drain();
+            if (backgroundWriter != null) {
+                backgroundWriter.finish();
+            }
+        } finally {
+            if (backgroundWriter != null) {
+                backgroundWriter.stop();
+            }
+            channel.close();
+        }
+    }
+
+    private void startField() throws IOException {
+        if (inRecord) {
+            ensureRemaining(delimiterBytes.length);
+            buffer.put(delimiterBytes);
+        } else {
+            inRecord = true;
+        }
+    }
+
+    private boolean needsQuotes(String value) {
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c == delimiter || c == QUOTE || c == LINE_FEED || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Encodes text as UTF-8, doubling quotes if requested.
+     */
+    private void encode(String value, boolean doubleQuotes) throws IOException {
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            if (buffer.remaining() < MAX_CHAR_BYTES) {
+                drain();
+            }
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                if (c == QUOTE && doubleQuotes) {
+                    buffer.put(QUOTE);
+                }
+                buffer.put((byte) c);
+            } else if (c < 0x800) {
+                buffer.put((byte) (0xC0 | (c >> 6)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                buffer.put((byte) (0xF0 | (codePoint >> 18)));
+                buffer.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                buffer.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (codePoint & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                // An unpaired surrogate cannot be encoded, so write a replacement as String.getBytes does
+                buffer.put((byte) '?');
+            } else {
+                buffer.put((byte) (0xE0 | (c >> 12)));
+                buffer.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+    }
+
+    private void put(byte b) throws IOException {
+        ensureRemaining(1);
+        buffer.put(b);
+    }
+
+    private void ensureRemaining(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            drain();
+        }
+    }
+
+    /**
+     * Passes the buffered bytes on to the channel, or to the writer thread, and gets an empty buffer.
+     */
+    private void drain() throws IOException {
+        buffer.flip();
+        if (backgroundWriter != null) {
+            buffer = backgroundWriter.exchange(buffer);
+            return;
+        }
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Writes full buffers to the channel from its own thread and hands them back once empty.
+     */
+    private static final class BackgroundWriter implements Runnable {
+        // Marks the end of the output in the queue of full buffers
+        private static final ByteBuffer END_OF_OUTPUT = ByteBuffer.allocate(0);
+
+        private final WritableByteChannel channel;
+        private final BlockingQueue<ByteBuffer> fullBuffers = new ArrayBlockingQueue<>(BACKGROUND_BUFFERS);
+        private final BlockingQueue<ByteBuffer> emptyBuffers = new ArrayBlockingQueue<>(BACKGROUND_BUFFERS);
+        private final Thread thread;
+        private volatile IOException error;
+
+        BackgroundWriter(WritableByteChannel channel, int bufferSize) {
+            this.channel = channel;
+            // The encoder holds the remaining buffer
+            for (int i = 1; i < BACKGROUND_BUFFERS; i++) {
+                emptyBuffers.add(ByteBuffer.allocateDirect(bufferSize));
+            }
+            thread = new Thread(this, "csv-writer");
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        @Override
+        public void run() {
+            try {
+                ByteBuffer buffer;
+                while ((buffer = fullBuffers.take()) != END_OF_OUTPUT) {
+                    // After an error, keep handing buffers back so that the encoder never blocks
+                    if (error == null) {
+                        try {
+                            while (buffer.hasRemaining()) {
+                                channel.write(buffer);
+                            }
+                        } catch (IOException e) {
+                            error = e;
+                        } catch (RuntimeException e) {
+                            error = new IOException("Error writing CSV output: " + e.getMessage(), e);
+                        }
+                    }
+                    buffer.clear();
+                    emptyBuffers.add(buffer);
+                }
+            } catch (InterruptedException e) {
+                // Stopped by the encoder
+            }
+        }
+
+        /**
+         * Queues a full buffer for writing and takes an empty one, waiting for one if needed.
+         */
+        ByteBuffer exchange(ByteBuffer fullBuffer) throws IOException {
+            checkError();
+            try {
+                fullBuffers.put(fullBuffer);
+                return emptyBuffers.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while writing CSV output");
+            }
+        }
+
+        /**
+         * Waits until every queued buffer has been written.
+         */
+        void finish() throws IOException {
+            try {
+                fullBuffers.put(END_OF_OUTPUT);
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while writing CSV output");
+            }
+            checkError();
+        }
+
+        /**
+         * Stops the writer thread if it is still running.
+         */
+        void stop() {
+            if (thread.isAlive()) {
+                thread.interrupt();
+            }
+        }
+
+        private void checkError() throws IOException {
+            if (error != null) {
+                throw error;
+            }
+        }
+    }
+}
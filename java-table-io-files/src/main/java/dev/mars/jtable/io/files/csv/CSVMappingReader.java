@@ -1,25 +1,27 @@
 package dev.mars.jtable.io.files.csv;
 
 import dev.mars.jtable.core.model.ITable;
+import dev.mars.jtable.io.common.datasource.IRowSink;
 import dev.mars.jtable.io.common.mapping.ColumnMapping;
 import dev.mars.jtable.io.common.mapping.MappingConfiguration;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileNotFoundException;
-import java.io.FileReader;
 import java.io.IOException;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 /**
  * Reader for CSV files using a mapping configuration.
  * This class reads data from a CSV file according to a mapping configuration.
+ * Records are streamed from the file and mapped as they are parsed, so memory use does not
+ * grow with the size of the file. The mapped rows can also be streamed to an {@link IRowSink}.
  */
 public class CSVMappingReader {
     private static final Logger logger = LoggerFactory.getLogger(CSVMappingReader.class);
@@ -40,6 +42,43 @@ public class CSVMappingReader {
             throw new IllegalArgumentException(errorMsg);
         }
 
+        readMapped(config, new TableRowSink(table, validateMappings(config)));
+    }
+
+    /**
+     * Reads mapped rows from a CSV file and passes them to a sink as they are parsed.
+     * The sink receives the target columns of the mapping configuration, and each row holds the
+     * mapped values in the order of the column mappings. A value is null if the source has no
+     * value and the mapping has no default.
+     *
+     * @param config the mapping configuration
+     * @param sink the sink to receive the rows
+     * @throws IllegalArgumentException if sink or config is null, if config has invalid settings,
+     *         or if two column mappings have the same target column
+     * @throws IOException if there is an error reading the file or the sink fails
+     * @throws FileNotFoundException if the file does not exist
+     */
+    public void readRows(MappingConfiguration config, IRowSink sink) throws IOException, FileNotFoundException {
+        if (sink == null) {
+            String errorMsg = "Row sink cannot be null";
+            logger.error(errorMsg);
+            throw new IllegalArgumentException(errorMsg);
+        }
+
+        List<ColumnMapping> columnMappings = validateMappings(config);
+        if (config.createColumnDefinitions().size() != columnMappings.size()) {
+            String errorMsg = "Column mappings must have distinct target columns";
+            logger.error(errorMsg);
+            throw new IllegalArgumentException(errorMsg);
+        }
+
+        readMapped(config, sink);
+    }
+
+    /**
+     * Validates a mapping configuration and returns its column mappings.
+     */
+    private List<ColumnMapping> validateMappings(MappingConfiguration config) {
         if (config == null) {
             String errorMsg = "Mapping configuration cannot be null";
             logger.error(errorMsg);
@@ -60,9 +99,23 @@ public class CSVMappingReader {
             logger.error(errorMsg);
             throw new IllegalArgumentException(errorMsg);
         }
+        return columnMappings;
+    }
 
+    /**
+     * Streams the mapped rows of a CSV file to a sink.
+     *
+     * @param config a validated mapping configuration
+     * @param sink the sink to receive the rows
+     * @throws IOException if there is an error reading the file
+     */
+    private void readMapped(MappingConfiguration config, IRowSink sink) throws IOException {
+        String fileName = config.getSourceLocation();
         boolean hasHeaderRow = (boolean) config.getOption("hasHeaderRow", false);
         boolean allowEmptyValues = (boolean) config.getOption("allowEmptyValues", false);
+        int parallelism = CSVReader.getIntOption(config.getOptions(), "parallelism", 1);
+        int chunkSize = CSVReader.getIntOption(config.getOptions(), "chunkSize", ParallelCSVParser.DEFAULT_CHUNK_SIZE);
+        char delimiter = CSVReader.getDelimiter(config.getOptions());
 
         try {
             // Validate file existence
@@ -85,68 +138,24 @@ public class CSVMappingReader {
                 throw new IOException(errorMsg);
             }
 
-            // Set up the table columns based on the mapping configuration
-            table.setColumns(config.createColumnDefinitions());
-
-            // Read the CSV file
-            List<String[]> rows = readFromCSVFile(fileName, hasHeaderRow, allowEmptyValues);
-            if (rows.isEmpty()) {
-                logger.warn("No data found in CSV file: {}", fileName);
-                return; // No data to process
-            }
-
-            // Get the header row if available
-            String[] headers = hasHeaderRow ? rows.get(0) : null;
-
-            // Validate header row if expected
-            if (hasHeaderRow && (headers == null || headers.length == 0)) {
-                String errorMsg = "Expected header row but found none in file: " + fileName;
-                logger.error(errorMsg);
-                throw new IOException(errorMsg);
-            }
-
-            // Process each data row
-            for (int i = hasHeaderRow ? 1 : 0; i < rows.size(); i++) {
-                String[] values = rows.get(i);
-                Map<String, String> rowData = new HashMap<>();
-
-                // Process each column mapping
-                for (ColumnMapping mapping : columnMappings) {
-                    String value = null;
-
-                    // Get the value from the source column
-                    if (mapping.usesSourceColumnName() && headers != null) {
-                        // Find the index of the source column by name
-                        int index = findColumnIndex(headers, mapping.getSourceColumnName());
-                        if (index >= 0 && index < values.length) {
-                            value = values[index];
-                        } else {
-                            logger.warn("Column '{}' not found in CSV file or index out of bounds. Using default value if available.", 
-                                mapping.getSourceColumnName());
-                        }
-                    } else if (mapping.usesSourceColumnIndex()) {
-                        int index = mapping.getSourceColumnIndex();
-                        if (index >= 0 && index < values.length) {
-                            value = values[index];
-                        } else {
-                            logger.warn("Column index {} out of bounds. Using default value if available.", index);
-                        }
-                    }
-
-                    // Use default value if the value is null or empty
-                    if (value == null || value.isEmpty()) {
-                        value = mapping.getDefaultValue();
-                    }
-
-                    // Add the value to the row data
-                    if (value != null) {
-                        rowData.put(mapping.getTargetColumnName(), value);
-                    }
+            // Set up the target columns based on the mapping configuration
+            sink.start(config.createColumnDefinitions());
+
+            // Stream the records into the sink; only the record being mapped is held in memory
+            MappedRowLoader loader = new MappedRowLoader(sink, config.getColumnMappings(), hasHeaderRow, allowEmptyValues);
+            if (parallelism > 1) {
+                // Large files can be memory-mapped and parsed in parallel
+                new ParallelCSVParser(file.toPath(), delimiter, parallelism, chunkSize).parse(loader);
+            } else {
+                try (CSVParser parser = CSVParser.open(file.toPath(), delimiter)) {
+                    parser.forEach(loader);
                 }
+            }
 
-                // Add the row to the table
-                table.addRow(rowData);
+            if (!loader.hasRecords()) {
+                logger.warn("No data found in CSV file: {}", fileName);
             }
+            sink.end();
         } catch (FileNotFoundException e) {
             logger.error("File not found: {}", e.getMessage());
             throw e;
@@ -160,62 +169,132 @@ public class CSVMappingReader {
     }
 
     /**
-     * Reads a CSV file into a list of string arrays.
-     *
-     * @param fileName the name of the file to read
-     * @param hasHeaderRow whether the CSV file has a header row
-     * @param allowEmptyValues whether to allow empty values in the CSV file
-     * @return a list of string arrays, where each array represents a row in the CSV file
-     * @throws IOException if there is an error reading the file
-     * @throws FileNotFoundException if the file does not exist
-     * @throws IllegalArgumentException if fileName is null or empty
+     * Adds mapped rows to a table, keyed by target column name.
      */
-    private List<String[]> readFromCSVFile(String fileName, boolean hasHeaderRow, boolean allowEmptyValues) throws IOException {
-        // Validate input parameters
-        if (fileName == null || fileName.trim().isEmpty()) {
-            String errorMsg = "File name cannot be null or empty";
-            logger.error(errorMsg);
-            throw new IllegalArgumentException(errorMsg);
+    private static final class TableRowSink implements IRowSink {
+        private final ITable table;
+        private final String[] targetColumns;
+
+        TableRowSink(ITable table, List<ColumnMapping> columnMappings) {
+            this.table = table;
+            this.targetColumns = new String[columnMappings.size()];
+            for (int i = 0; i < targetColumns.length; i++) {
+                targetColumns[i] = columnMappings.get(i).getTargetColumnName();
+            }
+        }
+
+        @Override
+        public void start(LinkedHashMap<String, String> columns) {
+            table.setColumns(columns);
         }
 
-        List<String[]> rows = new ArrayList<>();
-        try (BufferedReader br = new BufferedReader(new FileReader(fileName))) {
-            String line;
-            int lineNumber = 0;
+        @Override
+        public void row(String[] values) {
+            Map<String, String> rowData = new HashMap<>();
+            for (int i = 0; i < targetColumns.length; i++) {
+                if (values[i] != null) {
+                    rowData.put(targetColumns[i], values[i]);
+                }
+            }
+            table.addRow(rowData);
+        }
+    }
 
-            while ((line = br.readLine()) != null) {
-                lineNumber++;
+    /**
+     * Maps parsed records to rows of target values. The source index of each column mapping is
+     * resolved once from the first record, so each row is mapped by array access alone.
+     */
+    private static final class MappedRowLoader implements CSVParser.RecordHandler {
+        private final IRowSink sink;
+        private final ColumnMapping[] mappings;
+        private final boolean hasHeaderRow;
+        private final boolean allowEmptyValues;
+        private final String[] mappedValues;
+        private int[] sourceIndexes;
+
+        MappedRowLoader(IRowSink sink, List<ColumnMapping> columnMappings, boolean hasHeaderRow, boolean allowEmptyValues) {
+            this.sink = sink;
+            this.mappings = columnMappings.toArray(new ColumnMapping[0]);
+            this.hasHeaderRow = hasHeaderRow;
+            this.allowEmptyValues = allowEmptyValues;
+            this.mappedValues = new String[mappings.length];
+        }
 
-                // Skip empty lines
-                if (line.trim().isEmpty()) {
-                    logger.warn("Empty line found at line {}, skipping", lineNumber);
-                    continue;
+        @Override
+        public void handle(String[] fields, int fieldCount) throws IOException {
+            // Drop trailing empty values unless they are allowed
+            if (!allowEmptyValues) {
+                while (fieldCount > 0 && fields[fieldCount - 1].isEmpty()) {
+                    fieldCount--;
                 }
+            }
+            // Skip lines that only contain whitespace
+            if (fieldCount == 0 || (fieldCount == 1 && fields[0].trim().isEmpty())) {
+                return;
+            }
 
-                try {
-                    String[] values = line.split(",", allowEmptyValues ? -1 : 0);
+            if (sourceIndexes == null) {
+                sourceIndexes = resolveSourceIndexes(hasHeaderRow ? Arrays.copyOf(fields, fieldCount) : null);
+                if (hasHeaderRow) {
+                    return;
+                }
+            }
+            mapRow(fields, fieldCount);
+            sink.row(mappedValues);
+        }
 
-                    // Validate that we have at least one value
-                    if (values.length == 0) {
-                        logger.warn("No values found at line {}, skipping", lineNumber);
-                        continue;
-                    }
+        boolean hasRecords() {
+            return sourceIndexes != null;
+        }
 
-                    rows.add(values);
-                } catch (Exception e) {
-                    logger.error("Error parsing line {}: {}", lineNumber, e.getMessage());
-                    throw new IOException("Error parsing CSV line " + lineNumber + ": " + e.getMessage(), e);
+        /**
+         * Resolves the source index of each column mapping, or -1 if the mapping has no source column.
+         *
+         * @param headers the header row, or null if the file has none
+         * @return the source indexes in mapping order
+         */
+        private int[] resolveSourceIndexes(String[] headers) {
+            int[] indexes = new int[mappings.length];
+            for (int i = 0; i < mappings.length; i++) {
+                ColumnMapping mapping = mappings[i];
+                if (mapping.usesSourceColumnName() && headers != null) {
+                    // Missing columns are logged once here and then take their default value
+                    indexes[i] = findColumnIndex(headers, mapping.getSourceColumnName());
+                } else if (mapping.usesSourceColumnIndex()) {
+                    indexes[i] = mapping.getSourceColumnIndex();
+                } else {
+                    indexes[i] = -1;
                 }
             }
-        } catch (FileNotFoundException e) {
-            logger.error("File not found: {}", fileName);
-            throw e;
-        } catch (IOException e) {
-            logger.error("Error reading CSV file: {} - {}", fileName, e.getMessage());
-            throw e;
+            return indexes;
         }
 
-        return rows;
+        /**
+         * Maps one CSV record to the target values of a row.
+         *
+         * @param values the values of the record
+         * @param valueCount the number of values in the record
+         */
+        private void mapRow(String[] values, int valueCount) {
+            // Process each column mapping
+            for (int i = 0; i < mappings.length; i++) {
+                ColumnMapping mapping = mappings[i];
+                int index = sourceIndexes[i];
+                String value = null;
+
+                if (index >= 0 && index < valueCount) {
+                    value = values[index];
+                } else if (index >= valueCount) {
+                    logger.warn("Column index {} out of bounds. Using default value if available.", index);
+                }
+
+                // Use default value if the value is null or empty
+                if (value == null || value.isEmpty()) {
+                    value = mapping.getDefaultValue();
+                }
+                mappedValues[i] = value;
+            }
+        }
     }
 
     /**
@@ -226,7 +305,7 @@ public class CSVMappingReader {
      * @return the index of the column, or -1 if not found
      * @throws IllegalArgumentException if headers or columnName is null
      */
-    private int findColumnIndex(String[] headers, String columnName) {
+    private static int findColumnIndex(String[] headers, String columnName) {
         // Validate input parameters
         if (headers == null) {
             String errorMsg = "Headers array cannot be null";
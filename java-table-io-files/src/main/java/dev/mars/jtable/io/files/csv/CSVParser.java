@@ -0,0 +1,389 @@
+package dev.mars.jtable.io.files.csv;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Single-pass streaming CSV tokenizer.
+ * <p>
+ * The parser reads the input through a large NIO buffer, decodes it in bulk and splits it into
+ * records with a hand-written state machine. It follows RFC 4180: fields may be quoted, quoted
+ * fields may contain delimiters, line breaks and doubled quotes, and records may end with
+ * LF, CR or CRLF. Blank lines are skipped and a leading byte order mark is ignored.
+ * <p>
+ * Each call to {@link #next()} reuses the same field array, so a record must be consumed
+ * (or copied) before the next one is read. The parser is not thread-safe.
+ */
+public class CSVParser implements Closeable {
+
+    /**
+     * The default field delimiter.
+     */
+    public static final char DEFAULT_DELIMITER = ',';
+
+    /**
+     * The default size in bytes of the input buffer.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 20;
+
+    private static final char QUOTE = '"';
+    private static final char BYTE_ORDER_MARK = 0xFEFF;
+
+    // Tokenizer states
+    private static final int FIELD_START = 0;
+    private static final int UNQUOTED = 1;
+    private static final int QUOTED = 2;
+    private static final int QUOTE_IN_QUOTED = 3;
+
+    private final ReadableByteChannel channel;
+    private final char delimiter;
+    private final CharsetDecoder decoder;
+    private final ByteBuffer byteBuffer;
+    private final CharBuffer charBuffer;
+    private final char[] chars;
+
+    // Holds the part of a field that spans a buffer refill or contains escaped quotes
+    private final StringBuilder fieldBuilder = new StringBuilder();
+
+    private String[] fields = new String[0];
+    private int fieldCount;
+    private int pos;
+    private int limit;
+    private long recordNumber;
+    private boolean bytesExhausted;
+    private boolean endOfInput;
+    private boolean atStart = true;
+
+    /**
+     * Receives the records of a parse. The field array is only valid until the method returns.
+     */
+    @FunctionalInterface
+    public interface RecordHandler {
+        /**
+         * Handles one record.
+         *
+         * @param fields the field array, of which the first {@code fieldCount} entries are valid
+         * @param fieldCount the number of fields in the record
+         * @throws IOException if the record cannot be handled
+         */
+        void handle(String[] fields, int fieldCount) throws IOException;
+    }
+
+    /**
+     * Creates a parser reading UTF-8 text from the given channel.
+     *
+     * @param channel the channel to read from
+     * @param delimiter the field delimiter
+     */
+    public CSVParser(ReadableByteChannel channel, char delimiter) {
+        this(channel, delimiter, StandardCharsets.UTF_8, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Creates a parser reading from the given channel.
+     *
+     * @param channel the channel to read from
+     * @param delimiter the field delimiter
+     * @param charset the character set of the input
+     * @param bufferSize the size in bytes of the input buffer
+     * @throws IllegalArgumentException if the delimiter is a quote or line break, or the buffer size is not positive
+     */
+    public CSVParser(ReadableByteChannel channel, char delimiter, Charset charset, int bufferSize) {
+        if (channel == null) {
+            throw new IllegalArgumentException("Channel cannot be null");
+        }
+        checkDelimiter(delimiter);
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("Buffer size must be positive: " + bufferSize);
+        }
+        this.channel = channel;
+        this.delimiter = delimiter;
+        this.decoder = newDecoder(charset);
+        this.byteBuffer = ByteBuffer.allocate(bufferSize);
+        this.byteBuffer.flip();
+        this.charBuffer = CharBuffer.allocate(Math.max(16, (int) (bufferSize * decoder.maxCharsPerByte())));
+        this.chars = charBuffer.array();
+    }
+
+    /**
+     * Creates a parser reading UTF-8 text directly from a buffer, such as a memory-mapped
+     * region of a file. The bytes between the buffer's position and limit are parsed.
+     *
+     * @param input the buffer to read from
+     * @param delimiter the field delimiter
+     * @param startOfInput whether the buffer starts at the beginning of the document,
+     *                     in which case a leading byte order mark is skipped
+     * @throws IllegalArgumentException if the delimiter is a quote or line break
+     */
+    CSVParser(ByteBuffer input, char delimiter, boolean startOfInput) {
+        if (input == null) {
+            throw new IllegalArgumentException("Input buffer cannot be null");
+        }
+        checkDelimiter(delimiter);
+        this.channel = null;
+        this.delimiter = delimiter;
+        this.decoder = newDecoder(StandardCharsets.UTF_8);
+        this.byteBuffer = input;
+        this.bytesExhausted = true;
+        this.atStart = startOfInput;
+        this.charBuffer = CharBuffer.allocate(Math.max(16, Math.min(input.remaining(), DEFAULT_BUFFER_SIZE)));
+        this.chars = charBuffer.array();
+    }
+
+    static void checkDelimiter(char delimiter) {
+        if (delimiter == QUOTE || delimiter == '\n' || delimiter == '\r') {
+            throw new IllegalArgumentException("Invalid CSV delimiter: " + delimiter);
+        }
+    }
+
+    private static CharsetDecoder newDecoder(Charset charset) {
+        return charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+    /**
+     * Opens a parser over a file.
+     *
+     * @param path the file to read
+     * @param delimiter the field delimiter
+     * @return a new parser, which must be closed by the caller
+     * @throws IOException if the file cannot be opened
+     */
+    public static CSVParser open(Path path, char delimiter) throws IOException {
+        return new CSVParser(FileChannel.open(path, StandardOpenOption.READ), delimiter);
+    }
+
+    /**
+     * Reads the next record.
+     *
+     * @return the number of fields in the record, or -1 at the end of the input
+     * @throws IOException if the input cannot be read or ends inside a quoted field
+     */
+    public int next() throws IOException {
+        fieldCount = 0;
+        fieldBuilder.setLength(0);
+        int state = FIELD_START;
+        int start = pos;
+
+        while (true) {
+            if (pos >= limit) {
+                // Keep the pending part of the current field before the buffer is overwritten
+                if (state == UNQUOTED || state == QUOTED) {
+                    fieldBuilder.append(chars, start, pos - start);
+                }
+                if (!fill()) {
+                    if (state == QUOTED) {
+                        throw new IOException("Unterminated quoted field in CSV record " + (recordNumber + 1));
+                    }
+                    if (state == FIELD_START && fieldCount == 0) {
+                        return -1;
+                    }
+                    addField(pos, pos);
+                    return endRecord();
+                }
+                start = pos;
+                continue;
+            }
+
+            char c = chars[pos];
+            switch (state) {
+                case FIELD_START:
+                    if (c == QUOTE) {
+                        state = QUOTED;
+                        start = ++pos;
+                    } else if (c == delimiter) {
+                        addField(pos, pos);
+                        pos++;
+                    } else if (c == '\n' || c == '\r') {
+                        pos++;
+                        if (fieldCount > 0) {
+                            addField(pos, pos);
+                            return endRecord();
+                        }
+                        // Blank line, or the LF of a CRLF pair
+                    } else {
+                        state = UNQUOTED;
+                        start = pos++;
+                    }
+                    break;
+
+                case UNQUOTED:
+                    if (c == delimiter) {
+                        addField(start, pos);
+                        pos++;
+                        state = FIELD_START;
+                    } else if (c == '\n' || c == '\r') {
+                        addField(start, pos);
+                        pos++;
+                        return endRecord();
+                    } else {
+                        pos++;
+                    }
+                    break;
+
+                case QUOTED:
+                    if (c == QUOTE) {
+                        fieldBuilder.append(chars, start, pos - start);
+                        start = ++pos;
+                        state = QUOTE_IN_QUOTED;
+                    } else {
+                        pos++;
+                    }
+                    break;
+
+                case QUOTE_IN_QUOTED:
+                    if (c == QUOTE) {
+                        // Doubled quote inside a quoted field
+                        fieldBuilder.append(QUOTE);
+                        start = ++pos;
+                        state = QUOTED;
+                    } else if (c == delimiter) {
+                        addField(pos, pos);
+                        pos++;
+                        state = FIELD_START;
+                    } else if (c == '\n' || c == '\r') {
+                        addField(pos, pos);
+                        pos++;
+                        return endRecord();
+                    } else {
+                        // Text after the closing quote is kept as part of the field
+                        start = pos;
+                        state = UNQUOTED;
+                    }
+                    break;
+
+                default:
+                    throw new IllegalStateException("Unknown CSV parser state: " + state);
+            }
+        }
+    }
+
+    /**
+     * Reads all remaining records and passes them to a handler.
+     *
+     * @param handler the handler to receive the records
+     * @throws IOException if the input cannot be read or the handler fails
+     */
+    public void forEach(RecordHandler handler) throws IOException {
+        int count;
+        while ((count = next()) >= 0) {
+            handler.handle(fields, count);
+        }
+    }
+
+    /**
+     * Returns the fields of the current record. Only the first {@link #getFieldCount()} entries
+     * are valid, and the array is reused by the next call to {@link #next()}.
+     *
+     * @return the field array
+     */
+    public String[] getFields() {
+        return fields;
+    }
+
+    /**
+     * Returns the number of fields in the current record.
+     *
+     * @return the field count
+     */
+    public int getFieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * Returns the 1-based number of the current record, counting the header record if there is one.
+     *
+     * @return the record number
+     */
+    public long getRecordNumber() {
+        return recordNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    private int endRecord() {
+        recordNumber++;
+        return fieldCount;
+    }
+
+    /**
+     * Completes the current field from the pending builder contents and the buffer range [start, end).
+     */
+    private void addField(int start, int end) {
+        String value;
+        if (fieldBuilder.length() == 0) {
+            value = new String(chars, start, end - start);
+        } else {
+            fieldBuilder.append(chars, start, end - start);
+            value = fieldBuilder.toString();
+            fieldBuilder.setLength(0);
+        }
+
+        if (fieldCount == fields.length) {
+            // Grow to the exact size so that records of a fixed width fill the array completely
+            fields = Arrays.copyOf(fields, fieldCount + 1);
+        }
+        fields[fieldCount++] = value;
+    }
+
+    /**
+     * Refills the character buffer from the channel.
+     *
+     * @return false if the end of the input has been reached
+     */
+    private boolean fill() throws IOException {
+        if (endOfInput) {
+            return false;
+        }
+
+        charBuffer.clear();
+        while (true) {
+            CoderResult result = decoder.decode(byteBuffer, charBuffer, bytesExhausted);
+            if (result.isError()) {
+                result.throwException();
+            }
+            if (charBuffer.position() > 0) {
+                break;
+            }
+            if (bytesExhausted) {
+                decoder.flush(charBuffer);
+                endOfInput = true;
+                break;
+            }
+            byteBuffer.compact();
+            if (channel.read(byteBuffer) < 0) {
+                bytesExhausted = true;
+            }
+            byteBuffer.flip();
+        }
+        charBuffer.flip();
+
+        pos = 0;
+        limit = charBuffer.limit();
+        if (atStart) {
+            atStart = false;
+            if (limit > 0 && chars[0] == BYTE_ORDER_MARK) {
+                pos = 1;
+            }
+        }
+        return pos < limit;
+    }
+}
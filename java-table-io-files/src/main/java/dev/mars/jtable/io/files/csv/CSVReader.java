@@ -1,29 +1,56 @@
 package dev.mars.jtable.io.files.csv;
 
-
+import dev.mars.jtable.core.table.TypeSniffer;
+import dev.mars.jtable.io.common.datasource.DataSourceRowSink;
 import dev.mars.jtable.io.common.datasource.FileConnection;
 import dev.mars.jtable.io.common.datasource.ICSVDataSource;
 import dev.mars.jtable.io.common.datasource.IDataSource;
 import dev.mars.jtable.io.common.datasource.IDataSourceConnection;
+import dev.mars.jtable.io.common.datasource.IRowSink;
+import dev.mars.jtable.io.common.datasource.IStreamingDataReader;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.zip.GZIPInputStream;
 
 /**
  * Implementation of the ICSVReader interface for reading data from CSV files.
+ * The file is read in a single streaming pass with {@link CSVParser}, and each record is
+ * pushed into the data source by column index without building a per-row map.
+ * Rows can also be streamed to an {@link IRowSink} without building a data source at all.
+ * Column types are inferred with a {@link TypeSniffer} from the first rows of the file, or
+ * from every row in an extra pass over the file. String columns with few distinct values are
+ * given the "category" type, which tables store dictionary encoded. Files ending in {@code .gz}
+ * are decompressed as they are read, and always parsed sequentially.
  */
-public class CSVReader implements ICSVReader {
-
+public class CSVReader implements ICSVReader, IStreamingDataReader {
 
+    /**
+     * The default number of data rows sampled to infer the column types.
+     */
+    public static final int DEFAULT_SAMPLE_ROWS = 100;
 
     /**
      * Reads data from a source into a data source.
      * This method is part of the IDataReader interface.
+     * Supported options are {@code hasHeaderRow}, {@code allowEmptyValues}, {@code delimiter}
+     * (a single character, {@code ,} by default), {@code parallelism} (the number of parser
+     * threads, 1 by default), {@code chunkSize} (the size in bytes of the chunks parsed in parallel),
+     * {@code sampleRows} (the number of data rows the column types are inferred from,
+     * {@value #DEFAULT_SAMPLE_ROWS} by default) and {@code inferTypesFromAllRows} (infer the column
+     * types from every row in a first pass over the file, false by default).
      *
      * @param dataSource the data source to read into
      * @param connection the source to read from (e.g., file name, URL, etc.)
@@ -50,9 +77,15 @@ public class CSVReader implements ICSVReader {
         // Extract options
         boolean hasHeaderRow = options != null && options.containsKey("hasHeaderRow") ? (Boolean) options.get("hasHeaderRow") : false;
         boolean allowEmptyValues = options != null && options.containsKey("allowEmptyValues") ? (Boolean) options.get("allowEmptyValues") : false;
+        char delimiter = getDelimiter(options);
+        int parallelism = getIntOption(options, "parallelism", 1);
+        int chunkSize = getIntOption(options, "chunkSize", ParallelCSVParser.DEFAULT_CHUNK_SIZE);
+        int sampleRows = getIntOption(options, "sampleRows", DEFAULT_SAMPLE_ROWS);
+        boolean inferTypesFromAllRows = options != null && options.containsKey("inferTypesFromAllRows") ? (Boolean) options.get("inferTypesFromAllRows") : false;
 
         // Call the CSV-specific method
-        readFromCSV(csvDataSource, fileConnection, hasHeaderRow, allowEmptyValues);
+        readFromCSV(csvDataSource, fileConnection, hasHeaderRow, allowEmptyValues, delimiter, parallelism, chunkSize,
+                sampleRows, inferTypesFromAllRows);
     }
 
 
@@ -69,97 +102,361 @@ public class CSVReader implements ICSVReader {
      */
     @Override
     public void readFromCSV(ICSVDataSource dataSource, FileConnection connection, boolean hasHeaderRow, boolean allowEmptyValues) throws IOException, IllegalArgumentException {
-        String line;
-        String[] headers = new String[0];
-        var columnNames = new LinkedHashMap<String, String>();
-        var colNames = new ArrayList<String>();
-        var colTypes = new ArrayList<String>();
+        readFromCSV(dataSource, connection, hasHeaderRow, allowEmptyValues, CSVParser.DEFAULT_DELIMITER);
+    }
+
+    /**
+     * Reads data from a delimited file into a data source.
+     * Column types are inferred from the first {@value #DEFAULT_SAMPLE_ROWS} data rows. When empty values are not allowed,
+     * trailing empty fields beyond the width of the header are ignored.
+     *
+     * @param dataSource the data source to read into
+     * @param connection the file connection to read from
+     * @param hasHeaderRow whether the CSV file has a header row
+     * @param allowEmptyValues whether to allow empty values in the CSV file
+     * @param delimiter the field delimiter
+     * @throws IOException if there is an error reading the file or if the CSV format is invalid
+     * @throws IllegalArgumentException if there is an error processing the CSV data
+     */
+    public void readFromCSV(ICSVDataSource dataSource, FileConnection connection, boolean hasHeaderRow, boolean allowEmptyValues, char delimiter) throws IOException, IllegalArgumentException {
+        readFromCSV(dataSource, connection, hasHeaderRow, allowEmptyValues, delimiter, 1, ParallelCSVParser.DEFAULT_CHUNK_SIZE);
+    }
 
+    /**
+     * Reads data from a delimited file into a data source, optionally in parallel.
+     * With a parallelism above one, a local file is memory-mapped and parsed in chunks of about
+     * {@code chunkSize} bytes on that many threads; rows are still added in file order. Remote
+     * files are always read sequentially.
+     *
+     * @param dataSource the data source to read into
+     * @param connection the file connection to read from
+     * @param hasHeaderRow whether the CSV file has a header row
+     * @param allowEmptyValues whether to allow empty values in the CSV file
+     * @param delimiter the field delimiter
+     * @param parallelism the number of parser threads
+     * @param chunkSize the size in bytes of the chunks parsed in parallel
+     * @throws IOException if there is an error reading the file or if the CSV format is invalid
+     * @throws IllegalArgumentException if there is an error processing the CSV data
+     */
+    public void readFromCSV(ICSVDataSource dataSource, FileConnection connection, boolean hasHeaderRow, boolean allowEmptyValues,
+                            char delimiter, int parallelism, int chunkSize) throws IOException, IllegalArgumentException {
+        readFromCSV(dataSource, connection, hasHeaderRow, allowEmptyValues, delimiter, parallelism, chunkSize,
+                DEFAULT_SAMPLE_ROWS, false);
+    }
+
+    /**
+     * Reads data from a delimited file into a data source, inferring the column types from
+     * a sample of the rows or from all of them.
+     * The first {@code sampleRows} data rows are held back until their column types are known, and
+     * each column gets the widest type of its non-empty sampled values. With
+     * {@code inferTypesFromAllRows}, the file is parsed twice instead: once to infer the types from
+     * every row, and once to read the rows.
+     *
+     * @param dataSource the data source to read into
+     * @param connection the file connection to read from
+     * @param hasHeaderRow whether the CSV file has a header row
+     * @param allowEmptyValues whether to allow empty values in the CSV file
+     * @param delimiter the field delimiter
+     * @param parallelism the number of parser threads
+     * @param chunkSize the size in bytes of the chunks parsed in parallel
+     * @param sampleRows the number of data rows to infer the column types from
+     * @param inferTypesFromAllRows whether to infer the column types from every row in a first pass
+     * @throws IOException if there is an error reading the file or if the CSV format is invalid
+     * @throws IllegalArgumentException if there is an error processing the CSV data
+     */
+    public void readFromCSV(ICSVDataSource dataSource, FileConnection connection, boolean hasHeaderRow, boolean allowEmptyValues,
+                            char delimiter, int parallelism, int chunkSize, int sampleRows,
+                            boolean inferTypesFromAllRows) throws IOException, IllegalArgumentException {
+        if (sampleRows <= 0) {
+            throw new IllegalArgumentException("Sample rows must be positive: " + sampleRows);
+        }
+        DataSourceRowSink sink = new DataSourceRowSink(dataSource);
+        try {
+            streamCSV(connection, hasHeaderRow, allowEmptyValues, delimiter, parallelism, chunkSize,
+                    sampleRows, inferTypesFromAllRows, sink);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Error processing CSV data: " + e.getMessage(), e);
+        }
+        if (sink.getRowCount() == 0) {
+            throw new IOException("No data rows found in CSV file");
+        }
+    }
+
+    /**
+     * Reads rows from a CSV file and passes them to a sink as they are parsed.
+     * This accepts the same options as {@link #readData}. Column types are inferred as in
+     * {@link #readFromCSV(ICSVDataSource, FileConnection, boolean, boolean, char, int, int, int, boolean)};
+     * if the file has a header row but no data, every column is reported as a string.
+     *
+     * @param connection the file connection to read from
+     * @param options additional options for reading
+     * @param sink the sink to receive the rows
+     * @throws IOException if there is an error reading the file, the CSV format is invalid or the sink fails
+     * @throws IllegalArgumentException if the connection is not a FileConnection or an option is invalid
+     */
+    @Override
+    public void readRows(IDataSourceConnection connection, Map<String, Object> options, IRowSink sink) throws IOException, IllegalArgumentException {
+        if (!(connection instanceof FileConnection)) {
+            throw new IllegalArgumentException("Connection must be a FileConnection for CSV reading");
+        }
+        if (sink == null) {
+            throw new IllegalArgumentException("Row sink cannot be null");
+        }
+
+        boolean hasHeaderRow = options != null && options.containsKey("hasHeaderRow") ? (Boolean) options.get("hasHeaderRow") : false;
+        boolean allowEmptyValues = options != null && options.containsKey("allowEmptyValues") ? (Boolean) options.get("allowEmptyValues") : false;
+        char delimiter = getDelimiter(options);
+        int parallelism = getIntOption(options, "parallelism", 1);
+        int chunkSize = getIntOption(options, "chunkSize", ParallelCSVParser.DEFAULT_CHUNK_SIZE);
+        int sampleRows = getIntOption(options, "sampleRows", DEFAULT_SAMPLE_ROWS);
+        boolean inferTypesFromAllRows = options != null && options.containsKey("inferTypesFromAllRows") ? (Boolean) options.get("inferTypesFromAllRows") : false;
+
+        streamCSV((FileConnection) connection, hasHeaderRow, allowEmptyValues, delimiter, parallelism, chunkSize,
+                sampleRows, inferTypesFromAllRows, sink);
+    }
+
+    /**
+     * Parses a CSV file and passes its rows to a sink, sequentially or in parallel.
+     */
+    private static void streamCSV(FileConnection connection, boolean hasHeaderRow, boolean allowEmptyValues, char delimiter,
+                                  int parallelism, int chunkSize, int sampleRows, boolean inferTypesFromAllRows,
+                                  IRowSink sink) throws IOException {
         // Make sure connection is established
         if (!connection.isConnected()) {
             connection.connect();
         }
 
-        // Extract the file name from the connection
-        String fileName = connection.getLocation();
+        TypeSniffer sniffer = null;
+        if (inferTypesFromAllRows) {
+            TypeScanner scanner = new TypeScanner(hasHeaderRow);
+            parse(connection, delimiter, parallelism, chunkSize, scanner);
+            sniffer = scanner.sniffer;
+        }
 
-        // Read headers
-        try (BufferedReader br = new BufferedReader(new FileReader(fileName))) {
-            if (hasHeaderRow) {
-                line = br.readLine();
-                if (line != null) {
-                    headers = line.split(",");
-                    for (int i = 0; i < headers.length; i++) {
-                        colNames.add(headers[i]);
-                    }
-                }
-            } else {
-                line = br.readLine();
-                if (line != null) {
-                    headers = line.split(",");
-                    for (int i = 0; i < headers.length; i++) {
-                        colNames.add("Column" + (i + 1));
-                    }
+        RowStreamer streamer = new RowStreamer(sink, sniffer, sampleRows, hasHeaderRow, allowEmptyValues);
+        parse(connection, delimiter, parallelism, chunkSize, streamer);
+        streamer.finish();
+    }
+
+    private static void parse(FileConnection connection, char delimiter, int parallelism, int chunkSize,
+                              CSVParser.RecordHandler handler) throws IOException {
+        // A compressed file cannot be split into chunks, so it is always parsed sequentially
+        if (parallelism > 1 && !connection.isRemote() && !isGzip(connection)) {
+            new ParallelCSVParser(Paths.get(connection.getLocation()), delimiter, parallelism, chunkSize).parse(handler);
+        } else {
+            try (CSVParser parser = new CSVParser(openChannel(connection), delimiter)) {
+                parser.forEach(handler);
+            }
+        }
+    }
+
+    /**
+     * Infers the column types from every data row of a file without keeping any rows.
+     * Records of the wrong width are left for the reading pass to report.
+     */
+    private static final class TypeScanner implements CSVParser.RecordHandler {
+        private final boolean hasHeaderRow;
+        private TypeSniffer sniffer;
+        private int columnCount;
+
+        TypeScanner(boolean hasHeaderRow) {
+            this.hasHeaderRow = hasHeaderRow;
+        }
+
+        @Override
+        public void handle(String[] fields, int fieldCount) {
+            if (sniffer == null) {
+                sniffer = new TypeSniffer(fieldCount);
+                columnCount = fieldCount;
+                if (hasHeaderRow) {
+                    return;
                 }
             }
-        } catch (IOException e) {
-            throw new IOException("Error reading CSV file headers: " + e.getMessage(), e);
+            // Fields past the end of a short record may be left over from an earlier one
+            if (fieldCount >= columnCount) {
+                sniffer.sample(fields);
+            }
         }
+    }
 
-        if (headers.length == 0) {
-            throw new IOException("No headers found in CSV file");
+    /**
+     * Passes parsed records to a row sink. The first record supplies the column names. Unless the
+     * column types were inferred beforehand, the first data rows are held back and sampled for
+     * the column types before any row is passed on.
+     */
+    private static final class RowStreamer implements CSVParser.RecordHandler {
+        private final IRowSink sink;
+        private final int sampleRows;
+        private final boolean hasHeaderRow;
+        private final boolean allowEmptyValues;
+        private final List<String[]> sampledRows = new ArrayList<>();
+        private TypeSniffer sniffer;
+        private List<String> colNames;
+        private int columnCount;
+        private boolean columnsSet;
+        private long recordNumber;
+
+        RowStreamer(IRowSink sink, TypeSniffer sniffer, int sampleRows, boolean hasHeaderRow, boolean allowEmptyValues) {
+            this.sink = sink;
+            this.sniffer = sniffer;
+            this.sampleRows = sniffer != null ? 0 : sampleRows;
+            this.hasHeaderRow = hasHeaderRow;
+            this.allowEmptyValues = allowEmptyValues;
         }
 
-        // Read data
-        try (BufferedReader br = new BufferedReader(new FileReader(fileName))) {
-            // Skip the header row if it exists
-            if (hasHeaderRow) {
-                br.readLine();
+        @Override
+        public void handle(String[] fields, int fieldCount) throws IOException {
+            recordNumber++;
+
+            // Read headers
+            if (colNames == null) {
+                colNames = new ArrayList<>(fieldCount);
+                for (int i = 0; i < fieldCount; i++) {
+                    colNames.add(hasHeaderRow ? fields[i] : "Column" + (i + 1));
+                }
+                columnCount = fieldCount;
+                if (sniffer == null) {
+                    sniffer = new TypeSniffer(columnCount);
+                }
+                if (hasHeaderRow) {
+                    return;
+                }
+            }
+
+            String[] values = toValues(fields, fieldCount);
+            if (values == null) {
+                throw new IOException(recordNumber > (hasHeaderRow ? 2 : 1)
+                        ? "CSV format error: number of values in row " + recordNumber + " does not match the number of headers"
+                        : "CSV format error: number of values in the first row does not match the number of headers");
             }
 
-            // Read the first data row to infer types
-            line = br.readLine();
-            if (line == null) {
-                throw new IOException("No data rows found in CSV file");
+            if (columnsSet) {
+                sink.row(values);
+                return;
             }
-            String[] firstRowValues = line.split(",", allowEmptyValues ? -1 : headers.length);
-            if (firstRowValues.length != headers.length) {
-                throw new IOException("CSV format error: number of values in the first row does not match the number of headers");
+
+            // Hold the row back until the sample is complete; the parser reuses its field array
+            sniffer.sample(values);
+            sampledRows.add(values == fields ? values.clone() : values);
+            if (sampledRows.size() >= sampleRows) {
+                startRows();
+            }
+        }
+
+        void finish() throws IOException {
+            if (colNames == null) {
+                throw new IOException("No headers found in CSV file");
             }
-            for (int i = 0; i < firstRowValues.length; i++) {
-                var colName = colNames.get(i);
-                var colType = dataSource.inferType(firstRowValues[i]);
-                columnNames.put(colName, colType);
+            if (!columnsSet) {
+                startRows();
             }
-            dataSource.setColumns(columnNames);
+            sink.end();
+        }
 
-            // Add the first row
-            Map<String, String> firstRow = new HashMap<>();
-            for (int i = 0; i < firstRowValues.length; i++) {
-                firstRow.put(colNames.get(i), firstRowValues[i]);
+        /**
+         * Starts the sink with the inferred column types and passes on the sampled rows.
+         */
+        private void startRows() throws IOException {
+            var columnNames = new LinkedHashMap<String, String>();
+            for (int i = 0; i < columnCount; i++) {
+                columnNames.put(colNames.get(i), sniffer.getColumnType(i));
             }
-            dataSource.addRow(firstRow);
+            sink.start(columnNames);
+            columnsSet = true;
+            for (String[] row : sampledRows) {
+                sink.row(row);
+            }
+            sampledRows.clear();
+        }
 
-            // Add the remaining rows
-            while ((line = br.readLine()) != null) {
-                String[] values = line.split(",");
-                if (values.length != headers.length) {
-                    throw new IOException("CSV format error: number of values in a row does not match the number of headers");
+        /**
+         * Returns the values of a record sized to the column count, or null if the record
+         * has the wrong number of fields.
+         */
+        private String[] toValues(String[] fields, int fieldCount) {
+            if (!allowEmptyValues) {
+                while (fieldCount > columnCount && fields[fieldCount - 1].isEmpty()) {
+                    fieldCount--;
                 }
-                Map<String, String> row = new HashMap<>();
-                for (int i = 0; i < values.length; i++) {
-                    row.put(colNames.get(i), values[i]);
-                }
-                dataSource.addRow(row);
             }
-        } catch (IOException e) {
-            throw new IOException("Error reading CSV file data: " + e.getMessage(), e);
-        } catch (IllegalArgumentException e) {
-            throw new IllegalArgumentException("Error processing CSV data: " + e.getMessage(), e);
+            if (fieldCount != columnCount) {
+                return null;
+            }
+            // The sequential parser sizes its field array to the widest record, which is normally the header
+            return fields.length == columnCount ? fields : Arrays.copyOf(fields, columnCount);
         }
     }
 
+    /**
+     * Opens a byte channel for the file or URL behind a connection.
+     */
+    static ReadableByteChannel openChannel(FileConnection connection) throws IOException {
+        if (isGzip(connection)) {
+            InputStream in = connection.isRemote()
+                    ? ((URL) connection.getRawConnection()).openStream()
+                    : Files.newInputStream(Paths.get(connection.getLocation()));
+            try {
+                return Channels.newChannel(new GZIPInputStream(in, 1 << 16));
+            } catch (IOException e) {
+                in.close();
+                throw e;
+            }
+        }
+        if (connection.isRemote()) {
+            return Channels.newChannel(((URL) connection.getRawConnection()).openStream());
+        }
+        return FileChannel.open(Paths.get(connection.getLocation()), StandardOpenOption.READ);
+    }
 
+    private static boolean isGzip(FileConnection connection) {
+        return connection.getLocation().toLowerCase().endsWith(".gz");
+    }
 
+    /**
+     * Gets the field delimiter from the options map.
+     *
+     * @param options the reader options, may be null
+     * @return the delimiter, or {@link CSVParser#DEFAULT_DELIMITER} if none is given
+     * @throws IllegalArgumentException if the delimiter is not a single character
+     */
+    static char getDelimiter(Map<String, Object> options) {
+        Object delimiter = options != null ? options.get("delimiter") : null;
+        if (delimiter == null) {
+            return CSVParser.DEFAULT_DELIMITER;
+        }
+        if (delimiter instanceof Character) {
+            return (Character) delimiter;
+        }
+        String text = delimiter.toString();
+        if (text.length() != 1) {
+            throw new IllegalArgumentException("Delimiter must be a single character: '" + text + "'");
+        }
+        return text.charAt(0);
+    }
 
+    /**
+     * Gets a positive integer option from the options map.
+     *
+     * @param options the reader options, may be null
+     * @param name the option name
+     * @param defaultValue the value to use if the option is not set
+     * @return the option value
+     * @throws IllegalArgumentException if the option is not a positive number
+     */
+    static int getIntOption(Map<String, Object> options, String name, int defaultValue) {
+        Object value = options != null ? options.get(name) : null;
+        if (value == null) {
+            return defaultValue;
+        }
+        int result;
+        try {
+            result = value instanceof Number ? ((Number) value).intValue() : Integer.parseInt(value.toString().trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Option '" + name + "' must be a number: " + value);
+        }
+        if (result <= 0) {
+            throw new IllegalArgumentException("Option '" + name + "' must be positive: " + value);
+        }
+        return result;
+    }
 }
@@ -1,22 +1,37 @@
 package dev.mars.jtable.io.files.csv;
 
 
+import dev.mars.jtable.core.model.ITable;
+import dev.mars.jtable.io.common.adapter.ITableAdapter;
 import dev.mars.jtable.io.common.datasource.FileConnection;
 import dev.mars.jtable.io.common.datasource.ICSVDataSource;
 import dev.mars.jtable.io.common.datasource.IDataSource;
 import dev.mars.jtable.io.common.datasource.IDataSourceConnection;
 
-import java.io.FileWriter;
 import java.io.IOException;
-import java.nio.file.Path;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.Map;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * Implementation of the ICSVWriter interface for writing data to CSV files.
+ * Rows are encoded by a {@link CSVEncoder} into a large buffer that is written through a
+ * {@link FileChannel}, with RFC 4180 quoting where a value needs it. For table-backed data
+ * sources, int and boolean columns are encoded from their primitive values instead of being
+ * formatted as strings first. The output can be gzip-compressed, and can be written by a
+ * background thread while the rows are encoded.
  */
 public class CSVWriter implements ICSVWriter {
     /**
      * Writes data from a data source to a destination using the provided connection.
+     * Supported options are {@code withHeaderRow} (false by default), {@code delimiter} (a single
+     * character, "," by default), {@code gzip} (compress the output, true by default for files
+     * ending in {@code .gz}) and {@code background} (write the file from a background thread,
+     * false by default).
      *
      * @param dataSource the data source to write from
      * @param connection the connection to the destination
@@ -40,9 +55,6 @@ public class CSVWriter implements ICSVWriter {
         }
         FileConnection fileConnection = (FileConnection) connection;
 
-        // Extract options
-        boolean withHeaderRow = options != null && options.containsKey("withHeaderRow") ? (Boolean) options.get("withHeaderRow") : false;
-
         // Connect if not already connected
         if (!fileConnection.isConnected()) {
             fileConnection.connect();
@@ -51,9 +63,16 @@ public class CSVWriter implements ICSVWriter {
         // Get the file path from the connection
         String destination = fileConnection.getLocation();
 
+        // Extract options
+        boolean withHeaderRow = options != null && options.containsKey("withHeaderRow") ? (Boolean) options.get("withHeaderRow") : false;
+        char delimiter = CSVReader.getDelimiter(options);
+        boolean gzip = options != null && options.containsKey("gzip") ? (Boolean) options.get("gzip") : destination.toLowerCase().endsWith(".gz");
+        boolean background = options != null && options.containsKey("background") ? (Boolean) options.get("background") : false;
+
         // Call the CSV-specific method
-        writeToCSV(csvDataSource, destination, withHeaderRow);
+        writeToCSV(csvDataSource, destination, withHeaderRow, delimiter, gzip, background);
     }
+
     /**
      * Writes data from a data source to a CSV file.
      *
@@ -65,42 +84,86 @@ public class CSVWriter implements ICSVWriter {
      */
     @Override
     public void writeToCSV(ICSVDataSource dataSource, String fileName, boolean withHeaderRow) throws IOException, IllegalArgumentException {
-        try (FileWriter writer = new FileWriter(fileName)) {
-            // Write the header if withHeaderRow is true
-            if (withHeaderRow) {
-                for (int i = 0; i < dataSource.getColumnCount(); i++) {
-                    String columnName = dataSource.getColumnName(i);
-                    if (columnName == null || columnName.isEmpty()) {
-                        columnName = "Column" + (i + 1);
-                    }
-                    writer.append(columnName);
-                    if (i < dataSource.getColumnCount() - 1) {
-                        writer.append(",");
-                    }
-                }
-                writer.append("\n");
-            }
+        writeToCSV(dataSource, fileName, withHeaderRow, CSVParser.DEFAULT_DELIMITER, false, false);
+    }
 
-            // Write the data rows
-            for (int i = 0; i < dataSource.getRowCount(); i++) {
-                for (int j = 0; j < dataSource.getColumnCount(); j++) {
-                    String columnName = dataSource.getColumnName(j);
-                    String value = dataSource.getValueAt(i, columnName);
-                    if (value == null || value.isEmpty()) {
-                        writer.append("");
-                    } else {
-                        writer.append(value);
-                    }
-                    if (j < dataSource.getColumnCount() - 1) {
-                        writer.append(",");
-                    }
-                }
-                writer.append("\n");
-            }
+    /**
+     * Writes data from a data source to a CSV file, optionally gzip-compressed.
+     *
+     * @param dataSource the data source to write from
+     * @param fileName the name of the file to write to
+     * @param withHeaderRow whether to include a header row in the CSV file
+     * @param delimiter the field delimiter
+     * @param gzip whether to gzip-compress the file
+     * @param background whether to write the file from a background thread while the rows are encoded
+     * @throws IOException if there is an error writing to the file
+     * @throws IllegalArgumentException if there is an error with the data source or the delimiter is invalid
+     */
+    public void writeToCSV(ICSVDataSource dataSource, String fileName, boolean withHeaderRow, char delimiter,
+                           boolean gzip, boolean background) throws IOException, IllegalArgumentException {
+        CSVParser.checkDelimiter(delimiter);
+        try (CSVEncoder encoder = new CSVEncoder(openChannel(fileName, gzip), delimiter,
+                CSVEncoder.DEFAULT_BUFFER_SIZE, background)) {
+            writeRows(dataSource, encoder, withHeaderRow);
         } catch (IOException e) {
             throw new IOException("Error writing CSV file: " + e.getMessage(), e);
         } catch (IllegalArgumentException e) {
             throw new IllegalArgumentException("Error processing CSV data: " + e.getMessage(), e);
         }
     }
+
+    private static WritableByteChannel openChannel(String fileName, boolean gzip) throws IOException {
+        FileChannel file = FileChannel.open(Paths.get(fileName), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        if (!gzip) {
+            return file;
+        }
+        try {
+            return Channels.newChannel(new GZIPOutputStream(Channels.newOutputStream(file), 1 << 16));
+        } catch (IOException e) {
+            file.close();
+            throw e;
+        }
+    }
+
+    private static void writeRows(ICSVDataSource dataSource, CSVEncoder encoder, boolean withHeaderRow) throws IOException {
+        int columnCount = dataSource.getColumnCount();
+
+        // Write the header if withHeaderRow is true
+        if (withHeaderRow) {
+            for (int j = 0; j < columnCount; j++) {
+                String columnName = dataSource.getColumnName(j);
+                if (columnName == null || columnName.isEmpty()) {
+                    columnName = "Column" + (j + 1);
+                }
+                encoder.writeField(columnName);
+            }
+            encoder.endRecord();
+        }
+
+        // Resolve the column types of table-backed sources once rather than for every row
+        ITable table = dataSource instanceof ITableAdapter ? ((ITableAdapter) dataSource).getTable() : null;
+        Class<?>[] columnTypes = new Class<?>[columnCount];
+        for (int j = 0; j < columnCount; j++) {
+            columnTypes[j] = table != null ? table.getColumn(j).getType() : String.class;
+        }
+
+        // Write the data rows
+        int rowCount = dataSource.getRowCount();
+        for (int i = 0; i < rowCount; i++) {
+            for (int j = 0; j < columnCount; j++) {
+                Class<?> type = columnTypes[j];
+                if (table == null || (type != Integer.class && type != Boolean.class)) {
+                    encoder.writeField(dataSource.getValueAt(i, j));
+                } else if (table.isNull(i, j)) {
+                    encoder.writeField((String) null);
+                } else if (type == Integer.class) {
+                    encoder.writeField(table.getInt(i, j));
+                } else {
+                    encoder.writeField(table.getBoolean(i, j));
+                }
+            }
+            encoder.endRecord();
+        }
+    }
 }
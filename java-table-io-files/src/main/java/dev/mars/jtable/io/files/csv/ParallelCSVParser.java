@@ -0,0 +1,211 @@
+package dev.mars.jtable.io.files.csv;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Parses a large CSV file in parallel using memory-mapped chunks.
+ * <p>
+ * The file is processed in two parallel passes over fixed-size segments. The first pass counts
+ * the quote characters in each segment and notes its first line feed at each quote parity; a
+ * prefix sum over the counts then tells which of those line feeds ends a record, so every chunk
+ * starts on a record boundary even when quoted fields contain line breaks. The second pass parses
+ * the chunks with {@link CSVParser} on a {@link ForkJoinPool}. Parsed chunks are handed to the
+ * record handler strictly in file order, and only a bounded number of chunks is held in memory
+ * at a time.
+ * <p>
+ * The input must be UTF-8 and use RFC 4180 quoting, i.e. quotes only appear around fields
+ * and doubled inside them.
+ */
+public class ParallelCSVParser {
+
+    /**
+     * The default chunk size in bytes. At most twice the parallelism of parsed chunks
+     * are held in memory at a time, so this bounds the memory used by the parser.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 8 << 20;
+
+    private static final byte QUOTE = '"';
+    private static final byte LINE_FEED = '\n';
+
+    private final Path file;
+    private final char delimiter;
+    private final int parallelism;
+    private final int chunkSize;
+
+    /**
+     * Creates a parallel parser for a file.
+     *
+     * @param file the file to parse
+     * @param delimiter the field delimiter
+     * @param parallelism the number of worker threads
+     * @param chunkSize the target size in bytes of each chunk
+     * @throws IllegalArgumentException if parallelism or chunk size is not positive
+     */
+    public ParallelCSVParser(Path file, char delimiter, int parallelism, int chunkSize) {
+        if (file == null) {
+            throw new IllegalArgumentException("File cannot be null");
+        }
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        }
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+        }
+        this.file = file;
+        this.delimiter = delimiter;
+        this.parallelism = parallelism;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Parses the file and passes every record to the handler in file order.
+     * The handler is always called from the calling thread.
+     *
+     * @param handler the handler to receive the records
+     * @throws IOException if the file cannot be read, is malformed, or the handler fails
+     */
+    public void parse(CSVParser.RecordHandler handler) throws IOException {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long[] boundaries = findChunkBoundaries(channel, pool);
+            int chunkCount = boundaries.length - 1;
+
+            // Keep a window of chunks in flight and consume them in order
+            int window = parallelism * 2;
+            Deque<ForkJoinTask<List<String[]>>> pending = new ArrayDeque<>();
+            int nextChunk = 0;
+            while (nextChunk < chunkCount || !pending.isEmpty()) {
+                while (nextChunk < chunkCount && pending.size() < window) {
+                    long start = boundaries[nextChunk];
+                    long end = boundaries[nextChunk + 1];
+                    pending.add(pool.submit(() -> parseChunk(channel, start, end)));
+                    nextChunk++;
+                }
+                for (String[] record : await(pending.poll())) {
+                    handler.handle(record, record.length);
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Returns the file offsets at which chunks start, followed by the file size.
+     */
+    private long[] findChunkBoundaries(FileChannel channel, ForkJoinPool pool) throws IOException {
+        long size = channel.size();
+        int segmentCount = (int) Math.max(1, (size + chunkSize - 1) / chunkSize);
+
+        List<ForkJoinTask<SegmentScan>> scans = new ArrayList<>(segmentCount);
+        for (int i = 0; i < segmentCount; i++) {
+            long start = (long) i * chunkSize;
+            long end = Math.min(size, start + chunkSize);
+            scans.add(pool.submit(() -> scanSegment(channel, start, end)));
+        }
+
+        long[] boundaries = new long[segmentCount + 1];
+        int count = 0;
+        boundaries[count++] = 0;
+        long quotes = 0;
+        for (ForkJoinTask<SegmentScan> task : scans) {
+            SegmentScan scan = await(task);
+            if (scan.start > 0) {
+                // Every later segment starts a chunk after its first line feed outside quotes
+                long lineFeed = (quotes & 1) == 0 ? scan.firstLineFeedEven : scan.firstLineFeedOdd;
+                if (lineFeed >= 0 && lineFeed + 1 < size) {
+                    boundaries[count++] = lineFeed + 1;
+                }
+            }
+            quotes += scan.quotes;
+        }
+        boundaries[count++] = size;
+        return Arrays.copyOf(boundaries, count);
+    }
+
+    private static SegmentScan scanSegment(FileChannel channel, long start, long end) throws IOException {
+        SegmentScan scan = new SegmentScan(start);
+        if (end <= start) {
+            return scan;
+        }
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        int length = buffer.limit();
+        long quotes = 0;
+        for (int i = 0; i < length; i++) {
+            byte b = buffer.get(i);
+            if (b == QUOTE) {
+                quotes++;
+            } else if (b == LINE_FEED) {
+                if ((quotes & 1) == 0) {
+                    if (scan.firstLineFeedEven < 0) {
+                        scan.firstLineFeedEven = start + i;
+                    }
+                } else if (scan.firstLineFeedOdd < 0) {
+                    scan.firstLineFeedOdd = start + i;
+                }
+            }
+        }
+        scan.quotes = quotes;
+        return scan;
+    }
+
+    private List<String[]> parseChunk(FileChannel channel, long start, long end) throws IOException {
+        if (end - start > Integer.MAX_VALUE) {
+            throw new IOException("CSV record spanning offset " + start + " is too large to map");
+        }
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        List<String[]> records = new ArrayList<>();
+        try (CSVParser parser = new CSVParser(buffer, delimiter, start == 0)) {
+            parser.forEach((fields, fieldCount) -> records.add(Arrays.copyOf(fields, fieldCount)));
+        }
+        return records;
+    }
+
+    private static <T> T await(ForkJoinTask<T> task) throws IOException {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while parsing CSV file", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) cause).getCause();
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException("Error parsing CSV file: " + cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * Result of the first pass over one segment.
+     */
+    private static final class SegmentScan {
+        final long start;
+        long quotes;
+        long firstLineFeedEven = -1;
+        long firstLineFeedOdd = -1;
+
+        SegmentScan(long start) {
+            this.start = start;
+        }
+    }
+}
@@ -186,7 +186,7 @@ public class JDBCMappingWriter {
      * @param tableType the Table type
      * @return the corresponding SQL type
      */
-    private String mapTableTypeToSqlType(String tableType) {
+    public static String mapTableTypeToSqlType(String tableType) {
         switch (tableType) {
             case "int":
                 return "INTEGER";
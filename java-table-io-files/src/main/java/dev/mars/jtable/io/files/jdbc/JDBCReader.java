@@ -1,22 +1,27 @@
 package dev.mars.jtable.io.files.jdbc;
 
+import dev.mars.jtable.io.common.datasource.DataSourceRowSink;
 import dev.mars.jtable.io.common.datasource.IDataSource;
 import dev.mars.jtable.io.common.datasource.IDataSourceConnection;
 import dev.mars.jtable.io.common.datasource.IJDBCDataSource;
 import dev.mars.jtable.io.common.datasource.DbConnection;
+import dev.mars.jtable.io.common.datasource.IRowSink;
+import dev.mars.jtable.io.common.datasource.IStreamingDataReader;
+
+import java.io.IOException;
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Statement;
-import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
  * Implementation of the IJDBCReader interface for reading data from databases via JDBC.
+ * Rows are read from the result set one at a time, and can be streamed to an {@link IRowSink}.
  */
-public class JDBCReader implements IJDBCReader {
+public class JDBCReader implements IJDBCReader, IStreamingDataReader {
     /**
      * Reads data from a source into a data source using the provided connection.
      *
@@ -88,10 +93,73 @@ public class JDBCReader implements IJDBCReader {
         try {
             // Get the raw JDBC connection
             Connection jdbcConnection = (Connection) connection.getRawConnection();
+            streamQuery(jdbcConnection, query, 0, new DataSourceRowSink(dataSource));
+        } catch (SQLException | IOException e) {
+            System.err.println("Error reading from database: " + e.getMessage());
+        } catch (IllegalArgumentException e) {
+            System.err.println("Error processing database data: " + e.getMessage());
+        }
+    }
 
-            try (Statement statement = jdbcConnection.createStatement();
-                 ResultSet resultSet = statement.executeQuery(query)) {
+    /**
+     * Reads rows from a database table or query and passes them to a sink as they are fetched.
+     * Supported options are {@code tableName}, {@code query} and {@code fetchSize}, the number
+     * of rows the driver should fetch per round trip. Unlike {@link #readData}, errors are not
+     * logged and swallowed but thrown to the caller.
+     *
+     * @param connection the connection to the database
+     * @param options additional options for reading
+     * @param sink the sink to receive the rows
+     * @throws IOException if the query fails or the sink fails
+     * @throws IllegalArgumentException if the connection is not a DbConnection or no table or query is given
+     */
+    @Override
+    public void readRows(IDataSourceConnection connection, Map<String, Object> options, IRowSink sink) throws IOException, IllegalArgumentException {
+        if (!(connection instanceof DbConnection)) {
+            throw new IllegalArgumentException("Connection must be a JDBCConnection");
+        }
+        if (sink == null) {
+            throw new IllegalArgumentException("Row sink cannot be null");
+        }
+        DbConnection dbConnection = (DbConnection) connection;
 
+        // Extract options
+        String tableName = options != null && options.containsKey("tableName") ? (String) options.get("tableName") : null;
+        String query = options != null && options.containsKey("query") ? (String) options.get("query") : null;
+        int fetchSize = options != null && options.containsKey("fetchSize") ? ((Number) options.get("fetchSize")).intValue() : 0;
+        if (query == null) {
+            if (tableName == null) {
+                throw new IllegalArgumentException("Either 'tableName' or 'query' must be specified in options");
+            }
+            query = "SELECT * FROM " + tableName;
+        }
+
+        // Connect if not already connected
+        if (!dbConnection.isConnected()) {
+            dbConnection.connect();
+        }
+
+        try {
+            streamQuery((Connection) dbConnection.getRawConnection(), query, fetchSize, sink);
+        } catch (SQLException e) {
+            throw new IOException("Error reading from database: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Executes a query and passes each row of the result set to a sink.
+     *
+     * @param jdbcConnection the JDBC connection
+     * @param query the SQL query to execute
+     * @param fetchSize the fetch size hint for the driver, or 0 for the driver default
+     * @param sink the sink to receive the rows
+     */
+    private void streamQuery(Connection jdbcConnection, String query, int fetchSize, IRowSink sink) throws SQLException, IOException {
+        try (Statement statement = jdbcConnection.createStatement()) {
+            if (fetchSize > 0) {
+                statement.setFetchSize(fetchSize);
+            }
+            try (ResultSet resultSet = statement.executeQuery(query)) {
                 ResultSetMetaData metaData = resultSet.getMetaData();
                 int columnCount = metaData.getColumnCount();
 
@@ -102,13 +170,12 @@ public class JDBCReader implements IJDBCReader {
                     String columnType = mapSqlTypeToTableType(metaData.getColumnType(i));
                     columns.put(columnName, columnType);
                 }
-                dataSource.setColumns(columns);
+                sink.start(columns);
 
-                // Process all rows in the result set
+                // Process all rows in the result set, reusing one value array
+                String[] values = new String[columnCount];
                 while (resultSet.next()) {
-                    Map<String, String> row = new HashMap<>();
                     for (int i = 1; i <= columnCount; i++) {
-                        String columnName = metaData.getColumnName(i);
                         String value = resultSet.getString(i);
 
                         // Convert boolean values to lowercase
@@ -116,15 +183,12 @@ public class JDBCReader implements IJDBCReader {
                             value = value.toLowerCase();
                         }
 
-                        row.put(columnName, value != null ? value : "");
+                        values[i - 1] = value != null ? value : "";
                     }
-                    dataSource.addRow(row);
+                    sink.row(values);
                 }
+                sink.end();
             }
-        } catch (SQLException e) {
-            System.err.println("Error reading from database: " + e.getMessage());
-        } catch (IllegalArgumentException e) {
-            System.err.println("Error processing database data: " + e.getMessage());
         }
     }
 
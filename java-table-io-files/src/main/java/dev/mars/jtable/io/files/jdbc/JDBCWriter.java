@@ -2,6 +2,8 @@ package dev.mars.jtable.io.files.jdbc;
 
 
 
+import dev.mars.jtable.core.model.ITable;
+import dev.mars.jtable.io.common.adapter.ITableAdapter;
 import dev.mars.jtable.io.common.datasource.IDataSource;
 import dev.mars.jtable.io.common.datasource.IDataSourceConnection;
 import dev.mars.jtable.io.common.datasource.IJDBCDataSource;
@@ -12,7 +14,9 @@ import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.sql.Types;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -20,6 +24,16 @@ import java.util.Map;
  */
 public class JDBCWriter implements IJDBCWriter {
 
+    /**
+     * The default number of rows sent per batch by the SQL template path.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+
+    /**
+     * The default number of rows per transaction of the SQL template path.
+     */
+    public static final int DEFAULT_COMMIT_INTERVAL = 10000;
+
     /**
      * Writes data from a JDBCTableAdapter to a database table.
      * This is a convenience method that uses the adapter's connection information.
@@ -89,6 +103,9 @@ public class JDBCWriter implements IJDBCWriter {
     /**
      * Writes data from a data source to a destination using the provided connection.
      * This method is part of the IDataWriter interface.
+     * With the {@code sqlTemplate} option, the template is executed for each row with its
+     * {@code :column} parameters bound from the row; {@code batchSize} and {@code commitInterval}
+     * set the number of rows per batch and per transaction.
      *
      * @param dataSource the data source to write from
      * @param connection the connection to the destination
@@ -101,6 +118,7 @@ public class JDBCWriter implements IJDBCWriter {
             throw new IllegalArgumentException("Connection must be a JDBCConnection");
         }
         DbConnection DbConnection = (DbConnection) connection;
+        String connectionString = DbConnection.getConnectionString();
 
         // Extract common options
         String tableName = null;
@@ -130,8 +148,9 @@ public class JDBCWriter implements IJDBCWriter {
             // For JDBCTableAdapter, we can use the convenience methods if we have all adapter properties
             if (adapter.getConnectionString() != null) {
                 if (sqlTemplate != null) {
-                    executeBatch(adapter, sqlTemplate);
-                    return;
+                    // Run the template below against the adapter's database, keeping the
+                    // batchSize and commitInterval options of the caller
+                    connectionString = adapter.getConnectionString();
                 } else if (tableName != null) {
                     writeToDatabase(adapter, tableName, createTable);
                     return;
@@ -139,34 +158,21 @@ public class JDBCWriter implements IJDBCWriter {
             }
 
             // If we couldn't use the convenience methods, fall back to using the adapter's connection info
-            if (username.isEmpty()) {
+            if (username.isEmpty() && adapter.getUsername() != null) {
                 username = adapter.getUsername();
             }
-            if (password.isEmpty()) {
+            if (password.isEmpty() && adapter.getPassword() != null) {
                 password = adapter.getPassword();
             }
         }
 
-        // Get the connection string
-        String connectionString = DbConnection.getConnectionString();
-
         // Execute the appropriate action based on the options
         if (sqlTemplate != null) {
-            // Execute a batch of SQL statements
-            try (Connection sqlConnection = DriverManager.getConnection(connectionString, username, password);
-                 Statement statement = sqlConnection.createStatement()) {
-
-                // Execute the SQL template for each row
-                for (int i = 0; i < dataSource.getRowCount(); i++) {
-                    String sql = sqlTemplate;
-                    for (int j = 0; j < dataSource.getColumnCount(); j++) {
-                        String columnName = dataSource.getColumnName(j);
-                        String value = dataSource.getValueAt(i, columnName);
-                        sql = sql.replace(":" + columnName, "'" + value.replace("'", "''") + "'");
-                    }
-                    statement.addBatch(sql);
-                }
-                statement.executeBatch();
+            // Execute the SQL template for each row as one prepared statement
+            try (Connection sqlConnection = DriverManager.getConnection(connectionString, username, password)) {
+                executeTemplate(sqlConnection, dataSource, sqlTemplate,
+                        getPositiveIntOption(options, "batchSize", DEFAULT_BATCH_SIZE),
+                        getPositiveIntOption(options, "commitInterval", DEFAULT_COMMIT_INTERVAL));
             } catch (SQLException e) {
                 System.err.println("Error executing batch: " + e.getMessage());
             } catch (IllegalArgumentException e) {
@@ -200,9 +206,7 @@ public class JDBCWriter implements IJDBCWriter {
                 try (PreparedStatement statement = sqlConnection.prepareStatement(insertSql.toString())) {
                     for (int i = 0; i < dataSource.getRowCount(); i++) {
                         for (int j = 0; j < dataSource.getColumnCount(); j++) {
-                            String columnName = dataSource.getColumnName(j);
-                            String value = dataSource.getValueAt(i, columnName);
-                            statement.setString(j + 1, value);
+                            statement.setString(j + 1, dataSource.getValueAt(i, j));
                         }
                         statement.executeUpdate();
                     }
@@ -219,6 +223,132 @@ public class JDBCWriter implements IJDBCWriter {
 
 
 
+    /**
+     * Executes a SQL template with named parameters once for each row of a data source.
+     * The template is compiled once into a prepared statement, and each {@code :column} parameter
+     * is bound from the row by the type of its column when the data source is backed by a table.
+     * Rows are sent in batches and committed every {@code commitInterval} rows; if a batch fails,
+     * the open transaction is rolled back.
+     *
+     * @param connection the database connection
+     * @param dataSource the data source to get the rows from
+     * @param sqlTemplate the SQL template with {@code :column} parameters
+     * @param batchSize the number of rows per batch
+     * @param commitInterval the number of rows per transaction
+     * @throws SQLException if there is an error executing the statement
+     * @throws IllegalArgumentException if a parameter does not name a column of the data source
+     */
+    private void executeTemplate(Connection connection, IJDBCDataSource dataSource, String sqlTemplate,
+                                 int batchSize, int commitInterval) throws SQLException {
+        NamedParameterSql compiled = NamedParameterSql.parse(sqlTemplate);
+        List<String> parameterNames = compiled.getParameterNames();
+        ITable table = dataSource instanceof ITableAdapter ? ((ITableAdapter) dataSource).getTable() : null;
+
+        // Resolve each parameter to a column index and the type used to bind it
+        Map<String, Integer> columnIndexes = new HashMap<>();
+        for (int i = 0; i < dataSource.getColumnCount(); i++) {
+            columnIndexes.put(dataSource.getColumnName(i), i);
+        }
+        int[] columns = new int[parameterNames.size()];
+        Class<?>[] types = new Class<?>[columns.length];
+        for (int p = 0; p < columns.length; p++) {
+            String name = parameterNames.get(p);
+            Integer columnIndex = columnIndexes.get(name);
+            if (columnIndex == null) {
+                throw new IllegalArgumentException("SQL template parameter ':" + name + "' does not match a column");
+            }
+            columns[p] = columnIndex;
+            types[p] = table != null ? table.getColumn(columnIndex).getType() : String.class;
+        }
+
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try (PreparedStatement statement = connection.prepareStatement(compiled.getSql())) {
+            int rowCount = dataSource.getRowCount();
+            int rowsInBatch = 0;
+            int rowsSinceCommit = 0;
+            for (int row = 0; row < rowCount; row++) {
+                for (int p = 0; p < columns.length; p++) {
+                    if (table != null) {
+                        bindValue(statement, p + 1, types[p], table, row, columns[p]);
+                    } else {
+                        statement.setString(p + 1, dataSource.getValueAt(row, columns[p]));
+                    }
+                }
+                statement.addBatch();
+
+                if (++rowsInBatch == batchSize) {
+                    statement.executeBatch();
+                    rowsInBatch = 0;
+                }
+                if (++rowsSinceCommit == commitInterval) {
+                    if (rowsInBatch > 0) {
+                        statement.executeBatch();
+                        rowsInBatch = 0;
+                    }
+                    connection.commit();
+                    rowsSinceCommit = 0;
+                }
+            }
+            if (rowsInBatch > 0) {
+                statement.executeBatch();
+            }
+            connection.commit();
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    /**
+     * Binds a table cell to a statement parameter with the setter for its column type.
+     *
+     * @param statement the statement to bind to
+     * @param index the parameter index, starting at 1
+     * @param type the column type
+     * @param table the table holding the cell
+     * @param row the row index of the cell
+     * @param column the column index of the cell
+     * @throws SQLException if the value cannot be bound
+     */
+    private static void bindValue(PreparedStatement statement, int index, Class<?> type,
+                                  ITable table, int row, int column) throws SQLException {
+        if (table.isNull(row, column)) {
+            statement.setNull(index, type == Integer.class ? Types.INTEGER
+                    : type == Double.class ? Types.DOUBLE
+                    : type == Boolean.class ? Types.BOOLEAN
+                    : Types.VARCHAR);
+        } else if (type == Integer.class) {
+            statement.setInt(index, table.getInt(row, column));
+        } else if (type == Double.class) {
+            statement.setDouble(index, table.getDouble(row, column));
+        } else if (type == Boolean.class) {
+            statement.setBoolean(index, table.getBoolean(row, column));
+        } else if (type == String.class) {
+            statement.setString(index, table.getString(row, column));
+        } else {
+            // Dates and times are bound as java.time values
+            statement.setObject(index, table.getValueObject(row, table.getColumnName(column)));
+        }
+    }
+
+    /**
+     * Gets a positive integer option from the options map.
+     */
+    private static int getPositiveIntOption(Map<String, Object> options, String name, int defaultValue) {
+        Object value = options != null ? options.get(name) : null;
+        if (value == null) {
+            return defaultValue;
+        }
+        int result = value instanceof Number ? ((Number) value).intValue() : Integer.parseInt(value.toString().trim());
+        if (result <= 0) {
+            throw new IllegalArgumentException("Option '" + name + "' must be positive: " + value);
+        }
+        return result;
+    }
+
     /**
      * Creates a table in the database based on the data source's columns.
      *
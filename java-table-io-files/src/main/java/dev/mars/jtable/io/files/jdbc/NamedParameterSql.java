@@ -0,0 +1,94 @@
+package dev.mars.jtable.io.files.jdbc;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A SQL template with named parameters, compiled to JDBC placeholders.
+ * <p>
+ * Parameters are written as {@code :name}, where the name is a run of Java identifier characters.
+ * Each parameter is replaced with {@code ?}, and the parameter names are kept in placeholder order,
+ * so a name used twice is bound twice. Colons inside quoted literals, quoted identifiers and
+ * comments are left alone, as are {@code ::} casts.
+ */
+final class NamedParameterSql {
+    private final String sql;
+    private final List<String> parameterNames;
+
+    private NamedParameterSql(String sql, List<String> parameterNames) {
+        this.sql = sql;
+        this.parameterNames = Collections.unmodifiableList(parameterNames);
+    }
+
+    /**
+     * Compiles a SQL template with named parameters.
+     *
+     * @param template the SQL template
+     * @return the compiled template
+     * @throws IllegalArgumentException if the template is null or empty
+     */
+    static NamedParameterSql parse(String template) {
+        if (template == null || template.trim().isEmpty()) {
+            throw new IllegalArgumentException("SQL template cannot be null or empty");
+        }
+
+        StringBuilder sql = new StringBuilder(template.length());
+        List<String> names = new ArrayList<>();
+        int length = template.length();
+        int i = 0;
+        while (i < length) {
+            char c = template.charAt(i);
+            if (c == '\'' || c == '"') {
+                // Copy a quoted literal or identifier; doubled quotes simply reopen it
+                int end = template.indexOf(c, i + 1);
+                end = end < 0 ? length : end + 1;
+                sql.append(template, i, end);
+                i = end;
+            } else if (c == '-' && i + 1 < length && template.charAt(i + 1) == '-') {
+                int end = template.indexOf('\n', i);
+                end = end < 0 ? length : end;
+                sql.append(template, i, end);
+                i = end;
+            } else if (c == '/' && i + 1 < length && template.charAt(i + 1) == '*') {
+                int end = template.indexOf("*/", i + 2);
+                end = end < 0 ? length : end + 2;
+                sql.append(template, i, end);
+                i = end;
+            } else if (c == ':' && i + 1 < length && template.charAt(i + 1) == ':') {
+                sql.append("::");
+                i += 2;
+            } else if (c == ':' && i + 1 < length && Character.isJavaIdentifierStart(template.charAt(i + 1))) {
+                int end = i + 2;
+                while (end < length && Character.isJavaIdentifierPart(template.charAt(end))) {
+                    end++;
+                }
+                names.add(template.substring(i + 1, end));
+                sql.append('?');
+                i = end;
+            } else {
+                sql.append(c);
+                i++;
+            }
+        }
+        return new NamedParameterSql(sql.toString(), names);
+    }
+
+    /**
+     * Gets the SQL with each named parameter replaced by {@code ?}.
+     *
+     * @return the JDBC SQL
+     */
+    String getSql() {
+        return sql;
+    }
+
+    /**
+     * Gets the parameter names in placeholder order.
+     *
+     * @return the parameter names; the name at index i is bound to placeholder i + 1
+     */
+    List<String> getParameterNames() {
+        return parameterNames;
+    }
+}
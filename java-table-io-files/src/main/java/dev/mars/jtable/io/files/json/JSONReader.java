@@ -1,29 +1,51 @@
 package dev.mars.jtable.io.files.json;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 
+import dev.mars.jtable.io.common.datasource.DataSourceRowSink;
 import dev.mars.jtable.io.common.datasource.FileConnection;
 import dev.mars.jtable.io.common.datasource.IDataSource;
 import dev.mars.jtable.io.common.datasource.IDataSourceConnection;
+import dev.mars.jtable.io.common.datasource.IRowSink;
+import dev.mars.jtable.io.common.datasource.IStreamingDataReader;
 import dev.mars.jtable.io.common.datasource.IJSONDataSource;
 
-import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.zip.GZIPInputStream;
 
 /**
  * Implementation of the IJSONReader interface for reading data from JSON files.
+ * The file is read one token at a time with a Jackson {@link JsonParser}, and each object is
+ * passed on as a row as soon as it has been parsed, so memory does not grow with the size of the
+ * file. The rows are the objects of an array, either the root of the document or the value of a
+ * top-level field named by the {@code rootElement} option, or the objects of an NDJSON (JSON Lines)
+ * file, one per line. A file holding a single object is read as one row. Files ending in
+ * {@code .gz} are decompressed as they are read.
+ * Column names and types come from the first object; fields of later objects that are not
+ * columns are ignored, and missing fields are null.
  * TODO: decide if readData or readFromJSON should be the main method
  */
-public class JSONReader implements IJSONReader {
+public class JSONReader implements IJSONReader, IStreamingDataReader {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
     /**
      * Reads data from a source into a data source using the provided connection.
+     * Supported options are {@code rootElement} (the top-level field holding the array of rows)
+     * and {@code ndjson} (read one object per line, true by default for files ending in
+     * {@code .ndjson} or {@code .jsonl}).
      *
      * @param dataSource the data source to read into
      * @param connection the connection to the data source
@@ -39,152 +61,382 @@ public class JSONReader implements IJSONReader {
             throw new IllegalArgumentException("Data source must implement IJSONDataSource");
         }
 
+        String source = getFileName(connection);
+        String rootElement = options != null && options.containsKey("rootElement") ? (String) options.get("rootElement") : null;
+
+        // Call the JSON-specific method
+        readFromJSON(jsonDataSource, source, rootElement, isNdjson(options, source));
+    }
+
+    /**
+     * Reads rows from a source and passes them to a sink.
+     * This accepts the same options as {@link #readData}. Only one row is held in memory at a time.
+     *
+     * @param connection the connection to the source
+     * @param options additional options for reading
+     * @param sink the sink to receive the rows
+     * @throws IOException if the file cannot be read, is not valid JSON or has no array of rows, or the sink fails
+     */
+    @Override
+    public void readRows(IDataSourceConnection connection, Map<String, Object> options, IRowSink sink) throws IOException {
+        if (sink == null) {
+            throw new IllegalArgumentException("Row sink cannot be null");
+        }
+        String source = getFileName(connection);
+        String rootElement = options != null && options.containsKey("rootElement") ? (String) options.get("rootElement") : null;
+        streamJSON(source, rootElement, isNdjson(options, source), sink);
+        sink.end();
+    }
+
+    /**
+     * Reads data from a JSON file into a data source.
+     *
+     * @param dataSource the data source to read into
+     * @param fileName the name of the file to read from
+     * @param rootElement the name of the root element in the JSON file (optional)
+     */
+    @Override
+    public void readFromJSON(IJSONDataSource dataSource, String fileName, String rootElement) {
+        readFromJSON(dataSource, fileName, rootElement, isNdjson(null, fileName));
+    }
+
+    /**
+     * Reads data from a JSON or NDJSON file into a data source.
+     *
+     * @param dataSource the data source to read into
+     * @param fileName the name of the file to read from
+     * @param rootElement the name of the root element in the JSON file (optional, ignored for NDJSON)
+     * @param ndjson whether the file holds one object per line rather than an array
+     */
+    public void readFromJSON(IJSONDataSource dataSource, String fileName, String rootElement, boolean ndjson) {
+        try {
+            streamJSON(fileName, rootElement, ndjson, new DataSourceRowSink(dataSource));
+        } catch (IOException e) {
+            System.err.println("Error reading JSON file: " + e.getMessage());
+        } catch (IllegalArgumentException e) {
+            System.err.println("Error processing JSON data: " + e.getMessage());
+        }
+    }
+
+    private static String getFileName(IDataSourceConnection connection) {
         // Ensure we have a file connection
         if (!(connection instanceof FileConnection)) {
             throw new IllegalArgumentException("Connection must be a FileConnection");
         }
         FileConnection fileConnection = (FileConnection) connection;
 
-        // Extract options
-        String rootElement = options != null && options.containsKey("rootElement") ? (String) options.get("rootElement") : null;
-
         // Connect if not already connected
         if (!fileConnection.isConnected()) {
             fileConnection.connect();
         }
 
         // Get the file path from the connection
-        String source;
         if (fileConnection.isRemote()) {
-            source = fileConnection.getLocation();
-        } else {
-            Object rawConnection = fileConnection.getRawConnection();
-            if (rawConnection instanceof Path) {
-                source = ((Path) rawConnection).toString();
-            } else {
-                throw new IllegalArgumentException("Cannot determine file path from connection");
-            }
+            return fileConnection.getLocation();
         }
+        Object rawConnection = fileConnection.getRawConnection();
+        if (rawConnection instanceof Path) {
+            return ((Path) rawConnection).toString();
+        }
+        throw new IllegalArgumentException("Cannot determine file path from connection");
+    }
 
-        // Call the JSON-specific method
-        readFromJSON(jsonDataSource, source, rootElement);
+    private static boolean isNdjson(Map<String, Object> options, String fileName) {
+        if (options != null && options.containsKey("ndjson")) {
+            return (Boolean) options.get("ndjson");
+        }
+        String name = fileName.toLowerCase();
+        if (name.endsWith(".gz")) {
+            name = name.substring(0, name.length() - 3);
+        }
+        return name.endsWith(".ndjson") || name.endsWith(".jsonl");
     }
 
     /**
-     * Reads data from a JSON file into a data source.
+     * Parses a JSON or NDJSON file and passes its objects to a sink as rows.
+     */
+    private static void streamJSON(String fileName, String rootElement, boolean ndjson, IRowSink sink) throws IOException {
+        readRows(openInput(fileName), rootElement, ndjson, sink);
+    }
+
+    /**
+     * Reads rows from a JSON or NDJSON stream, such as an HTTP response body, and passes them to a sink.
+     * The rows are found as in a file: the objects of the root array or of the array in the
+     * top-level field named {@code rootElement}, or the objects of an NDJSON stream. A root object
+     * without a {@code rootElement} is read as a single row. The stream is closed afterwards, but
+     * {@link IRowSink#end()} is not called.
      *
-     * @param dataSource the data source to read into
-     * @param fileName the name of the file to read from
-     * @param rootElement the name of the root element in the JSON file (optional)
+     * @param in the stream to read, as UTF-8, UTF-16 or UTF-32
+     * @param rootElement the top-level field holding the array of rows (optional, ignored for NDJSON)
+     * @param ndjson whether the stream holds one object per line rather than an array
+     * @param sink the sink to receive the rows
+     * @throws IOException if the stream cannot be read, is not valid JSON or has no rows where expected, or the sink fails
      */
-    @Override
-    public void readFromJSON(IJSONDataSource dataSource, String fileName, String rootElement) {
-        try {
-            ObjectMapper mapper = new ObjectMapper();
-            JsonNode rootNode = mapper.readTree(new File(fileName));
-
-            // If rootElement is specified, navigate to that element
-            if (rootElement != null && !rootElement.isEmpty()) {
-                rootNode = rootNode.path(rootElement);
-                if (rootNode.isMissingNode()) {
-                    throw new IOException("Root element '" + rootElement + "' not found in JSON file");
+    public static void readRows(InputStream in, String rootElement, boolean ndjson, IRowSink sink) throws IOException {
+        readRows(in, rootElement, ndjson, sink, null);
+    }
+
+    /**
+     * Reads rows from a JSON or NDJSON stream as {@link #readRows(InputStream, String, boolean, IRowSink)}
+     * does, and also collects the other values of the root object. When the rows are in the field
+     * named {@code rootElement}, the text of every other non-null scalar in the root object is put in
+     * {@code rootValues}, keyed by field name, with the names of nested objects joined by dots
+     * (such as {@code "meta.next_cursor"}). Arrays other than the rows are skipped. Paginated APIs
+     * use these values to say where the next page is.
+     *
+     * @param in the stream to read, as UTF-8, UTF-16 or UTF-32
+     * @param rootElement the top-level field holding the array of rows (optional, ignored for NDJSON)
+     * @param ndjson whether the stream holds one object per line rather than an array
+     * @param sink the sink to receive the rows
+     * @param rootValues the map to receive the other values of the root object, or null to skip them
+     * @throws IOException if the stream cannot be read, is not valid JSON or has no rows where expected, or the sink fails
+     */
+    public static void readRows(InputStream in, String rootElement, boolean ndjson, IRowSink sink,
+                                Map<String, String> rootValues) throws IOException {
+        try (InputStream input = in;
+             JsonParser parser = JSON_FACTORY.createParser(input)) {
+            RowStreamer rows = new RowStreamer(sink);
+            JsonToken token;
+            if (ndjson) {
+                // Jackson reads a sequence of root-level values separated by whitespace
+                while ((token = parser.nextToken()) != null) {
+                    rows.element(parser, token);
                 }
+                return;
             }
 
-            // Check if the root node is an array
-            if (rootNode.isArray()) {
-                processArrayNode((ArrayNode) rootNode, dataSource);
-            } else {
-                throw new IOException("JSON root must be an array of objects");
+            token = parser.nextToken();
+            boolean hasRootElement = rootElement != null && !rootElement.isEmpty();
+            if (token == JsonToken.START_OBJECT && !hasRootElement) {
+                rows.element(parser, token);
+                if (parser.nextToken() != null) {
+                    throw new IOException("Unexpected content after the JSON root object");
+                }
+                return;
+            }
+            if (token == JsonToken.START_OBJECT && rootValues != null) {
+                readRootObject(parser, rootElement, rows, rootValues);
+                return;
             }
+            moveToRowArray(parser, token, rootElement);
+            readRowArray(parser, rows);
+        }
+    }
+
+    private static InputStream openInput(String fileName) throws IOException {
+        InputStream file = new FileInputStream(fileName);
+        if (!fileName.toLowerCase().endsWith(".gz")) {
+            return file;
+        }
+        try {
+            return new GZIPInputStream(file, 1 << 16);
         } catch (IOException e) {
-            System.err.println("Error reading JSON file: " + e.getMessage());
-        } catch (IllegalArgumentException e) {
-            System.err.println("Error processing JSON data: " + e.getMessage());
+            file.close();
+            throw e;
         }
     }
 
     /**
-     * Processes an array node from the JSON file.
-     *
-     * @param arrayNode the array node to process
-     * @param dataSource the data source to read into
-     * @throws IOException if there is an error processing the array node
+     * Reads the objects of the row array as rows, with the parser on the start of the array.
+     */
+    private static void readRowArray(JsonParser parser, RowStreamer rows) throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token == null) {
+                throw new IOException("Unexpected end of JSON file");
+            }
+            rows.element(parser, token);
+        }
+    }
+
+    /**
+     * Reads the rows in the field named {@code rootElement} of the root object, and collects the
+     * values of the other fields.
+     */
+    private static void readRootObject(JsonParser parser, String rootElement, RowStreamer rows,
+                                       Map<String, String> rootValues) throws IOException {
+        boolean found = false;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.currentName();
+            JsonToken token = parser.nextToken();
+            if (fieldName.equals(rootElement)) {
+                if (token != JsonToken.START_ARRAY) {
+                    throw new IOException("JSON root must be an array of objects");
+                }
+                readRowArray(parser, rows);
+                found = true;
+            } else {
+                collectValue(parser, token, fieldName, rootValues);
+            }
+        }
+        if (!found) {
+            throw new IOException("Root element '" + rootElement + "' not found in JSON file");
+        }
+    }
+
+    private static void collectValue(JsonParser parser, JsonToken token, String name, Map<String, String> values) throws IOException {
+        if (token == JsonToken.START_OBJECT) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.currentName();
+                collectValue(parser, parser.nextToken(), name + "." + fieldName, values);
+            }
+        } else if (token == JsonToken.START_ARRAY) {
+            parser.skipChildren();
+        } else if (token != JsonToken.VALUE_NULL) {
+            values.put(name, parser.getText());
+        }
+    }
+
+    /**
+     * Positions the parser on the start of the array of rows, given the first token of the document.
      */
-    private void processArrayNode(ArrayNode arrayNode, IJSONDataSource dataSource) throws IOException {
-        if (arrayNode.size() == 0) {
-            return; // Empty array, nothing to do
-        }
-
-        // Get the first object to infer column names and types
-        JsonNode firstObject = arrayNode.get(0);
-        if (!firstObject.isObject()) {
-            throw new IOException("JSON array must contain objects");
-        }
-
-        // Create columns based on the first object
-        LinkedHashMap<String, String> columns = new LinkedHashMap<>();
-        Iterator<Map.Entry<String, JsonNode>> fields = firstObject.fields();
-        while (fields.hasNext()) {
-            Map.Entry<String, JsonNode> field = fields.next();
-            String fieldName = field.getKey();
-            JsonNode fieldValue = field.getValue();
-            String fieldType = inferTypeFromJsonNode(fieldValue);
-            columns.put(fieldName, fieldType);
-        }
-        dataSource.setColumns(columns);
-
-        // Process all objects in the array
-        for (int i = 0; i < arrayNode.size(); i++) {
-            JsonNode obj = arrayNode.get(i);
-            if (!obj.isObject()) {
-                continue; // Skip non-objects
+    private static void moveToRowArray(JsonParser parser, JsonToken token, String rootElement) throws IOException {
+        if (rootElement != null && !rootElement.isEmpty()) {
+            if (token == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String fieldName = parser.currentName();
+                    token = parser.nextToken();
+                    if (fieldName.equals(rootElement)) {
+                        if (token != JsonToken.START_ARRAY) {
+                            throw new IOException("JSON root must be an array of objects");
+                        }
+                        return;
+                    }
+                    parser.skipChildren();
+                }
+            }
+            throw new IOException("Root element '" + rootElement + "' not found in JSON file");
+        }
+        if (token != JsonToken.START_ARRAY) {
+            throw new IOException("JSON root must be an array of objects");
+        }
+    }
+
+    /**
+     * Turns the objects of a JSON document into rows. The first object supplies the column
+     * names and types; the values of each later object are collected by column index into one
+     * reused array.
+     */
+    private static final class RowStreamer {
+        private final IRowSink sink;
+        private String[] columnNames;
+        private Map<String, Integer> columnIndexes;
+        private String[] values;
+
+        RowStreamer(IRowSink sink) {
+            this.sink = sink;
+        }
+
+        /**
+         * Handles one element of the row array, with the parser on its first token.
+         */
+        void element(JsonParser parser, JsonToken token) throws IOException {
+            if (token != JsonToken.START_OBJECT) {
+                if (columnNames == null) {
+                    throw new IOException("JSON array must contain objects");
+                }
+                parser.skipChildren(); // Skip non-objects
+                return;
+            }
+            if (columnNames == null) {
+                readFirstObject(parser);
+            } else {
+                readObject(parser);
+            }
+        }
+
+        private void readFirstObject(JsonParser parser) throws IOException {
+            LinkedHashMap<String, String> columns = new LinkedHashMap<>();
+            List<String> firstValues = new ArrayList<>();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.currentName();
+                JsonToken token = parser.nextToken();
+                if (columns.containsKey(fieldName)) {
+                    parser.skipChildren();
+                    continue;
+                }
+                columns.put(fieldName, inferType(parser, token));
+                firstValues.add(getStringValue(parser, token));
             }
 
-            Map<String, String> row = new HashMap<>();
-            fields = obj.fields();
-            while (fields.hasNext()) {
-                Map.Entry<String, JsonNode> field = fields.next();
-                String fieldName = field.getKey();
-                JsonNode fieldValue = field.getValue();
-                String stringValue = getStringValueFromJsonNode(fieldValue);
-                row.put(fieldName, stringValue);
+            columnNames = columns.keySet().toArray(new String[0]);
+            columnIndexes = new HashMap<>();
+            for (int i = 0; i < columnNames.length; i++) {
+                columnIndexes.put(columnNames[i], i);
             }
-            dataSource.addRow(row);
+            values = firstValues.toArray(new String[0]);
+            sink.start(columns);
+            sink.row(values);
+        }
+
+        private void readObject(JsonParser parser) throws IOException {
+            Arrays.fill(values, null);
+            int next = 0;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.currentName();
+                JsonToken token = parser.nextToken();
+                // Objects usually list their fields in the same order, so try the next column first
+                int index;
+                if (next < columnNames.length && columnNames[next].equals(fieldName)) {
+                    index = next;
+                } else {
+                    Integer found = columnIndexes.get(fieldName);
+                    if (found == null) {
+                        parser.skipChildren();
+                        continue;
+                    }
+                    index = found;
+                }
+                values[index] = getStringValue(parser, token);
+                next = index + 1;
+            }
+            sink.row(values);
         }
     }
 
     /**
-     * Infers the data type from a JSON node.
+     * Infers the data type from the current value of a parser.
      *
-     * @param node the JSON node to infer the type from
+     * @param parser the parser, positioned on the value
+     * @param token the token of the value
      * @return the inferred data type
      */
-    private String inferTypeFromJsonNode(JsonNode node) {
-        if (node.isInt() || node.isLong()) {
-            return "int";
-        } else if (node.isDouble() || node.isFloat()) {
-            return "double";
-        } else if (node.isBoolean()) {
-            return "boolean";
-        } else {
-            return "string";
+    private static String inferType(JsonParser parser, JsonToken token) throws IOException {
+        switch (token) {
+            case VALUE_NUMBER_INT:
+                JsonParser.NumberType numberType = parser.getNumberType();
+                return numberType == JsonParser.NumberType.INT || numberType == JsonParser.NumberType.LONG ? "int" : "string";
+            case VALUE_NUMBER_FLOAT:
+                return "double";
+            case VALUE_TRUE:
+            case VALUE_FALSE:
+                return "boolean";
+            default:
+                return "string";
         }
     }
 
     /**
-     * Gets a string value from a JSON node.
+     * Gets the current value of a parser as a string, leaving the parser on its last token.
+     * Numbers keep their text as written, and nested objects and arrays are written back as JSON.
      *
-     * @param node the JSON node to get the value from
+     * @param parser the parser, positioned on the value
+     * @param token the token of the value
      * @return the string value
      */
-    private String getStringValueFromJsonNode(JsonNode node) {
-        if (node.isNull()) {
-            return "";
-        } else if (node.isTextual()) {
-            return node.asText();
-        } else {
-            return node.toString();
+    private static String getStringValue(JsonParser parser, JsonToken token) throws IOException {
+        switch (token) {
+            case VALUE_NULL:
+                return "";
+            case START_OBJECT:
+            case START_ARRAY:
+                StringWriter json = new StringWriter();
+                try (JsonGenerator generator = JSON_FACTORY.createGenerator(json)) {
+                    generator.copyCurrentStructure(parser);
+                }
+                return json.toString();
+            default:
+                return parser.getText();
         }
     }
 }
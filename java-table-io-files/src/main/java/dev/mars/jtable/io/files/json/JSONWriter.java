@@ -1,26 +1,43 @@
 package dev.mars.jtable.io.files.json;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.databind.node.ArrayNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
 
+import dev.mars.jtable.core.model.ITable;
+import dev.mars.jtable.io.common.adapter.ITableAdapter;
 import dev.mars.jtable.io.common.datasource.FileConnection;
 import dev.mars.jtable.io.common.datasource.IDataSource;
 import dev.mars.jtable.io.common.datasource.IDataSourceConnection;
 import dev.mars.jtable.io.common.datasource.IJSONDataSource;
 
-import java.io.File;
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.file.Path;
 import java.util.Map;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * Implementation of the IJSONWriter interface for writing data to JSON files.
+ * Rows are written one at a time with a Jackson {@link JsonGenerator} to a buffered stream, so
+ * memory does not grow with the number of rows. The output is an array of objects, or with the
+ * {@code ndjson} option one object per line (NDJSON / JSON Lines), optionally gzip-compressed.
+ * Integer, double and boolean columns of a table-backed source are written as JSON numbers and
+ * booleans, and other columns as strings; values of other sources are written as numbers or
+ * booleans when their text looks like one.
  */
 public class JSONWriter implements IJSONWriter {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final int BUFFER_SIZE = 1 << 16;
+
     /**
      * Writes data from a data source to a destination using the provided connection.
+     * Supported options are {@code prettyPrint} (indent the output, ignored for NDJSON),
+     * {@code ndjson} (write one object per line, true by default for files ending in
+     * {@code .ndjson} or {@code .jsonl}) and {@code gzip} (compress the output, true by default
+     * for files ending in {@code .gz}).
      *
      * @param dataSource the data source to write from
      * @param connection the connection to the destination
@@ -42,9 +59,6 @@ public class JSONWriter implements IJSONWriter {
         }
         FileConnection fileConnection = (FileConnection) connection;
 
-        // Extract options
-        boolean prettyPrint = options != null && options.containsKey("prettyPrint") ? (Boolean) options.get("prettyPrint") : false;
-
         // Connect if not already connected
         if (!fileConnection.isConnected()) {
             fileConnection.connect();
@@ -63,8 +77,18 @@ public class JSONWriter implements IJSONWriter {
             }
         }
 
+        // Extract options
+        boolean prettyPrint = options != null && options.containsKey("prettyPrint") ? (Boolean) options.get("prettyPrint") : false;
+        String name = destination.toLowerCase();
+        boolean gzip = options != null && options.containsKey("gzip") ? (Boolean) options.get("gzip") : name.endsWith(".gz");
+        if (gzip && name.endsWith(".gz")) {
+            name = name.substring(0, name.length() - 3);
+        }
+        boolean ndjson = options != null && options.containsKey("ndjson") ? (Boolean) options.get("ndjson")
+                : name.endsWith(".ndjson") || name.endsWith(".jsonl");
+
         // Call the JSON-specific method
-        writeToJSON(jsonDataSource, destination, prettyPrint);
+        writeToJSON(jsonDataSource, destination, prettyPrint, ndjson, gzip);
     }
 
     /**
@@ -76,28 +100,27 @@ public class JSONWriter implements IJSONWriter {
      */
     @Override
     public void writeToJSON(IJSONDataSource dataSource, String fileName, boolean prettyPrint) {
-        try {
-            ObjectMapper mapper = new ObjectMapper();
-            if (prettyPrint) {
-                mapper.enable(SerializationFeature.INDENT_OUTPUT);
-            }
-
-            // Create an array to hold all rows
-            ArrayNode rootArray = mapper.createArrayNode();
+        writeToJSON(dataSource, fileName, prettyPrint, false, false);
+    }
 
-            // Add each row as an object in the array
-            for (int i = 0; i < dataSource.getRowCount(); i++) {
-                ObjectNode rowObject = mapper.createObjectNode();
-                for (int j = 0; j < dataSource.getColumnCount(); j++) {
-                    String columnName = dataSource.getColumnName(j);
-                    String value = dataSource.getValueAt(i, columnName);
-                    addValueToObjectNode(rowObject, columnName, value);
-                }
-                rootArray.add(rowObject);
+    /**
+     * Writes data from a data source to a JSON or NDJSON file.
+     *
+     * @param dataSource the data source to write from
+     * @param fileName the name of the file to write to
+     * @param prettyPrint whether to format the JSON output for readability (ignored for NDJSON)
+     * @param ndjson whether to write one object per line rather than an array
+     * @param gzip whether to gzip-compress the file
+     */
+    public void writeToJSON(IJSONDataSource dataSource, String fileName, boolean prettyPrint, boolean ndjson, boolean gzip) {
+        try (OutputStream out = openOutput(fileName, gzip);
+             JsonGenerator generator = JSON_FACTORY.createGenerator(out, JsonEncoding.UTF8)) {
+            if (ndjson) {
+                generator.setRootValueSeparator(null);
+            } else if (prettyPrint) {
+                generator.useDefaultPrettyPrinter();
             }
-
-            // Write the array to the file
-            mapper.writeValue(new File(fileName), rootArray);
+            writeRows(dataSource, generator, ndjson);
         } catch (IOException e) {
             System.err.println("Error writing JSON file: " + e.getMessage());
         } catch (IllegalArgumentException e) {
@@ -105,50 +128,100 @@ public class JSONWriter implements IJSONWriter {
         }
     }
 
+    private static OutputStream openOutput(String fileName, boolean gzip) throws IOException {
+        OutputStream file = new FileOutputStream(fileName);
+        try {
+            return gzip ? new GZIPOutputStream(file, BUFFER_SIZE) : new BufferedOutputStream(file, BUFFER_SIZE);
+        } catch (IOException e) {
+            file.close();
+            throw e;
+        }
+    }
+
+    private static void writeRows(IJSONDataSource dataSource, JsonGenerator generator, boolean ndjson) throws IOException {
+        // Resolve the column names and, for table-backed sources, the column types once
+        ITable table = dataSource instanceof ITableAdapter ? ((ITableAdapter) dataSource).getTable() : null;
+        String[] columnNames = new String[dataSource.getColumnCount()];
+        Class<?>[] columnTypes = new Class<?>[columnNames.length];
+        for (int j = 0; j < columnNames.length; j++) {
+            columnNames[j] = dataSource.getColumnName(j);
+            columnTypes[j] = table != null ? table.getColumn(j).getType() : String.class;
+        }
+
+        if (!ndjson) {
+            generator.writeStartArray();
+        }
+        int rowCount = dataSource.getRowCount();
+        for (int i = 0; i < rowCount; i++) {
+            generator.writeStartObject();
+            for (int j = 0; j < columnNames.length; j++) {
+                generator.writeFieldName(columnNames[j]);
+                Class<?> type = columnTypes[j];
+                if (table == null) {
+                    writeInferredValue(generator, dataSource.getValueAt(i, j));
+                } else if (table.isNull(i, j)) {
+                    generator.writeNull();
+                } else if (type == Integer.class) {
+                    generator.writeNumber(table.getInt(i, j));
+                } else if (type == Double.class) {
+                    generator.writeNumber(table.getDouble(i, j));
+                } else if (type == Boolean.class) {
+                    generator.writeBoolean(table.getBoolean(i, j));
+                } else {
+                    generator.writeString(dataSource.getValueAt(i, j));
+                }
+            }
+            generator.writeEndObject();
+            if (ndjson) {
+                generator.writeRaw('\n');
+            }
+        }
+        if (!ndjson) {
+            generator.writeEndArray();
+        }
+    }
+
     /**
-     * Adds a value to an object node, converting it to the appropriate JSON type if possible.
+     * Writes a value whose type is unknown, as a number or boolean if its text looks like one:
+     * an integer in the long range, a plain decimal such as "-1.5" or ".5", or "true" or "false"
+     * in any case. Empty values are written as null.
      *
-     * @param objectNode the object node to add the value to
-     * @param fieldName the name of the field
-     * @param value the value to add
+     * @param generator the generator to write to
+     * @param value the value to write
      */
-    private void addValueToObjectNode(ObjectNode objectNode, String fieldName, String value) {
+    private static void writeInferredValue(JsonGenerator generator, String value) throws IOException {
         if (value == null || value.isEmpty()) {
-            objectNode.putNull(fieldName);
+            generator.writeNull();
             return;
         }
 
-        // Try to convert the value to the appropriate type
-        if (value.matches("-?\\d+")) {
-            try {
-                int intValue = Integer.parseInt(value);
-                objectNode.put(fieldName, intValue);
-                return;
-            } catch (NumberFormatException e) {
-                // If parsing as int fails, try as long
-                try {
-                    long longValue = Long.parseLong(value);
-                    objectNode.put(fieldName, longValue);
-                    return;
-                } catch (NumberFormatException e2) {
-                    // Fall back to string
-                }
+        int start = value.charAt(0) == '-' ? 1 : 0;
+        int dot = -1;
+        boolean numeric = start < value.length();
+        for (int i = start; i < value.length() && numeric; i++) {
+            char c = value.charAt(i);
+            if (c == '.' && dot < 0) {
+                dot = i;
+            } else if (c < '0' || c > '9') {
+                numeric = false;
             }
-        } else if (value.matches("-?\\d*\\.\\d+")) {
+        }
+        if (numeric && dot < 0) {
             try {
-                double doubleValue = Double.parseDouble(value);
-                objectNode.put(fieldName, doubleValue);
+                generator.writeNumber(Long.parseLong(value));
                 return;
             } catch (NumberFormatException e) {
-                // Fall back to string
+                // Too large for a long; fall back to string
             }
+        } else if (numeric && dot < value.length() - 1) {
+            generator.writeNumber(Double.parseDouble(value));
+            return;
         } else if (value.equalsIgnoreCase("true") || value.equalsIgnoreCase("false")) {
-            boolean boolValue = Boolean.parseBoolean(value);
-            objectNode.put(fieldName, boolValue);
+            generator.writeBoolean(Boolean.parseBoolean(value));
             return;
         }
 
         // Default to string
-        objectNode.put(fieldName, value);
+        generator.writeString(value);
     }
 }
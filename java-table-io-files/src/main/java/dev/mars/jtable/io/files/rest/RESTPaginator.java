@@ -0,0 +1,399 @@
+package dev.mars.jtable.io.files.rest;
+
+import dev.mars.jtable.io.common.datasource.IRowSink;
+import dev.mars.jtable.io.common.datasource.RESTConnection;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpHeaders;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Reads every page of a paginated JSON endpoint and passes the rows to a sink in page order.
+ * The {@code pagination} option selects the strategy:
+ * <ul>
+ *   <li>{@code offset}: pages are requested with the {@code offsetParam} ("offset" by default)
+ *       and {@code limitParam} ("limit" by default) query parameters, {@code pageSize} rows at a time.</li>
+ *   <li>{@code page}: pages are requested by number with the {@code pageParam} ("page" by default)
+ *       query parameter, starting at {@code firstPage} (1 by default), and the {@code limitParam}
+ *       query parameter.</li>
+ *   <li>{@code cursor}: the next page is requested with the {@code cursorParam} ("cursor" by
+ *       default) query parameter, set to the value of the {@code cursorField} ("next_cursor" by
+ *       default) of the previous response. Nested fields are named with dots, such as
+ *       "meta.next_cursor". This needs the {@code rootElement} option.</li>
+ *   <li>{@code link}: the next page is the URI in the {@code rel="next"} entry of the
+ *       {@code Link} response header.</li>
+ * </ul>
+ * Offset and page numbers do not depend on the previous response, so after the first page, up to
+ * {@code maxConcurrentRequests} (8 by default) of those pages are requested at the same time. Each
+ * page is buffered until the pages before it have been passed on. Servers often cap the page size,
+ * so the number of rows of the first page, rather than {@code pageSize}, sets the offsets of the
+ * later pages, and the reading stops at the first page with fewer rows than the first; the pages
+ * requested after it are discarded. A first page shorter than {@code pageSize} is most often the
+ * whole result, so the next page is then requested on its own, and only if it has rows are the
+ * remaining pages requested concurrently and the capped page size logged as a warning. Cursor and
+ * link pages are requested one after another. For any strategy, {@code maxPages} limits the number
+ * of pages read (unlimited by default).
+ * <p>
+ * The first page with rows supplies the column names and types; the rows of later pages are
+ * matched to them by column name, so fields that are not columns are ignored and missing ones are null.
+ */
+final class RESTPaginator {
+    private static final Logger logger = LoggerFactory.getLogger(RESTPaginator.class);
+
+    static final int DEFAULT_PAGE_SIZE = 100;
+    static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 8;
+
+    private static final Pattern LINK_PATTERN = Pattern.compile("<([^>]*)>([^<]*)");
+    private static final Pattern REL_PATTERN = Pattern.compile("rel\\s*=\\s*\"?([^\";,]*)\"?", Pattern.CASE_INSENSITIVE);
+
+    private final RESTReader reader;
+    private final RESTConnection connection;
+    private final Map<String, Object> options;
+    private final String strategy;
+    private final int pageSize;
+    private final boolean hasPageSize;
+    private final int maxConcurrentRequests;
+    private final int maxPages;
+
+    /**
+     * Creates a paginator for the endpoint of a connection.
+     *
+     * @param reader the reader that requests the pages
+     * @param connection the connection to the API
+     * @param options the reading options, including the {@code pagination} strategy
+     * @throws IllegalArgumentException if an option is not supported
+     */
+    RESTPaginator(RESTReader reader, RESTConnection connection, Map<String, Object> options) {
+        this.reader = reader;
+        this.connection = connection;
+        this.options = options;
+        this.strategy = ((String) options.get("pagination")).toLowerCase();
+        if (!strategy.equals("offset") && !strategy.equals("page") && !strategy.equals("cursor") && !strategy.equals("link")) {
+            throw new IllegalArgumentException("Unsupported pagination: " + options.get("pagination"));
+        }
+        String responseFormat = options.containsKey("responseFormat") ? (String) options.get("responseFormat") : "json";
+        if (!"json".equalsIgnoreCase(responseFormat)) {
+            throw new IllegalArgumentException("Pagination requires a JSON response format");
+        }
+        if (strategy.equals("cursor") && getString("rootElement", null) == null) {
+            throw new IllegalArgumentException("Cursor pagination requires the rootElement option");
+        }
+        this.hasPageSize = options.containsKey("pageSize");
+        this.pageSize = hasPageSize ? (Integer) options.get("pageSize") : DEFAULT_PAGE_SIZE;
+        this.maxConcurrentRequests = options.containsKey("maxConcurrentRequests") ? (Integer) options.get("maxConcurrentRequests") : DEFAULT_MAX_CONCURRENT_REQUESTS;
+        this.maxPages = options.containsKey("maxPages") ? (Integer) options.get("maxPages") : 0;
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive: " + pageSize);
+        }
+        if (maxConcurrentRequests <= 0) {
+            throw new IllegalArgumentException("Max concurrent requests must be positive: " + maxConcurrentRequests);
+        }
+    }
+
+    /**
+     * Reads every page and passes the rows to a sink, then ends it.
+     *
+     * @param sink the sink to receive the rows
+     * @throws IOException if a request fails, a response has an error status or cannot be parsed, or the sink fails
+     */
+    void readPages(IRowSink sink) throws IOException {
+        URI endpoint;
+        try {
+            endpoint = URI.create(connection.getEndpoint());
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Invalid REST request: " + e.getMessage(), e);
+        }
+        PageMerger merger = new PageMerger(sink);
+        switch (strategy) {
+            case "offset":
+            case "page":
+                readNumberedPages(endpoint, merger);
+                break;
+            case "cursor":
+                readCursorPages(endpoint, merger);
+                break;
+            default:
+                readLinkedPages(endpoint, merger);
+                break;
+        }
+        sink.end();
+    }
+
+    private void readNumberedPages(URI endpoint, PageMerger merger) throws IOException {
+        // The first page is read on its own: servers may cap the page size below the one asked
+        // for, and the rows it returns set the offsets of the later pages and the end condition
+        Page first = request(numberedPageUri(endpoint, 0, pageSize));
+        RESTReader.await(first.future);
+        merger.append(first);
+        int rowsPerPage = first.rows.size();
+        if (rowsPerPage == 0 || maxPages == 1) {
+            return;
+        }
+        int nextPage = 1;
+        if (rowsPerPage < pageSize) {
+            // A short first page is most often the whole result, so a single page is probed to
+            // tell it from a capped page size before the window is filled
+            Page probe = request(numberedPageUri(endpoint, nextPage++, rowsPerPage));
+            RESTReader.await(probe.future);
+            merger.append(probe);
+            if (probe.rows.isEmpty()) {
+                logger.debug("First page has {} rows, fewer than the page size of {}, and the next page is empty",
+                        rowsPerPage, pageSize);
+                return;
+            }
+            logger.warn("First page has {} rows, fewer than the page size of {}; reading the next pages as {} rows each",
+                    rowsPerPage, pageSize, rowsPerPage);
+            if (probe.rows.size() < rowsPerPage) {
+                return;
+            }
+        }
+
+        Deque<Page> window = new ArrayDeque<>();
+        try {
+            while (true) {
+                // Keep the window of requests in flight full
+                while (window.size() < maxConcurrentRequests && (maxPages <= 0 || nextPage < maxPages)) {
+                    window.add(request(numberedPageUri(endpoint, nextPage++, rowsPerPage)));
+                }
+                Page page = window.poll();
+                if (page == null) {
+                    return;
+                }
+                RESTReader.await(page.future);
+                merger.append(page);
+                if (page.rows.size() < rowsPerPage) {
+                    return;
+                }
+            }
+        } finally {
+            // Pages after the last one are parsed no further than their first row
+            for (Page page : window) {
+                page.discarded = true;
+            }
+        }
+    }
+
+    /**
+     * Returns the URI of a numbered page, requesting {@code pageSize} rows.
+     *
+     * @param index the index of the page, from 0
+     * @param rowsPerPage the number of rows the server returns per page, which sets the offset
+     */
+    private URI numberedPageUri(URI endpoint, int index, int rowsPerPage) {
+        URI uri;
+        if (strategy.equals("offset")) {
+            uri = withQueryParameter(endpoint, getString("offsetParam", "offset"), String.valueOf((long) index * rowsPerPage));
+        } else {
+            int firstPage = options.containsKey("firstPage") ? (Integer) options.get("firstPage") : 1;
+            uri = withQueryParameter(endpoint, getString("pageParam", "page"), String.valueOf((long) firstPage + index));
+        }
+        return withQueryParameter(uri, getString("limitParam", "limit"), String.valueOf(pageSize));
+    }
+
+    private void readCursorPages(URI endpoint, PageMerger merger) throws IOException {
+        String cursorParam = getString("cursorParam", "cursor");
+        String cursorField = getString("cursorField", "next_cursor");
+        URI first = withPageSize(endpoint);
+        String cursor = null;
+        for (int i = 0; maxPages <= 0 || i < maxPages; i++) {
+            URI uri = cursor == null ? first : withQueryParameter(first, cursorParam, cursor);
+            Page page = request(uri);
+            RESTReader.await(page.future);
+            merger.append(page);
+            String next = page.rootValues.get(cursorField);
+            if (next == null || next.isEmpty() || next.equals(cursor) || page.rows.isEmpty()) {
+                return;
+            }
+            cursor = next;
+        }
+    }
+
+    private void readLinkedPages(URI endpoint, PageMerger merger) throws IOException {
+        URI uri = withPageSize(endpoint);
+        for (int i = 0; maxPages <= 0 || i < maxPages; i++) {
+            Page page = request(uri);
+            HttpHeaders headers = RESTReader.await(page.future);
+            merger.append(page);
+            uri = nextLink(headers, uri);
+            if (uri == null) {
+                return;
+            }
+        }
+    }
+
+    private Page request(URI uri) {
+        Page page = new Page();
+        page.future = reader.fetch(connection, uri, options, page, page.rootValues);
+        return page;
+    }
+
+    private URI withPageSize(URI uri) {
+        return hasPageSize ? withQueryParameter(uri, getString("limitParam", "limit"), String.valueOf(pageSize)) : uri;
+    }
+
+    private String getString(String option, String defaultValue) {
+        String value = options.containsKey(option) ? (String) options.get(option) : null;
+        return value == null || value.isEmpty() ? defaultValue : value;
+    }
+
+    /**
+     * Returns a URI with a query parameter set to a value, replacing any value it already has.
+     *
+     * @param uri the URI
+     * @param name the name of the parameter
+     * @param value the value of the parameter
+     * @return the URI with the parameter
+     */
+    static URI withQueryParameter(URI uri, String name, String value) {
+        String encodedName = URLEncoder.encode(name, StandardCharsets.UTF_8);
+        StringBuilder query = new StringBuilder();
+        String rawQuery = uri.getRawQuery();
+        if (rawQuery != null) {
+            for (String parameter : rawQuery.split("&")) {
+                if (parameter.isEmpty() || parameter.equals(encodedName) || parameter.startsWith(encodedName + "=")) {
+                    continue;
+                }
+                query.append(parameter).append('&');
+            }
+        }
+        query.append(encodedName).append('=').append(URLEncoder.encode(value, StandardCharsets.UTF_8));
+
+        StringBuilder result = new StringBuilder();
+        result.append(uri.getScheme()).append("://").append(uri.getRawAuthority());
+        if (uri.getRawPath() != null) {
+            result.append(uri.getRawPath());
+        }
+        result.append('?').append(query);
+        return URI.create(result.toString());
+    }
+
+    /**
+     * Returns the URI of the {@code rel="next"} entry of the {@code Link} headers, resolved against
+     * the URI of the current page, or null if there is none.
+     *
+     * @param headers the response headers
+     * @param current the URI of the current page
+     * @return the URI of the next page, or null
+     * @throws IOException if the next link is not a valid URI
+     */
+    static URI nextLink(HttpHeaders headers, URI current) throws IOException {
+        for (String header : headers.allValues("Link")) {
+            Matcher link = LINK_PATTERN.matcher(header);
+            while (link.find()) {
+                Matcher rel = REL_PATTERN.matcher(link.group(2));
+                if (!rel.find()) {
+                    continue;
+                }
+                for (String relation : rel.group(1).trim().split("\\s+")) {
+                    if (relation.equalsIgnoreCase("next")) {
+                        try {
+                            return current.resolve(link.group(1).trim());
+                        } catch (IllegalArgumentException e) {
+                            throw new IOException("Invalid next link: " + link.group(1), e);
+                        }
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Buffers the rows of one page until the pages before it have been passed on.
+     */
+    private static final class Page implements IRowSink {
+        private final Map<String, String> rootValues = new HashMap<>();
+        private final List<String[]> rows = new ArrayList<>();
+        private LinkedHashMap<String, String> columns;
+        private CompletableFuture<HttpHeaders> future;
+        private volatile boolean discarded;
+
+        @Override
+        public void start(LinkedHashMap<String, String> columnTypes) throws IOException {
+            checkDiscarded();
+            columns = new LinkedHashMap<>(columnTypes);
+        }
+
+        @Override
+        public void row(String[] values) throws IOException {
+            checkDiscarded();
+            rows.add(values.clone());
+        }
+
+        private void checkDiscarded() throws IOException {
+            // Stops parsing a page that is not needed; the failure is never reported
+            if (discarded) {
+                throw new IOException("Page discarded");
+            }
+        }
+    }
+
+    /**
+     * Passes the rows of the pages to the sink, matching the columns of each page to those of the
+     * first page with rows.
+     */
+    private static final class PageMerger {
+        private final IRowSink sink;
+        private Map<String, Integer> columnIndexes;
+        private String[] values;
+
+        PageMerger(IRowSink sink) {
+            this.sink = sink;
+        }
+
+        void append(Page page) throws IOException {
+            if (page.columns == null) {
+                return;
+            }
+            if (columnIndexes == null) {
+                sink.start(page.columns);
+                columnIndexes = new HashMap<>();
+                for (String column : page.columns.keySet()) {
+                    columnIndexes.put(column, columnIndexes.size());
+                }
+                values = new String[columnIndexes.size()];
+            }
+
+            // Map the columns of the page to the columns of the sink
+            int[] targets = new int[page.columns.size()];
+            boolean sameColumns = targets.length == values.length;
+            int i = 0;
+            for (String column : page.columns.keySet()) {
+                Integer target = columnIndexes.get(column);
+                targets[i] = target != null ? target : -1;
+                sameColumns &= targets[i] == i;
+                i++;
+            }
+
+            for (String[] row : page.rows) {
+                if (sameColumns) {
+                    sink.row(row);
+                    continue;
+                }
+                Arrays.fill(values, null);
+                for (int j = 0; j < targets.length; j++) {
+                    if (targets[j] >= 0) {
+                        values[targets[j]] = row[j];
+                    }
+                }
+                sink.row(values);
+            }
+        }
+    }
+}
@@ -1,31 +1,77 @@
 package dev.mars.jtable.io.files.rest;
 
+import dev.mars.jtable.io.common.adapter.RowSinkTableAdapter;
+import dev.mars.jtable.io.common.datasource.DataSourceRowSink;
 import dev.mars.jtable.io.common.datasource.IDataReader;
 import dev.mars.jtable.io.common.datasource.IDataSource;
 import dev.mars.jtable.io.common.datasource.IDataSourceConnection;
+import dev.mars.jtable.io.common.datasource.IRowSink;
+import dev.mars.jtable.io.common.datasource.IStreamingDataReader;
 import dev.mars.jtable.io.common.datasource.RESTConnection;
+import dev.mars.jtable.io.files.json.JSONReader;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.net.HttpURLConnection;
-import java.util.ArrayList;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
 import java.util.LinkedHashMap;
-import java.util.List;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
 
 /**
  * Implementation of IDataReader for reading data from REST APIs.
+ * Requests are sent with the pooled {@link java.net.http.HttpClient} of the {@link RESTConnection},
+ * and JSON response bodies are parsed as they arrive with {@link JSONReader#readRows(InputStream, String, boolean, IRowSink)},
+ * so memory does not grow with the size of the response. Responses are requested gzip-compressed
+ * and decompressed as they are read.
  */
-public class RESTReader implements IDataReader {
+public class RESTReader implements IDataReader, IStreamingDataReader {
     private static final Logger logger = LoggerFactory.getLogger(RESTReader.class);
+
+    // Parses response bodies. Reading a body blocks until the HTTP client delivers more of it,
+    // so this must not run on the client's own executor, which may be a small fixed pool.
+    private static final Executor PARSE_EXECUTOR = Executors.newCachedThreadPool(new ThreadFactory() {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, "rest-reader-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
     /**
      * Reads data from a REST API into a data source using the provided connection.
+     * Supported options are {@code method} ("GET" by default), {@code responseFormat} ("json",
+     * "xml" or "csv", "json" by default), {@code rootElement} (the top-level field of a JSON
+     * response holding the array of rows) and {@code ndjson} (read one JSON object per line, true
+     * by default for NDJSON and JSON Lines content types). XML and CSV responses are not parsed
+     * and are read as a single "response" value.
+     * <p>
+     * With the {@code pagination} option ("offset", "page", "cursor" or "link"), the rows of every
+     * page of a paginated JSON endpoint are read in page order. Offset and page-number pages are
+     * requested up to {@code maxConcurrentRequests} (8 by default) at a time, {@code pageSize} (100
+     * by default) rows each, until a page has fewer rows than the first. Cursor pages follow the
+     * {@code cursorField} ("next_cursor" by default) of the previous response, and link pages
+     * follow the {@code rel="next"} entry of the {@code Link} header. The query parameters are
+     * named by the {@code offsetParam}, {@code pageParam}, {@code limitParam} and
+     * {@code cursorParam} options, and {@code maxPages} limits the number of pages read.
      *
      * @param dataSource the data source to read into
      * @param connection the connection to the data source
@@ -33,273 +79,217 @@ public class RESTReader implements IDataReader {
      */
     @Override
     public void readData(IDataSource dataSource, IDataSourceConnection connection, Map<String, Object> options) {
+        try {
+            readRows(connection, options, new DataSourceRowSink(dataSource));
+        } catch (IOException e) {
+            logger.error("Error reading from REST API: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Reads rows from a source and passes them to a sink.
+     * This accepts the same options as {@link #readData}. Only one row is held in memory at a
+     * time, or, with pagination, the rows of the pages being fetched at the same time.
+     *
+     * @param connection the connection to the source
+     * @param options additional options for reading
+     * @param sink the sink to receive the rows
+     * @throws IOException if a request fails, a response has an error status or cannot be parsed, or the sink fails
+     */
+    @Override
+    public void readRows(IDataSourceConnection connection, Map<String, Object> options, IRowSink sink) throws IOException {
+        RESTConnection restConnection = prepare(connection, options, sink);
+        if (options != null && options.containsKey("pagination")) {
+            new RESTPaginator(this, restConnection, options).readPages(sink);
+            return;
+        }
+        await(readSingleResponse(restConnection, options, sink));
+    }
+
+    /**
+     * Sends the request without waiting for the response and passes the rows of the response to a
+     * sink once it arrives. This accepts the same options as {@link #readData}. The body is parsed on
+     * a thread of the reader's own pool, never on the HTTP client's executor. With pagination, the pages are requested and passed
+     * on from a background thread.
+     *
+     * @param connection the connection to the source
+     * @param options additional options for reading
+     * @param sink the sink to receive the rows
+     * @return a future that completes once every row has been passed to the sink, or completes
+     *         exceptionally with the {@link IOException} or runtime exception that stopped the read
+     * @throws IllegalArgumentException if the connection is not a RESTConnection or an option is not supported
+     */
+    public CompletableFuture<Void> readRowsAsync(IDataSourceConnection connection, Map<String, Object> options, IRowSink sink) {
+        RESTConnection restConnection = prepare(connection, options, sink);
+        if (options == null || !options.containsKey("pagination")) {
+            return readSingleResponse(restConnection, options, sink);
+        }
+        RESTPaginator paginator = new RESTPaginator(this, restConnection, options);
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        Thread thread = new Thread(() -> {
+            try {
+                paginator.readPages(sink);
+                future.complete(null);
+            } catch (IOException | RuntimeException e) {
+                future.completeExceptionally(e);
+            }
+        }, "rest-paginator");
+        thread.setDaemon(true);
+        thread.start();
+        return future;
+    }
+
+    /**
+     * Checks the connection and options, and connects if needed.
+     */
+    private static RESTConnection prepare(IDataSourceConnection connection, Map<String, Object> options, IRowSink sink) {
         // Ensure we have a REST connection
         if (!(connection instanceof RESTConnection)) {
             throw new IllegalArgumentException("Connection must be a RESTConnection");
         }
+        if (sink == null) {
+            throw new IllegalArgumentException("Row sink cannot be null");
+        }
         RESTConnection restConnection = (RESTConnection) connection;
 
-        // Extract options
-        String method = options != null && options.containsKey("method") ? (String) options.get("method") : "GET";
         String responseFormat = options != null && options.containsKey("responseFormat") ? (String) options.get("responseFormat") : "json";
+        if (!"json".equalsIgnoreCase(responseFormat) && !"xml".equalsIgnoreCase(responseFormat)
+                && !"csv".equalsIgnoreCase(responseFormat)) {
+            throw new IllegalArgumentException("Unsupported response format: " + responseFormat);
+        }
 
         // Connect if not already connected
         if (!restConnection.isConnected()) {
             restConnection.connect();
         }
+        return restConnection;
+    }
 
+    private CompletableFuture<Void> readSingleResponse(RESTConnection connection, Map<String, Object> options, IRowSink sink) {
+        URI uri;
         try {
-            // Create a connection for the specific HTTP method
-            HttpURLConnection httpConnection = restConnection.createConnection(method);
-
-            // Get the response
-            int responseCode = httpConnection.getResponseCode();
-            if (responseCode >= 200 && responseCode < 300) {
-                // Read the response
-                BufferedReader reader = new BufferedReader(new InputStreamReader(httpConnection.getInputStream()));
-                StringBuilder response = new StringBuilder();
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    response.append(line);
-                }
-                reader.close();
-
-                // Parse the response based on the format
-                if ("json".equalsIgnoreCase(responseFormat)) {
-                    parseJsonResponse(dataSource, response.toString());
-                } else if ("xml".equalsIgnoreCase(responseFormat)) {
-                    parseXmlResponse(dataSource, response.toString());
-                } else if ("csv".equalsIgnoreCase(responseFormat)) {
-                    parseCsvResponse(dataSource, response.toString());
-                } else {
-                    throw new IllegalArgumentException("Unsupported response format: " + responseFormat);
-                }
-            } else {
-                throw new IOException("HTTP error code: " + responseCode);
-            }
-        } catch (IOException e) {
-            logger.error("Error reading from REST API: {}", e.getMessage());
+            uri = URI.create(connection.getEndpoint());
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(new IOException("Invalid REST request: " + e.getMessage(), e));
         }
+        return fetch(connection, uri, options, sink, null).thenRun(() -> {
+            try {
+                sink.end();
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        });
     }
 
     /**
-     * Parses a JSON response into a data source.
-     * This is a simplified implementation that assumes a flat JSON structure.
+     * Requests one URI of the API and passes the rows of the response to a sink, without calling
+     * {@link IRowSink#end()}. This accepts the same options as {@link #readData}, apart from pagination.
      *
-     * @param dataSource the data source to read into
-     * @param jsonResponse the JSON response
+     * @param connection the connection to the API
+     * @param uri the URI to request
+     * @param options additional options for reading
+     * @param sink the sink to receive the rows
+     * @param rootValues the map to receive the other values of the root object of a JSON response,
+     *                   as collected by {@link JSONReader#readRows(InputStream, String, boolean, IRowSink, Map)}, or null
+     * @return a future that completes with the headers of the response once its rows have been passed to the sink
      */
-    private void parseJsonResponse(IDataSource dataSource, String jsonResponse) {
-        // Simple JSON array parsing without external libraries
-        // This is a basic implementation that works for the test cases
-        // In a real implementation, this would use a JSON library like Jackson or Gson
+    CompletableFuture<HttpHeaders> fetch(RESTConnection connection, URI uri, Map<String, Object> options,
+                                         IRowSink sink, Map<String, String> rootValues) {
+        // Extract options
+        String method = options != null && options.containsKey("method") ? (String) options.get("method") : "GET";
+        String responseFormat = options != null && options.containsKey("responseFormat") ? (String) options.get("responseFormat") : "json";
+        String rootElement = options != null && options.containsKey("rootElement") ? (String) options.get("rootElement") : null;
+        Boolean ndjson = options != null && options.containsKey("ndjson") ? (Boolean) options.get("ndjson") : null;
 
+        HttpRequest request;
         try {
-            // Check if the response is an array
-            if (jsonResponse.trim().startsWith("[") && jsonResponse.trim().endsWith("]")) {
-                // Extract the array content
-                String arrayContent = jsonResponse.trim().substring(1, jsonResponse.trim().length() - 1);
-
-                // Split the array into objects
-                List<String> jsonObjects = splitJsonArray(arrayContent);
-
-                if (!jsonObjects.isEmpty()) {
-                    // Parse the first object to determine columns
-                    Map<String, String> firstObject = parseJsonObject(jsonObjects.get(0));
-
-                    // Set up columns based on the first object
-                    LinkedHashMap<String, String> columns = new LinkedHashMap<>();
-                    for (String key : firstObject.keySet()) {
-                        // Infer type from value
-                        String value = firstObject.get(key);
-                        String type = inferType(value);
-                        columns.put(key, type);
-                    }
-
-                    // Set columns in the data source
-                    if (!columns.isEmpty() && dataSource.getColumnCount() == 0) {
-                        dataSource.setColumns(columns);
-                    }
-
-                    // Add rows for each object
-                    for (String jsonObject : jsonObjects) {
-                        Map<String, String> objectMap = parseJsonObject(jsonObject);
-                        dataSource.addRow(objectMap);
-                    }
-                }
-            } else if (jsonResponse.trim().startsWith("{") && jsonResponse.trim().endsWith("}")) {
-                // Single object response
-                Map<String, String> objectMap = parseJsonObject(jsonResponse);
-
-                // Set up columns based on the object
-                LinkedHashMap<String, String> columns = new LinkedHashMap<>();
-                for (String key : objectMap.keySet()) {
-                    // Infer type from value
-                    String value = objectMap.get(key);
-                    String type = inferType(value);
-                    columns.put(key, type);
-                }
-
-                // Set columns in the data source
-                if (!columns.isEmpty() && dataSource.getColumnCount() == 0) {
-                    dataSource.setColumns(columns);
-                }
-
-                // Add the object as a row
-                dataSource.addRow(objectMap);
-            } else {
-                // Fallback for unrecognized format
-                LinkedHashMap<String, String> columns = new LinkedHashMap<>();
-                columns.put("response", "string");
-
-                if (dataSource.getColumnCount() == 0) {
-                    dataSource.setColumns(columns);
-                }
-
-                Map<String, String> row = new LinkedHashMap<>();
-                row.put("response", jsonResponse);
-                dataSource.addRow(row);
-            }
-        } catch (Exception e) {
-            logger.error("Error parsing JSON response: {}", e.getMessage());
-
-            // Fallback in case of parsing error
-            LinkedHashMap<String, String> columns = new LinkedHashMap<>();
-            columns.put("response", "string");
-
-            if (dataSource.getColumnCount() == 0) {
-                dataSource.setColumns(columns);
-            }
-
-            Map<String, String> row = new LinkedHashMap<>();
-            row.put("response", jsonResponse);
-            dataSource.addRow(row);
+            request = connection.createRequestBuilder(method, uri)
+                    .header("Accept-Encoding", "gzip")
+                    .build();
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(new IOException("Invalid REST request: " + e.getMessage(), e));
         }
+        return connection.getHttpClient()
+                .sendAsync(request, HttpResponse.BodyHandlers.ofInputStream())
+                .thenApplyAsync(response -> {
+                    try {
+                        readResponse(response, responseFormat, rootElement, ndjson, sink, rootValues);
+                        return response.headers();
+                    } catch (IOException e) {
+                        throw new CompletionException(e);
+                    }
+                }, PARSE_EXECUTOR);
     }
 
     /**
-     * Splits a JSON array content into individual JSON objects.
-     * 
-     * @param arrayContent the content of a JSON array without the surrounding brackets
-     * @return a list of JSON object strings
+     * Waits for a read to finish, rethrowing the exception that stopped it.
      */
-    private List<String> splitJsonArray(String arrayContent) {
-        List<String> result = new ArrayList<>();
-
-        int depth = 0;
-        StringBuilder currentObject = new StringBuilder();
-        boolean inString = false;
-        boolean escaped = false;
-
-        for (int i = 0; i < arrayContent.length(); i++) {
-            char c = arrayContent.charAt(i);
-
-            if (escaped) {
-                currentObject.append(c);
-                escaped = false;
-                continue;
-            }
-
-            if (c == '\\') {
-                currentObject.append(c);
-                escaped = true;
-                continue;
+    static <T> T await(CompletableFuture<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while reading from REST API");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
             }
-
-            if (c == '"' && !escaped) {
-                inString = !inString;
-            }
-
-            if (!inString) {
-                if (c == '{') {
-                    depth++;
-                } else if (c == '}') {
-                    depth--;
-                }
-            }
-
-            currentObject.append(c);
-
-            if (depth == 0 && !inString && (c == '}' || c == ']')) {
-                String obj = currentObject.toString().trim();
-                if (!obj.isEmpty()) {
-                    result.add(obj);
-                }
-                currentObject = new StringBuilder();
-
-                // Skip the comma and any whitespace
-                while (i + 1 < arrayContent.length() && (arrayContent.charAt(i + 1) == ',' || Character.isWhitespace(arrayContent.charAt(i + 1)))) {
-                    i++;
-                }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
             }
+            throw new IOException("Error reading from REST API: " + cause.getMessage(), cause);
         }
-
-        // Add the last object if there is one
-        String lastObj = currentObject.toString().trim();
-        if (!lastObj.isEmpty()) {
-            result.add(lastObj);
-        }
-
-        return result;
     }
 
     /**
-     * Parses a JSON object string into a map of key-value pairs.
-     * 
-     * @param jsonObject the JSON object string
-     * @return a map of key-value pairs
+     * Parses a response body, closing it afterwards.
      */
-    private Map<String, String> parseJsonObject(String jsonObject) {
-        Map<String, String> result = new LinkedHashMap<>();
-
-        // Simple regex-based parsing for demonstration
-        // This is not a complete JSON parser and has limitations
-        Pattern pattern = Pattern.compile("\"([^\"]+)\"\\s*:\\s*(\"[^\"]*\"|\\d+|true|false|null|\\{[^}]*\\}|\\[[^\\]]*\\])");
-        Matcher matcher = pattern.matcher(jsonObject);
-
-        while (matcher.find()) {
-            String key = matcher.group(1);
-            String value = matcher.group(2);
-
-            // Remove quotes from string values
-            if (value.startsWith("\"") && value.endsWith("\"")) {
-                value = value.substring(1, value.length() - 1);
+    private void readResponse(HttpResponse<InputStream> response, String responseFormat, String rootElement,
+                              Boolean ndjson, IRowSink sink, Map<String, String> rootValues) throws IOException {
+        try (InputStream body = openBody(response)) {
+            int responseCode = response.statusCode();
+            if (responseCode < 200 || responseCode >= 300) {
+                throw new IOException("HTTP error code: " + responseCode);
             }
 
-            result.put(key, value);
+            // Parse the response based on the format
+            if ("json".equalsIgnoreCase(responseFormat)) {
+                boolean lines = ndjson != null ? ndjson : isNdjson(response);
+                JSONReader.readRows(body, rootElement, lines, sink, rootValues);
+                return;
+            }
+            String text = new String(body.readAllBytes(), StandardCharsets.UTF_8);
+            try {
+                if ("xml".equalsIgnoreCase(responseFormat)) {
+                    parseXmlResponse(new RowSinkTableAdapter(sink), text);
+                } else {
+                    parseCsvResponse(new RowSinkTableAdapter(sink), text);
+                }
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
         }
-
-        return result;
     }
 
-    /**
-     * Infers the type of a value.
-     * 
-     * @param value the value to infer the type of
-     * @return the inferred type
-     */
-    private String inferType(String value) {
-        if (value == null) {
-            return "string";
+    private static InputStream openBody(HttpResponse<InputStream> response) throws IOException {
+        InputStream body = response.body();
+        if (!"gzip".equalsIgnoreCase(response.headers().firstValue("Content-Encoding").orElse(""))) {
+            return body;
         }
-
         try {
-            Integer.parseInt(value);
-            return "int";
-        } catch (NumberFormatException e) {
-            try {
-                Double.parseDouble(value);
-                return "double";
-            } catch (NumberFormatException e2) {
-                if ("true".equalsIgnoreCase(value) || "false".equalsIgnoreCase(value)) {
-                    return "boolean";
-                } else {
-                    return "string";
-                }
-            }
+            return new GZIPInputStream(body, 1 << 16);
+        } catch (IOException e) {
+            body.close();
+            throw e;
         }
     }
 
+    private static boolean isNdjson(HttpResponse<?> response) {
+        String contentType = response.headers().firstValue("Content-Type").orElse("").toLowerCase();
+        return contentType.contains("ndjson") || contentType.contains("jsonl") || contentType.contains("json-lines");
+    }
+
     /**
      * Parses an XML response into a data source.
      * This is a simplified implementation that assumes a flat XML structure.
@@ -0,0 +1,179 @@
+package dev.mars.jtable.io.files.snapshot;
+
+import java.util.Arrays;
+
+/**
+ * A fast byte-oriented LZ77 compressor using the LZ4 block format: a sequence of literal runs
+ * and back-references of at least 4 bytes within a 64 KB window, found through a single hash
+ * table of recent positions. It trades ratio for speed, which suits column blocks that are
+ * decompressed on every load.
+ */
+final class BlockCompressor {
+    private static final int MIN_MATCH = 4;
+    // The last match must start this far from the end, and the last bytes are always literals
+    private static final int MF_LIMIT = 12;
+    private static final int LAST_LITERALS = 5;
+    private static final int MAX_OFFSET = 65535;
+    private static final int HASH_BITS = 16;
+    // Skip faster through data that does not compress
+    private static final int SKIP_TRIGGER = 6;
+
+    private BlockCompressor() {
+    }
+
+    /**
+     * Gets the largest possible compressed length of a block.
+     *
+     * @param length the length of the block
+     * @return the capacity the compressed output needs
+     */
+    static int maxCompressedLength(int length) {
+        return length + length / 255 + 16;
+    }
+
+    /**
+     * Compresses a block.
+     *
+     * @param source the bytes to compress
+     * @param length the number of bytes of the source to compress
+     * @param target the output, of at least {@link #maxCompressedLength(int)} bytes
+     * @return the compressed length
+     */
+    static int compress(byte[] source, int length, byte[] target) {
+        int out = 0;
+        int anchor = 0;
+        if (length > MF_LIMIT) {
+            int[] table = new int[1 << HASH_BITS];
+            Arrays.fill(table, -1);
+            int matchLimit = length - LAST_LITERALS;
+            int limit = length - MF_LIMIT;
+            int position = 0;
+            while (position < limit) {
+                int sequence = readInt(source, position);
+                int hash = (sequence * -1640531535) >>> (32 - HASH_BITS);
+                int reference = table[hash];
+                table[hash] = position;
+                if (reference < 0 || position - reference > MAX_OFFSET || readInt(source, reference) != sequence) {
+                    position += 1 + ((position - anchor) >>> SKIP_TRIGGER);
+                    continue;
+                }
+                while (position > anchor && reference > 0 && source[position - 1] == source[reference - 1]) {
+                    position--;
+                    reference--;
+                }
+                int matchLength = MIN_MATCH;
+                while (position + matchLength < matchLimit && source[position + matchLength] == source[reference + matchLength]) {
+                    matchLength++;
+                }
+                out = writeSequence(source, anchor, position - anchor, position - reference, matchLength, target, out);
+                position += matchLength;
+                anchor = position;
+            }
+        }
+        return writeLastLiterals(source, anchor, length - anchor, target, out);
+    }
+
+    /**
+     * Decompresses a block.
+     *
+     * @param source the compressed bytes
+     * @param sourceLength the compressed length
+     * @param target the output, of exactly the uncompressed length
+     * @throws IllegalArgumentException if the block is corrupt
+     */
+    static void decompress(byte[] source, int sourceLength, byte[] target) {
+        int in = 0;
+        int out = 0;
+        try {
+            while (true) {
+                int token = source[in++] & 0xFF;
+                int literalLength = token >>> 4;
+                if (literalLength == 15) {
+                    int b;
+                    do {
+                        b = source[in++] & 0xFF;
+                        literalLength += b;
+                    } while (b == 255);
+                }
+                System.arraycopy(source, in, target, out, literalLength);
+                in += literalLength;
+                out += literalLength;
+                if (in == sourceLength) {
+                    break;
+                }
+
+                int offset = (source[in] & 0xFF) | (source[in + 1] & 0xFF) << 8;
+                in += 2;
+                int matchLength = token & 0x0F;
+                if (matchLength == 15) {
+                    int b;
+                    do {
+                        b = source[in++] & 0xFF;
+                        matchLength += b;
+                    } while (b == 255);
+                }
+                matchLength += MIN_MATCH;
+                int from = out - offset;
+                if (offset == 0 || from < 0) {
+                    throw new IllegalArgumentException("Corrupt compressed block: invalid match offset");
+                }
+                if (offset >= matchLength) {
+                    System.arraycopy(target, from, target, out, matchLength);
+                    out += matchLength;
+                } else {
+                    // Overlapping match: the bytes repeat with a period of the offset
+                    for (int i = 0; i < matchLength; i++) {
+                        target[out++] = target[from + i];
+                    }
+                }
+            }
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Corrupt compressed block", e);
+        }
+        if (out != target.length) {
+            throw new IllegalArgumentException("Corrupt compressed block: expected " + target.length
+                    + " bytes but got " + out);
+        }
+    }
+
+    private static int writeSequence(byte[] source, int literalStart, int literalLength, int offset,
+                                     int matchLength, byte[] target, int out) {
+        int matchCode = matchLength - MIN_MATCH;
+        int tokenPosition = out++;
+        int token = (Math.min(literalLength, 15) << 4) | Math.min(matchCode, 15);
+        target[tokenPosition] = (byte) token;
+        out = writeLength(literalLength, target, out);
+        System.arraycopy(source, literalStart, target, out, literalLength);
+        out += literalLength;
+        target[out++] = (byte) offset;
+        target[out++] = (byte) (offset >>> 8);
+        return writeLength(matchCode, target, out);
+    }
+
+    private static int writeLastLiterals(byte[] source, int literalStart, int literalLength, byte[] target, int out) {
+        target[out++] = (byte) (Math.min(literalLength, 15) << 4);
+        out = writeLength(literalLength, target, out);
+        System.arraycopy(source, literalStart, target, out, literalLength);
+        return out + literalLength;
+    }
+
+    /**
+     * Writes the part of a length beyond the 15 held in the token, as bytes of 255 and a remainder.
+     */
+    private static int writeLength(int length, byte[] target, int out) {
+        if (length >= 15) {
+            int remaining = length - 15;
+            while (remaining >= 255) {
+                target[out++] = (byte) 255;
+                remaining -= 255;
+            }
+            target[out++] = (byte) remaining;
+        }
+        return out;
+    }
+
+    private static int readInt(byte[] bytes, int position) {
+        return (bytes[position] & 0xFF) | (bytes[position + 1] & 0xFF) << 8
+                | (bytes[position + 2] & 0xFF) << 16 | (bytes[position + 3] & 0xFF) << 24;
+    }
+}
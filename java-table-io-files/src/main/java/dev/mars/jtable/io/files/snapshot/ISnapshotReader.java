@@ -0,0 +1,35 @@
+package dev.mars.jtable.io.files.snapshot;
+
+import dev.mars.jtable.core.model.ITable;
+import dev.mars.jtable.io.common.datasource.IDataReader;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * Interface for reading tables from binary columnar snapshot files.
+ * This interface extends the generic IDataReader interface and adds snapshot-specific methods.
+ */
+public interface ISnapshotReader extends IDataReader {
+    /**
+     * Reads the columns of a snapshot file without reading any of their values.
+     *
+     * @param fileName the name of the file to read
+     * @return a map of column names to column types, in column order
+     * @throws IOException if there is an error reading the file or it is not a snapshot file
+     */
+    LinkedHashMap<String, String> readSchema(String fileName) throws IOException;
+
+    /**
+     * Reads a snapshot file into a new table. Only the blocks of the requested columns are read.
+     *
+     * @param fileName the name of the file to read
+     * @param columnNames the columns to read, in the order they should appear in the table, or
+     *        null to read every column
+     * @return a new table holding the requested columns
+     * @throws IOException if there is an error reading the file or it is not a snapshot file
+     * @throws IllegalArgumentException if a requested column is not in the snapshot
+     */
+    ITable readSnapshot(String fileName, List<String> columnNames) throws IOException, IllegalArgumentException;
+}
@@ -0,0 +1,23 @@
+package dev.mars.jtable.io.files.snapshot;
+
+import dev.mars.jtable.core.model.ITable;
+import dev.mars.jtable.io.common.datasource.IDataWriter;
+
+import java.io.IOException;
+
+/**
+ * Interface for writing tables to binary columnar snapshot files.
+ * This interface extends the generic IDataWriter interface and adds snapshot-specific methods.
+ */
+public interface ISnapshotWriter extends IDataWriter {
+    /**
+     * Writes a table to a snapshot file, replacing the file if it exists.
+     *
+     * @param table the table to write
+     * @param fileName the name of the file to write to
+     * @param compress whether to compress the column blocks
+     * @throws IOException if there is an error writing to the file
+     * @throws IllegalArgumentException if a column has a type that cannot be stored in a snapshot
+     */
+    void writeSnapshot(ITable table, String fileName, boolean compress) throws IOException, IllegalArgumentException;
+}
@@ -0,0 +1,112 @@
+package dev.mars.jtable.io.files.snapshot;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Constants and type codes of the snapshot file format.
+ *
+ * A snapshot file is laid out as follows, all numbers little-endian:
+ * <pre>
+ * header   int MAGIC, int VERSION, 8 reserved bytes
+ * blocks   one block per column, possibly compressed
+ * footer   int rowCount, int columnCount, table name, then per column:
+ *          name, byte type, byte encoding, byte compression,
+ *          long offset, int stored length, int raw length
+ * trailer  long footer offset, int footer length, int MAGIC
+ * </pre>
+ * Strings in the footer are an int byte count followed by UTF-8 bytes.
+ *
+ * A raw column block starts with a byte that is 1 if the column has nulls, followed in that
+ * case by a bitmap of one bit per row (set for null rows) in longs. The values follow:
+ * <ul>
+ *   <li>int: one int per row</li>
+ *   <li>double: one double per row</li>
+ *   <li>boolean: one bit per row in longs</li>
+ *   <li>string, dictionary encoding: an int dictionary size, the dictionary strings, a byte code
+ *       width of 1, 2 or 4, then one code per row</li>
+ *   <li>string, plain encoding: one string per row</li>
+ *   <li>date: the epoch day of each row as a long</li>
+ *   <li>time: the nano of day of each row as a long</li>
+ *   <li>datetime: the epoch second (UTC) of each row as a long, then the nano of each row as an int</li>
+ * </ul>
+ * Null rows hold a zero value or an empty string.
+ */
+final class SnapshotFormat {
+    static final int MAGIC = 0x504E534A; // "JSNP"
+    static final int VERSION = 1;
+    static final int HEADER_LENGTH = 16;
+    static final int TRAILER_LENGTH = 16;
+
+    static final byte TYPE_INT = 1;
+    static final byte TYPE_DOUBLE = 2;
+    static final byte TYPE_BOOLEAN = 3;
+    static final byte TYPE_STRING = 4;
+    static final byte TYPE_DATE = 5;
+    static final byte TYPE_TIME = 6;
+    static final byte TYPE_DATETIME = 7;
+
+    static final byte ENCODING_PLAIN = 0;
+    static final byte ENCODING_DICTIONARY = 1;
+
+    static final byte COMPRESSION_NONE = 0;
+    static final byte COMPRESSION_BLOCK = 1;
+
+    private SnapshotFormat() {
+    }
+
+    /**
+     * Gets the type code of a column value type.
+     *
+     * @throws IllegalArgumentException if the type cannot be stored in a snapshot
+     */
+    static byte typeCode(Class<?> type) {
+        if (type == Integer.class) {
+            return TYPE_INT;
+        } else if (type == Double.class) {
+            return TYPE_DOUBLE;
+        } else if (type == Boolean.class) {
+            return TYPE_BOOLEAN;
+        } else if (type == String.class) {
+            return TYPE_STRING;
+        } else if (type == LocalDate.class) {
+            return TYPE_DATE;
+        } else if (type == LocalTime.class) {
+            return TYPE_TIME;
+        } else if (type == LocalDateTime.class) {
+            return TYPE_DATETIME;
+        }
+        throw new IllegalArgumentException("Unsupported column type: " + type.getName());
+    }
+
+    /**
+     * Gets the table column type name of a type code, as accepted by ITable.setColumns.
+     *
+     * @throws IllegalArgumentException if the code is unknown
+     */
+    static String typeName(byte typeCode) {
+        switch (typeCode) {
+            case TYPE_INT:
+                return "int";
+            case TYPE_DOUBLE:
+                return "double";
+            case TYPE_BOOLEAN:
+                return "boolean";
+            case TYPE_STRING:
+                return "string";
+            case TYPE_DATE:
+                return "date";
+            case TYPE_TIME:
+                return "time";
+            case TYPE_DATETIME:
+                return "datetime";
+            default:
+                throw new IllegalArgumentException("Unknown column type code: " + typeCode);
+        }
+    }
+
+    static int bitmapWords(int rowCount) {
+        return (rowCount + 63) >>> 6;
+    }
+}
@@ -0,0 +1,353 @@
+package dev.mars.jtable.io.files.snapshot;
+
+import dev.mars.jtable.core.model.ITable;
+import dev.mars.jtable.core.table.ColumnarTableCore;
+import dev.mars.jtable.io.common.datasource.FileConnection;
+import dev.mars.jtable.io.common.datasource.IDataSource;
+import dev.mars.jtable.io.common.datasource.IDataSourceConnection;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementation of the ISnapshotReader interface for reading binary columnar snapshot files
+ * written by {@link SnapshotWriter}.
+ *
+ * The footer of the file is read first; then the block of each requested column is
+ * memory-mapped and decoded with bulk primitive copies, so the columns that are not requested
+ * are never read from disk. Tables are loaded into a {@link ColumnarTableCore}, which takes the
+ * decoded arrays a whole column at a time.
+ */
+public class SnapshotReader implements ISnapshotReader {
+
+    /**
+     * The footer entry of a column.
+     */
+    private static final class ColumnEntry {
+        String name;
+        byte type;
+        byte encoding;
+        byte compression;
+        long offset;
+        int storedLength;
+        int rawLength;
+    }
+
+    /**
+     * Reads a snapshot file into a data source using the provided connection.
+     * The {@code columns} option, a list of column names, limits the columns that are read.
+     *
+     * @param dataSource the data source to read into
+     * @param connection the connection to the snapshot file
+     * @param options additional options for reading (implementation-specific)
+     * @throws IOException if there is an error reading the file
+     * @throws IllegalArgumentException if there is an error with the data source or connection
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void readData(IDataSource dataSource, IDataSourceConnection connection, Map<String, Object> options) throws IOException, IllegalArgumentException {
+        if (dataSource == null) {
+            throw new IllegalArgumentException("Data source cannot be null");
+        }
+        if (!(connection instanceof FileConnection)) {
+            throw new IllegalArgumentException("Connection must be a FileConnection");
+        }
+        List<String> columnNames = options != null && options.containsKey("columns") ? (List<String>) options.get("columns") : null;
+        ITable table = readSnapshot(((FileConnection) connection).getLocation(), columnNames);
+
+        LinkedHashMap<String, String> columns = new LinkedHashMap<>();
+        for (int c = 0; c < table.getColumnCount(); c++) {
+            columns.put(table.getColumnName(c), typeName(table, c));
+        }
+        dataSource.setColumns(columns);
+        String[] values = new String[columns.size()];
+        for (int row = 0; row < table.getRowCount(); row++) {
+            for (int c = 0; c < values.length; c++) {
+                values[c] = table.getValueAt(row, table.getColumnName(c));
+            }
+            dataSource.addRow(values.clone());
+        }
+    }
+
+    private static String typeName(ITable table, int column) {
+        return SnapshotFormat.typeName(SnapshotFormat.typeCode(table.getColumn(column).getType()));
+    }
+
+    @Override
+    public LinkedHashMap<String, String> readSchema(String fileName) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ)) {
+            LinkedHashMap<String, String> columns = new LinkedHashMap<>();
+            for (ColumnEntry entry : readFooter(channel, new int[1], new String[1])) {
+                columns.put(entry.name, SnapshotFormat.typeName(entry.type));
+            }
+            return columns;
+        }
+    }
+
+    @Override
+    public ITable readSnapshot(String fileName, List<String> columnNames) throws IOException, IllegalArgumentException {
+        try (FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ)) {
+            int[] rowCount = new int[1];
+            String[] tableName = new String[1];
+            List<ColumnEntry> entries = readFooter(channel, rowCount, tableName);
+
+            List<ColumnEntry> selected = new ArrayList<>();
+            if (columnNames == null) {
+                selected.addAll(entries);
+            } else {
+                for (String columnName : columnNames) {
+                    ColumnEntry found = null;
+                    for (ColumnEntry entry : entries) {
+                        if (entry.name.equals(columnName)) {
+                            found = entry;
+                            break;
+                        }
+                    }
+                    if (found == null) {
+                        throw new IllegalArgumentException("Column '" + columnName + "' does not exist");
+                    }
+                    selected.add(found);
+                }
+            }
+
+            ColumnarTableCore table = new ColumnarTableCore(tableName[0]);
+            LinkedHashMap<String, String> columns = new LinkedHashMap<>();
+            Object[] values = new Object[selected.size()];
+            long[][] nulls = new long[selected.size()][];
+            for (int c = 0; c < values.length; c++) {
+                ColumnEntry entry = selected.get(c);
+                columns.put(entry.name, SnapshotFormat.typeName(entry.type));
+                values[c] = decodeColumn(channel, entry, rowCount[0], nulls, c);
+            }
+            table.setColumns(columns);
+            table.appendColumns(rowCount[0], values, nulls);
+            return table;
+        }
+    }
+
+    /**
+     * Reads the header, trailer and footer of a snapshot file.
+     *
+     * @param rowCount receives the number of rows
+     * @param tableName receives the table name
+     * @return the footer entries of the columns
+     * @throws IOException if the file is not a snapshot file
+     */
+    private static List<ColumnEntry> readFooter(FileChannel channel, int[] rowCount, String[] tableName) throws IOException {
+        long size = channel.size();
+        if (size < SnapshotFormat.HEADER_LENGTH + SnapshotFormat.TRAILER_LENGTH) {
+            throw new IOException("Not a snapshot file: too short");
+        }
+        ByteBuffer header = readFully(channel, 0, SnapshotFormat.HEADER_LENGTH);
+        if (header.getInt() != SnapshotFormat.MAGIC) {
+            throw new IOException("Not a snapshot file: bad magic number");
+        }
+        int version = header.getInt();
+        if (version != SnapshotFormat.VERSION) {
+            throw new IOException("Unsupported snapshot version: " + version);
+        }
+        ByteBuffer trailer = readFully(channel, size - SnapshotFormat.TRAILER_LENGTH, SnapshotFormat.TRAILER_LENGTH);
+        long footerOffset = trailer.getLong();
+        int footerLength = trailer.getInt();
+        if (trailer.getInt() != SnapshotFormat.MAGIC || footerOffset < SnapshotFormat.HEADER_LENGTH
+                || footerLength < 0 || footerOffset + footerLength > size - SnapshotFormat.TRAILER_LENGTH) {
+            throw new IOException("Corrupt snapshot file: bad trailer");
+        }
+
+        ByteBuffer footer = readFully(channel, footerOffset, footerLength);
+        try {
+            rowCount[0] = footer.getInt();
+            int columnCount = footer.getInt();
+            tableName[0] = getString(footer);
+            List<ColumnEntry> entries = new ArrayList<>(columnCount);
+            for (int c = 0; c < columnCount; c++) {
+                ColumnEntry entry = new ColumnEntry();
+                entry.name = getString(footer);
+                entry.type = footer.get();
+                entry.encoding = footer.get();
+                entry.compression = footer.get();
+                entry.offset = footer.getLong();
+                entry.storedLength = footer.getInt();
+                entry.rawLength = footer.getInt();
+                if (entry.offset < SnapshotFormat.HEADER_LENGTH || entry.offset + entry.storedLength > footerOffset) {
+                    throw new IOException("Corrupt snapshot file: column block out of range");
+                }
+                SnapshotFormat.typeName(entry.type);
+                entries.add(entry);
+            }
+            return entries;
+        } catch (RuntimeException e) {
+            throw new IOException("Corrupt snapshot file: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Maps and decodes the block of a column.
+     *
+     * @param nulls receives the null bitmap of the column at the given index, or null if the
+     *        column has no nulls
+     * @return the values of the column, in the array form taken by
+     *         {@link ColumnarTableCore#appendColumns(int, Object[], long[][])}
+     */
+    private static Object decodeColumn(FileChannel channel, ColumnEntry entry, int rowCount, long[][] nulls, int index) throws IOException {
+        ByteBuffer block = channel.map(FileChannel.MapMode.READ_ONLY, entry.offset, entry.storedLength);
+        if (entry.compression == SnapshotFormat.COMPRESSION_BLOCK) {
+            byte[] compressed = new byte[entry.storedLength];
+            block.get(compressed);
+            byte[] raw = new byte[entry.rawLength];
+            try {
+                BlockCompressor.decompress(compressed, compressed.length, raw);
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Corrupt snapshot file: column '" + entry.name + "': " + e.getMessage(), e);
+            }
+            block = ByteBuffer.wrap(raw);
+        }
+        block.order(ByteOrder.LITTLE_ENDIAN);
+
+        try {
+            if (block.get() != 0) {
+                nulls[index] = getLongs(block, SnapshotFormat.bitmapWords(rowCount));
+            }
+            return decodeValues(block, entry, nulls[index], rowCount);
+        } catch (RuntimeException e) {
+            throw new IOException("Corrupt snapshot file: column '" + entry.name + "': " + e.getMessage(), e);
+        }
+    }
+
+    private static Object decodeValues(ByteBuffer block, ColumnEntry entry, long[] nulls, int rowCount) {
+        switch (entry.type) {
+            case SnapshotFormat.TYPE_INT: {
+                int[] values = new int[rowCount];
+                block.asIntBuffer().get(values);
+                return values;
+            }
+            case SnapshotFormat.TYPE_DOUBLE: {
+                double[] values = new double[rowCount];
+                block.asDoubleBuffer().get(values);
+                return values;
+            }
+            case SnapshotFormat.TYPE_BOOLEAN:
+                return getLongs(block, SnapshotFormat.bitmapWords(rowCount));
+            case SnapshotFormat.TYPE_STRING:
+                return decodeStrings(block, entry, nulls, rowCount);
+            case SnapshotFormat.TYPE_DATE: {
+                long[] days = getLongs(block, rowCount);
+                Object[] values = new Object[rowCount];
+                for (int row = 0; row < rowCount; row++) {
+                    if (!isNull(nulls, row)) {
+                        values[row] = LocalDate.ofEpochDay(days[row]);
+                    }
+                }
+                return values;
+            }
+            case SnapshotFormat.TYPE_TIME: {
+                long[] nanosOfDay = getLongs(block, rowCount);
+                Object[] values = new Object[rowCount];
+                for (int row = 0; row < rowCount; row++) {
+                    if (!isNull(nulls, row)) {
+                        values[row] = LocalTime.ofNanoOfDay(nanosOfDay[row]);
+                    }
+                }
+                return values;
+            }
+            default: {
+                long[] seconds = getLongs(block, rowCount);
+                int[] nanos = new int[rowCount];
+                block.asIntBuffer().get(nanos);
+                Object[] values = new Object[rowCount];
+                for (int row = 0; row < rowCount; row++) {
+                    if (!isNull(nulls, row)) {
+                        values[row] = LocalDateTime.ofEpochSecond(seconds[row], nanos[row], ZoneOffset.UTC);
+                    }
+                }
+                return values;
+            }
+        }
+    }
+
+    private static String[] decodeStrings(ByteBuffer block, ColumnEntry entry, long[] nulls, int rowCount) {
+        String[] values = new String[rowCount];
+        if (entry.encoding == SnapshotFormat.ENCODING_PLAIN) {
+            for (int row = 0; row < rowCount; row++) {
+                values[row] = getString(block);
+            }
+            return values;
+        }
+
+        String[] dictionary = new String[block.getInt()];
+        for (int i = 0; i < dictionary.length; i++) {
+            dictionary[i] = getString(block);
+        }
+        int width = block.get();
+        int[] codes = new int[rowCount];
+        if (width == 1) {
+            for (int row = 0; row < rowCount; row++) {
+                codes[row] = block.get() & 0xFF;
+            }
+        } else if (width == 2) {
+            for (int row = 0; row < rowCount; row++) {
+                codes[row] = block.getShort() & 0xFFFF;
+            }
+        } else {
+            block.asIntBuffer().get(codes);
+        }
+        for (int row = 0; row < rowCount; row++) {
+            if (!isNull(nulls, row)) {
+                values[row] = dictionary[codes[row]];
+            }
+        }
+        return values;
+    }
+
+    private static boolean isNull(long[] nulls, int row) {
+        return nulls != null && (nulls[row >>> 6] & (1L << row)) != 0;
+    }
+
+    /**
+     * Reads longs in bulk and advances the buffer past them.
+     */
+    private static long[] getLongs(ByteBuffer buffer, int count) {
+        long[] values = new long[count];
+        buffer.asLongBuffer().get(values);
+        buffer.position(buffer.position() + count * 8);
+        return values;
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        String value;
+        if (buffer.hasArray()) {
+            value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+        } else {
+            byte[] utf8 = new byte[length];
+            buffer.get(buffer.position(), utf8);
+            value = new String(utf8, StandardCharsets.UTF_8);
+        }
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of snapshot file");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+}
@@ -0,0 +1,304 @@
+package dev.mars.jtable.io.files.snapshot;
+
+import dev.mars.jtable.core.model.ITable;
+import dev.mars.jtable.io.common.adapter.ITableAdapter;
+import dev.mars.jtable.io.common.datasource.FileConnection;
+import dev.mars.jtable.io.common.datasource.IDataSource;
+import dev.mars.jtable.io.common.datasource.IDataSourceConnection;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Implementation of the ISnapshotWriter interface for writing tables to binary columnar
+ * snapshot files, in the format described by {@link SnapshotFormat}.
+ *
+ * Each column is encoded into its own block, so a reader can load any subset of the columns.
+ * String columns are dictionary-encoded when they repeat values; the codes take 1, 2 or 4
+ * bytes depending on the dictionary size. Double values are stored as IEEE 754 doubles, so the
+ * text a value was parsed from (such as trailing zeros) is not kept.
+ */
+public class SnapshotWriter implements ISnapshotWriter {
+    // A dictionary is used when there are at most this many rows per distinct value
+    private static final int MIN_ROWS_PER_DICTIONARY_VALUE = 2;
+
+    /**
+     * Writes data from a data source to a snapshot file using the provided connection.
+     * The data source must be backed by a table, as the snapshot stores typed values.
+     * The {@code compress} option enables block compression.
+     *
+     * @param dataSource the data source to write from
+     * @param connection the connection to the destination
+     * @param options additional options for writing (implementation-specific)
+     * @throws IOException if there is an error writing to the destination
+     * @throws IllegalArgumentException if there is an error with the data source or connection
+     */
+    @Override
+    public void writeData(IDataSource dataSource, IDataSourceConnection connection, Map<String, Object> options) throws IOException, IllegalArgumentException {
+        if (!(dataSource instanceof ITableAdapter)) {
+            throw new IllegalArgumentException("Data source must be a table adapter");
+        }
+        if (!(connection instanceof FileConnection)) {
+            throw new IllegalArgumentException("Connection must be a FileConnection");
+        }
+        boolean compress = options != null && options.containsKey("compress") ? (Boolean) options.get("compress") : false;
+        writeSnapshot(((ITableAdapter) dataSource).getTable(), ((FileConnection) connection).getLocation(), compress);
+    }
+
+    @Override
+    public void writeSnapshot(ITable table, String fileName, boolean compress) throws IOException, IllegalArgumentException {
+        if (table == null) {
+            throw new IllegalArgumentException("Table cannot be null");
+        }
+        int columnCount = table.getColumnCount();
+        byte[] types = new byte[columnCount];
+        for (int c = 0; c < columnCount; c++) {
+            types[c] = SnapshotFormat.typeCode(table.getColumn(c).getType());
+        }
+
+        try (FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(SnapshotFormat.HEADER_LENGTH).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(SnapshotFormat.MAGIC).putInt(SnapshotFormat.VERSION);
+            header.position(SnapshotFormat.HEADER_LENGTH).flip();
+            writeFully(channel, header);
+
+            int rowCount = table.getRowCount();
+            BlockBuffer footer = new BlockBuffer(256);
+            footer.putInt(rowCount);
+            footer.putInt(columnCount);
+            footer.putString(table.getName() == null ? "" : table.getName());
+            for (int c = 0; c < columnCount; c++) {
+                BlockBuffer block = new BlockBuffer(64);
+                byte encoding = encodeColumn(table, c, types[c], rowCount, block);
+
+                byte compression = SnapshotFormat.COMPRESSION_NONE;
+                byte[] stored = block.bytes;
+                int storedLength = block.length;
+                if (compress) {
+                    byte[] compressed = new byte[BlockCompressor.maxCompressedLength(block.length)];
+                    int compressedLength = BlockCompressor.compress(block.bytes, block.length, compressed);
+                    if (compressedLength < block.length) {
+                        compression = SnapshotFormat.COMPRESSION_BLOCK;
+                        stored = compressed;
+                        storedLength = compressedLength;
+                    }
+                }
+
+                long offset = channel.position();
+                writeFully(channel, ByteBuffer.wrap(stored, 0, storedLength));
+
+                footer.putString(table.getColumnName(c));
+                footer.putByte(types[c]);
+                footer.putByte(encoding);
+                footer.putByte(compression);
+                footer.putLong(offset);
+                footer.putInt(storedLength);
+                footer.putInt(block.length);
+            }
+
+            long footerOffset = channel.position();
+            writeFully(channel, ByteBuffer.wrap(footer.bytes, 0, footer.length));
+            ByteBuffer trailer = ByteBuffer.allocate(SnapshotFormat.TRAILER_LENGTH).order(ByteOrder.LITTLE_ENDIAN);
+            trailer.putLong(footerOffset).putInt(footer.length).putInt(SnapshotFormat.MAGIC).flip();
+            writeFully(channel, trailer);
+        }
+    }
+
+    /**
+     * Encodes the null bitmap and values of a column into a block.
+     *
+     * @return the encoding used for the values
+     */
+    private static byte encodeColumn(ITable table, int column, byte type, int rowCount, BlockBuffer block) {
+        long[] nulls = new long[SnapshotFormat.bitmapWords(rowCount)];
+        boolean hasNulls = false;
+        for (int row = 0; row < rowCount; row++) {
+            if (table.isNull(row, column)) {
+                nulls[row >>> 6] |= 1L << row;
+                hasNulls = true;
+            }
+        }
+        block.putByte((byte) (hasNulls ? 1 : 0));
+        if (hasNulls) {
+            block.putLongs(nulls);
+        }
+
+        String columnName = table.getColumnName(column);
+        switch (type) {
+            case SnapshotFormat.TYPE_INT:
+                block.ensureCapacity(rowCount * 4L);
+                for (int row = 0; row < rowCount; row++) {
+                    block.putInt(isNull(nulls, row) ? 0 : table.getInt(row, column));
+                }
+                return SnapshotFormat.ENCODING_PLAIN;
+            case SnapshotFormat.TYPE_DOUBLE:
+                block.ensureCapacity(rowCount * 8L);
+                for (int row = 0; row < rowCount; row++) {
+                    block.putLong(isNull(nulls, row) ? 0L : Double.doubleToRawLongBits(table.getDouble(row, column)));
+                }
+                return SnapshotFormat.ENCODING_PLAIN;
+            case SnapshotFormat.TYPE_BOOLEAN:
+                long[] bits = new long[SnapshotFormat.bitmapWords(rowCount)];
+                for (int row = 0; row < rowCount; row++) {
+                    if (!isNull(nulls, row) && table.getBoolean(row, column)) {
+                        bits[row >>> 6] |= 1L << row;
+                    }
+                }
+                block.putLongs(bits);
+                return SnapshotFormat.ENCODING_PLAIN;
+            case SnapshotFormat.TYPE_STRING:
+                return encodeStrings(table, column, nulls, rowCount, block);
+            case SnapshotFormat.TYPE_DATE:
+                for (int row = 0; row < rowCount; row++) {
+                    block.putLong(isNull(nulls, row) ? 0L : ((LocalDate) table.getValueObject(row, columnName)).toEpochDay());
+                }
+                return SnapshotFormat.ENCODING_PLAIN;
+            case SnapshotFormat.TYPE_TIME:
+                for (int row = 0; row < rowCount; row++) {
+                    block.putLong(isNull(nulls, row) ? 0L : ((LocalTime) table.getValueObject(row, columnName)).toNanoOfDay());
+                }
+                return SnapshotFormat.ENCODING_PLAIN;
+            default:
+                LocalDateTime[] values = new LocalDateTime[rowCount];
+                for (int row = 0; row < rowCount; row++) {
+                    values[row] = isNull(nulls, row) ? null : (LocalDateTime) table.getValueObject(row, columnName);
+                    block.putLong(values[row] == null ? 0L : values[row].toEpochSecond(ZoneOffset.UTC));
+                }
+                for (LocalDateTime value : values) {
+                    block.putInt(value == null ? 0 : value.getNano());
+                }
+                return SnapshotFormat.ENCODING_PLAIN;
+        }
+    }
+
+    private static byte encodeStrings(ITable table, int column, long[] nulls, int rowCount, BlockBuffer block) {
+        int maxDictionarySize = rowCount / MIN_ROWS_PER_DICTIONARY_VALUE;
+        Map<String, Integer> dictionary = new HashMap<>();
+        int[] codes = new int[rowCount];
+        String[] values = new String[rowCount];
+        for (int row = 0; row < rowCount; row++) {
+            values[row] = isNull(nulls, row) ? "" : table.getString(row, column);
+        }
+        for (int row = 0; row < rowCount && dictionary.size() <= maxDictionarySize; row++) {
+            Integer code = dictionary.get(values[row]);
+            if (code == null) {
+                code = dictionary.size();
+                dictionary.put(values[row], code);
+            }
+            codes[row] = code;
+        }
+
+        if (dictionary.size() > maxDictionarySize) {
+            for (String value : values) {
+                block.putString(value);
+            }
+            return SnapshotFormat.ENCODING_PLAIN;
+        }
+
+        String[] entries = new String[dictionary.size()];
+        for (Map.Entry<String, Integer> entry : dictionary.entrySet()) {
+            entries[entry.getValue()] = entry.getKey();
+        }
+        block.putInt(entries.length);
+        for (String entry : entries) {
+            block.putString(entry);
+        }
+        int width = entries.length <= 1 << 8 ? 1 : entries.length <= 1 << 16 ? 2 : 4;
+        block.putByte((byte) width);
+        block.ensureCapacity((long) rowCount * width);
+        for (int code : codes) {
+            if (width == 1) {
+                block.putByte((byte) code);
+            } else if (width == 2) {
+                block.putShort((short) code);
+            } else {
+                block.putInt(code);
+            }
+        }
+        return SnapshotFormat.ENCODING_DICTIONARY;
+    }
+
+    private static boolean isNull(long[] nulls, int row) {
+        return (nulls[row >>> 6] & (1L << row)) != 0;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * A growable little-endian byte buffer.
+     */
+    private static final class BlockBuffer {
+        private byte[] bytes;
+        private int length;
+
+        BlockBuffer(int capacity) {
+            bytes = new byte[capacity];
+        }
+
+        void ensureCapacity(long additional) {
+            long required = length + additional;
+            if (required > bytes.length) {
+                if (required > Integer.MAX_VALUE - 8) {
+                    throw new IllegalArgumentException("Column block exceeds 2 GB");
+                }
+                bytes = Arrays.copyOf(bytes, (int) Math.min(Integer.MAX_VALUE - 8, Math.max(required, bytes.length * 2L)));
+            }
+        }
+
+        void putByte(byte value) {
+            ensureCapacity(1);
+            bytes[length++] = value;
+        }
+
+        void putShort(short value) {
+            ensureCapacity(2);
+            bytes[length++] = (byte) value;
+            bytes[length++] = (byte) (value >>> 8);
+        }
+
+        void putInt(int value) {
+            ensureCapacity(4);
+            bytes[length++] = (byte) value;
+            bytes[length++] = (byte) (value >>> 8);
+            bytes[length++] = (byte) (value >>> 16);
+            bytes[length++] = (byte) (value >>> 24);
+        }
+
+        void putLong(long value) {
+            putInt((int) value);
+            putInt((int) (value >>> 32));
+        }
+
+        void putLongs(long[] values) {
+            ensureCapacity(values.length * 8L);
+            for (long value : values) {
+                putLong(value);
+            }
+        }
+
+        void putString(String value) {
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            putInt(utf8.length);
+            ensureCapacity(utf8.length);
+            System.arraycopy(utf8, 0, bytes, length, utf8.length);
+            length += utf8.length;
+        }
+    }
+}
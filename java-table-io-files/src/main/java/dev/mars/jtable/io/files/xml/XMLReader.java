@@ -1,28 +1,62 @@
 package dev.mars.jtable.io.files.xml;
 
+import dev.mars.jtable.core.table.TypeSniffer;
+import dev.mars.jtable.io.common.datasource.DataSourceRowSink;
 import dev.mars.jtable.io.common.datasource.IDataSource;
 import dev.mars.jtable.io.common.datasource.IDataSourceConnection;
+import dev.mars.jtable.io.common.datasource.IRowSink;
+import dev.mars.jtable.io.common.datasource.IStreamingDataReader;
 import dev.mars.jtable.io.common.datasource.FileConnection;
 import dev.mars.jtable.io.common.datasource.IXMLDataSource;
 import dev.mars.jtable.io.files.xml.IXMLReader;
-import java.io.BufferedReader;
-import java.io.FileReader;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedInputStream;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
 
 /**
  * Implementation of the IXMLReader interface for reading data from XML files.
+ * The file is read one event at a time with a StAX {@link XMLStreamReader}, and each row element
+ * is passed on as soon as it has been parsed, so memory does not grow with the size of the file.
+ * The rows are the child elements of the root element with the row element name; other children
+ * are skipped. The attributes of a row element and the text of its child elements are the
+ * values of the row. Entities and character references are resolved, CDATA sections are read as
+ * text, and values are trimmed. Column names and types come from the first row; values of later
+ * rows that are not columns are ignored, and missing values are null. Files ending in
+ * {@code .gz} are decompressed as they are read.
+ * DTDs are not processed, so external entities are never resolved.
  */
-public class XMLReader implements IXMLReader {
+public class XMLReader implements IXMLReader, IStreamingDataReader {
+    private static final XMLInputFactory XML_INPUT_FACTORY = createInputFactory();
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        // Merge adjacent text and CDATA events so that each value usually arrives as one event
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    }
+
     /**
      * Reads data from a source into a data source using the provided connection.
+     * Supported options are {@code rootElement} ("data" by default) and {@code rowElement}
+     * ("row" by default).
      *
      * @param dataSource the data source to read into
      * @param connection the connection to the data source
@@ -38,38 +72,38 @@ public class XMLReader implements IXMLReader {
             throw new IllegalArgumentException("Data source must implement IXMLDataSource");
         }
 
-        // Ensure we have a file connection
-        if (!(connection instanceof FileConnection)) {
-            throw new IllegalArgumentException("Connection must be a FileConnection");
-        }
-        FileConnection fileConnection = (FileConnection) connection;
+        String source = getFileName(connection);
 
         // Extract options
         String rootElement = options != null && options.containsKey("rootElement") ? (String) options.get("rootElement") : "data";
         String rowElement = options != null && options.containsKey("rowElement") ? (String) options.get("rowElement") : "row";
 
-        // Connect if not already connected
-        if (!fileConnection.isConnected()) {
-            fileConnection.connect();
-        }
-
-        // Get the file path from the connection
-        String source;
-        if (fileConnection.isRemote()) {
-            source = fileConnection.getLocation();
-        } else {
-            Object rawConnection = fileConnection.getRawConnection();
-            if (rawConnection instanceof Path) {
-                source = ((Path) rawConnection).toString();
-            } else {
-                throw new IllegalArgumentException("Cannot determine file path from connection");
-            }
-        }
-
         // Call the XML-specific method
         readFromXML(xmlDataSource, source, rootElement, rowElement);
     }
 
+    /**
+     * Reads rows from a source and passes them to a sink.
+     * This accepts the same options as {@link #readData}. Only one row is held in memory at a time.
+     * Column types are inferred with {@link TypeSniffer#inferType(String)}.
+     *
+     * @param connection the connection to the source
+     * @param options additional options for reading
+     * @param sink the sink to receive the rows
+     * @throws IOException if the file cannot be read, is not well-formed XML or has no root element, or the sink fails
+     */
+    @Override
+    public void readRows(IDataSourceConnection connection, Map<String, Object> options, IRowSink sink) throws IOException {
+        if (sink == null) {
+            throw new IllegalArgumentException("Row sink cannot be null");
+        }
+        String source = getFileName(connection);
+        String rootElement = options != null && options.containsKey("rootElement") ? (String) options.get("rootElement") : "data";
+        String rowElement = options != null && options.containsKey("rowElement") ? (String) options.get("rowElement") : "row";
+        streamXML(source, rootElement, rowElement, TypeSniffer::inferType, sink);
+        sink.end();
+    }
+
     /**
      * Reads data from an XML file into a data source.
      *
@@ -81,108 +115,231 @@ public class XMLReader implements IXMLReader {
     @Override
     public void readFromXML(IXMLDataSource dataSource, String fileName, String rootElement, String rowElement) {
         try {
-            // Read the entire XML file into a string
-            StringBuilder xmlContent = new StringBuilder();
-            try (BufferedReader reader = new BufferedReader(new FileReader(fileName))) {
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    xmlContent.append(line).append("\n");
-                }
-            }
+            streamXML(fileName, rootElement, rowElement, dataSource::inferType, new DataSourceRowSink(dataSource));
+        } catch (IOException e) {
+            System.err.println("Error reading XML file: " + e.getMessage());
+        } catch (IllegalArgumentException e) {
+            System.err.println("Error processing XML data: " + e.getMessage());
+        }
+    }
 
-            // Parse the XML content
-            String xml = xmlContent.toString();
+    private static String getFileName(IDataSourceConnection connection) {
+        // Ensure we have a file connection
+        if (!(connection instanceof FileConnection)) {
+            throw new IllegalArgumentException("Connection must be a FileConnection");
+        }
+        FileConnection fileConnection = (FileConnection) connection;
 
-            // Check if the root element exists
-            Pattern rootPattern = Pattern.compile("<" + rootElement + "[^>]*>(.*?)</" + rootElement + ">", Pattern.DOTALL);
-            Matcher rootMatcher = rootPattern.matcher(xml);
+        // Connect if not already connected
+        if (!fileConnection.isConnected()) {
+            fileConnection.connect();
+        }
 
-            if (!rootMatcher.find()) {
-                System.err.println("Root element '" + rootElement + "' not found in XML file");
-                return;
-            }
+        // Get the file path from the connection
+        if (fileConnection.isRemote()) {
+            return fileConnection.getLocation();
+        }
+        Object rawConnection = fileConnection.getRawConnection();
+        if (rawConnection instanceof Path) {
+            return ((Path) rawConnection).toString();
+        }
+        throw new IllegalArgumentException("Cannot determine file path from connection");
+    }
 
-            String rootContent = rootMatcher.group(1);
+    /**
+     * Parses an XML file and passes its row elements to a sink as rows.
+     */
+    private static void streamXML(String fileName, String rootElement, String rowElement,
+                                  Function<String, String> typeInference, IRowSink sink) throws IOException {
+        try (InputStream in = openInput(fileName)) {
+            // The parser detects the encoding from the byte order mark or the XML declaration
+            XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(in);
+            try {
+                moveToRoot(reader, rootElement);
+                RowStreamer rows = new RowStreamer(sink, typeInference);
+                int event;
+                while ((event = reader.next()) != XMLStreamConstants.END_ELEMENT) {
+                    if (event != XMLStreamConstants.START_ELEMENT) {
+                        continue;
+                    }
+                    if (reader.getLocalName().equals(rowElement)) {
+                        rows.row(reader);
+                    } else {
+                        skipElement(reader);
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException("Error parsing XML: " + e.getMessage(), e);
+        }
+    }
 
-            // Find all row elements
-            Pattern rowPattern = Pattern.compile("<" + rowElement + "[^>]*>(.*?)</" + rowElement + ">", Pattern.DOTALL);
-            Matcher rowMatcher = rowPattern.matcher(rootContent);
+    private static InputStream openInput(String fileName) throws IOException {
+        InputStream file = new FileInputStream(fileName);
+        if (!fileName.toLowerCase().endsWith(".gz")) {
+            return new BufferedInputStream(file, BUFFER_SIZE);
+        }
+        try {
+            return new GZIPInputStream(file, BUFFER_SIZE);
+        } catch (IOException e) {
+            file.close();
+            throw e;
+        }
+    }
 
-            List<String> rows = new ArrayList<>();
-            while (rowMatcher.find()) {
-                rows.add(rowMatcher.group(1));
+    /**
+     * Positions the reader on the start tag of the first element with the root element name.
+     */
+    private static void moveToRoot(XMLStreamReader reader, String rootElement) throws XMLStreamException, IOException {
+        while (reader.hasNext()) {
+            if (reader.next() == XMLStreamConstants.START_ELEMENT && reader.getLocalName().equals(rootElement)) {
+                return;
             }
+        }
+        throw new IOException("Root element '" + rootElement + "' not found in XML file");
+    }
 
-            if (rows.isEmpty()) {
-                return; // No rows found
+    /**
+     * Skips an element, with the reader on its start tag, leaving the reader on its end tag.
+     */
+    private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
             }
+        }
+    }
 
-            // Process the first row to determine columns
-            String firstRow = rows.get(0);
+    /**
+     * Turns the row elements of an XML document into rows. The first row supplies the column
+     * names and types; the values of each later row are collected by column index into one
+     * reused array.
+     */
+    private static final class RowStreamer {
+        private final IRowSink sink;
+        private final Function<String, String> typeInference;
+        private final StringBuilder text = new StringBuilder();
+        private String[] columnNames;
+        private Map<String, Integer> columnIndexes;
+        private String[] values;
 
-            // Find all elements in the first row
-            Pattern elementPattern = Pattern.compile("<([^/>]+)>(.*?)</\\1>", Pattern.DOTALL);
-            Matcher elementMatcher = elementPattern.matcher(firstRow);
+        RowStreamer(IRowSink sink, Function<String, String> typeInference) {
+            this.sink = sink;
+            this.typeInference = typeInference;
+        }
 
-            // Create a map to store column names and types
-            LinkedHashMap<String, String> columns = new LinkedHashMap<>();
-            Map<String, String> firstRowData = new HashMap<>();
-
-            // Process elements of the first row to determine column names and types
-            while (elementMatcher.find()) {
-                String columnName = elementMatcher.group(1);
-                String columnValue = unescapeXml(elementMatcher.group(2).trim());
-                String columnType = dataSource.inferType(columnValue);
-                columns.put(columnName, columnType);
-                firstRowData.put(columnName, columnValue);
+        /**
+         * Reads one row element, with the reader on its start tag, leaving the reader on its end tag.
+         */
+        void row(XMLStreamReader reader) throws XMLStreamException, IOException {
+            if (columnNames == null) {
+                readFirstRow(reader);
+            } else {
+                readRow(reader);
             }
+        }
 
-            // Set the columns in the data source
-            dataSource.setColumns(columns);
-
-            // Add the first row
-            dataSource.addRow(firstRowData);
-
-            // Process remaining rows
-            for (int i = 1; i < rows.size(); i++) {
-                String rowContent = rows.get(i);
-                Matcher rowElementMatcher = elementPattern.matcher(rowContent);
+        private void readFirstRow(XMLStreamReader reader) throws XMLStreamException, IOException {
+            LinkedHashMap<String, String> columns = new LinkedHashMap<>();
+            List<String> firstValues = new ArrayList<>();
+            for (int i = 0; i < reader.getAttributeCount(); i++) {
+                String name = reader.getAttributeLocalName(i);
+                String value = reader.getAttributeValue(i).trim();
+                if (columns.putIfAbsent(name, typeInference.apply(value)) == null) {
+                    firstValues.add(value);
+                }
+            }
+            int event;
+            while ((event = reader.next()) != XMLStreamConstants.END_ELEMENT) {
+                if (event != XMLStreamConstants.START_ELEMENT) {
+                    continue;
+                }
+                String name = reader.getLocalName();
+                String value = readText(reader);
+                if (columns.putIfAbsent(name, typeInference.apply(value)) == null) {
+                    firstValues.add(value);
+                }
+            }
 
-                // Create a map to store the row data
-                Map<String, String> rowData = new HashMap<>();
+            columnNames = columns.keySet().toArray(new String[0]);
+            columnIndexes = new HashMap<>();
+            for (int i = 0; i < columnNames.length; i++) {
+                columnIndexes.put(columnNames[i], i);
+            }
+            values = firstValues.toArray(new String[0]);
+            sink.start(columns);
+            sink.row(values);
+        }
 
-                // Process elements of the row
-                while (rowElementMatcher.find()) {
-                    String columnName = rowElementMatcher.group(1);
-                    String columnValue = unescapeXml(rowElementMatcher.group(2).trim());
-                    rowData.put(columnName, columnValue);
+        private void readRow(XMLStreamReader reader) throws XMLStreamException, IOException {
+            Arrays.fill(values, null);
+            int next = 0;
+            for (int i = 0; i < reader.getAttributeCount(); i++) {
+                int index = columnIndex(reader.getAttributeLocalName(i), next);
+                if (index >= 0) {
+                    values[index] = reader.getAttributeValue(i).trim();
+                    next = index + 1;
                 }
-
-                // Add the row to the data source
-                dataSource.addRow(rowData);
             }
-        } catch (IOException e) {
-            System.err.println("Error reading XML file: " + e.getMessage());
-        } catch (IllegalArgumentException e) {
-            System.err.println("Error processing XML data: " + e.getMessage());
+            int event;
+            while ((event = reader.next()) != XMLStreamConstants.END_ELEMENT) {
+                if (event != XMLStreamConstants.START_ELEMENT) {
+                    continue;
+                }
+                int index = columnIndex(reader.getLocalName(), next);
+                if (index < 0) {
+                    skipElement(reader);
+                    continue;
+                }
+                values[index] = readText(reader);
+                next = index + 1;
+            }
+            sink.row(values);
         }
-    }
 
-    /**
-     * Unescapes XML entities in a string.
-     *
-     * @param value the string to unescape
-     * @return the unescaped string
-     */
-    private String unescapeXml(String value) {
-        if (value == null) {
-            return "";
+        /**
+         * Gets the index of a column, or -1 if there is no such column.
+         * Rows usually list their values in the same order, so the next column is tried first.
+         */
+        private int columnIndex(String name, int next) {
+            if (next < columnNames.length && columnNames[next].equals(name)) {
+                return next;
+            }
+            Integer index = columnIndexes.get(name);
+            return index != null ? index : -1;
         }
 
-        return value.replace("&amp;", "&")
-                   .replace("&lt;", "<")
-                   .replace("&gt;", ">")
-                   .replace("&quot;", "\"")
-                   .replace("&apos;", "'");
+        /**
+         * Reads the text of an element, including the text of any nested elements, with the
+         * reader on its start tag, leaving the reader on its end tag.
+         */
+        private String readText(XMLStreamReader reader) throws XMLStreamException {
+            text.setLength(0);
+            int depth = 1;
+            while (depth > 0) {
+                switch (reader.next()) {
+                    case XMLStreamConstants.CHARACTERS:
+                    case XMLStreamConstants.CDATA:
+                    case XMLStreamConstants.SPACE:
+                        text.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                        break;
+                    case XMLStreamConstants.START_ELEMENT:
+                        depth++;
+                        break;
+                    case XMLStreamConstants.END_ELEMENT:
+                        depth--;
+                        break;
+                    default:
+                        break;
+                }
+            }
+            return text.toString().trim();
+        }
     }
 }
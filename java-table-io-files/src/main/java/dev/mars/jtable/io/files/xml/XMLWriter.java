@@ -4,18 +4,32 @@ import dev.mars.jtable.io.common.datasource.IDataSource;
 import dev.mars.jtable.io.common.datasource.IDataSourceConnection;
 import dev.mars.jtable.io.common.datasource.FileConnection;
 import dev.mars.jtable.io.common.datasource.IXMLDataSource;
-import java.io.BufferedWriter;
-import java.io.FileWriter;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.util.Map;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * Implementation of the IXMLWriter interface for writing data to XML files.
+ * The file is written as UTF-8 by an encoder that escapes the values straight into a 64 KB
+ * byte buffer. The start and end tags of the rows and columns, including any indentation, are
+ * encoded once per file rather than once per value, so the cost of a row is mostly the cost of
+ * its values. Without indentation each row is written on one line. Files can be gzip-compressed.
  */
 public class XMLWriter implements IXMLWriter {
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final byte[] XML_DECLARATION = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n".getBytes(StandardCharsets.UTF_8);
+    private static final String ROW_INDENT = "  ";
+    private static final String COLUMN_INDENT = "    ";
+
     /**
      * Writes data from a data source to a destination using the provided connection.
+     * Supported options are {@code rootElement} ("data" by default), {@code rowElement} ("row" by
+     * default), {@code indentOutput} (put each element on its own indented line, false by default)
+     * and {@code gzip} (compress the output, true by default for files ending in {@code .gz}).
      *
      * @param dataSource the data source to write from
      * @param connection the connection to the destination
@@ -37,11 +51,6 @@ public class XMLWriter implements IXMLWriter {
         }
         FileConnection fileConnection = (FileConnection) connection;
 
-        // Extract options
-        String rootElement = options != null && options.containsKey("rootElement") ? (String) options.get("rootElement") : "data";
-        String rowElement = options != null && options.containsKey("rowElement") ? (String) options.get("rowElement") : "row";
-        boolean indentOutput = options != null && options.containsKey("indentOutput") ? (Boolean) options.get("indentOutput") : false;
-
         // Connect if not already connected
         if (!fileConnection.isConnected()) {
             fileConnection.connect();
@@ -60,8 +69,14 @@ public class XMLWriter implements IXMLWriter {
             }
         }
 
+        // Extract options
+        String rootElement = options != null && options.containsKey("rootElement") ? (String) options.get("rootElement") : "data";
+        String rowElement = options != null && options.containsKey("rowElement") ? (String) options.get("rowElement") : "row";
+        boolean indentOutput = options != null && options.containsKey("indentOutput") ? (Boolean) options.get("indentOutput") : false;
+        boolean gzip = options != null && options.containsKey("gzip") ? (Boolean) options.get("gzip") : destination.toLowerCase().endsWith(".gz");
+
         // Call the XML-specific method
-        writeToXML(xmlDataSource, destination, rootElement, rowElement, indentOutput);
+        writeToXML(xmlDataSource, destination, rootElement, rowElement, indentOutput, gzip);
     }
 
     /**
@@ -75,56 +90,59 @@ public class XMLWriter implements IXMLWriter {
      */
     @Override
     public void writeToXML(IXMLDataSource dataSource, String fileName, String rootElement, String rowElement, boolean indentOutput) {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(fileName))) {
-            // Write XML declaration
-            writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>");
-            writer.newLine();
-
-            // Write root element opening tag
-            writer.write("<" + rootElement + ">");
-            writer.newLine();
-
-            // Write each row
-            for (int i = 0; i < dataSource.getRowCount(); i++) {
-                // Indent row element if requested
-                if (indentOutput) {
-                    writer.write("  ");
-                }
-
-                // Write row element opening tag
-                writer.write("<" + rowElement + ">");
-                writer.newLine();
+        writeToXML(dataSource, fileName, rootElement, rowElement, indentOutput, false);
+    }
 
-                // Write each column value
-                for (int j = 0; j < dataSource.getColumnCount(); j++) {
-                    String columnName = dataSource.getColumnName(j);
-                    String value = dataSource.getValueAt(i, columnName);
+    /**
+     * Writes data from a data source to an XML file, optionally gzip-compressed.
+     *
+     * @param dataSource the data source to write from
+     * @param fileName the name of the file to write to
+     * @param rootElement the name of the root element in the XML file
+     * @param rowElement the name of the row elements in the XML file
+     * @param indentOutput whether to format the XML output with indentation for readability
+     * @param gzip whether to gzip-compress the file
+     */
+    public void writeToXML(IXMLDataSource dataSource, String fileName, String rootElement, String rowElement,
+                           boolean indentOutput, boolean gzip) {
+        try (OutputStream out = openOutput(fileName, gzip)) {
+            // Resolve the column names once rather than for every row
+            String[] columnNames = new String[dataSource.getColumnCount()];
+            for (int j = 0; j < columnNames.length; j++) {
+                columnNames[j] = dataSource.getColumnName(j);
+            }
 
-                    // Indent column element if requested
-                    if (indentOutput) {
-                        writer.write("    ");
-                    }
+            XMLEncoder encoder = new XMLEncoder(out);
+            encoder.write(XML_DECLARATION);
+            encoder.write(utf8("<" + rootElement + ">\n"));
 
-                    // Write column element with value
-                    writer.write("<" + columnName + ">");
-                    writer.write(escapeXml(value));
-                    writer.write("</" + columnName + ">");
-                    writer.newLine();
-                }
+            // Encode the tags once, with the indentation and line breaks around them
+            String rowIndent = indentOutput ? ROW_INDENT : "";
+            String columnIndent = indentOutput ? COLUMN_INDENT : "";
+            String columnEnd = indentOutput ? "\n" : "";
+            byte[] rowStart = utf8(rowIndent + "<" + rowElement + ">" + columnEnd);
+            byte[] rowEnd = utf8(rowIndent + "</" + rowElement + ">\n");
+            byte[][] columnStarts = new byte[columnNames.length][];
+            byte[][] columnEnds = new byte[columnNames.length][];
+            for (int j = 0; j < columnNames.length; j++) {
+                columnStarts[j] = utf8(columnIndent + "<" + columnNames[j] + ">");
+                columnEnds[j] = utf8("</" + columnNames[j] + ">" + columnEnd);
+            }
 
-                // Indent row element closing tag if requested
-                if (indentOutput) {
-                    writer.write("  ");
+            // Write each row
+            int rowCount = dataSource.getRowCount();
+            for (int i = 0; i < rowCount; i++) {
+                encoder.write(rowStart);
+                for (int j = 0; j < columnNames.length; j++) {
+                    encoder.write(columnStarts[j]);
+                    encoder.writeEscaped(dataSource.getValueAt(i, j));
+                    encoder.write(columnEnds[j]);
                 }
-
-                // Write row element closing tag
-                writer.write("</" + rowElement + ">");
-                writer.newLine();
+                encoder.write(rowEnd);
             }
 
-            // Write root element closing tag
-            writer.write("</" + rootElement + ">");
-            writer.newLine();
+            encoder.write(utf8("</" + rootElement + ">\n"));
+            encoder.flush();
         } catch (IOException e) {
             System.err.println("Error writing XML file: " + e.getMessage());
         } catch (IllegalArgumentException e) {
@@ -132,21 +150,124 @@ public class XMLWriter implements IXMLWriter {
         }
     }
 
+    private static OutputStream openOutput(String fileName, boolean gzip) throws IOException {
+        OutputStream file = new FileOutputStream(fileName);
+        if (!gzip) {
+            // The encoder does its own buffering
+            return file;
+        }
+        try {
+            return new GZIPOutputStream(file, BUFFER_SIZE);
+        } catch (IOException e) {
+            file.close();
+            throw e;
+        }
+    }
+
+    private static byte[] utf8(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
     /**
-     * Escapes special characters in XML content.
-     *
-     * @param value the value to escape
-     * @return the escaped value
+     * Encodes XML as UTF-8 into a byte buffer that is written to a stream when full.
      */
-    private String escapeXml(String value) {
-        if (value == null) {
-            return "";
+    private static final class XMLEncoder {
+        // The longest encoding of one character: an entity, or a surrogate pair as four bytes
+        private static final int MAX_CHAR_BYTES = 6;
+
+        private static final byte[] AMP = utf8("&amp;");
+        private static final byte[] LT = utf8("&lt;");
+        private static final byte[] GT = utf8("&gt;");
+        private static final byte[] QUOT = utf8("&quot;");
+        private static final byte[] APOS = utf8("&apos;");
+
+        private final OutputStream out;
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private int position;
+
+        XMLEncoder(OutputStream out) {
+            this.out = out;
         }
 
-        return value.replace("&", "&amp;")
-                   .replace("<", "&lt;")
-                   .replace(">", "&gt;")
-                   .replace("\"", "&quot;")
-                   .replace("'", "&apos;");
+        void write(byte[] bytes) throws IOException {
+            if (bytes.length > buffer.length - position) {
+                flushBuffer();
+                if (bytes.length > buffer.length) {
+                    out.write(bytes);
+                    return;
+                }
+            }
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+
+        /**
+         * Writes a value as character data, escaping the markup characters. Null is written as an empty value.
+         */
+        void writeEscaped(String value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            int length = value.length();
+            for (int i = 0; i < length; i++) {
+                if (buffer.length - position < MAX_CHAR_BYTES) {
+                    flushBuffer();
+                }
+                char c = value.charAt(i);
+                if (c < 0x80) {
+                    switch (c) {
+                        case '&':
+                            putEntity(AMP);
+                            break;
+                        case '<':
+                            putEntity(LT);
+                            break;
+                        case '>':
+                            putEntity(GT);
+                            break;
+                        case '"':
+                            putEntity(QUOT);
+                            break;
+                        case '\'':
+                            putEntity(APOS);
+                            break;
+                        default:
+                            buffer[position++] = (byte) c;
+                            break;
+                    }
+                } else if (c < 0x800) {
+                    buffer[position++] = (byte) (0xC0 | (c >> 6));
+                    buffer[position++] = (byte) (0x80 | (c & 0x3F));
+                } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                    buffer[position++] = (byte) (0xF0 | (codePoint >> 18));
+                    buffer[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                    buffer[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                    buffer[position++] = (byte) (0x80 | (codePoint & 0x3F));
+                } else if (Character.isSurrogate(c)) {
+                    // An unpaired surrogate cannot be encoded, so write a replacement as String.getBytes does
+                    buffer[position++] = '?';
+                } else {
+                    buffer[position++] = (byte) (0xE0 | (c >> 12));
+                    buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                    buffer[position++] = (byte) (0x80 | (c & 0x3F));
+                }
+            }
+        }
+
+        private void putEntity(byte[] entity) {
+            System.arraycopy(entity, 0, buffer, position, entity.length);
+            position += entity.length;
+        }
+
+        private void flushBuffer() throws IOException {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+
+        void flush() throws IOException {
+            flushBuffer();
+            out.flush();
+        }
     }
 }
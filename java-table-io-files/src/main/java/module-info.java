@@ -3,6 +3,7 @@ module dev.mars.jtable.io.files {
     requires dev.mars.jtable.io.common;
     requires com.fasterxml.jackson.databind;
     requires java.sql;
+    requires java.net.http;
     requires org.slf4j;
     requires ch.qos.logback.classic;
 
@@ -11,5 +12,6 @@ module dev.mars.jtable.io.files {
     exports dev.mars.jtable.io.files.json;
     exports dev.mars.jtable.io.files.nosql;
     exports dev.mars.jtable.io.files.rest;
+    exports dev.mars.jtable.io.files.snapshot;
     exports dev.mars.jtable.io.files.xml;
 }
@@ -0,0 +1,131 @@
+package dev.mars.jtable.io.files.csv;
+
+import dev.mars.jtable.core.model.ITable;
+import dev.mars.jtable.core.table.TableCore;
+import dev.mars.jtable.io.common.datasource.IRowSink;
+import dev.mars.jtable.io.common.mapping.ColumnMapping;
+import dev.mars.jtable.io.common.mapping.MappingConfiguration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CSVMappingReaderTest {
+
+    private CSVMappingReader reader;
+    private ITable table;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        reader = new CSVMappingReader();
+        table = new TableCore();
+    }
+
+    private String writeFile(String name, String content) throws IOException {
+        Path file = tempDir.resolve(name);
+        Files.writeString(file, content);
+        return file.toString();
+    }
+
+    @Test
+    void testMapsColumnsByNameAndIndex() throws IOException {
+        String file = writeFile("people.csv",
+                "Id,Name,City\n1,\"Smith, John\",Paris\n\n2,Jane,\n   \n3,Bob,London\n");
+
+        MappingConfiguration config = new MappingConfiguration()
+                .setSourceLocation(file)
+                .setOption("hasHeaderRow", true)
+                .addColumnMapping(new ColumnMapping("City", "Town", "string").setDefaultValue("Unknown"))
+                .addColumnMapping(new ColumnMapping(1, "FullName", "string"))
+                .addColumnMapping(new ColumnMapping("Missing", "Country", "string").setDefaultValue("FR"))
+                .addColumnMapping(new ColumnMapping("Id", "Key", "int"));
+        reader.readFromCSV(table, config);
+
+        assertEquals(3, table.getRowCount());
+        assertEquals("Smith, John", table.getValueAt(0, "FullName"));
+        assertEquals("Paris", table.getValueAt(0, "Town"));
+        assertEquals("Unknown", table.getValueAt(1, "Town"));
+        assertEquals("FR", table.getValueAt(2, "Country"));
+        assertEquals(3, table.getValueObject(2, "Key"));
+    }
+
+    @Test
+    void testDelimiterOptionWithoutHeaderRow() throws IOException {
+        String file = writeFile("data.csv", "a;1\nb;2\n");
+
+        MappingConfiguration config = new MappingConfiguration()
+                .setSourceLocation(file)
+                .setOption("delimiter", ";")
+                .addColumnMapping(new ColumnMapping(0, "Code", "string"))
+                .addColumnMapping(new ColumnMapping(1, "Count", "int"));
+        reader.readFromCSV(table, config);
+
+        assertEquals(2, table.getRowCount());
+        assertEquals("b", table.getValueAt(1, "Code"));
+        assertEquals(2, table.getValueObject(1, "Count"));
+    }
+
+    @Test
+    void testUnterminatedQuoteIsRejected() throws IOException {
+        String file = writeFile("bad.csv", "Id,Name\n1,\"open\n");
+
+        MappingConfiguration config = new MappingConfiguration()
+                .setSourceLocation(file)
+                .setOption("hasHeaderRow", true)
+                .addColumnMapping(new ColumnMapping("Name", "Name", "string"));
+
+        assertThrows(IOException.class, () -> reader.readFromCSV(table, config));
+    }
+
+    @Test
+    void testReadRowsStreamsMappedValues() throws IOException {
+        String file = writeFile("stream.csv", "Id,Name\n1,Alice\n2,\n");
+
+        MappingConfiguration config = new MappingConfiguration()
+                .setSourceLocation(file)
+                .setOption("hasHeaderRow", true)
+                .setOption("allowEmptyValues", true)
+                .addColumnMapping(new ColumnMapping("Name", "FullName", "string").setDefaultValue("Unknown"))
+                .addColumnMapping(new ColumnMapping("Id", "Key", "int"));
+
+        List<String> columns = new ArrayList<>();
+        List<List<String>> rows = new ArrayList<>();
+        reader.readRows(config, new IRowSink() {
+            @Override
+            public void start(LinkedHashMap<String, String> targetColumns) {
+                columns.addAll(targetColumns.keySet());
+            }
+
+            @Override
+            public void row(String[] values) {
+                rows.add(List.of(values));
+            }
+        });
+
+        assertEquals(List.of("FullName", "Key"), columns);
+        assertEquals(List.of(List.of("Alice", "1"), List.of("Unknown", "2")), rows);
+        assertEquals(0, table.getRowCount());
+
+        config.addColumnMapping(new ColumnMapping("Id", "Key", "int"));
+        assertThrows(IllegalArgumentException.class, () -> reader.readRows(config, new IRowSink() {
+            @Override
+            public void start(LinkedHashMap<String, String> targetColumns) {
+            }
+
+            @Override
+            public void row(String[] values) {
+            }
+        }));
+    }
+}
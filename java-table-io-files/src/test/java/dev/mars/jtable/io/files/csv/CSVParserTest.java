@@ -0,0 +1,105 @@
+package dev.mars.jtable.io.files.csv;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CSVParserTest {
+
+    private static List<List<String>> parse(String text, char delimiter, int bufferSize) throws IOException {
+        List<List<String>> records = new ArrayList<>();
+        try (CSVParser parser = new CSVParser(
+                Channels.newChannel(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8))),
+                delimiter, StandardCharsets.UTF_8, bufferSize)) {
+            int count;
+            while ((count = parser.next()) >= 0) {
+                records.add(new ArrayList<>(Arrays.asList(parser.getFields()).subList(0, count)));
+            }
+        }
+        return records;
+    }
+
+    private static List<List<String>> parse(String text) throws IOException {
+        return parse(text, ',', CSVParser.DEFAULT_BUFFER_SIZE);
+    }
+
+    @Test
+    void testSimpleRecords() throws IOException {
+        List<List<String>> records = parse("a,b,c\n1,2,3\n");
+
+        assertEquals(List.of(List.of("a", "b", "c"), List.of("1", "2", "3")), records);
+    }
+
+    @Test
+    void testQuotedFields() throws IOException {
+        List<List<String>> records = parse("name,notes\n\"Smith, John\",\"said \"\"hi\"\"\nthen left\"\n\"\",x\n");
+
+        assertEquals(3, records.size());
+        assertEquals(List.of("Smith, John", "said \"hi\"\nthen left"), records.get(1));
+        assertEquals(List.of("", "x"), records.get(2));
+    }
+
+    @Test
+    void testLineEndingsAndBlankLines() throws IOException {
+        List<List<String>> records = parse("a,b\r\n1,2\r\n\r\n3,4\r5,6");
+
+        assertEquals(List.of(List.of("a", "b"), List.of("1", "2"), List.of("3", "4"), List.of("5", "6")), records);
+    }
+
+    @Test
+    void testEmptyFields() throws IOException {
+        List<List<String>> records = parse(",a,,\n");
+
+        assertEquals(List.of(List.of("", "a", "", "")), records);
+    }
+
+    @Test
+    void testCustomDelimiter() throws IOException {
+        List<List<String>> records = parse("a;b\t c\n\"x;y\";z\n", ';', CSVParser.DEFAULT_BUFFER_SIZE);
+
+        assertEquals(List.of(List.of("a", "b\t c"), List.of("x;y", "z")), records);
+        assertThrows(IllegalArgumentException.class, () -> parse("a", '"', 16));
+    }
+
+    @Test
+    void testFieldsSpanningBufferRefills() throws IOException {
+        StringBuilder text = new StringBuilder("\uFEFF");
+        List<List<String>> expected = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            String plain = "value-" + i;
+            String quoted = "q\"" + i + ",\n" + "\u00e9".repeat(i % 7);
+            text.append(plain).append(",\"").append(quoted.replace("\"", "\"\"")).append("\"\n");
+            expected.add(List.of(plain, quoted));
+        }
+
+        assertEquals(expected, parse(text.toString(), ',', 7));
+    }
+
+    @Test
+    void testUnterminatedQuote() {
+        IOException e = assertThrows(IOException.class, () -> parse("a,b\n1,\"open\n"));
+        assertTrue(e.getMessage().contains("record 2"));
+    }
+
+    @Test
+    void testRecordNumbers() throws IOException {
+        try (CSVParser parser = new CSVParser(
+                Channels.newChannel(new ByteArrayInputStream("h\n\n1\n2".getBytes(StandardCharsets.UTF_8))), ',')) {
+            assertEquals(1, parser.next());
+            assertEquals(1, parser.getRecordNumber());
+            parser.next();
+            parser.next();
+            assertEquals(3, parser.getRecordNumber());
+            assertEquals("2", parser.getFields()[0]);
+            assertEquals(-1, parser.next());
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package dev.mars.jtable.io.files.csv;
+
+import dev.mars.jtable.core.model.ITable;
+import dev.mars.jtable.core.table.TableCore;
+import dev.mars.jtable.io.common.adapter.CSVTableAdapter;
+import dev.mars.jtable.io.common.datasource.FileConnection;
+import dev.mars.jtable.io.common.datasource.IRowSink;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CSVReaderTest {
+
+    private CSVReader csvReader;
+    private ITable table;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        csvReader = new CSVReader();
+        table = new TableCore();
+    }
+
+    private FileConnection writeFile(String name, String content) throws IOException {
+        Path file = tempDir.resolve(name);
+        Files.writeString(file, content);
+        return new FileConnection(file.toString(), "csv");
+    }
+
+    @Test
+    void testReadWithHeaderRow() throws IOException {
+        FileConnection connection = writeFile("people.csv",
+                "Name,Age,Salary,Active\nAlice,30,50000.50,true\n\"Smith, Bob\",25,40000.00,false\n");
+
+        Map<String, Object> options = new HashMap<>();
+        options.put("hasHeaderRow", true);
+        csvReader.readData(new CSVTableAdapter(table), connection, options);
+
+        assertEquals(4, table.getColumnCount());
+        assertEquals(2, table.getRowCount());
+        assertEquals("Name", table.getColumnName(0));
+        assertEquals(30, table.getValueObject(0, "Age"));
+        assertEquals("50000.50", table.getValueAt(0, "Salary"));
+        assertEquals("Smith, Bob", table.getValueAt(1, "Name"));
+        assertEquals(Boolean.FALSE, table.getValueObject(1, "Active"));
+    }
+
+    @Test
+    void testReadWithoutHeaderRow() throws IOException {
+        FileConnection connection = writeFile("data.csv", "Alice,30\nBob,25\n");
+
+        csvReader.readFromCSV(new CSVTableAdapter(table), connection, false, false);
+
+        assertEquals(2, table.getRowCount());
+        assertEquals("Column1", table.getColumnName(0));
+        assertEquals("Bob", table.getValueAt(1, "Column1"));
+        assertEquals("25", table.getValueAt(1, "Column2"));
+    }
+
+    @Test
+    void testDelimiterOption() throws IOException {
+        FileConnection connection = writeFile("data.tsv", "Name\tCity\nAlice\tParis, France\n");
+
+        Map<String, Object> options = new HashMap<>();
+        options.put("hasHeaderRow", true);
+        options.put("delimiter", "\t");
+        csvReader.readData(new CSVTableAdapter(table), connection, options);
+
+        assertEquals("Paris, France", table.getValueAt(0, "City"));
+
+        options.put("delimiter", "||");
+        assertThrows(IllegalArgumentException.class,
+                () -> csvReader.readData(new CSVTableAdapter(new TableCore()), connection, options));
+    }
+
+    @Test
+    void testEmptyValues() throws IOException {
+        FileConnection connection = writeFile("empty.csv", "Name,City\nAlice,\nBob,London,\n");
+
+        csvReader.readFromCSV(new CSVTableAdapter(table), connection, true, false);
+        assertEquals(2, table.getRowCount());
+        assertEquals("", table.getValueAt(0, "City"));
+        assertEquals("London", table.getValueAt(1, "City"));
+
+        // With empty values allowed, the trailing empty field is significant
+        assertThrows(IOException.class,
+                () -> csvReader.readFromCSV(new CSVTableAdapter(new TableCore()), connection, true, true));
+    }
+
+    @Test
+    void testMismatchedRowIsRejected() throws IOException {
+        FileConnection connection = writeFile("bad.csv", "A,B\n1,2\n3\n");
+
+        IOException e = assertThrows(IOException.class,
+                () -> csvReader.readFromCSV(new CSVTableAdapter(table), connection, true, false));
+        assertTrue(e.getMessage().contains("row 3"));
+    }
+
+    @Test
+    void testEmptyFile() throws IOException {
+        FileConnection empty = writeFile("empty.csv", "");
+        assertThrows(IOException.class, () -> csvReader.readFromCSV(new CSVTableAdapter(table), empty, true, false));
+
+        FileConnection headerOnly = writeFile("header.csv", "A,B\n");
+        IOException e = assertThrows(IOException.class,
+                () -> csvReader.readFromCSV(new CSVTableAdapter(table), headerOnly, true, false));
+        assertEquals("No data rows found in CSV file", e.getMessage());
+    }
+
+    @Test
+    void testColumnTypesAreWidenedAcrossSampledRows() throws IOException {
+        FileConnection connection = writeFile("feed.csv",
+                "Id,Amount,Code,Seen\n1,10,A1,2024-01-31\n2,,7,2024-02-29\n3,12.5,B2,2024-03-01\n4,9,12,2024-03-02\n");
+
+        Map<String, Object> options = new HashMap<>();
+        options.put("hasHeaderRow", true);
+        options.put("allowEmptyValues", true);
+        csvReader.readData(new CSVTableAdapter(table), connection, options);
+
+        assertEquals(4, table.getRowCount());
+        assertEquals(Integer.class, table.getColumn("Id").getType());
+        assertEquals(Double.class, table.getColumn("Amount").getType());
+        assertEquals(String.class, table.getColumn("Code").getType());
+        assertEquals(java.time.LocalDate.class, table.getColumn("Seen").getType());
+        assertEquals(12.5, table.getValueObject(2, "Amount"));
+        assertEquals("7", table.getValueAt(1, "Code"));
+    }
+
+    @Test
+    void testInferTypesFromAllRows() throws IOException {
+        FileConnection connection = writeFile("late.csv", "Id,Value\n1,10\n2,20\n3,n/a\n");
+
+        Map<String, Object> options = new HashMap<>();
+        options.put("hasHeaderRow", true);
+        options.put("sampleRows", 2);
+        assertThrows(IllegalArgumentException.class,
+                () -> csvReader.readData(new CSVTableAdapter(new TableCore()), connection, options));
+
+        options.put("inferTypesFromAllRows", true);
+        csvReader.readData(new CSVTableAdapter(table), connection, options);
+
+        assertEquals(3, table.getRowCount());
+        assertEquals(String.class, table.getColumn("Value").getType());
+        assertEquals("n/a", table.getValueAt(2, "Value"));
+        assertEquals(Integer.class, table.getColumn("Id").getType());
+    }
+
+    @Test
+    void testReadRowsStreamsToSink() throws IOException {
+        FileConnection connection = writeFile("stream.csv", "Name,Age\nAlice,30\n\"Smith, Bob\",25\n");
+
+        Map<String, Object> options = new HashMap<>();
+        options.put("hasHeaderRow", true);
+        LinkedHashMap<String, String> columns = new LinkedHashMap<>();
+        List<List<String>> rows = new ArrayList<>();
+        boolean[] ended = {false};
+        csvReader.readRows(connection, options, new IRowSink() {
+            @Override
+            public void start(LinkedHashMap<String, String> sourceColumns) {
+                columns.putAll(sourceColumns);
+            }
+
+            @Override
+            public void row(String[] values) {
+                rows.add(List.of(values));
+            }
+
+            @Override
+            public void end() {
+                ended[0] = true;
+            }
+        });
+
+        assertEquals(List.of("Name", "Age"), new ArrayList<>(columns.keySet()));
+        assertEquals("int", columns.get("Age"));
+        assertEquals(List.of(List.of("Alice", "30"), List.of("Smith, Bob", "25")), rows);
+        assertTrue(ended[0]);
+    }
+}
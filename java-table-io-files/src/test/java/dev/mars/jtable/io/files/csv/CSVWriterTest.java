@@ -0,0 +1,147 @@
+package dev.mars.jtable.io.files.csv;
+
+import dev.mars.jtable.core.model.ITable;
+import dev.mars.jtable.core.table.TableCore;
+import dev.mars.jtable.io.common.adapter.CSVTableAdapter;
+import dev.mars.jtable.io.common.datasource.FileConnection;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CSVWriterTest {
+
+    private CSVWriter csvWriter;
+    private ITable table;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        csvWriter = new CSVWriter();
+        table = new TableCore();
+        LinkedHashMap<String, String> columns = new LinkedHashMap<>();
+        columns.put("Id", "int");
+        columns.put("Name", "string");
+        columns.put("Price", "double");
+        columns.put("Active", "boolean");
+        table.setColumns(columns);
+        table.addRow(new String[]{"1", "Plain", "2.50", "true"});
+        table.addRow(new String[]{"-20", "Smith, \"Bob\"", "1e3", "false"});
+        table.addRow(new String[]{"", "two\nlines", "", ""});
+    }
+
+    @Test
+    void testQuotesOnlyWhenNeeded() throws IOException {
+        Path file = tempDir.resolve("out.csv");
+        csvWriter.writeToCSV(new CSVTableAdapter(table), file.toString(), true);
+
+        assertEquals("Id,Name,Price,Active\n"
+                + "1,Plain,2.50,true\n"
+                + "-20,\"Smith, \"\"Bob\"\"\",1000.0,false\n"
+                + ",\"two\nlines\",,\n", Files.readString(file));
+
+        // The reader gets back the same values
+        ITable readBack = new TableCore();
+        Map<String, Object> options = new HashMap<>();
+        options.put("hasHeaderRow", true);
+        new CSVReader().readData(new CSVTableAdapter(readBack), new FileConnection(file.toString(), "csv"), options);
+        assertEquals(3, readBack.getRowCount());
+        assertEquals("Smith, \"Bob\"", readBack.getValueAt(1, "Name"));
+        assertEquals("two\nlines", readBack.getValueAt(2, "Name"));
+    }
+
+    @Test
+    void testGzipInBackground() throws IOException {
+        Path file = tempDir.resolve("out.csv.gz");
+        Map<String, Object> options = new HashMap<>();
+        options.put("withHeaderRow", true);
+        options.put("delimiter", ";");
+        options.put("background", true);
+        csvWriter.writeData(new CSVTableAdapter(table), new FileConnection(file.toString(), "csv"), options);
+
+        String content;
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+            content = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        assertEquals("Id;Name;Price;Active\n"
+                + "1;Plain;2.50;true\n"
+                + "-20;\"Smith, \"\"Bob\"\"\";1000.0;false\n"
+                + ";\"two\nlines\";;\n", content);
+
+        // The reader decompresses the file
+        ITable readBack = new TableCore();
+        options.put("hasHeaderRow", true);
+        new CSVReader().readData(new CSVTableAdapter(readBack), new FileConnection(file.toString(), "csv"), options);
+        assertEquals(3, readBack.getRowCount());
+        assertEquals(-20, readBack.getValueObject(1, "Id"));
+    }
+
+    @Test
+    void testEncoderQuotesEmptyStrings() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (CSVEncoder encoder = new CSVEncoder(Channels.newChannel(out), ',')) {
+            for (String value : new String[]{"a", "", "b"}) {
+                encoder.writeField(value);
+                encoder.endRecord();
+            }
+            encoder.writeField("");
+            encoder.writeField((String) null);
+            encoder.endRecord();
+        }
+        assertEquals("a\n\"\"\nb\n\"\",\n", out.toString(StandardCharsets.UTF_8));
+
+        // A record of a single empty string is not taken for a blank line
+        List<String> records = new ArrayList<>();
+        try (CSVParser parser = new CSVParser(Channels.newChannel(new ByteArrayInputStream(out.toByteArray())), ',')) {
+            parser.forEach((fields, fieldCount) -> records.add(fields[0]));
+        }
+        assertEquals(List.of("a", "", "b", ""), records);
+    }
+
+    @Test
+    void testEncoderFlushesSmallBuffers() throws IOException {
+        // A buffer smaller than a field makes the encoder flush in the middle of fields
+        List<String> values = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            values.add("caf\u00e9 \ud83d\ude00 \"" + i + "\"," + Long.MIN_VALUE);
+        }
+        for (boolean background : new boolean[]{false, true}) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try (CSVEncoder encoder = new CSVEncoder(Channels.newChannel(out), ',', 24, background)) {
+                for (int i = 0; i < values.size(); i++) {
+                    encoder.writeField(values.get(i));
+                    encoder.writeField(Long.MIN_VALUE + i);
+                    encoder.endRecord();
+                }
+            }
+
+            List<String[]> records = new ArrayList<>();
+            try (CSVParser parser = new CSVParser(Channels.newChannel(new ByteArrayInputStream(out.toByteArray())), ',')) {
+                parser.forEach((fields, fieldCount) -> records.add(new String[]{fields[0], fields[1]}));
+            }
+            assertEquals(values.size(), records.size());
+            for (int i = 0; i < values.size(); i++) {
+                assertEquals(values.get(i), records.get(i)[0]);
+                assertEquals(Long.toString(Long.MIN_VALUE + i), records.get(i)[1]);
+            }
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package dev.mars.jtable.io.files.csv;
+
+import dev.mars.jtable.core.model.ITable;
+import dev.mars.jtable.core.table.TableCore;
+import dev.mars.jtable.io.common.adapter.CSVTableAdapter;
+import dev.mars.jtable.io.common.datasource.FileConnection;
+import dev.mars.jtable.io.common.mapping.ColumnMapping;
+import dev.mars.jtable.io.common.mapping.MappingConfiguration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelCSVParserTest {
+
+    private static final int ROWS = 2000;
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Writes a file whose quoted fields contain delimiters, quotes and line breaks,
+     * so that most chunk boundaries fall inside a quoted field.
+     */
+    private Path writeTestFile() throws IOException {
+        StringBuilder text = new StringBuilder("Id,Name,Notes\n");
+        for (int i = 0; i < ROWS; i++) {
+            text.append(i).append(",name-").append(i).append(",\"line one, \"\"quoted\"\"\nline ")
+                    .append(i).append("\"\n");
+        }
+        Path file = tempDir.resolve("quoted.csv");
+        Files.writeString(file, text);
+        return file;
+    }
+
+    private static List<List<String>> parseSequential(Path file) throws IOException {
+        List<List<String>> records = new ArrayList<>();
+        try (CSVParser parser = CSVParser.open(file, ',')) {
+            parser.forEach((fields, count) -> records.add(List.of(Arrays.copyOf(fields, count))));
+        }
+        return records;
+    }
+
+    @Test
+    void testMatchesSequentialParser() throws IOException {
+        Path file = writeTestFile();
+        List<List<String>> expected = parseSequential(file);
+        assertEquals(ROWS + 1, expected.size());
+
+        for (int chunkSize : new int[]{17, 100, 4096, ParallelCSVParser.DEFAULT_CHUNK_SIZE}) {
+            List<List<String>> records = new ArrayList<>();
+            new ParallelCSVParser(file, ',', 4, chunkSize)
+                    .parse((fields, count) -> records.add(List.of(Arrays.copyOf(fields, count))));
+
+            assertEquals(expected, records, "Records should match for chunk size " + chunkSize);
+        }
+    }
+
+    @Test
+    void testHandlerRunsOnCallingThread() throws IOException {
+        Path file = writeTestFile();
+        Thread caller = Thread.currentThread();
+        new ParallelCSVParser(file, ',', 4, 64)
+                .parse((fields, count) -> assertSame(caller, Thread.currentThread()));
+    }
+
+    @Test
+    void testInvalidArguments() {
+        Path file = tempDir.resolve("missing.csv");
+        assertThrows(IllegalArgumentException.class, () -> new ParallelCSVParser(file, ',', 0, 1024));
+        assertThrows(IllegalArgumentException.class, () -> new ParallelCSVParser(file, ',', 2, 0));
+        assertThrows(IOException.class, () -> new ParallelCSVParser(file, ',', 2, 1024).parse((fields, count) -> { }));
+    }
+
+    @Test
+    void testCSVReaderParallelOption() throws IOException {
+        Path file = writeTestFile();
+        ITable table = new TableCore();
+
+        Map<String, Object> options = new HashMap<>();
+        options.put("hasHeaderRow", true);
+        options.put("parallelism", 4);
+        options.put("chunkSize", 256);
+        new CSVReader().readData(new CSVTableAdapter(table), new FileConnection(file.toString(), "csv"), options);
+
+        assertEquals(ROWS, table.getRowCount());
+        for (int i = 0; i < ROWS; i += 97) {
+            assertEquals(i, table.getValueObject(i, "Id"), "Rows should be added in file order");
+            assertEquals("line one, \"quoted\"\nline " + i, table.getValueAt(i, "Notes"));
+        }
+    }
+
+    @Test
+    void testCSVMappingReaderParallelOption() throws IOException {
+        StringBuilder text = new StringBuilder("Id,Name\n");
+        for (int i = 0; i < ROWS; i++) {
+            text.append(i).append(",name-").append(i).append('\n');
+        }
+        Path file = tempDir.resolve("mapped.csv");
+        Files.writeString(file, text);
+
+        MappingConfiguration config = new MappingConfiguration()
+                .setSourceLocation(file.toString())
+                .setOption("hasHeaderRow", true)
+                .setOption("parallelism", 3)
+                .setOption("chunkSize", 128)
+                .addColumnMapping(new ColumnMapping("Name", "FullName", "string"))
+                .addColumnMapping(new ColumnMapping("Id", "Key", "int"));
+
+        ITable table = new TableCore();
+        new CSVMappingReader().readFromCSV(table, config);
+
+        assertEquals(ROWS, table.getRowCount());
+        for (int i = 0; i < ROWS; i += 97) {
+            assertEquals("name-" + i, table.getValueAt(i, "FullName"));
+            assertEquals(i, table.getValueObject(i, "Key"));
+        }
+    }
+}
@@ -4,14 +4,19 @@ import dev.mars.jtable.core.table.Table;
 import dev.mars.jtable.io.common.datasource.IDataSource;
 import dev.mars.jtable.io.common.datasource.IJDBCDataSource;
 import dev.mars.jtable.io.common.datasource.DbConnection;
+import dev.mars.jtable.io.common.datasource.IRowSink;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -134,6 +139,42 @@ class JDBCReaderTestH2 {
         assertTrue(foundCharlie, "Charlie should be in the result set");
     }
 
+    @Test
+    void testReadRows() throws Exception {
+        Map<String, Object> options = new HashMap<>();
+        options.put("query", "SELECT name, age FROM " + TEST_TABLE + " ORDER BY id");
+        options.put("fetchSize", 2);
+
+        List<String> rows = new ArrayList<>();
+        reader.readRows(connection, options, new IRowSink() {
+            @Override
+            public void start(LinkedHashMap<String, String> columns) {
+                assertEquals(List.of("NAME", "AGE"), new ArrayList<>(columns.keySet()));
+            }
+
+            @Override
+            public void row(String[] values) {
+                rows.add(values[0] + ":" + values[1]);
+            }
+        });
+
+        // Nothing is added to the table
+        assertEquals(List.of("Alice:30", "Bob:25", "Charlie:35"), rows);
+        assertEquals(0, adapter.getRowCount());
+
+        // Errors are thrown rather than logged
+        options.put("query", "SELECT * FROM missing_table");
+        assertThrows(IOException.class, () -> reader.readRows(connection, options, new IRowSink() {
+            @Override
+            public void start(LinkedHashMap<String, String> columns) {
+            }
+
+            @Override
+            public void row(String[] values) {
+            }
+        }));
+    }
+
     @Test
     void testInvalidOptions() {
         // Set up options without tableName or query
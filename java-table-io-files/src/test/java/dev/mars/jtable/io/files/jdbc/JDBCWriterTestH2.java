@@ -172,6 +172,105 @@ class JDBCWriterTestH2 {
         }
     }
 
+    @Test
+    void testExecuteBatchBindsTypedValuesInChunks() throws Exception {
+        Table table = new Table();
+        LinkedHashMap<String, String> columns = new LinkedHashMap<>();
+        columns.put("id", "int");
+        columns.put("score", "double");
+        columns.put("active", "boolean");
+        table.setColumns(columns);
+        for (int i = 1; i <= 5; i++) {
+            Map<String, String> row = new HashMap<>();
+            row.put("id", String.valueOf(i));
+            row.put("score", i + ".5");
+            row.put("active", String.valueOf(i % 2 == 0));
+            table.addRow(row);
+        }
+
+        try (Connection conn = DriverManager.getConnection(TEST_DB_URL);
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE " + TEST_TABLE + " (id INT, twice INT, score DOUBLE, active BOOLEAN, note VARCHAR(20))");
+        }
+
+        // The quoted literal is not a parameter, and :id is bound twice
+        Map<String, Object> options = new HashMap<>();
+        options.put("sqlTemplate", "INSERT INTO " + TEST_TABLE
+                + " (id, twice, score, active, note) VALUES (:id, :id * 2, :score, :active, 'at :noon')");
+        options.put("batchSize", 2);
+        options.put("commitInterval", 3);
+        writer.writeData((IJDBCDataSource) new JDBCTableAdapter(table), connection, options);
+
+        try (Connection conn = DriverManager.getConnection(TEST_DB_URL);
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT * FROM " + TEST_TABLE + " ORDER BY id")) {
+            for (int i = 1; i <= 5; i++) {
+                assertTrue(rs.next(), "Row " + i + " should have been written");
+                assertEquals(i, rs.getInt("id"));
+                assertEquals(i * 2, rs.getInt("twice"));
+                assertEquals(i + 0.5, rs.getDouble("score"));
+                assertEquals(i % 2 == 0, rs.getBoolean("active"));
+                assertEquals("at :noon", rs.getString("note"));
+            }
+            assertFalse(rs.next(), "Result set should have exactly five rows");
+        }
+    }
+
+    @Test
+    void testExecuteBatchThroughAdapterConnectionKeepsOptions() throws Exception {
+        Table table = new Table();
+        LinkedHashMap<String, String> columns = new LinkedHashMap<>();
+        columns.put("id", "int");
+        table.setColumns(columns);
+        for (int i = 1; i <= 5; i++) {
+            table.addRow(new String[]{String.valueOf(i)});
+        }
+        JDBCTableAdapter connectedAdapter = new JDBCTableAdapter(table) {
+            @Override
+            public String getConnectionString() {
+                return TEST_DB_URL;
+            }
+        };
+
+        try (Connection conn = DriverManager.getConnection(TEST_DB_URL);
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE " + TEST_TABLE + " (id INT CHECK (id <> 4))");
+        }
+
+        // Row 4 fails, so only the rows committed before it are kept
+        Map<String, Object> options = new HashMap<>();
+        options.put("sqlTemplate", "INSERT INTO " + TEST_TABLE + " (id) VALUES (:id)");
+        options.put("batchSize", 1);
+        options.put("commitInterval", 2);
+        writer.writeData((IJDBCDataSource) connectedAdapter, connection, options);
+
+        try (Connection conn = DriverManager.getConnection(TEST_DB_URL);
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM " + TEST_TABLE)) {
+            assertTrue(rs.next());
+            assertEquals(2, rs.getInt(1), "The commitInterval option should apply to the adapter's connection");
+        }
+    }
+
+    @Test
+    void testExecuteBatchWithUnknownParameterWritesNothing() throws Exception {
+        try (Connection conn = DriverManager.getConnection(TEST_DB_URL);
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE " + TEST_TABLE + " (id INT, name VARCHAR(255), age INT)");
+        }
+
+        Map<String, Object> options = new HashMap<>();
+        options.put("sqlTemplate", "INSERT INTO " + TEST_TABLE + " (id, name, age) VALUES (:id, :nickname, :age)");
+        writer.writeData((IJDBCDataSource) adapter, connection, options);
+
+        try (Connection conn = DriverManager.getConnection(TEST_DB_URL);
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM " + TEST_TABLE)) {
+            assertTrue(rs.next());
+            assertEquals(0, rs.getInt(1), "No rows should be written for an unknown parameter");
+        }
+    }
+
     @Test
     void testInvalidOptions() {
         // Set up options without tableName or sqlTemplate
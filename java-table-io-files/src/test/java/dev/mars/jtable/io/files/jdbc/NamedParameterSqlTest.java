@@ -0,0 +1,33 @@
+package dev.mars.jtable.io.files.jdbc;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NamedParameterSqlTest {
+
+    @Test
+    void testReplacesParametersInOrder() {
+        NamedParameterSql sql = NamedParameterSql.parse("INSERT INTO t (a, b, c) VALUES (:id, :name_1, :id)");
+
+        assertEquals("INSERT INTO t (a, b, c) VALUES (?, ?, ?)", sql.getSql());
+        assertEquals(List.of("id", "name_1", "id"), sql.getParameterNames());
+    }
+
+    @Test
+    void testSkipsLiteralsCommentsAndCasts() {
+        NamedParameterSql sql = NamedParameterSql.parse(
+                "SELECT ':a', \"col:b\", x::text -- :c\n FROM t /* :d */ WHERE y = :e");
+
+        assertEquals("SELECT ':a', \"col:b\", x::text -- :c\n FROM t /* :d */ WHERE y = ?", sql.getSql());
+        assertEquals(List.of("e"), sql.getParameterNames());
+    }
+
+    @Test
+    void testRejectsEmptyTemplate() {
+        assertThrows(IllegalArgumentException.class, () -> NamedParameterSql.parse(null));
+        assertThrows(IllegalArgumentException.class, () -> NamedParameterSql.parse("  "));
+    }
+}
@@ -6,14 +6,20 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import dev.mars.jtable.io.common.datasource.FileConnection;
 import dev.mars.jtable.io.common.datasource.IDataSourceConnection;
 import dev.mars.jtable.io.common.datasource.IJSONDataSource;
+import dev.mars.jtable.io.common.datasource.IRowSink;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -147,6 +153,104 @@ class JSONReaderTest {
         assertEquals("Test Name", dataSource.getValueAt(0, "name"));
     }
 
+    @Test
+    void testReadRows() throws Exception {
+        File testFile = tempDir.resolve("test_rows.json").toFile();
+        Files.writeString(testFile.toPath(), "[{\"id\": 1, \"name\": \"A\"}, {\"name\": \"B\", \"id\": 2}]");
+
+        fileConnection.setRawConnection(testFile.toPath());
+        fileConnection.setConnected(true);
+
+        LinkedHashMap<String, String> columns = new LinkedHashMap<>();
+        List<List<String>> rows = new ArrayList<>();
+        jsonReader.readRows(fileConnection, new HashMap<>(), new IRowSink() {
+            @Override
+            public void start(LinkedHashMap<String, String> sourceColumns) {
+                columns.putAll(sourceColumns);
+            }
+
+            @Override
+            public void row(String[] values) {
+                rows.add(List.of(values));
+            }
+        });
+
+        assertEquals("int", columns.get("id"));
+        // Values are delivered in column order whatever the field order in the object
+        assertEquals(List.of(List.of("1", "A"), List.of("2", "B")), rows);
+    }
+
+    @Test
+    void testReadRowsFromNdjson() throws Exception {
+        File testFile = tempDir.resolve("test_rows.jsonl").toFile();
+        Files.writeString(testFile.toPath(), "{\"id\": 1, \"name\": \"A\"}\n"
+                + "{\"id\": 2, \"extra\": true, \"name\": \"B\"}\n\n"
+                + "{\"id\": 3}\n");
+
+        fileConnection.setRawConnection(testFile.toPath());
+        fileConnection.setConnected(true);
+
+        List<List<String>> rows = new ArrayList<>();
+        IRowSink sink = new IRowSink() {
+            @Override
+            public void start(LinkedHashMap<String, String> sourceColumns) {
+            }
+
+            @Override
+            public void row(String[] values) {
+                rows.add(Arrays.asList(values.clone()));
+            }
+        };
+        jsonReader.readRows(fileConnection, new HashMap<>(), sink);
+
+        // Unknown fields are ignored and missing ones are null
+        assertEquals(List.of(Arrays.asList("1", "A"), Arrays.asList("2", "B"), Arrays.asList("3", null)), rows);
+
+        // The option overrides the file extension
+        rows.clear();
+        Map<String, Object> options = new HashMap<>();
+        options.put("ndjson", false);
+        assertThrows(IOException.class, () -> jsonReader.readRows(fileConnection, options, sink));
+    }
+
+    @Test
+    void testReadRowsWithRootElementAndNestedValues() throws Exception {
+        File testFile = tempDir.resolve("test_nested.json").toFile();
+        Files.writeString(testFile.toPath(), "{\"meta\": {\"rows\": [1, 2]}, \"rows\": ["
+                + "{\"id\": 1, \"price\": 2.50, \"tags\": [\"a\", {\"b\": null}], \"note\": null}, 7,"
+                + "{\"id\": 2, \"price\": 1e3, \"tags\": [], \"note\": \"x\"}]}");
+
+        fileConnection.setRawConnection(testFile.toPath());
+        fileConnection.setConnected(true);
+
+        LinkedHashMap<String, String> columns = new LinkedHashMap<>();
+        List<List<String>> rows = new ArrayList<>();
+        IRowSink sink = new IRowSink() {
+            @Override
+            public void start(LinkedHashMap<String, String> sourceColumns) {
+                columns.putAll(sourceColumns);
+            }
+
+            @Override
+            public void row(String[] values) {
+                rows.add(List.of(values));
+            }
+        };
+        Map<String, Object> options = new HashMap<>();
+        options.put("rootElement", "rows");
+        jsonReader.readRows(fileConnection, options, sink);
+
+        assertEquals(List.of("id", "price", "tags", "note"), new ArrayList<>(columns.keySet()));
+        assertEquals("double", columns.get("price"));
+        assertEquals("string", columns.get("tags"));
+        // Numbers keep their text, nested values are written back as JSON and non-objects are skipped
+        assertEquals(List.of(List.of("1", "2.50", "[\"a\",{\"b\":null}]", ""), List.of("2", "1e3", "[]", "x")), rows);
+
+        options.put("rootElement", "missing");
+        IOException e = assertThrows(IOException.class, () -> jsonReader.readRows(fileConnection, options, sink));
+        assertTrue(e.getMessage().contains("'missing' not found"));
+    }
+
     // Mock classes for testing
     private static class MockJSONDataSource implements IJSONDataSource {
         private LinkedHashMap<String, String> columns = new LinkedHashMap<>();
@@ -2,6 +2,8 @@ package dev.mars.jtable.io.files.json;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.mars.jtable.core.table.TableCore;
+import dev.mars.jtable.io.common.adapter.JSONTableAdapter;
 import dev.mars.jtable.io.common.datasource.FileConnection;
 import dev.mars.jtable.io.common.datasource.IDataSourceConnection;
 import dev.mars.jtable.io.common.datasource.IJSONDataSource;
@@ -10,10 +12,14 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.zip.GZIPInputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -147,6 +153,39 @@ class JSONWriterTest {
         assertEquals("Test Name", row1.get("name").asText());
     }
 
+    @Test
+    void testWriteNdjsonGzipFromTable() throws Exception {
+        TableCore table = new TableCore();
+        LinkedHashMap<String, String> columns = new LinkedHashMap<>();
+        columns.put("id", "int");
+        columns.put("zip", "string");
+        columns.put("score", "double");
+        columns.put("active", "boolean");
+        table.setColumns(columns);
+        table.addRow(new String[]{"1", "02134", "2.5", "true"});
+        table.addRow(new String[]{"2", null, null, "false"});
+
+        File testFile = tempDir.resolve("test_rows.jsonl.gz").toFile();
+        fileConnection.setRawConnection(testFile.toPath());
+        fileConnection.setConnected(true);
+        jsonWriter.writeData(new JSONTableAdapter(table), fileConnection, new HashMap<>());
+
+        String text;
+        try (InputStream in = new GZIPInputStream(new FileInputStream(testFile))) {
+            text = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        // Typed columns are written natively, and strings stay strings even when they look numeric
+        assertEquals("{\"id\":1,\"zip\":\"02134\",\"score\":2.5,\"active\":true}\n"
+                + "{\"id\":2,\"zip\":null,\"score\":null,\"active\":false}\n", text);
+
+        // The reader decompresses and reads the lines back
+        TableCore copy = new TableCore();
+        new JSONReader().readData(new JSONTableAdapter(copy), fileConnection, new HashMap<>());
+        assertEquals(2, copy.getRowCount());
+        assertEquals("02134", copy.getValueAt(0, "zip"));
+        assertEquals(2.5, copy.getValueObject(0, "score"));
+    }
+
     // Mock classes for testing
     private static class MockJSONDataSource implements IJSONDataSource {
         private LinkedHashMap<String, String> columns = new LinkedHashMap<>();
@@ -1,17 +1,32 @@
 package dev.mars.jtable.io.files.rest;
 
 import dev.mars.jtable.io.common.datasource.IDataSource;
+import dev.mars.jtable.io.common.datasource.IRowSink;
 import dev.mars.jtable.io.common.datasource.RESTConnection;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
-import java.io.ByteArrayInputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
-import java.net.HttpURLConnection;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -20,12 +35,20 @@ class RESTReaderTest {
     private RESTReader restReader;
     private MockRESTDataSource dataSource;
     private MockRESTConnection connection;
+    private MockRESTServer server;
 
     @BeforeEach
-    void setUp() {
+    void setUp() throws IOException {
         restReader = new RESTReader();
         dataSource = new MockRESTDataSource();
-        connection = new MockRESTConnection("https://api.example.com/data");
+        server = new MockRESTServer();
+        connection = new MockRESTConnection("http://127.0.0.1:" + server.getPort() + "/data");
+        server.connection = connection;
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        server.close();
     }
 
     @Test
@@ -182,6 +205,259 @@ class RESTReaderTest {
         assertEquals(1, dataSource.getRowCount());
     }
 
+    @Test
+    void testReadRowsFromLargeGzipResponse() throws IOException {
+        // Build a response of several megabytes with the rows under a root element
+        int rowCount = 50000;
+        StringBuilder json = new StringBuilder("{\"count\":" + rowCount + ",\"items\":[");
+        for (int i = 0; i < rowCount; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(i).append(",\"name\":\"Item ").append(i)
+                    .append("\",\"description\":\"A longer text to make the response larger\"}");
+        }
+        json.append("]}");
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(json.toString().getBytes(StandardCharsets.UTF_8));
+        }
+        connection.setConnected(true);
+        connection.setMockResponse(compressed.toByteArray(), 200, "gzip");
+
+        Map<String, Object> options = new HashMap<>();
+        options.put("rootElement", "items");
+        List<String[]> rows = new ArrayList<>();
+        LinkedHashMap<String, String> columns = new LinkedHashMap<>();
+        boolean[] ended = new boolean[1];
+        restReader.readRows(connection, options, new IRowSink() {
+            @Override
+            public void start(LinkedHashMap<String, String> columnTypes) {
+                columns.putAll(columnTypes);
+            }
+
+            @Override
+            public void row(String[] values) {
+                rows.add(values.clone());
+            }
+
+            @Override
+            public void end() {
+                ended[0] = true;
+            }
+        });
+
+        assertTrue(ended[0]);
+        assertEquals(List.of("id", "name", "description"), new ArrayList<>(columns.keySet()));
+        assertEquals("int", columns.get("id"));
+        assertEquals(rowCount, rows.size());
+        assertEquals("0", rows.get(0)[0]);
+        assertEquals("Item 49999", rows.get(rowCount - 1)[1]);
+    }
+
+    @Test
+    void testReadRowsOffTheClientExecutor() throws IOException {
+        // Parsing blocks while the client delivers the body, so it must run on the reader's own
+        // pool rather than on a thread of the client, whose executor here has a single thread
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < 100000; i++) {
+            json.append(i > 0 ? "," : "").append("{\"id\":").append(i).append(",\"name\":\"Item ").append(i).append("\"}");
+        }
+        connection.setConnected(true);
+        connection.setMockResponse(json.append("]").toString(), 200);
+        ExecutorService clientExecutor = Executors.newSingleThreadExecutor(task -> new Thread(task, "client-executor"));
+        List<String> parseThreads = new ArrayList<>();
+        int[] rowCount = new int[1];
+        try {
+            connection.setHttpClient(HttpClient.newBuilder().executor(clientExecutor).build());
+            restReader.readRows(connection, null, new IRowSink() {
+                @Override
+                public void start(LinkedHashMap<String, String> columnTypes) {
+                    parseThreads.add(Thread.currentThread().getName());
+                }
+
+                @Override
+                public void row(String[] values) {
+                    rowCount[0]++;
+                }
+            });
+        } finally {
+            clientExecutor.shutdownNow();
+        }
+        assertEquals(100000, rowCount[0]);
+        assertEquals(1, parseThreads.size());
+        assertTrue(parseThreads.get(0).startsWith("rest-reader-"), parseThreads.get(0));
+    }
+
+    @Test
+    void testReadRowsWithHttpErrorThrows() {
+        connection.setConnected(true);
+        connection.setMockResponse("Server Error", 500);
+
+        IOException exception = assertThrows(IOException.class, () ->
+                restReader.readRows(connection, null, new IRowSink() {
+                    @Override
+                    public void start(LinkedHashMap<String, String> columnTypes) {
+                    }
+
+                    @Override
+                    public void row(String[] values) {
+                    }
+                }));
+        assertEquals("HTTP error code: 500", exception.getMessage());
+    }
+
+    @Test
+    void testReadDataWithConcurrentOffsetPagination() {
+        // 23 rows in pages of 5; the second page is the slowest, so later pages arrive before it
+        connection.setConnected(true);
+        server.pages = target -> {
+            int offset = Integer.parseInt(queryParameter(target, "offset"));
+            assertEquals("5", queryParameter(target, "limit"));
+            StringBuilder body = new StringBuilder("[");
+            for (int id = offset; id < Math.min(offset + 5, 23); id++) {
+                body.append(id > offset ? "," : "").append("{\"id\":").append(id).append(",\"name\":\"Item ").append(id).append("\"}");
+            }
+            return new MockPage(body.append("]").toString(), null, offset == 5 ? 300 : 0);
+        };
+
+        Map<String, Object> options = new HashMap<>();
+        options.put("pagination", "offset");
+        options.put("pageSize", 5);
+        options.put("maxConcurrentRequests", 4);
+        restReader.readData(dataSource, connection, options);
+
+        // The rows are appended in page order
+        assertEquals(23, dataSource.getRowCount());
+        for (int i = 0; i < 23; i++) {
+            assertEquals(String.valueOf(i), dataSource.getValueAt(i, "id"));
+        }
+        assertTrue(server.maxActiveRequests.get() > 1);
+        assertTrue(server.maxActiveRequests.get() <= 4);
+    }
+
+    @Test
+    void testReadDataWithOffsetPaginationAndCappedPageSize() {
+        // The server returns at most 3 rows per page, fewer than the 5 asked for
+        connection.setConnected(true);
+        server.pages = target -> {
+            int offset = Integer.parseInt(queryParameter(target, "offset"));
+            int limit = Math.min(Integer.parseInt(queryParameter(target, "limit")), 3);
+            StringBuilder body = new StringBuilder("[");
+            for (int id = offset; id < Math.min(offset + limit, 23); id++) {
+                body.append(id > offset ? "," : "").append("{\"id\":").append(id).append("}");
+            }
+            return new MockPage(body.append("]").toString(), null, 0);
+        };
+
+        Map<String, Object> options = new HashMap<>();
+        options.put("pagination", "offset");
+        options.put("pageSize", 5);
+        restReader.readData(dataSource, connection, options);
+
+        // The later pages follow the size of the first one, so no rows are skipped
+        assertEquals(23, dataSource.getRowCount());
+        for (int i = 0; i < 23; i++) {
+            assertEquals(String.valueOf(i), dataSource.getValueAt(i, "id"));
+        }
+    }
+
+    @Test
+    void testReadDataWithOffsetPaginationAndShortResult() {
+        // The whole result is 2 rows, fewer than the page size of 5
+        connection.setConnected(true);
+        AtomicInteger requests = new AtomicInteger();
+        server.pages = target -> {
+            requests.incrementAndGet();
+            int offset = Integer.parseInt(queryParameter(target, "offset"));
+            return new MockPage(offset == 0 ? "[{\"id\":0},{\"id\":1}]" : "[]", null, 0);
+        };
+
+        Map<String, Object> options = new HashMap<>();
+        options.put("pagination", "offset");
+        options.put("pageSize", 5);
+        restReader.readData(dataSource, connection, options);
+
+        // Only a single page is probed after the short first page, not a full window of them
+        assertEquals(2, dataSource.getRowCount());
+        assertEquals(2, requests.get());
+    }
+
+    @Test
+    void testReadDataWithCursorPagination() {
+        connection.setConnected(true);
+        server.pages = target -> {
+            String cursor = queryParameter(target, "after");
+            if (cursor == null) {
+                return new MockPage("{\"meta\":{\"next\":\"c2\"},\"data\":[{\"id\":1,\"name\":\"A\"},{\"id\":2,\"name\":\"B\"}]}", null, 0);
+            }
+            if (cursor.equals("c2")) {
+                // Later pages may order their fields differently and add fields
+                return new MockPage("{\"data\":[{\"name\":\"C\",\"extra\":true,\"id\":3}],\"meta\":{\"next\":\"c3\"}}", null, 0);
+            }
+            return new MockPage("{\"data\":[{\"id\":4}],\"meta\":{\"next\":null}}", null, 0);
+        };
+
+        Map<String, Object> options = new HashMap<>();
+        options.put("pagination", "cursor");
+        options.put("rootElement", "data");
+        options.put("cursorParam", "after");
+        options.put("cursorField", "meta.next");
+        restReader.readData(dataSource, connection, options);
+
+        assertEquals(4, dataSource.getRowCount());
+        assertEquals(2, dataSource.getColumnCount());
+        assertEquals("3", dataSource.getValueAt(2, "id"));
+        assertEquals("C", dataSource.getValueAt(2, "name"));
+        assertEquals("4", dataSource.getValueAt(3, "id"));
+        assertNull(dataSource.getValueAt(3, "name"));
+    }
+
+    @Test
+    void testReadDataWithLinkPagination() {
+        connection.setConnected(true);
+        server.pages = target -> {
+            String page = queryParameter(target, "page");
+            if (page == null) {
+                return new MockPage("[{\"id\":1}]", "</data?page=2>; rel=\"next\", </data?page=9>; rel=\"last\"", 0);
+            }
+            if (page.equals("2")) {
+                return new MockPage("[{\"id\":2}]", "<http://127.0.0.1:" + server.getPort() + "/data?page=3>; rel=\"next\"", 0);
+            }
+            return new MockPage("[{\"id\":3}]", "</data?page=1>; rel=\"first\"", 0);
+        };
+
+        Map<String, Object> options = new HashMap<>();
+        options.put("pagination", "link");
+        restReader.readData(dataSource, connection, options);
+
+        assertEquals(3, dataSource.getRowCount());
+        assertEquals("3", dataSource.getValueAt(2, "id"));
+    }
+
+    @Test
+    void testReadDataWithInvalidPagination() {
+        connection.setConnected(true);
+        Map<String, Object> options = new HashMap<>();
+        options.put("pagination", "invalid");
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> restReader.readData(dataSource, connection, options));
+        assertEquals("Unsupported pagination: invalid", exception.getMessage());
+    }
+
+    private static String queryParameter(String target, String name) {
+        int start = target.indexOf('?');
+        if (start < 0) {
+            return null;
+        }
+        for (String parameter : target.substring(start + 1).split("&")) {
+            if (parameter.startsWith(name + "=")) {
+                return parameter.substring(name.length() + 1);
+            }
+        }
+        return null;
+    }
+
     // Mock classes for testing
     private static class MockRESTDataSource implements IDataSource {
         private LinkedHashMap<String, String> columns = new LinkedHashMap<>();
@@ -238,13 +514,12 @@ class RESTReaderTest {
 
     private static class MockRESTConnection extends RESTConnection {
         private boolean connected = false;
-        private String mockResponse;
-        private int mockResponseCode;
-        private MockHttpURLConnection mockHttpConnection;
+        private volatile byte[] mockResponse = new byte[0];
+        private volatile int mockResponseCode = 200;
+        private volatile String mockContentEncoding;
 
         public MockRESTConnection(String endpoint) {
             super(endpoint);
-            mockHttpConnection = new MockHttpURLConnection();
         }
 
         public void setConnected(boolean connected) {
@@ -252,10 +527,13 @@ class RESTReaderTest {
         }
 
         public void setMockResponse(String response, int responseCode) {
+            setMockResponse(response.getBytes(StandardCharsets.UTF_8), responseCode, null);
+        }
+
+        public void setMockResponse(byte[] response, int responseCode, String contentEncoding) {
             this.mockResponse = response;
             this.mockResponseCode = responseCode;
-            mockHttpConnection.setResponseCode(responseCode);
-            mockHttpConnection.setResponseBody(response);
+            this.mockContentEncoding = contentEncoding;
         }
 
         @Override
@@ -273,11 +551,111 @@ class RESTReaderTest {
         public boolean isConnected() {
             return connected;
         }
+    }
+
+    /**
+     * A page served by the mock server for a request target.
+     */
+    private static class MockPage {
+        private final String body;
+        private final String link;
+        private final long delayMillis;
+
+        MockPage(String body, String link, long delayMillis) {
+            this.body = body;
+            this.link = link;
+            this.delayMillis = delayMillis;
+        }
+    }
+
+    /**
+     * A minimal local HTTP/1.1 server that stands in for the REST API. It answers each request on
+     * its own thread, with the page for the request target if pages are set, or else with the mock
+     * response of the connection, and closes the socket afterwards.
+     */
+    private static class MockRESTServer implements Runnable {
+        private final ServerSocket serverSocket;
+        private final Thread thread;
+        private final AtomicInteger activeRequests = new AtomicInteger();
+        private final AtomicInteger maxActiveRequests = new AtomicInteger();
+        private volatile MockRESTConnection connection;
+        private volatile Function<String, MockPage> pages;
+
+        MockRESTServer() throws IOException {
+            serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+            thread = new Thread(this, "mock-rest-server");
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        int getPort() {
+            return serverSocket.getLocalPort();
+        }
 
         @Override
-        public HttpURLConnection createConnection(String method) {
-            mockHttpConnection.setRequestMethod(method);
-            return mockHttpConnection;
+        public void run() {
+            while (!serverSocket.isClosed()) {
+                try {
+                    Socket socket = serverSocket.accept();
+                    Thread handler = new Thread(() -> handle(socket), "mock-rest-request");
+                    handler.setDaemon(true);
+                    handler.start();
+                } catch (IOException e) {
+                    // The server socket was closed
+                }
+            }
+        }
+
+        private void handle(Socket socket) {
+            int active = activeRequests.incrementAndGet();
+            maxActiveRequests.accumulateAndGet(active, Math::max);
+            try (socket) {
+                // Read the request target and skip the headers; the requests carry no body
+                BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.ISO_8859_1));
+                String requestLine = reader.readLine();
+                String line;
+                while ((line = reader.readLine()) != null && !line.isEmpty()) {
+                    // Ignore the header
+                }
+                String target = requestLine != null ? requestLine.split(" ")[1] : "";
+
+                byte[] body = connection.mockResponse;
+                int responseCode = connection.mockResponseCode;
+                String contentEncoding = connection.mockContentEncoding;
+                String link = null;
+                Function<String, MockPage> pageFunction = pages;
+                if (pageFunction != null) {
+                    MockPage page = pageFunction.apply(target);
+                    Thread.sleep(page.delayMillis);
+                    body = page.body.getBytes(StandardCharsets.UTF_8);
+                    responseCode = 200;
+                    contentEncoding = null;
+                    link = page.link;
+                }
+
+                StringBuilder head = new StringBuilder("HTTP/1.1 ").append(responseCode).append(" Mock\r\n")
+                        .append("Content-Length: ").append(body.length).append("\r\n")
+                        .append("Connection: close\r\n");
+                if (contentEncoding != null) {
+                    head.append("Content-Encoding: ").append(contentEncoding).append("\r\n");
+                }
+                if (link != null) {
+                    head.append("Link: ").append(link).append("\r\n");
+                }
+                head.append("\r\n");
+                OutputStream out = socket.getOutputStream();
+                out.write(head.toString().getBytes(StandardCharsets.ISO_8859_1));
+                out.write(body);
+                out.flush();
+            } catch (IOException | InterruptedException e) {
+                // The client went away
+            } finally {
+                activeRequests.decrementAndGet();
+            }
+        }
+
+        void close() throws IOException {
+            serverSocket.close();
         }
     }
 
@@ -312,57 +690,4 @@ class RESTReaderTest {
             return new HashMap<>();
         }
     }
-
-    private static class MockHttpURLConnection extends HttpURLConnection {
-        private int responseCode = 200;
-        private String responseBody = "{}";
-        private String requestMethod = "GET";
-
-        public MockHttpURLConnection() {
-            super(null);
-        }
-
-        public void setResponseCode(int responseCode) {
-            this.responseCode = responseCode;
-        }
-
-        public void setResponseBody(String responseBody) {
-            this.responseBody = responseBody;
-        }
-
-        @Override
-        public void setRequestMethod(String method) {
-            this.requestMethod = method;
-        }
-
-        @Override
-        public String getRequestMethod() {
-            return requestMethod;
-        }
-
-        @Override
-        public int getResponseCode() {
-            return responseCode;
-        }
-
-        @Override
-        public InputStream getInputStream() {
-            return new ByteArrayInputStream(responseBody.getBytes());
-        }
-
-        @Override
-        public void disconnect() {
-            // Do nothing
-        }
-
-        @Override
-        public boolean usingProxy() {
-            return false;
-        }
-
-        @Override
-        public void connect() throws IOException {
-            // Do nothing
-        }
-    }
 }
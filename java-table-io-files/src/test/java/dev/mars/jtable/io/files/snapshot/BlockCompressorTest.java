@@ -0,0 +1,58 @@
+package dev.mars.jtable.io.files.snapshot;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for BlockCompressor.
+ */
+public class BlockCompressorTest {
+
+    private static byte[] roundTrip(byte[] data) {
+        byte[] compressed = new byte[BlockCompressor.maxCompressedLength(data.length)];
+        int length = BlockCompressor.compress(data, data.length, compressed);
+        assertTrue(length <= compressed.length);
+        byte[] restored = new byte[data.length];
+        BlockCompressor.decompress(compressed, length, restored);
+        assertArrayEquals(data, restored);
+        return Arrays.copyOf(compressed, length);
+    }
+
+    /**
+     * Test round trips of empty, short, random and repetitive blocks.
+     */
+    @Test
+    void testRoundTrip() {
+        roundTrip(new byte[0]);
+        roundTrip(new byte[]{1, 2, 3});
+
+        Random random = new Random(7);
+        byte[] noise = new byte[100_000];
+        random.nextBytes(noise);
+        roundTrip(noise);
+
+        // Long runs, overlapping matches and matches far apart
+        byte[] repetitive = new byte[200_000];
+        for (int i = 0; i < repetitive.length; i++) {
+            repetitive[i] = (byte) (i < 50_000 ? 0 : i < 120_000 ? i % 3 : (i / 1000) % 17);
+        }
+        assertTrue(roundTrip(repetitive).length < repetitive.length / 20);
+    }
+
+    /**
+     * Test that a truncated block is reported as corrupt.
+     */
+    @Test
+    void testCorruptBlock() {
+        byte[] data = new byte[10_000];
+        Arrays.fill(data, (byte) 'a');
+        byte[] compressed = new byte[BlockCompressor.maxCompressedLength(data.length)];
+        int length = BlockCompressor.compress(data, data.length, compressed);
+        assertThrows(IllegalArgumentException.class,
+                () -> BlockCompressor.decompress(compressed, length - 3, new byte[data.length]));
+    }
+}
@@ -0,0 +1,155 @@
+package dev.mars.jtable.io.files.snapshot;
+
+import dev.mars.jtable.core.model.ITable;
+import dev.mars.jtable.core.table.ColumnarTableCore;
+import dev.mars.jtable.core.table.TableCore;
+import dev.mars.jtable.io.common.adapter.CSVTableAdapter;
+import dev.mars.jtable.io.common.datasource.FileConnection;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for SnapshotWriter and SnapshotReader.
+ */
+public class SnapshotReaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static ITable newTable(int rows) {
+        ColumnarTableCore table = new ColumnarTableCore("orders");
+        LinkedHashMap<String, String> columns = new LinkedHashMap<>();
+        columns.put("Id", "int");
+        columns.put("Customer", "string");
+        columns.put("Note", "string");
+        columns.put("Price", "double");
+        columns.put("Active", "boolean");
+        columns.put("Day", "date");
+        columns.put("At", "time");
+        columns.put("Created", "datetime");
+        table.setColumns(columns);
+        for (int i = 0; i < rows; i++) {
+            table.addRowValues(new Object[]{
+                    i,
+                    i % 7 == 0 ? null : "Customer" + (i % 5),
+                    "Note number " + i + " é",
+                    i % 11 == 0 ? null : i * 1.25,
+                    i % 3 == 0,
+                    LocalDate.of(2024, 1, 1).plusDays(i),
+                    LocalTime.of(i % 24, i % 60, 0, i),
+                    i % 13 == 0 ? null : LocalDateTime.of(2024, 1, 1, 0, 0).plusSeconds(i).plusNanos(7)});
+        }
+        return table;
+    }
+
+    private static void assertSameValues(ITable expected, ITable actual) {
+        assertEquals(expected.getRowCount(), actual.getRowCount());
+        for (int c = 0; c < actual.getColumnCount(); c++) {
+            String name = actual.getColumnName(c);
+            assertEquals(expected.getColumn(name).getType(), actual.getColumn(c).getType());
+            for (int row = 0; row < expected.getRowCount(); row++) {
+                assertEquals(expected.getValueObject(row, name), actual.getValueObject(row, name), name + " row " + row);
+            }
+        }
+    }
+
+    /**
+     * Test writing and reading every column type, with and without compression.
+     */
+    @Test
+    void testRoundTrip() throws IOException {
+        ITable table = newTable(10_000);
+        SnapshotWriter writer = new SnapshotWriter();
+        SnapshotReader reader = new SnapshotReader();
+
+        Path plain = tempDir.resolve("plain.snap");
+        Path compressed = tempDir.resolve("compressed.snap");
+        writer.writeSnapshot(table, plain.toString(), false);
+        writer.writeSnapshot(table, compressed.toString(), true);
+        assertTrue(Files.size(compressed) < Files.size(plain));
+
+        for (Path file : List.of(plain, compressed)) {
+            ITable loaded = reader.readSnapshot(file.toString(), null);
+            assertEquals("orders", loaded.getName());
+            assertEquals(table.getColumnCount(), loaded.getColumnCount());
+            assertSameValues(table, loaded);
+        }
+
+        assertEquals(Arrays.asList("Id", "Customer", "Note", "Price", "Active", "Day", "At", "Created"),
+                List.copyOf(reader.readSchema(plain.toString()).keySet()));
+        assertEquals("datetime", reader.readSchema(plain.toString()).get("Created"));
+    }
+
+    /**
+     * Test reading a subset of the columns, in another order.
+     */
+    @Test
+    void testColumnSelectiveRead() throws IOException {
+        ITable table = newTable(100);
+        Path file = tempDir.resolve("orders.snap");
+        new SnapshotWriter().writeSnapshot(table, file.toString(), true);
+
+        ITable loaded = new SnapshotReader().readSnapshot(file.toString(), List.of("Price", "Id"));
+        assertEquals(2, loaded.getColumnCount());
+        assertEquals("Price", loaded.getColumnName(0));
+        assertEquals("Id", loaded.getColumnName(1));
+        assertSameValues(table, loaded);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new SnapshotReader().readSnapshot(file.toString(), List.of("Missing")));
+    }
+
+    /**
+     * Test the generic reader and writer entry points with a table adapter and a file connection.
+     */
+    @Test
+    void testReadDataAndWriteData() throws IOException {
+        TableCore source = new TableCore();
+        LinkedHashMap<String, String> columns = new LinkedHashMap<>();
+        columns.put("Name", "string");
+        columns.put("Age", "int");
+        source.setColumns(columns);
+        source.addRow(new String[]{"Alice", "30"});
+        source.addRow(new String[]{"Bob", "25"});
+
+        Path file = tempDir.resolve("people.snap");
+        FileConnection connection = new FileConnection(file.toString(), "snapshot");
+        new SnapshotWriter().writeData(new CSVTableAdapter(source), connection, null);
+
+        TableCore target = new TableCore();
+        Map<String, Object> options = new HashMap<>();
+        options.put("columns", List.of("Age"));
+        new SnapshotReader().readData(new CSVTableAdapter(target), connection, options);
+        assertEquals(1, target.getColumnCount());
+        assertEquals(2, target.getRowCount());
+        assertEquals(25, target.getValueObject(1, "Age"));
+    }
+
+    /**
+     * Test that files which are not snapshots are rejected.
+     */
+    @Test
+    void testInvalidFile() throws IOException {
+        Path file = tempDir.resolve("not-a-snapshot.snap");
+        Files.writeString(file, "Name,Age\nAlice,30\nBob,25\n");
+        assertThrows(IOException.class, () -> new SnapshotReader().readSnapshot(file.toString(), null));
+
+        Path empty = tempDir.resolve("empty.snap");
+        new SnapshotWriter().writeSnapshot(new ColumnarTableCore(), empty.toString(), false);
+        assertEquals(0, new SnapshotReader().readSnapshot(empty.toString(), null).getRowCount());
+    }
+}
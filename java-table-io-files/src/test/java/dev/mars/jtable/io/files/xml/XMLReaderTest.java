@@ -2,6 +2,7 @@ package dev.mars.jtable.io.files.xml;
 
 import dev.mars.jtable.io.common.datasource.FileConnection;
 import dev.mars.jtable.io.common.datasource.IDataSourceConnection;
+import dev.mars.jtable.io.common.datasource.IRowSink;
 import dev.mars.jtable.io.common.datasource.IXMLDataSource;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -10,9 +11,14 @@ import org.junit.jupiter.api.io.TempDir;
 import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -175,6 +181,53 @@ class XMLReaderTest {
         assertEquals("This is a <test> with \"quotes\"", dataSource.getValueAt(0, "description"));
     }
 
+    @Test
+    void testReadXMLWithAttributesCdataAndEntities() throws Exception {
+        File testFile = tempDir.resolve("test_attributes.xml").toFile();
+        Files.writeString(testFile.toPath(), "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                + "<export><data>\n"
+                + "  <meta><row id=\"0\"/></meta>\n"
+                + "  <row id=\"1\" code=\"A&amp;B\">\n"
+                + "    <name><![CDATA[<b>Caf\u00e9</b>]]></name>\n"
+                + "    <note>x &lt; y &#38; caf&#233;</note>\n"
+                + "  </row>\n"
+                + "  <!-- comment -->\n"
+                + "  <row code=\"C\" id=\"2\"><extra>ignored</extra><name/></row>\n"
+                + "  <row id=\"3\"><note>a <i>nested</i> note</note></row>\n"
+                + "</data></export>\n");
+
+        fileConnection.setRawConnection(testFile.toPath());
+        fileConnection.setConnected(true);
+
+        List<List<String>> rows = new ArrayList<>();
+        LinkedHashMap<String, String> columns = new LinkedHashMap<>();
+        IRowSink sink = new IRowSink() {
+            @Override
+            public void start(LinkedHashMap<String, String> sourceColumns) {
+                columns.putAll(sourceColumns);
+            }
+
+            @Override
+            public void row(String[] values) {
+                rows.add(Arrays.asList(values.clone()));
+            }
+        };
+        xmlReader.readRows(fileConnection, new HashMap<>(), sink);
+
+        // Attributes come before child elements, and rows outside the root's children are skipped
+        assertEquals(List.of("id", "code", "name", "note"), new ArrayList<>(columns.keySet()));
+        assertEquals("int", columns.get("id"));
+        assertEquals(List.of(
+                Arrays.asList("1", "A&B", "<b>Caf\u00e9</b>", "x < y & caf\u00e9"),
+                Arrays.asList("2", "C", "", null),
+                Arrays.asList("3", null, null, "a nested note")), rows);
+
+        // A missing root element is reported rather than read as an empty file
+        Map<String, Object> options = new HashMap<>();
+        options.put("rootElement", "missing");
+        assertThrows(IOException.class, () -> xmlReader.readRows(fileConnection, options, sink));
+    }
+
     // Mock classes for testing
     private static class MockXMLDataSource implements IXMLDataSource {
         private LinkedHashMap<String, String> columns = new LinkedHashMap<>();
@@ -8,13 +8,17 @@ import org.junit.jupiter.api.io.TempDir;
 
 import java.io.BufferedReader;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileReader;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -193,6 +197,39 @@ class XMLWriterTest {
         assertEquals("This is a &lt;test&gt; with &quot;quotes&quot; and &apos;apostrophes&apos;", descValue);
     }
     
+    @Test
+    void testWriteGzipAndReadBack() throws Exception {
+        File testFile = tempDir.resolve("test_write.xml.gz").toFile();
+        Map<String, String> row = new HashMap<>();
+        row.put("id", "3");
+        row.put("name", "Caf\u00e9 \ud83d\ude00 <&>");
+        row.put("active", null);
+        row.put("score", "1.0");
+        dataSource.addRow(row);
+
+        // The gzip option defaults to the file extension
+        fileConnection.setRawConnection(testFile.toPath());
+        fileConnection.setConnected(true);
+        xmlWriter.writeData(dataSource, fileConnection, new HashMap<>());
+
+        String content;
+        try (InputStream in = new GZIPInputStream(new FileInputStream(testFile))) {
+            content = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        // Without indentation each row is on one line
+        assertEquals("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<data>\n"
+                + "<row><id>1</id><name>Test Name</name><active>true</active><score>95.5</score></row>\n"
+                + "<row><id>2</id><name>Another Name</name><active>false</active><score>82.3</score></row>\n"
+                + "<row><id>3</id><name>Caf\u00e9 \ud83d\ude00 &lt;&amp;&gt;</name><active></active><score>1.0</score></row>\n"
+                + "</data>\n", content);
+
+        MockXMLDataSource readBack = new MockXMLDataSource();
+        new XMLReader().readFromXML(readBack, testFile.getAbsolutePath(), "data", "row");
+        assertEquals(3, readBack.getRowCount());
+        assertEquals("Caf\u00e9 \ud83d\ude00 <&>", readBack.getValueAt(2, "name"));
+        assertEquals("", readBack.getValueAt(2, "active"));
+    }
+
     private String readFile(File file) throws Exception {
         StringBuilder content = new StringBuilder();
         try (BufferedReader reader = new BufferedReader(new FileReader(file))) {